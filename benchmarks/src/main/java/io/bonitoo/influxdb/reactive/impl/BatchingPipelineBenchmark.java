@@ -0,0 +1,214 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The throughput of the batching pipeline ({@code onBackpressureBuffer}, {@code window}, {@code groupBy},
+ * {@code toList}) to the {@link NoopTransport}.
+ * <p>
+ * Every invocation writes {@link #POINTS} records by {@code producers} threads and waits until all of them
+ * are written or dropped, so the score is in points per second. The dropped points are reported by
+ * the secondary result {@code dropped}.
+ *
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(BatchingPipelineBenchmark.POINTS)
+public class BatchingPipelineBenchmark {
+
+    static final int POINTS = 100_000;
+
+    private static final long WAIT_TIMEOUT = TimeUnit.SECONDS.toNanos(60);
+    private static final long POLL_INTERVAL = TimeUnit.MICROSECONDS.toNanos(200);
+
+    public enum SchedulerType {
+
+        TRAMPOLINE(Schedulers::trampoline),
+        NEW_THREAD(Schedulers::newThread),
+        SINGLE(Schedulers::single),
+        COMPUTATION(Schedulers::computation),
+        IO(Schedulers::io);
+
+        private final Supplier<Scheduler> scheduler;
+
+        SchedulerType(final Supplier<Scheduler> scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        Scheduler scheduler() {
+            return scheduler.get();
+        }
+    }
+
+    @Param({"1000", "5000"})
+    int batchSize;
+
+    @Param({"100", "1000"})
+    int flushInterval;
+
+    @Param({"10000", "100000"})
+    int bufferLimit;
+
+    @Param({"1", "4"})
+    int producers;
+
+    @Param({"NEW_THREAD", "TRAMPOLINE"})
+    SchedulerType processorScheduler;
+
+    @Param({"TRAMPOLINE", "IO"})
+    SchedulerType writeScheduler;
+
+    private List<List<String>> records;
+    private ExecutorService executor;
+    private InfluxDBReactive influxDBReactive;
+
+    private long processed;
+    private long dropped;
+
+    @Setup
+    public void setUp() {
+
+        records = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+
+            List<String> producerRecords = new ArrayList<>();
+            for (int i = producer; i < POINTS; i += producers) {
+                producerRecords.add("h2o_feet,location=coyote_creek water_level=" + i + " " + i);
+            }
+            records.add(producerRecords);
+        }
+
+        executor = Executors.newFixedThreadPool(producers);
+
+        InfluxDBOptions options = InfluxDBOptions.builder()
+                .url("http://localhost:8086")
+                .database("benchmark")
+                .okHttpClient(new OkHttpClient.Builder().addInterceptor(new NoopTransport()))
+                .build();
+
+        BatchOptionsReactive batchOptions = BatchOptionsReactive.builder()
+                .batchSize(batchSize)
+                .flushInterval(flushInterval)
+                .bufferLimit(bufferLimit)
+                .writeScheduler(writeScheduler.scheduler())
+                .build();
+
+        influxDBReactive = new InfluxDBReactiveImpl(options, batchOptions,
+                processorScheduler.scheduler(), Schedulers.computation(), Schedulers.trampoline(),
+                Schedulers.trampoline());
+
+        processed = 0;
+        dropped = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        influxDBReactive.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void write(final DroppedPoints droppedPoints) throws Exception {
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<String> producerRecords : records) {
+            futures.add(executor.submit(() -> producerRecords.forEach(influxDBReactive::writeRecord)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        processed += POINTS;
+
+        long deadline = System.nanoTime() + WAIT_TIMEOUT;
+        while (true) {
+
+            ClientMetrics metrics = influxDBReactive.metrics();
+            if (metrics.getPointsWritten() + metrics.getPointsDropped() >= processed) {
+                droppedPoints.dropped += metrics.getPointsDropped() - dropped;
+                dropped = metrics.getPointsDropped();
+                return;
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The points are not written in time: " + metrics);
+            }
+
+            LockSupport.parkNanos(POLL_INTERVAL);
+        }
+    }
+
+    /**
+     * The number of the dropped points in the iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class DroppedPoints {
+
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            dropped = 0;
+        }
+    }
+}
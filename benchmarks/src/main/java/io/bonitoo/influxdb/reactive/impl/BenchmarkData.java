@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.WriteOptions;
+
+import org.influxdb.annotation.Column;
+import org.influxdb.annotation.Measurement;
+import org.influxdb.dto.Point;
+
+/**
+ * The data used by benchmarks.
+ *
+ * @since 1.0.0
+ */
+public final class BenchmarkData {
+
+    /**
+     * The type of the written data.
+     */
+    public enum DataType {
+        RECORD,
+        POINT,
+        MEASUREMENT
+    }
+
+    private static final long TIME = 1_440_046_800_123_456_789L;
+
+    private BenchmarkData() {
+    }
+
+    @Nonnull
+    static WriteOptions writeOptions(@Nonnull final TimeUnit precision) {
+        return WriteOptions.builder().database("benchmark").precision(precision).build();
+    }
+
+    /**
+     * @param index    index of the point, used for unique tags and timestamp
+     * @param tags     the number of tags
+     * @param fields   the number of fields
+     * @param escaping if {@link Boolean#TRUE} than the keys and values contains characters that has to be escaped
+     * @return the point
+     */
+    @Nonnull
+    static Point point(final int index, final int tags, final int fields, final boolean escaping) {
+
+        String suffix = escaping ? " a,b=c\"d\\" : "";
+
+        Point.Builder builder = Point.measurement(escaping ? "h2o feet,escaped" : "h2o_feet");
+        for (int i = 0; i < tags; i++) {
+            builder.tag("location" + i + suffix, "coyote_creek" + index + suffix);
+        }
+        for (int i = 0; i < fields; i++) {
+            switch (i % 3) {
+                case 0:
+                    builder.addField("water_level" + i + suffix, index + 0.123D);
+                    break;
+                case 1:
+                    builder.addField("level_code" + i + suffix, (long) index);
+                    break;
+                default:
+                    builder.addField("level description" + i + suffix, "between 6 and 9 feet" + suffix);
+                    break;
+            }
+        }
+
+        return builder.time(TIME + index, TimeUnit.NANOSECONDS).build();
+    }
+
+    @Nonnull
+    static H2OFeetMeasurement measurement(final int index, final boolean escaping) {
+
+        String suffix = escaping ? " a,b=c\"d\\" : "";
+
+        H2OFeetMeasurement measurement = new H2OFeetMeasurement();
+        measurement.location = "coyote_creek" + index + suffix;
+        measurement.levelDescription = "between 6 and 9 feet" + suffix;
+        measurement.waterLevel = index + 0.123D;
+        measurement.time = Instant.ofEpochSecond(0, TIME + index);
+
+        return measurement;
+    }
+
+    @Nonnull
+    static AbstractData data(@Nonnull final DataType type,
+                             final int index,
+                             final int tags,
+                             final int fields,
+                             final boolean escaping,
+                             @Nonnull final WriteOptions writeOptions) {
+
+        switch (type) {
+            case RECORD:
+                String record = point(index, tags, fields, escaping).lineProtocol(writeOptions.getPrecision());
+                return new RecordData(record, writeOptions);
+            case POINT:
+                return new PointData(point(index, tags, fields, escaping), writeOptions);
+            case MEASUREMENT:
+                return new MeasurementData<>(measurement(index, escaping), writeOptions);
+            default:
+                throw new IllegalStateException("Unsupported data type: " + type);
+        }
+    }
+
+    @Nonnull
+    static List<AbstractData> batch(@Nonnull final DataType type,
+                                    final int batchSize,
+                                    final int tags,
+                                    final int fields,
+                                    final boolean escaping,
+                                    @Nonnull final WriteOptions writeOptions) {
+
+        List<AbstractData> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(data(type, i, tags, fields, escaping, writeOptions));
+        }
+
+        return batch;
+    }
+
+    @Measurement(name = "h2o_feet")
+    public static class H2OFeetMeasurement {
+
+        @Column(name = "location", tag = true)
+        String location;
+
+        @Column(name = "level description")
+        String levelDescription;
+
+        @Column(name = "water_level")
+        Double waterLevel;
+
+        @Column(name = "time")
+        Instant time;
+    }
+}
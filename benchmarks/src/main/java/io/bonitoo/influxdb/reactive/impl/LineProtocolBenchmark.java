@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of one data point into InfluxDB Line Protocol.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation per point ({@code gc.alloc.rate.norm}).
+ *
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineProtocolBenchmark {
+
+    @Param({"1", "5", "20"})
+    int tags;
+
+    @Param({"1", "5", "20"})
+    int fields;
+
+    @Param({"false", "true"})
+    boolean escaping;
+
+    @Param({"NANOSECONDS", "MICROSECONDS", "MILLISECONDS", "SECONDS"})
+    TimeUnit precision;
+
+    private AbstractData record;
+    private AbstractData point;
+
+    @Setup
+    public void setUp() {
+
+        record = BenchmarkData.data(BenchmarkData.DataType.RECORD, 1, tags, fields, escaping,
+                BenchmarkData.writeOptions(precision));
+        point = BenchmarkData.data(BenchmarkData.DataType.POINT, 1, tags, fields, escaping,
+                BenchmarkData.writeOptions(precision));
+    }
+
+    @Benchmark
+    public String record() {
+        return record.lineProtocol();
+    }
+
+    @Benchmark
+    public String point() {
+        return point.lineProtocol();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * The transport which does not touch the network - the body of request is written into the memory
+ * and the request is immediately answered by {@code 204 No Content}.
+ *
+ * @since 1.0.0
+ */
+public final class NoopTransport implements Interceptor {
+
+    private static final int NO_CONTENT = 204;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+
+        Request request = chain.request();
+
+        if (request.body() != null) {
+
+            Buffer buffer = new Buffer();
+            request.body().writeTo(buffer);
+
+            bytes.add(buffer.size());
+            buffer.clear();
+        }
+
+        requests.increment();
+
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(NO_CONTENT)
+                .message("No Content")
+                .body(ResponseBody.create(MediaType.parse("text/plain"), ""))
+                .build();
+    }
+
+    /**
+     * @return the number of the requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of the bytes of the requests bodies
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+}
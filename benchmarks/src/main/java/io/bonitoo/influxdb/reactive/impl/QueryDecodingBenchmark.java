@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+
+import io.reactivex.Flowable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.impl.InfluxDBResultMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decoding of the recorded chunked query response by the {@link ChunkReader} and mapping of the decoded chunks
+ * to POJO - the same work as the query does. The {@code decodeToMeasurements} maps the responses directly
+ * from the token stream by the cached {@link MeasurementPlan}. The {@code decodeColumnar} decodes the responses into
+ * the {@link io.bonitoo.influxdb.reactive.query.ColumnarSeries}.
+ * <p>
+ * Every response has {@link RecordedResponse#ROWS} rows, so the score is in rows per second
+ * and the {@code gc.alloc.rate.norm} of {@code -prof gc} is the allocation per row. The {@code rowBatchSize}
+ * of {@code decode} applies only to the JSON responses.
+ *
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(RecordedResponse.ROWS)
+public class QueryDecodingBenchmark {
+
+    @Param({"JSON", "MSGPACK"})
+    RecordedResponse.Format format;
+
+    @Param({"WIDE_ROWS", "MANY_SERIES", "GROUP_BY_TAGS", "LARGE_CHUNKS"})
+    RecordedResponse.Shape shape;
+
+    @Param({"0", "1000"})
+    int rowBatchSize;
+
+    private byte[] response;
+    private MediaType mediaType;
+    private ChunkReader chunkReader;
+    private QueryOptions queryOptions;
+    private InfluxDBResultMapper resultMapper;
+    private MeasurementMapper measurementMapper;
+
+    @Setup
+    public void setUp() {
+
+        response = RecordedResponse.record(shape, format);
+
+        switch (format) {
+            case MSGPACK:
+                mediaType = MediaType.parse("application/x-msgpack");
+                chunkReader = new ChunkReader(new MessagePackChunkProcessor(), (source, queryResult) -> {
+                });
+                break;
+            default:
+            case JSON:
+                mediaType = MediaType.parse("application/json");
+                chunkReader = new ChunkReader(new JSONChunkProcessor(), (source, queryResult) -> {
+                });
+                break;
+        }
+
+        queryOptions = QueryOptions.builder().rowBatchSize(rowBatchSize).precision(TimeUnit.NANOSECONDS).build();
+        resultMapper = new InfluxDBResultMapper();
+        measurementMapper = new MeasurementMapper();
+
+        // check the recorded response
+        int[] rows = {0};
+        chunkReader.read(body(), queryOptions).blockingForEach(queryResult -> rows[0] += map(queryResult).size());
+        if (rows[0] != RecordedResponse.ROWS) {
+            throw new IllegalStateException("Expected " + RecordedResponse.ROWS + " rows, but was: " + rows[0]);
+        }
+        long measurements = decodeToMeasurements().count().blockingGet();
+        if (measurements != RecordedResponse.ROWS) {
+            throw new IllegalStateException("Expected " + RecordedResponse.ROWS + " measurements, but was: "
+                    + measurements);
+        }
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+
+        chunkReader.read(body(), queryOptions).subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void decodeAndMap(final Blackhole blackhole) {
+
+        chunkReader.read(body(), queryOptions).subscribe(queryResult -> blackhole.consume(map(queryResult)));
+    }
+
+    @Benchmark
+    public void decodeToMeasurements(final Blackhole blackhole) {
+
+        decodeToMeasurements().subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void decodeColumnar(final Blackhole blackhole) {
+
+        chunkReader.readColumnar(body(), queryOptions).subscribe(blackhole::consume);
+    }
+
+    private Flowable<BenchmarkData.H2OFeetMeasurement> decodeToMeasurements() {
+
+        Class<BenchmarkData.H2OFeetMeasurement> type = BenchmarkData.H2OFeetMeasurement.class;
+        if (chunkReader.isMappingSupported()) {
+            return chunkReader.read(body(), measurementMapper.plan(type), queryOptions)
+                    .concatMap(Flowable::fromIterable);
+        }
+
+        return chunkReader.read(body(), queryOptions)
+                .concatMap(queryResult -> Flowable
+                        .fromIterable(measurementMapper.toPOJO(queryResult, type, TimeUnit.NANOSECONDS)));
+    }
+
+    private ResponseBody body() {
+        return ResponseBody.create(mediaType, response);
+    }
+
+    private List<BenchmarkData.H2OFeetMeasurement> map(final QueryResult queryResult) {
+        return resultMapper.toPOJO(queryResult, BenchmarkData.H2OFeetMeasurement.class, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import org.influxdb.dto.QueryResult;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+
+/**
+ * The recorded chunked responses of the query in the JSON and MessagePack format.
+ * <p>
+ * The series are in the shape of the {@link BenchmarkData.H2OFeetMeasurement} so the response
+ * is mappable to POJO. The chunks are split by rows the same way as the InfluxDB splits
+ * the result of the query with {@code chunk_size}.
+ *
+ * @since 1.0.0
+ */
+public final class RecordedResponse {
+
+    /**
+     * The number of rows in every recorded response.
+     */
+    public static final int ROWS = 10_000;
+
+    private static final long TIME = 1_440_046_800_123_456_789L;
+    private static final byte MSG_PACK_TIME_EXT_TYPE = 5;
+    private static final int MSG_PACK_TIME_LENGTH = 12;
+
+    public enum Format {
+        JSON,
+        MSGPACK
+    }
+
+    public enum Shape {
+
+        /**
+         * One series with 50 additional fields, 1 000 rows per chunk.
+         */
+        WIDE_ROWS(1, 0, 50, 1_000),
+
+        /**
+         * 1 000 series grouped by 3 tags, 1 000 rows per chunk.
+         */
+        MANY_SERIES(1_000, 3, 0, 1_000),
+
+        /**
+         * 10 series grouped by 1 tag, 1 000 rows per chunk.
+         */
+        GROUP_BY_TAGS(10, 1, 0, 1_000),
+
+        /**
+         * One series, 10 000 rows in one chunk.
+         */
+        LARGE_CHUNKS(1, 0, 0, 10_000);
+
+        private final int series;
+        private final int tags;
+        private final int extraFields;
+        private final int chunkSize;
+
+        Shape(final int series, final int tags, final int extraFields, final int chunkSize) {
+            this.series = series;
+            this.tags = tags;
+            this.extraFields = extraFields;
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    private RecordedResponse() {
+    }
+
+    /**
+     * @param shape  the shape of the response
+     * @param format the format of the response
+     * @return the body of the chunked response
+     */
+    public static byte[] record(final Shape shape, final Format format) {
+
+        List<QueryResult> chunks = chunks(shape);
+
+        try {
+            switch (format) {
+                case MSGPACK:
+                    return msgPack(chunks);
+                default:
+                case JSON:
+                    return json(chunks);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<QueryResult> chunks(final Shape shape) {
+
+        List<String> columns = new ArrayList<>(Arrays.asList("time", "level description", "water_level"));
+        if (shape.tags == 0) {
+            columns.add("location");
+        }
+        for (int i = 0; i < shape.extraFields; i++) {
+            columns.add("field_" + i);
+        }
+
+        int rowsPerSeries = ROWS / shape.series;
+
+        List<QueryResult> chunks = new ArrayList<>();
+        List<QueryResult.Series> chunk = new ArrayList<>();
+        int chunkRows = 0;
+
+        for (int s = 0; s < shape.series; s++) {
+
+            Map<String, String> tags = new LinkedHashMap<>();
+            if (shape.tags > 0) {
+                tags.put("location", "location_" + s);
+            }
+            for (int t = 1; t < shape.tags; t++) {
+                tags.put("tag_" + t, "value_" + (s % (t + 1)));
+            }
+
+            List<List<Object>> values = new ArrayList<>();
+            for (int r = 0; r < rowsPerSeries; r++) {
+
+                values.add(row(s, r, shape));
+                chunkRows++;
+
+                if (chunkRows == shape.chunkSize || r == rowsPerSeries - 1) {
+
+                    chunk.add(series(columns, tags, values));
+                    values = new ArrayList<>();
+                }
+
+                if (chunkRows == shape.chunkSize) {
+
+                    chunks.add(queryResult(chunk));
+                    chunk = new ArrayList<>();
+                    chunkRows = 0;
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(queryResult(chunk));
+        }
+
+        return chunks;
+    }
+
+    private static List<Object> row(final int series, final int row, final Shape shape) {
+
+        List<Object> values = new ArrayList<>();
+        values.add(TIME + row * 1_000_000_000L);
+        values.add("between 6 and 9 feet");
+        values.add(series + row / 100D);
+        if (shape.tags == 0) {
+            values.add("coyote_creek");
+        }
+        for (int i = 0; i < shape.extraFields; i++) {
+            values.add(i % 2 == 0 ? (Object) (row + i / 10D) : "value_" + i);
+        }
+
+        return values;
+    }
+
+    private static QueryResult.Series series(final List<String> columns,
+                                             final Map<String, String> tags,
+                                             final List<List<Object>> values) {
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName("h2o_feet");
+        series.setColumns(columns);
+        series.setValues(values);
+        if (!tags.isEmpty()) {
+            series.setTags(tags);
+        }
+
+        return series;
+    }
+
+    private static QueryResult queryResult(final List<QueryResult.Series> series) {
+
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(series);
+
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(Collections.singletonList(result));
+
+        return queryResult;
+    }
+
+    private static byte[] json(final List<QueryResult> chunks) {
+
+        JsonAdapter<QueryResult> adapter = new Moshi.Builder().build().adapter(QueryResult.class);
+
+        StringBuilder body = new StringBuilder();
+        for (QueryResult chunk : chunks) {
+
+            // the JSON has the time in RFC3339
+            chunk.getResults().forEach(result -> result.getSeries().forEach(series -> series.getValues()
+                    .forEach(row -> row.set(0, Instant.ofEpochSecond(0, (Long) row.get(0)).toString()))));
+
+            body.append(adapter.toJson(chunk)).append("\n");
+        }
+
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] msgPack(final List<QueryResult> chunks) throws IOException {
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        for (QueryResult chunk : chunks) {
+
+            MessagePacker packer = MessagePack.newDefaultPacker(body);
+
+            packer.packMapHeader(1).packString("results");
+            packer.packArrayHeader(chunk.getResults().size());
+            for (QueryResult.Result result : chunk.getResults()) {
+
+                packer.packMapHeader(2).packString("statement_id").packInt(0);
+                packer.packString("series").packArrayHeader(result.getSeries().size());
+                for (QueryResult.Series series : result.getSeries()) {
+
+                    Map<String, String> tags = series.getTags();
+
+                    packer.packMapHeader(tags != null ? 4 : 3);
+                    packer.packString("name").packString(series.getName());
+                    if (tags != null) {
+                        packer.packString("tags").packMapHeader(tags.size());
+                        for (Map.Entry<String, String> tag : tags.entrySet()) {
+                            packer.packString(tag.getKey()).packString(tag.getValue());
+                        }
+                    }
+                    packer.packString("columns").packArrayHeader(series.getColumns().size());
+                    for (String column : series.getColumns()) {
+                        packer.packString(column);
+                    }
+                    packer.packString("values").packArrayHeader(series.getValues().size());
+                    for (List<Object> row : series.getValues()) {
+                        packer.packArrayHeader(row.size());
+                        packTime(packer, (Long) row.get(0));
+                        for (Object value : row.subList(1, row.size())) {
+                            if (value instanceof Double) {
+                                packer.packDouble((Double) value);
+                            } else {
+                                packer.packString((String) value);
+                            }
+                        }
+                    }
+                }
+            }
+
+            packer.flush();
+        }
+
+        return body.toByteArray();
+    }
+
+    private static void packTime(final MessagePacker packer, final long time) throws IOException {
+
+        // the MessagePack has the time as extension type: seconds + nanoseconds
+        Instant instant = Instant.ofEpochSecond(0, time);
+
+        packer.packExtensionTypeHeader(MSG_PACK_TIME_EXT_TYPE, MSG_PACK_TIME_LENGTH);
+        packer.writePayload(ByteBuffer.allocate(MSG_PACK_TIME_LENGTH)
+                .putLong(instant.getEpochSecond())
+                .putInt(instant.getNano())
+                .array());
+    }
+}
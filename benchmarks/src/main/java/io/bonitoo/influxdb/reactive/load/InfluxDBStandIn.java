@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.load;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * The local HTTP stand-in of the InfluxDB with configurable latency of response and error injection.
+ * <p>
+ * The stand-in answers the {@code /write} by {@code 204 No Content} and the {@code /ping} by {@code 204} with
+ * the version header. The injected errors are answered by {@code 503 Service Unavailable} with
+ * the {@code X-Influx-Error} header, so they are retried by the client.
+ *
+ * @since 1.0.0
+ */
+public final class InfluxDBStandIn implements AutoCloseable {
+
+    private static final int NO_CONTENT = 204;
+    private static final int NOT_FOUND = 404;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    static {
+        // the MockWebServer logs every request
+        Logger.getLogger(MockWebServer.class.getName()).setLevel(Level.WARNING);
+    }
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final long latency;
+    private final double errorRate;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder points = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param latency   the latency of the response in milliseconds
+     * @param errorRate the ratio of the writes which fails, in the range 0.0 - 1.0
+     */
+    public InfluxDBStandIn(final long latency, final double errorRate) {
+
+        if (latency < 0) {
+            throw new IllegalArgumentException("Expecting a non-negative number for latency");
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Expecting a number in the range 0.0 - 1.0 for errorRate");
+        }
+
+        this.latency = latency;
+        this.errorRate = errorRate;
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return InfluxDBStandIn.this.dispatch(request);
+            }
+        });
+    }
+
+    /**
+     * Start the stand-in on the random port.
+     *
+     * @return the URL of the stand-in
+     * @throws IOException if the stand-in can not be started
+     */
+    @Nonnull
+    public String start() throws IOException {
+
+        server.start();
+
+        return server.url("/").toString();
+    }
+
+    /**
+     * @return the number of the received write requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of the successfully written points
+     */
+    public long getPoints() {
+        return points.sum();
+    }
+
+    /**
+     * @return the number of the injected errors
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    @Nonnull
+    private MockResponse dispatch(@Nonnull final RecordedRequest request) {
+
+        String path = request.getPath();
+
+        if (path.startsWith("/ping")) {
+            return new MockResponse().setResponseCode(NO_CONTENT).setHeader("X-Influxdb-Version", "stand-in");
+        }
+
+        if (!path.startsWith("/write")) {
+            return new MockResponse().setResponseCode(NOT_FOUND);
+        }
+
+        requests.increment();
+
+        MockResponse response;
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+
+            errors.increment();
+            response = new MockResponse()
+                    .setResponseCode(SERVICE_UNAVAILABLE)
+                    .setHeader("X-Influx-Error", "injected error");
+        } else {
+
+            points.add(lines(request.getBody()));
+            response = new MockResponse().setResponseCode(NO_CONTENT);
+        }
+
+        return response.setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+    }
+
+    private long lines(@Nonnull final Buffer body) {
+
+        long lines = 0;
+        long index = 0;
+        while ((index = body.indexOf((byte) '\n', index)) != -1) {
+            lines++;
+            index++;
+        }
+
+        // the last line is not terminated
+        return body.size() > 0 ? lines + 1 : 0;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+import io.bonitoo.influxdb.reactive.InfluxDBReactiveFactory;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.metrics.LatencySnapshot;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * The end-to-end load generator which drives the client created by {@link InfluxDBReactiveFactory} at the target
+ * rate against the {@link InfluxDBStandIn}.
+ * <p>
+ * The generator periodically reports the throughput, the write latency percentiles, the dropped points
+ * and the heap/GC statistics, and prints the summary at the end of run:
+ * <pre>
+ * java -cp target/benchmarks.jar io.bonitoo.influxdb.reactive.load.LoadGenerator --rate=50000 --duration=60
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public final class LoadGenerator {
+
+    private static final long TICK = 10;
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private static final Map<String, String> DEFAULTS = new HashMap<>();
+
+    static {
+        DEFAULTS.put("rate", "10000");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("report", "5");
+        DEFAULTS.put("batchSize", "1000");
+        DEFAULTS.put("flushInterval", "1000");
+        DEFAULTS.put("bufferLimit", "10000");
+        DEFAULTS.put("jitterInterval", "0");
+        DEFAULTS.put("retryInterval", "1000");
+        DEFAULTS.put("latency", "5");
+        DEFAULTS.put("errorRate", "0");
+        DEFAULTS.put("tcpNoDelay", "false");
+    }
+
+    private final Map<String, String> settings;
+
+    private LoadGenerator(@Nonnull final Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Map<String, String> settings = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+
+            String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+            if (keyValue.length != 2 || !DEFAULTS.containsKey(keyValue[0])) {
+                System.out.println("Usage: LoadGenerator [--key=value]..., the keys and default values: " + DEFAULTS);
+                return;
+            }
+
+            settings.put(keyValue[0], keyValue[1]);
+        }
+
+        new LoadGenerator(settings).run();
+    }
+
+    private void run() throws Exception {
+
+        long rate = longSetting("rate");
+        long duration = TimeUnit.SECONDS.toNanos(longSetting("duration"));
+        long report = TimeUnit.SECONDS.toNanos(longSetting("report"));
+
+        System.out.println("Settings: " + settings);
+
+        try (InfluxDBStandIn standIn = new InfluxDBStandIn(longSetting("latency"),
+                Double.parseDouble(settings.get("errorRate")))) {
+
+            OkHttpClient.Builder okHttpClient = new OkHttpClient.Builder();
+            if (Boolean.parseBoolean(settings.get("tcpNoDelay"))) {
+                okHttpClient.socketFactory(new NoDelaySocketFactory());
+            }
+
+            InfluxDBOptions options = InfluxDBOptions.builder()
+                    .url(standIn.start())
+                    .database("load")
+                    .okHttpClient(okHttpClient)
+                    .build();
+
+            BatchOptionsReactive batchOptions = BatchOptionsReactive.builder()
+                    .batchSize(intSetting("batchSize"))
+                    .flushInterval(intSetting("flushInterval"))
+                    .bufferLimit(intSetting("bufferLimit"))
+                    .jitterInterval(intSetting("jitterInterval"))
+                    .retryInterval(intSetting("retryInterval"))
+                    .build();
+
+            InfluxDBReactive influxDBReactive = InfluxDBReactiveFactory.connect(options, batchOptions);
+
+            Stats start = new Stats(influxDBReactive.metrics(), 0);
+            Stats last = start;
+
+            //
+            // Produce the records at the target rate
+            //
+            long[] produced = {0};
+            long startNanos = System.nanoTime();
+            ScheduledExecutorService producer = Executors.newSingleThreadScheduledExecutor();
+            producer.scheduleAtFixedRate(() -> {
+
+                long expected = Math.min(rate * (System.nanoTime() - startNanos) / TimeUnit.SECONDS.toNanos(1),
+                        rate * duration / TimeUnit.SECONDS.toNanos(1));
+
+                List<String> records = new ArrayList<>();
+                for (long i = produced[0]; i < expected; i++) {
+                    records.add("load,generator=influxdb-java-reactive value=" + i + "i");
+                }
+                produced[0] = expected;
+
+                if (!records.isEmpty()) {
+                    influxDBReactive.writeRecords(records);
+                }
+            }, 0, TICK, TimeUnit.MILLISECONDS);
+
+            //
+            // Report
+            //
+            while (System.nanoTime() - startNanos < duration) {
+
+                TimeUnit.NANOSECONDS.sleep(Math.min(report, duration - (System.nanoTime() - startNanos)));
+
+                Stats stats = new Stats(influxDBReactive.metrics(), System.nanoTime() - startNanos);
+                System.out.println(stats.report(last));
+                last = stats;
+            }
+
+            producer.shutdown();
+            producer.awaitTermination(1, TimeUnit.SECONDS);
+
+            //
+            // Drain the buffered points
+            //
+            long drainDeadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(batchOptions.getFlushInterval() + batchOptions.getRetryInterval())
+                    + TimeUnit.SECONDS.toNanos(1);
+            while (System.nanoTime() < drainDeadline) {
+
+                ClientMetrics metrics = influxDBReactive.metrics();
+                if (metrics.getBufferOccupancy() == 0
+                        && metrics.getPointsWritten() + metrics.getPointsDropped() >= metrics.getPointsIn()) {
+                    break;
+                }
+                TimeUnit.MILLISECONDS.sleep(TICK);
+            }
+
+            Stats end = new Stats(influxDBReactive.metrics(), duration);
+            influxDBReactive.close();
+
+            System.out.println();
+            System.out.println("Summary:");
+            System.out.println(end.report(start));
+            System.out.printf("stand-in: requests=%d, points=%d, injected errors=%d%n",
+                    standIn.getRequests(), standIn.getPoints(), standIn.getErrors());
+        }
+    }
+
+    private long longSetting(@Nonnull final String key) {
+        return Long.parseLong(settings.get(key));
+    }
+
+    private int intSetting(@Nonnull final String key) {
+        return Integer.parseInt(settings.get(key));
+    }
+
+    /**
+     * The snapshot of client metrics and JVM statistics.
+     */
+    private static final class Stats {
+
+        private final ClientMetrics metrics;
+        private final long elapsedNanos;
+        private final MemoryUsage heap;
+        private final long gcCount;
+        private final long gcTime;
+
+        private Stats(@Nonnull final ClientMetrics metrics, final long elapsedNanos) {
+
+            this.metrics = metrics;
+            this.elapsedNanos = elapsedNanos;
+            this.heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+            long count = 0;
+            long time = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                time += Math.max(0, gc.getCollectionTime());
+            }
+            this.gcCount = count;
+            this.gcTime = time;
+        }
+
+        @Nonnull
+        private String report(@Nonnull final Stats previous) {
+
+            double seconds = Math.max(1, elapsedNanos - previous.elapsedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+
+            LatencySnapshot latency = metrics.getWriteLatency();
+
+            return String.format("%6.1fs: in=%.0f points/s, written=%.0f points/s, dropped=%d, retries=%d, "
+                            + "buffer=%d/%d, write latency p50=%.1fms p99=%.1fms max=%.1fms, "
+                            + "heap=%dMB/%dMB, gc=%d (%dms)",
+                    elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1),
+                    (metrics.getPointsIn() - previous.metrics.getPointsIn()) / seconds,
+                    (metrics.getPointsWritten() - previous.metrics.getPointsWritten()) / seconds,
+                    metrics.getPointsDropped() - previous.metrics.getPointsDropped(),
+                    metrics.getRetries() - previous.metrics.getRetries(),
+                    metrics.getBufferOccupancy(),
+                    metrics.getBufferLimit(),
+                    latency.getP50() / (double) NANOS_PER_MILLI,
+                    latency.getP99() / (double) NANOS_PER_MILLI,
+                    latency.getMax() / (double) NANOS_PER_MILLI,
+                    heap.getUsed() / BYTES_PER_MB,
+                    heap.getMax() / BYTES_PER_MB,
+                    gcCount - previous.gcCount,
+                    gcTime - previous.gcTime);
+        }
+    }
+}
@@ -23,12 +23,24 @@
 package io.bonitoo.influxdb.reactive;
 
 
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 
+import io.bonitoo.influxdb.reactive.bulk.CopyProgress;
+import io.bonitoo.influxdb.reactive.bulk.ExportSummary;
+import io.bonitoo.influxdb.reactive.bulk.ImportProgress;
 import io.bonitoo.influxdb.reactive.events.AbstractInfluxEvent;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.options.ExportOptions;
+import io.bonitoo.influxdb.reactive.options.ImportOptions;
+import io.bonitoo.influxdb.reactive.options.ListenerOptions;
 import io.bonitoo.influxdb.reactive.options.QueryOptions;
 import io.bonitoo.influxdb.reactive.options.WriteOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
 
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
@@ -237,6 +249,46 @@ public interface InfluxDBReactive {
     @Nonnull
     Flowable<String> writeRecords(@Nonnull final Publisher<String> recordStream, @Nonnull final WriteOptions options);
 
+    /**
+     * Import the file of data points in InfluxDB Line Protocol into default database.
+     *
+     * @param file the line protocol file to import
+     * @return {@link Flowable} emitting the progress of every written or rejected batch
+     * @see #importFile(Path, WriteOptions, ImportOptions)
+     */
+    @Nonnull
+    Flowable<ImportProgress> importFile(@Nonnull final Path file);
+
+    /**
+     * Import the file of data points in InfluxDB Line Protocol into database.
+     *
+     * @param file    the line protocol file to import
+     * @param options the configuration of the write
+     * @return {@link Flowable} emitting the progress of every written or rejected batch
+     * @see #importFile(Path, WriteOptions, ImportOptions)
+     */
+    @Nonnull
+    Flowable<ImportProgress> importFile(@Nonnull final Path file, @Nonnull final WriteOptions options);
+
+    /**
+     * Import the file of data points in InfluxDB Line Protocol into database.
+     * <p>
+     * The file is memory-mapped and sliced into the batches on the line boundaries without decoding the lines.
+     * The batches are written directly - without the batching of {@link #writeRecords(Publisher, WriteOptions)} -
+     * by {@link ImportOptions#getConcurrency()} concurrent requests. The batch which is not written is emitted
+     * as the rejected range of the file and the import continues. The file is imported when the subscriber
+     * subscribes and the import is cancelled by disposing the subscription.
+     *
+     * @param file          the line protocol file to import
+     * @param options       the configuration of the write
+     * @param importOptions the configuration of the import
+     * @return {@link Flowable} emitting the progress of every written or rejected batch
+     */
+    @Nonnull
+    Flowable<ImportProgress> importFile(@Nonnull final Path file,
+                                        @Nonnull final WriteOptions options,
+                                        @Nonnull final ImportOptions importOptions);
+
     /**
      * Execute a query against a default database.
      *
@@ -325,8 +377,174 @@ public interface InfluxDBReactive {
      */
     Flowable<QueryResult> query(@Nonnull final Publisher<Query> queryStream, @Nonnull final QueryOptions queryOptions);
 
+    /**
+     * Execute a query against a default database and read the series stored by columns in the primitive arrays.
+     *
+     * @param query the query to execute.
+     * @return {@link Flowable} emitting the series by columns or {@link Flowable#empty()} if none found.
+     * @see ColumnarSeries
+     */
+    Flowable<ColumnarSeries> queryColumnar(@Nonnull final Query query);
+
+    /**
+     * Execute a query against a default database and read the series stored by columns in the primitive arrays.
+     * The series are split by {@link QueryOptions#getRowBatchSize()} rows.
+     *
+     * @param query        the query to execute.
+     * @param queryOptions the configuration of the query
+     * @return {@link Flowable} emitting the series by columns or {@link Flowable#empty()} if none found.
+     * @see ColumnarSeries
+     */
+    Flowable<ColumnarSeries> queryColumnar(@Nonnull final Query query, @Nonnull final QueryOptions queryOptions);
+
+    /**
+     * Execute a query against a default database and read the series stored by columns in the primitive arrays.
+     *
+     * @param queryStream the query to execute. Uses the first emitted element to perform the find-query.
+     * @return {@link Flowable} emitting the series by columns or {@link Flowable#empty()} if none found.
+     * @see ColumnarSeries
+     */
+    Flowable<ColumnarSeries> queryColumnar(@Nonnull final Publisher<Query> queryStream);
+
+    /**
+     * Execute a query against a default database and read the series stored by columns in the primitive arrays.
+     * The series are split by {@link QueryOptions#getRowBatchSize()} rows.
+     *
+     * @param queryStream  the query to execute. Uses the first emitted element to perform the find-query.
+     * @param queryOptions the configuration of the query
+     * @return {@link Flowable} emitting the series by columns or {@link Flowable#empty()} if none found.
+     * @see ColumnarSeries
+     */
+    Flowable<ColumnarSeries> queryColumnar(@Nonnull final Publisher<Query> queryStream,
+                                           @Nonnull final QueryOptions queryOptions);
+
+    /**
+     * Periodically execute the query and emit only the new points as one continuous stream. The query has to contain
+     * the {@link QueryOptions#TIME_FILTER} placeholder which is replaced by the {@code time > lastSeen} condition.
+     * The points older than the subscription are not emitted. If the poll doesn't return any new point
+     * than the next poll is delayed twice as long, at most 8 times the {@code interval}.
+     * <p>
+     * The timestamps are compared in the {@link TimeUnit#MILLISECONDS} precision.
+     *
+     * @param query    the query to tail
+     * @param interval the time between two polls
+     * @return {@link Flowable} emitting the new points, the stream is terminated only by the error or disposal
+     */
+    Flowable<QueryResult> tail(@Nonnull final Query query, @Nonnull final Duration interval);
+
+    /**
+     * Periodically execute the query and emit only the new points as one continuous stream.
+     * <p>
+     * The timestamps are compared in the {@link QueryOptions#getPrecision()}. The JSON numbers are parsed
+     * as {@code double}, so the {@link TimeUnit#MICROSECONDS} or coarser precision is required
+     * to compare the exact timestamps of the JSON response. The series which didn't report within 16 times
+     * the {@code interval} are not tracked anymore.
+     *
+     * @param query        the query to tail
+     * @param interval     the time between two polls
+     * @param queryOptions the configuration of the query
+     * @return {@link Flowable} emitting the new points, the stream is terminated only by the error or disposal
+     * @see #tail(Query, Duration)
+     */
+    Flowable<QueryResult> tail(@Nonnull final Query query,
+                               @Nonnull final Duration interval,
+                               @Nonnull final QueryOptions queryOptions);
+
+    /**
+     * Periodically execute the query and emit only the new points as one continuous stream.
+     * <p>
+     * The query is bounded by the oldest last seen timestamp of series, but at most by the {@code lookBack}.
+     * The series which didn't report within the {@code lookBack} are not tracked anymore, so their points older
+     * than the {@code lookBack} are not emitted.
+     *
+     * @param query        the query to tail
+     * @param interval     the time between two polls
+     * @param lookBack     the maximum age of the late points, at least the {@code interval}
+     * @param queryOptions the configuration of the query
+     * @return {@link Flowable} emitting the new points, the stream is terminated only by the error or disposal
+     * @see #tail(Query, Duration, QueryOptions)
+     */
+    Flowable<QueryResult> tail(@Nonnull final Query query,
+                               @Nonnull final Duration interval,
+                               @Nonnull final Duration lookBack,
+                               @Nonnull final QueryOptions queryOptions);
+
+    /**
+     * Export the results of query into the {@link WritableByteChannel} as Line Protocol or CSV.
+     * <p>
+     * The chunks of response are decoded into the {@link ColumnarSeries} and the rows are formatted directly from
+     * the columns into the {@code target}, so the memory is bounded by the {@link QueryOptions#getChunkSize()}
+     * or {@link QueryOptions#getRowBatchSize()} regardless of the count of exported rows. The time range
+     * of {@link QueryOptions} is exported by the concurrent time slices in the time order.
+     * The {@code target} is flushed but not closed.
+     * <p>
+     * The times are written in the {@link QueryOptions#getPrecision()}. The JSON response doesn't distinguish
+     * integers from floats, so use the MessagePack response to export the integer fields to Line Protocol.
+     *
+     * @param query         the query to export
+     * @param queryOptions  the configuration of the query
+     * @param exportOptions the configuration of the output
+     * @param target        the channel to write, for example the {@link java.nio.channels.FileChannel}
+     * @return {@link Single} emitting the summary of export when all rows are written
+     */
+    @Nonnull
+    Single<ExportSummary> export(@Nonnull final Query query,
+                                 @Nonnull final QueryOptions queryOptions,
+                                 @Nonnull final ExportOptions exportOptions,
+                                 @Nonnull final WritableByteChannel target);
+
+    /**
+     * Export the results of query into the {@link OutputStream} as Line Protocol or CSV.
+     *
+     * @param query         the query to export
+     * @param queryOptions  the configuration of the query
+     * @param exportOptions the configuration of the output
+     * @param target        the stream to write
+     * @return {@link Single} emitting the summary of export when all rows are written
+     * @see #export(Query, QueryOptions, ExportOptions, WritableByteChannel)
+     */
+    @Nonnull
+    Single<ExportSummary> export(@Nonnull final Query query,
+                                 @Nonnull final QueryOptions queryOptions,
+                                 @Nonnull final ExportOptions exportOptions,
+                                 @Nonnull final OutputStream target);
+
+    /**
+     * Copy the results of query into the database of {@code target} - the other database, retention policy
+     * or InfluxDB instance.
+     * <p>
+     * The chunks of response are decoded into the {@link ColumnarSeries} and the consecutive series are written
+     * directly as Line Protocol by the batches of 1 MiB without the intermediate POJOs, {@link Point}s or batching
+     * of writes. The next series is read only after the full batch is written, so the copy is as fast as
+     * the slower side and the memory is bounded by the batch and the {@link QueryOptions#getChunkSize()}
+     * or {@link QueryOptions#getRowBatchSize()}.
+     * The retry worth errors of the write are retried 3 times, the other errors terminate the copy.
+     * <p>
+     * The time range of {@link QueryOptions} is copied by the time slices one by one and the progress with
+     * the checkpoint is emitted after every slice. The interrupted copy is resumed by the time range starting
+     * at the last checkpoint. The tags of series are written as tags - use the {@code GROUP BY *} to copy the tags.
+     * The JSON response doesn't distinguish integers from floats, so the copy requires the source
+     * with the {@link org.influxdb.InfluxDB.ResponseFormat#MSGPACK} response format.
+     *
+     * @param query        the query of the copied data, with the {@link QueryOptions#TIME_FILTER} placeholder
+     *                     for the time range
+     * @param queryOptions the configuration of the query, the precision has to be same as the precision of write
+     * @param target       the {@link InfluxDBReactive} to write, could be {@code this}
+     * @param writeOptions the configuration of the write
+     * @return {@link Flowable} emitting the progress of every copied time slice
+     * @throws IllegalArgumentException if the source doesn't use the MessagePack response format
+     */
+    @Nonnull
+    Flowable<CopyProgress> copy(@Nonnull final Query query,
+                                @Nonnull final QueryOptions queryOptions,
+                                @Nonnull final InfluxDBReactive target,
+                                @Nonnull final WriteOptions writeOptions);
+
     /**
      * Listen the events produced by {@link InfluxDBReactive}.
+     * <p>
+     * The listener is notified synchronously on the thread that publish the event. For the expensive listeners use
+     * the asynchronous {@link #listenEvents(Class, ListenerOptions)}.
      *
      * @param eventType type of event to listen
      * @param <T>       type of event to listen
@@ -335,6 +553,31 @@ public interface InfluxDBReactive {
     @Nonnull
     <T extends AbstractInfluxEvent> Observable<T> listenEvents(@Nonnull Class<T> eventType);
 
+    /**
+     * Asynchronously listen the events produced by {@link InfluxDBReactive}.
+     * <p>
+     * The listener has its own bounded queue of events and it is notified on the
+     * {@link ListenerOptions#getScheduler()}, so the slow listener doesn't affect the latency of writes.
+     * If the queue is full than the events are dropped by the {@link ListenerOptions#getOverflowStrategy()}.
+     *
+     * @param eventType type of event to listen
+     * @param options   the configuration of the listener
+     * @param <T>       type of event to listen
+     * @return lister for {@code eventType} events
+     */
+    @Nonnull
+    <T extends AbstractInfluxEvent> Flowable<T> listenEvents(@Nonnull Class<T> eventType,
+                                                             @Nonnull ListenerOptions options);
+
+    /**
+     * Return the snapshot of the client metrics: throughput, latencies, buffer occupancy, retries and drops.
+     *
+     * @return the snapshot of the client metrics
+     * @see io.bonitoo.influxdb.reactive.options.InfluxDBOptions.Builder#jmxEnabled(boolean)
+     */
+    @Nonnull
+    ClientMetrics metrics();
+
     /**
      * Ping this he connected InfluxDB Server.
      *
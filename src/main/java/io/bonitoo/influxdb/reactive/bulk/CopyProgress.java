@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.bulk;
+
+import java.time.Instant;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The progress of the copy - one completely copied time slice of the query.
+ * <p>
+ * The interrupted copy could be resumed by the same query with the time range
+ * which starts at the {@link #getCheckpoint()} of the last emitted progress.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#copy(org.influxdb.dto.Query,
+ * io.bonitoo.influxdb.reactive.options.QueryOptions, io.bonitoo.influxdb.reactive.InfluxDBReactive,
+ * io.bonitoo.influxdb.reactive.options.WriteOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class CopyProgress {
+
+    private final Instant checkpoint;
+    private final long rows;
+    private final long bytes;
+    private final long copiedRows;
+    private final long copiedBytes;
+
+    public CopyProgress(@Nullable final Instant checkpoint,
+                        final long rows,
+                        final long bytes,
+                        final long copiedRows,
+                        final long copiedBytes) {
+        this.checkpoint = checkpoint;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.copiedRows = copiedRows;
+        this.copiedBytes = copiedBytes;
+    }
+
+    /**
+     * @return the end of the copied time slice - all rows before the checkpoint are copied,
+     * {@code null} if the query is not sliced by time
+     */
+    @Nullable
+    public Instant getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @return the count of rows copied in this slice
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the size of Line Protocol written in this slice
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the count of rows copied in all slices including this slice
+     */
+    public long getCopiedRows() {
+        return copiedRows;
+    }
+
+    /**
+     * @return the size of Line Protocol written in all slices including this slice
+     */
+    public long getCopiedBytes() {
+        return copiedBytes;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "CopyProgress{"
+                + "checkpoint=" + checkpoint
+                + ", rows=" + rows
+                + ", bytes=" + bytes
+                + ", copiedRows=" + copiedRows
+                + ", copiedBytes=" + copiedBytes
+                + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.bulk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The summary of the finished bulk export.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#export(org.influxdb.dto.Query,
+ * io.bonitoo.influxdb.reactive.options.QueryOptions, io.bonitoo.influxdb.reactive.options.ExportOptions,
+ * java.nio.channels.WritableByteChannel)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ExportSummary {
+
+    private final long series;
+    private final long rows;
+    private final long bytes;
+
+    public ExportSummary(final long series, final long rows, final long bytes) {
+        this.series = series;
+        this.rows = rows;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return the count of exported series, the series split into more chunks is counted for every chunk
+     */
+    public long getSeries() {
+        return series;
+    }
+
+    /**
+     * @return the count of exported rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the count of bytes written into the target, after the compression
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "ExportSummary{"
+                + "series=" + series
+                + ", rows=" + rows
+                + ", bytes=" + bytes
+                + '}';
+    }
+}
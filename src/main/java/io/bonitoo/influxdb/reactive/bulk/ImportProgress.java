@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.bulk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.influxdb.InfluxDBException;
+
+/**
+ * The progress of the bulk import - one written or rejected batch of the imported file.
+ * <p>
+ * The batch is the range of bytes of the file which starts on the beginning of line and ends after the new line.
+ * The rejected range could be imported again after the cause of {@link #getError()} is fixed.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#importFile(java.nio.file.Path,
+ * io.bonitoo.influxdb.reactive.options.WriteOptions, io.bonitoo.influxdb.reactive.options.ImportOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ImportProgress {
+
+    private final long offset;
+    private final long length;
+    private final long lines;
+    private final InfluxDBException error;
+    private final long processedBytes;
+    private final long totalBytes;
+
+    public ImportProgress(final long offset,
+                          final long length,
+                          final long lines,
+                          @Nullable final InfluxDBException error,
+                          final long processedBytes,
+                          final long totalBytes) {
+        this.offset = offset;
+        this.length = length;
+        this.lines = lines;
+        this.error = error;
+        this.processedBytes = processedBytes;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * @return the position of the first byte of batch in the file
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the size of batch in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the count of lines in the batch without the empty lines and comments
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * @return {@code true} if the batch was not written
+     */
+    public boolean isRejected() {
+        return error != null;
+    }
+
+    /**
+     * @return the cause of rejection or {@code null} if the batch was written
+     */
+    @Nullable
+    public InfluxDBException getError() {
+        return error;
+    }
+
+    /**
+     * @return the size of all written and rejected batches in bytes including this batch
+     */
+    public long getProcessedBytes() {
+        return processedBytes;
+    }
+
+    /**
+     * @return the size of the imported file in bytes
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "ImportProgress{"
+                + "offset=" + offset
+                + ", length=" + length
+                + ", lines=" + lines
+                + ", error=" + error
+                + ", processedBytes=" + processedBytes
+                + ", totalBytes=" + totalBytes
+                + '}';
+    }
+}
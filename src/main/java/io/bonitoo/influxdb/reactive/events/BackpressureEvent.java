@@ -26,7 +26,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * The event is published when is backpressure applied.
+ * The event is published when is backpressure applied - for every data point dropped due to buffer overflow.
+ * The event is created only if someone listen it or the trace logging is enabled. To be notified about
+ * the state of the buffer use {@link BufferWatermarkEvent}.
  *
  * @author Jakub Bednar (bednar@github) (14/06/2018 12:12)
  * @since 1.0.0
@@ -38,6 +40,6 @@ public class BackpressureEvent extends AbstractInfluxEvent {
 
     @Override
     public void logEvent() {
-        LOG.log(Level.WARNING, "Backpressure applied, try increase BatchOptionsReactive.bufferLimit");
+        LOG.log(Level.FINEST, "Backpressure applied, try increase BatchOptionsReactive.bufferLimit");
     }
 }
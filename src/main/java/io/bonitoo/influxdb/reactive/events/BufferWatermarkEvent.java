@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.events;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+/**
+ * The event is published when the occupancy of the write buffer crosses the configured watermarks.
+ * In contrast to {@link BackpressureEvent} the event is published only when the state of buffer changes,
+ * so the producers can throttle before the data points are dropped.
+ *
+ * @see io.bonitoo.influxdb.reactive.options.BatchOptionsReactive.Builder#bufferWatermarks(int, int, int)
+ * @since 1.0.0
+ */
+public class BufferWatermarkEvent extends AbstractInfluxEvent {
+
+    private static final Logger LOG = Logger.getLogger(BufferWatermarkEvent.class.getName());
+
+    /**
+     * The state of the write buffer.
+     */
+    public enum Watermark {
+
+        /**
+         * The occupancy of the buffer reached the low watermark.
+         */
+        LOW,
+
+        /**
+         * The occupancy of the buffer reached the high watermark, the buffer will overflow soon.
+         */
+        HIGH,
+
+        /**
+         * The occupancy of the buffer fell to the recovery watermark.
+         */
+        RECOVERED
+    }
+
+    private final Watermark watermark;
+    private final long bufferOccupancy;
+    private final int bufferLimit;
+    private final long droppedPoints;
+
+    public BufferWatermarkEvent(@Nonnull final Watermark watermark,
+                                final long bufferOccupancy,
+                                final int bufferLimit,
+                                final long droppedPoints) {
+
+        Objects.requireNonNull(watermark, "Watermark is required");
+
+        this.watermark = watermark;
+        this.bufferOccupancy = bufferOccupancy;
+        this.bufferLimit = bufferLimit;
+        this.droppedPoints = droppedPoints;
+    }
+
+    /**
+     * @return the crossed watermark
+     */
+    @Nonnull
+    public Watermark getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return the number of data points in the buffer
+     */
+    public long getBufferOccupancy() {
+        return bufferOccupancy;
+    }
+
+    /**
+     * @return the maximum number of data points in the buffer
+     */
+    public int getBufferLimit() {
+        return bufferLimit;
+    }
+
+    /**
+     * @return the total number of data points dropped due to buffer overflow
+     */
+    public long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    @Override
+    public void logEvent() {
+
+        Object[] params = {watermark, bufferOccupancy, bufferLimit, droppedPoints};
+
+        if (watermark == Watermark.RECOVERED) {
+            LOG.log(Level.INFO, "The write buffer {0}: {1}/{2}, dropped points: {3}", params);
+        } else {
+            LOG.log(Level.WARNING, "The write buffer reached {0} watermark: {1}/{2}, dropped points: {3}. "
+                    + "Try throttle the producer or increase BatchOptionsReactive.bufferLimit", params);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.events;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.WriteOptions;
+
+/**
+ * The event is published when the data was successfully written to InfluxDB server. In contrast to
+ * {@link WriteSuccessEvent} and {@link WriteUDPEvent} the event doesn't retain the written data points,
+ * it carries only the count of points and the size of request body.
+ *
+ * @since 1.0.0
+ */
+public class WriteSummaryEvent extends AbstractInfluxEvent {
+
+    private static final Logger LOG = Logger.getLogger(WriteSummaryEvent.class.getName());
+
+    private final WriteOptions writeOptions;
+    private final int pointsCount;
+    private final long bytes;
+
+    public WriteSummaryEvent(@Nonnull final WriteOptions writeOptions,
+                             final int pointsCount,
+                             final long bytes) {
+
+        Objects.requireNonNull(writeOptions, "WriteOptions are required");
+
+        this.writeOptions = writeOptions;
+        this.pointsCount = pointsCount;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return {@code writeOptions} that was used in write
+     */
+    @Nonnull
+    public WriteOptions getWriteOptions() {
+        return writeOptions;
+    }
+
+    /**
+     * @return the number of data points that was written
+     */
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    /**
+     * @return the size of written InfluxDB Line Protocol in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void logEvent() {
+
+        Object[] params = {pointsCount, bytes};
+        LOG.log(Level.FINEST, "Written {0} data points ({1} bytes) to InfluxDB", params);
+    }
+}
@@ -34,6 +34,12 @@ abstract class AbstractData<D> {
 
     protected WriteOptions writeOptions;
 
+    /**
+     * The time when the data point entered and left the backpressure buffer. Recorded only for tracing.
+     */
+    long enqueuedNanos;
+    long dequeuedNanos;
+
     AbstractData(@Nonnull final WriteOptions writeOptions) {
 
         Objects.requireNonNull(writeOptions, "WriteOptions are required");
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.squareup.moshi.JsonReader;
+import okio.BufferedSource;
+
+/**
+ * The base of incremental parsers of the JSON chunks. The chunks are parsed directly from the token stream
+ * of {@link JsonReader} - the subclasses walk through the documents by the {@link Position}.
+ *
+ * @since 1.0.0
+ */
+abstract class AbstractJSONChunkParser {
+
+    static final JsonReader.Options DOCUMENT_NAMES = JsonReader.Options.of("results", "error");
+    static final JsonReader.Options RESULT_NAMES = JsonReader.Options.of("series", "error");
+    static final JsonReader.Options SERIES_NAMES = JsonReader.Options.of("name", "tags", "columns", "values");
+    static final int SERIES_NAME = 0;
+    static final int SERIES_TAGS = 1;
+    static final int SERIES_COLUMNS = 2;
+    static final int SERIES_VALUES = 3;
+
+    enum Position {
+        DOCUMENT,
+        RESULTS,
+        RESULT,
+        SERIES_LIST,
+        SERIES,
+        VALUES
+    }
+
+    private final BufferedSource source;
+
+    JsonReader reader;
+    Position position;
+
+    AbstractJSONChunkParser(@Nonnull final BufferedSource source) {
+
+        Objects.requireNonNull(source, "BufferedSource is required");
+
+        this.source = source;
+    }
+
+    /**
+     * Begin the next document (chunk) in the source.
+     *
+     * @return {@code false} if the source is exhausted
+     */
+    boolean beginDocument() throws IOException {
+
+        // the chunks are separated by new line
+        while (source.request(1)) {
+            byte next = source.buffer().getByte(0);
+            if (next != ' ' && next != '\n' && next != '\r' && next != '\t') {
+                break;
+            }
+            source.skip(1);
+        }
+
+        if (source.exhausted()) {
+            return false;
+        }
+
+        reader = JsonReader.of(source);
+        reader.beginObject();
+
+        position = Position.DOCUMENT;
+
+        return true;
+    }
+
+    /**
+     * End the current document (chunk).
+     */
+    void endDocument() throws IOException {
+
+        reader.endObject();
+        reader = null;
+    }
+
+    @Nonnull
+    List<String> nextColumns() throws IOException {
+
+        List<String> values = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(nextNullableString());
+        }
+        reader.endArray();
+
+        return values;
+    }
+
+    @Nonnull
+    Map<String, String> nextTags() throws IOException {
+
+        Map<String, String> values = new LinkedHashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            values.put(reader.nextName(), nextNullableString());
+        }
+        reader.endObject();
+
+        return values;
+    }
+
+    @Nullable
+    String nextNullableString() throws IOException {
+
+        if (reader.peek() == JsonReader.Token.NULL) {
+            return reader.nextNull();
+        }
+
+        return reader.nextString();
+    }
+
+    void skipField() throws IOException {
+        reader.nextName();
+        reader.skipValue();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.BufferedSource;
+import okio.Options;
+
+/**
+ * The base of parsers of the MessagePack chunks. The chunks are read directly from the {@link BufferedSource}
+ * by {@link MessagePackReader} - the keys of maps are selected without decoding and the rows of series
+ * are passed to the subclasses one by one.
+ * <p>
+ * The values are supplied as soon as the subclass {@link #supply(Object) supplies} them, at the latest after
+ * the chunk is read.
+ *
+ * @param <T> the type of supplied values
+ * @since 1.0.0
+ */
+abstract class AbstractMessagePackChunkParser<T> implements Supplier<T> {
+
+    private static final Options DOCUMENT_KEYS = MessagePackReader.keys("results", "error");
+    private static final Options RESULT_KEYS = MessagePackReader.keys("series", "error");
+    private static final Options SERIES_KEYS = MessagePackReader.keys("name", "tags", "columns", "values");
+    private static final int SERIES_NAME = 0;
+    private static final int SERIES_TAGS = 1;
+    private static final int SERIES_COLUMNS = 2;
+    private static final int SERIES_VALUES = 3;
+
+    final MessagePackReader reader;
+
+    private final Queue<T> supplied = new ArrayDeque<>();
+
+    AbstractMessagePackChunkParser(@Nonnull final BufferedSource source) {
+        this.reader = new MessagePackReader(source);
+    }
+
+    @Override
+    @Nullable
+    public final T get() {
+        try {
+            while (supplied.isEmpty()) {
+                if (reader.exhausted()) {
+                    return null;
+                }
+                nextDocument();
+            }
+
+            return supplied.poll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param value the value to supply
+     */
+    final void supply(@Nonnull final T value) {
+        supplied.add(value);
+    }
+
+    /**
+     * The values of series will be read.
+     *
+     * @param name    the name of series
+     * @param tags    the tags of series
+     * @param columns the columns of series
+     * @return {@code false} if the rows of series should be skipped
+     */
+    abstract boolean beginValues(@Nullable String name,
+                                 @Nullable Map<String, String> tags,
+                                 @Nullable List<String> columns);
+
+    /**
+     * Read the values of row.
+     *
+     * @param size the count of values in the row
+     * @throws IOException if the row can not be read
+     */
+    abstract void nextRow(int size) throws IOException;
+
+    /**
+     * The series was read.
+     *
+     * @param name          the name of series
+     * @param tags          the tags of series
+     * @param columns       the columns of series
+     * @param valuesPresent {@code true} if the series contains the values
+     */
+    abstract void endSeries(@Nullable String name,
+                            @Nullable Map<String, String> tags,
+                            @Nullable List<String> columns,
+                            boolean valuesPresent);
+
+    /**
+     * The result was read.
+     *
+     * @param error         the error of result
+     * @param seriesPresent {@code true} if the result contains the series
+     */
+    abstract void endResult(@Nullable String error, boolean seriesPresent);
+
+    /**
+     * The document (chunk) was read.
+     *
+     * @param error          the error of document
+     * @param resultsPresent {@code true} if the document contains the results
+     */
+    abstract void endDocument(@Nullable String error, boolean resultsPresent);
+
+    private void nextDocument() throws IOException {
+
+        String error = null;
+        boolean resultsPresent = false;
+
+        for (int i = reader.nextMapHeader(); i > 0; i--) {
+            switch (reader.selectKey(DOCUMENT_KEYS)) {
+                case 0:
+                    resultsPresent = true;
+                    for (int results = reader.nextArrayHeader(); results > 0; results--) {
+                        nextResult();
+                    }
+                    break;
+                case 1:
+                    error = reader.nextNullableString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        endDocument(error, resultsPresent);
+    }
+
+    private void nextResult() throws IOException {
+
+        String error = null;
+        boolean seriesPresent = false;
+
+        for (int i = reader.nextMapHeader(); i > 0; i--) {
+            switch (reader.selectKey(RESULT_KEYS)) {
+                case 0:
+                    seriesPresent = true;
+                    for (int series = reader.nextArrayHeader(); series > 0; series--) {
+                        nextSeries();
+                    }
+                    break;
+                case 1:
+                    error = reader.nextNullableString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        endResult(error, seriesPresent);
+    }
+
+    private void nextSeries() throws IOException {
+
+        String name = null;
+        Map<String, String> tags = null;
+        List<String> columns = null;
+        boolean valuesPresent = false;
+
+        for (int i = reader.nextMapHeader(); i > 0; i--) {
+            switch (reader.selectKey(SERIES_KEYS)) {
+                case SERIES_NAME:
+                    name = reader.nextNullableString();
+                    break;
+                case SERIES_TAGS:
+                    tags = nextTags();
+                    break;
+                case SERIES_COLUMNS:
+                    columns = nextColumns();
+                    break;
+                case SERIES_VALUES:
+                    valuesPresent = true;
+                    if (beginValues(name, tags, columns)) {
+                        for (int rows = reader.nextArrayHeader(); rows > 0; rows--) {
+                            nextRow(reader.nextArrayHeader());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        endSeries(name, tags, columns, valuesPresent);
+    }
+
+    @Nonnull
+    private List<String> nextColumns() throws IOException {
+
+        int size = reader.nextArrayHeader();
+
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(reader.nextNullableString());
+        }
+
+        return values;
+    }
+
+    @Nonnull
+    private Map<String, String> nextTags() throws IOException {
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = reader.nextMapHeader(); i > 0; i--) {
+            values.put(reader.nextString(), reader.nextNullableString());
+        }
+
+        return values;
+    }
+}
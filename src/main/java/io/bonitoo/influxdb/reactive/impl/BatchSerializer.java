@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+import org.influxdb.InfluxDBException;
+
+/**
+ * Serialize the batch of data points into the body of the write request.
+ *
+ * @since 1.0.0
+ */
+final class BatchSerializer {
+
+    private BatchSerializer() {
+    }
+
+    /**
+     * Join the InfluxDB Line Protocol of the {@code dataPoints} by the new line.
+     *
+     * @param dataPoints  the batch of data points
+     * @param notParsable the data points which are not parsable to InfluxDB Line Protocol
+     * @param onError     notified about the data point that is not parsable to InfluxDB Line Protocol
+     * @return the InfluxDB Line Protocol of the batch
+     */
+    @Nonnull
+    static String serialize(@Nonnull final List<AbstractData> dataPoints,
+                            @Nonnull final Set<AbstractData> notParsable,
+                            @Nonnull final Consumer<InfluxDBException> onError) {
+
+        Objects.requireNonNull(dataPoints, "DatePoints are required");
+        Objects.requireNonNull(notParsable, "Not parsable points are required");
+        Objects.requireNonNull(onError, "Error consumer is required");
+
+        return dataPoints.stream()
+                .map(data -> {
+                    try {
+                        return data.lineProtocol();
+                    } catch (Exception e) {
+                        //
+                        // Data are not parsable to InfluxDB Line Protocol
+                        //
+                        notParsable.add(data);
+
+                        String errorMessage = String
+                                .format("Can not calculate InfluxDB Line Protocol for '%s'", data.getData());
+
+                        onError.accept(new InfluxDBException(errorMessage, e));
+
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n"));
+    }
+}
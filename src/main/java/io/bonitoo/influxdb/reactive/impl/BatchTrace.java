@@ -0,0 +1,385 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.tracing.WriteSpan;
+import io.bonitoo.influxdb.reactive.tracing.WriteStage;
+import io.bonitoo.influxdb.reactive.tracing.WriteTracer;
+
+import io.reactivex.Completable;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * The trace of one batch through the write pipeline.
+ * <p>
+ * If the tracing is disabled, the {@link #DISABLED} trace is used and all methods are no-op.
+ *
+ * @since 1.0.0
+ */
+final class BatchTrace {
+
+    static final BatchTrace DISABLED = new BatchTrace(null, 0, 0);
+
+    /**
+     * The trace of the write request that is executed on the current thread.
+     * The HTTP call is executed synchronously, so it is used to pair the OkHttp {@link EventListener} with the batch.
+     */
+    private static final ThreadLocal<BatchTrace> CURRENT = new ThreadLocal<>();
+
+    private static final AtomicLong BATCH_IDS = new AtomicLong();
+
+    private final WriteTracer tracer;
+    private final long batchId;
+    private final int pointsCount;
+
+    /**
+     * Incremented on the retry thread and read by the OkHttp listener.
+     */
+    private volatile int attempt;
+
+    private BatchTrace(@Nullable final WriteTracer tracer, final long batchId, final int pointsCount) {
+        this.tracer = tracer;
+        this.batchId = batchId;
+        this.pointsCount = pointsCount;
+    }
+
+    /**
+     * Create the trace of the batch and report the stages which the batch already passed.
+     *
+     * The {@link WriteStage#WINDOW} ends by closing the window and the {@link WriteStage#JITTER} continues
+     * to the start of batch, so the stages don't overlap.
+     *
+     * @param tracer       the tracer
+     * @param dataPoints   the data points of the batch
+     * @param windowClosed the time when the window was closed, {@code 0} if the window is not delayed by jitter
+     * @return the trace of the batch
+     */
+    @Nonnull
+    static BatchTrace start(@Nullable final WriteTracer tracer,
+                            @Nonnull final List<AbstractData> dataPoints,
+                            final long windowClosed) {
+
+        if (tracer == null || dataPoints.isEmpty()) {
+            return DISABLED;
+        }
+
+        long now = System.nanoTime();
+
+        BatchTrace trace = new BatchTrace(tracer, BATCH_IDS.incrementAndGet(), dataPoints.size());
+
+        AbstractData first = dataPoints.get(0);
+        trace.span(WriteStage.QUEUE, first.enqueuedNanos, first.dequeuedNanos);
+        if (windowClosed > 0) {
+            trace.span(WriteStage.WINDOW, first.dequeuedNanos, windowClosed);
+            if (now > windowClosed) {
+                trace.span(WriteStage.JITTER, windowClosed, now);
+            }
+        } else {
+            trace.span(WriteStage.WINDOW, first.dequeuedNanos, now);
+        }
+
+        return trace;
+    }
+
+    /**
+     * @return {@link Boolean#TRUE} if the batch is traced
+     */
+    boolean isEnabled() {
+        return tracer != null;
+    }
+
+    /**
+     * Start the span.
+     *
+     * @param stage the stage of the pipeline
+     * @return the started span or {@code null} if the tracing is disabled
+     */
+    @Nullable
+    WriteSpan start(@Nonnull final WriteStage stage) {
+
+        if (tracer == null) {
+            return null;
+        }
+
+        WriteSpan span = new WriteSpan(batchId, stage, pointsCount, attempt, System.nanoTime(), -1);
+        tracer.onSpanStart(span);
+
+        return span;
+    }
+
+    /**
+     * End the span.
+     *
+     * @param span the started span
+     */
+    void end(@Nullable final WriteSpan span) {
+
+        if (tracer == null || span == null) {
+            return;
+        }
+
+        tracer.onSpanEnd(span.end(System.nanoTime()));
+    }
+
+    /**
+     * Start the next HTTP attempt.
+     *
+     * @return the started HTTP span or {@code null} if the tracing is disabled
+     */
+    @Nullable
+    WriteSpan startAttempt() {
+
+        if (tracer == null) {
+            return null;
+        }
+
+        // the attempts of one batch are sequential => the increment is not lost
+        attempt++;
+
+        return start(WriteStage.HTTP);
+    }
+
+    /**
+     * End the HTTP attempt.
+     *
+     * @param span the started HTTP span
+     */
+    void endAttempt(@Nullable final WriteSpan span) {
+        end(span);
+    }
+
+    /**
+     * Bind the trace to the current thread while the synchronous HTTP call is subscribed. The trace is unbound even
+     * if the call fails or is disposed, so it doesn't leak into the next call of the pooled thread.
+     *
+     * @param call the synchronous HTTP call
+     * @return the call which is subscribed with the bound trace
+     */
+    @Nonnull
+    Completable bind(@Nonnull final Completable call) {
+
+        Objects.requireNonNull(call, "Call is required");
+
+        if (tracer == null) {
+            return call;
+        }
+
+        return Completable.wrap(observer -> {
+
+            CURRENT.set(this);
+            try {
+                call.subscribe(observer);
+            } finally {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    private void span(@Nonnull final WriteStage stage, final long startNanos, final long endNanos) {
+
+        Objects.requireNonNull(stage, "WriteStage is required");
+
+        WriteSpan span = new WriteSpan(batchId, stage, pointsCount, attempt, startNanos, -1);
+
+        tracer.onSpanStart(span);
+        tracer.onSpanEnd(span.end(endNanos));
+    }
+
+    /**
+     * Trace the {@link WriteStage#CONNECTION} stage of the write requests. The events are also delivered
+     * to the listener of the {@code delegate} factory.
+     */
+    static final class ConnectionListenerFactory implements EventListener.Factory {
+
+        private final EventListener.Factory delegate;
+
+        ConnectionListenerFactory(@Nonnull final EventListener.Factory delegate) {
+
+            Objects.requireNonNull(delegate, "EventListener.Factory is required");
+
+            this.delegate = delegate;
+        }
+
+        @Override
+        public EventListener create(@Nonnull final Call call) {
+
+            EventListener listener = delegate.create(call);
+
+            BatchTrace trace = CURRENT.get();
+            if (trace == null) {
+                return listener;
+            }
+
+            return new ConnectionListener(trace, listener);
+        }
+    }
+
+    /**
+     * The {@link WriteStage#CONNECTION} span is ended by the acquired connection or by the failure of call.
+     */
+    private static final class ConnectionListener extends EventListener {
+
+        private final BatchTrace trace;
+        private final EventListener delegate;
+
+        private WriteSpan span;
+
+        private ConnectionListener(@Nonnull final BatchTrace trace, @Nonnull final EventListener delegate) {
+            this.trace = trace;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void callStart(final Call call) {
+            span = trace.start(WriteStage.CONNECTION);
+            delegate.callStart(call);
+        }
+
+        @Override
+        public void dnsStart(final Call call, final String domainName) {
+            delegate.dnsStart(call, domainName);
+        }
+
+        @Override
+        public void dnsEnd(final Call call, final String domainName, final List<InetAddress> inetAddressList) {
+            delegate.dnsEnd(call, domainName, inetAddressList);
+        }
+
+        @Override
+        public void connectStart(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy) {
+            delegate.connectStart(call, inetSocketAddress, proxy);
+        }
+
+        @Override
+        public void secureConnectStart(final Call call) {
+            delegate.secureConnectStart(call);
+        }
+
+        @Override
+        public void secureConnectEnd(final Call call, @Nullable final Handshake handshake) {
+            delegate.secureConnectEnd(call, handshake);
+        }
+
+        @Override
+        public void connectEnd(final Call call,
+                               final InetSocketAddress inetSocketAddress,
+                               final Proxy proxy,
+                               @Nullable final Protocol protocol) {
+            delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+        }
+
+        @Override
+        public void connectFailed(final Call call,
+                                  final InetSocketAddress inetSocketAddress,
+                                  final Proxy proxy,
+                                  @Nullable final Protocol protocol,
+                                  final IOException ioe) {
+            // the next route can be tried => the span is ended by callFailed if there is no route
+            delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+        }
+
+        @Override
+        public void connectionAcquired(final Call call, final Connection connection) {
+            endSpan();
+            delegate.connectionAcquired(call, connection);
+        }
+
+        @Override
+        public void connectionReleased(final Call call, final Connection connection) {
+            delegate.connectionReleased(call, connection);
+        }
+
+        @Override
+        public void requestHeadersStart(final Call call) {
+            delegate.requestHeadersStart(call);
+        }
+
+        @Override
+        public void requestHeadersEnd(final Call call, final Request request) {
+            delegate.requestHeadersEnd(call, request);
+        }
+
+        @Override
+        public void requestBodyStart(final Call call) {
+            delegate.requestBodyStart(call);
+        }
+
+        @Override
+        public void requestBodyEnd(final Call call, final long byteCount) {
+            delegate.requestBodyEnd(call, byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(final Call call) {
+            delegate.responseHeadersStart(call);
+        }
+
+        @Override
+        public void responseHeadersEnd(final Call call, final Response response) {
+            delegate.responseHeadersEnd(call, response);
+        }
+
+        @Override
+        public void responseBodyStart(final Call call) {
+            delegate.responseBodyStart(call);
+        }
+
+        @Override
+        public void responseBodyEnd(final Call call, final long byteCount) {
+            delegate.responseBodyEnd(call, byteCount);
+        }
+
+        @Override
+        public void callEnd(final Call call) {
+            endSpan();
+            delegate.callEnd(call);
+        }
+
+        @Override
+        public void callFailed(final Call call, final IOException ioe) {
+            endSpan();
+            delegate.callFailed(call, ioe);
+        }
+
+        private void endSpan() {
+            trace.end(span);
+            span = null;
+        }
+    }
+}
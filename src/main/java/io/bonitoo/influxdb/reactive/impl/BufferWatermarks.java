@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.events.BufferWatermarkEvent.Watermark;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+
+/**
+ * Track the occupancy of the write buffer and notify when the occupancy crosses the watermarks.
+ * <p>
+ * The watermarks are precomputed to the number of points, so the hot path costs one atomic increment
+ * and one comparison. The listener is notified only on a state change:
+ * {@code RECOVERED -> LOW -> HIGH -> RECOVERED}.
+ *
+ * @since 1.0.0
+ */
+final class BufferWatermarks {
+
+    private static final double HUNDRED_PERCENT = 100D;
+
+    private final AtomicLong occupancy = new AtomicLong();
+    private final AtomicReference<Watermark> state = new AtomicReference<>(Watermark.RECOVERED);
+
+    private final long lowThreshold;
+    private final long highThreshold;
+    private final long recoveryThreshold;
+
+    private final ObjLongConsumer<Watermark> listener;
+
+    /**
+     * @param batchOptions the buffer limit and watermarks
+     * @param listener     notified by the new state and the current occupancy
+     */
+    BufferWatermarks(@Nonnull final BatchOptionsReactive batchOptions,
+                     @Nonnull final ObjLongConsumer<Watermark> listener) {
+
+        Objects.requireNonNull(batchOptions, "BatchOptionsReactive is required");
+        Objects.requireNonNull(listener, "Watermark listener is required");
+
+        int limit = batchOptions.getBufferLimit();
+
+        this.lowThreshold = threshold(limit, batchOptions.getLowWatermark());
+        this.highThreshold = threshold(limit, batchOptions.getHighWatermark());
+        this.recoveryThreshold = (long) Math.floor(limit * batchOptions.getRecoveryWatermark() / HUNDRED_PERCENT);
+        this.listener = listener;
+    }
+
+    /**
+     * The data point entered into buffer.
+     */
+    void pointIn() {
+
+        long current = occupancy.incrementAndGet();
+        if (current < lowThreshold) {
+            return;
+        }
+
+        Watermark target = current >= highThreshold ? Watermark.HIGH : Watermark.LOW;
+        while (true) {
+            Watermark previous = state.get();
+            if (previous == Watermark.HIGH || previous == target) {
+                return;
+            }
+            if (state.compareAndSet(previous, target)) {
+                listener.accept(target, current);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The data point left the buffer - dequeued or dropped.
+     */
+    void pointOut() {
+
+        long current = occupancy.decrementAndGet();
+        if (current > recoveryThreshold) {
+            return;
+        }
+
+        Watermark previous = state.get();
+        if (previous != Watermark.RECOVERED && state.compareAndSet(previous, Watermark.RECOVERED)) {
+            listener.accept(Watermark.RECOVERED, current);
+        }
+    }
+
+    /**
+     * @return the current state of the buffer
+     */
+    @Nonnull
+    Watermark getState() {
+        return state.get();
+    }
+
+    private static long threshold(final int limit, final int percent) {
+
+        if (limit == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        return Math.max(1, (long) Math.ceil(limit * percent / HUNDRED_PERCENT));
+    }
+}
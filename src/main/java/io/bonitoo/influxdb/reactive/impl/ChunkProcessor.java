@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.List;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.BufferedSource;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Parse the chunked response of the query.
+ *
+ * @since 1.0.0
+ */
+interface ChunkProcessor {
+
+    /**
+     * The supplier that supply chunk results. After the {@code source}
+     * is exhausted the {@code Supplier<QueryResult>} return null.
+     *
+     * @param source       of the {@link okhttp3.ResponseBody}
+     * @param queryOptions the options of the query
+     * @return supplier of chunks
+     */
+    @Nonnull
+    Supplier<QueryResult> chunkSupplier(@Nonnull BufferedSource source, @Nonnull QueryOptions queryOptions);
+
+    /**
+     * The supplier that supply the measurements mapped directly from the chunks. After the {@code source}
+     * is exhausted the {@code Supplier<List<M>>} return null.
+     *
+     * @param source       of the {@link okhttp3.ResponseBody}
+     * @param plan         the mapping plan of measurement
+     * @param queryOptions the options of the query
+     * @param <M>          the type of measurement
+     * @return supplier of measurements
+     */
+    @Nonnull
+    <M> Supplier<List<M>> measurementSupplier(@Nonnull BufferedSource source,
+                                              @Nonnull MeasurementPlan<M> plan,
+                                              @Nonnull QueryOptions queryOptions);
+
+    /**
+     * The supplier that supply the series stored by columns. After the {@code source}
+     * is exhausted the {@code Supplier<ColumnarSeries>} return null.
+     *
+     * @param source       of the {@link okhttp3.ResponseBody}
+     * @param queryOptions the options of the query
+     * @return supplier of series
+     */
+    @Nonnull
+    Supplier<ColumnarSeries> columnarSupplier(@Nonnull BufferedSource source, @Nonnull QueryOptions queryOptions);
+}
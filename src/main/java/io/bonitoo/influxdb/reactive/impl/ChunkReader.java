@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.EOFException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import io.reactivex.Flowable;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Read the chunked response of the query into stream of {@link QueryResult}s.
+ * <p>
+ * The chunks are parsed on the demand of subscriber and the response is closed after the last chunk
+ * or by the cancel of subscription.
+ *
+ * @since 1.0.0
+ */
+final class ChunkReader {
+
+    private final ChunkProcessor chunkProcessor;
+    private final BiConsumer<BufferedSource, QueryResult> onParsed;
+
+    /**
+     * @param chunkProcessor the parser of chunks
+     * @param onParsed       notified about every parsed chunk
+     */
+    ChunkReader(@Nonnull final ChunkProcessor chunkProcessor,
+                @Nonnull final BiConsumer<BufferedSource, QueryResult> onParsed) {
+
+        Objects.requireNonNull(chunkProcessor, "ChunkProcessor is required");
+        Objects.requireNonNull(onParsed, "Parsed chunk consumer is required");
+
+        this.chunkProcessor = chunkProcessor;
+        this.onParsed = onParsed;
+    }
+
+    @Nonnull
+    Flowable<QueryResult> read(@Nonnull final ResponseBody body, @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(body, "ResponseBody is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return read(body, source -> chunkProcessor.chunkSupplier(source, queryOptions), onParsed);
+    }
+
+    /**
+     * Read the measurements mapped directly from the chunks. The {@code onParsed} is not notified.
+     *
+     * @param body         the response body
+     * @param plan         the mapping plan of measurement
+     * @param queryOptions the options of the query
+     * @param <M>          the type of measurement
+     * @return the stream of mapped measurements
+     */
+    @Nonnull
+    <M> Flowable<List<M>> read(@Nonnull final ResponseBody body,
+                                 @Nonnull final MeasurementPlan<M> plan,
+                                 @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(body, "ResponseBody is required");
+        Objects.requireNonNull(plan, "MeasurementPlan is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return read(body, source -> chunkProcessor.measurementSupplier(source, plan, queryOptions),
+                (source, measurements) -> {
+                });
+    }
+
+    /**
+     * Read the series stored by columns. The {@code onParsed} is not notified.
+     *
+     * @param body         the response body
+     * @param queryOptions the options of the query
+     * @return the stream of series
+     */
+    @Nonnull
+    Flowable<ColumnarSeries> readColumnar(@Nonnull final ResponseBody body,
+                                            @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(body, "ResponseBody is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return read(body, source -> chunkProcessor.columnarSupplier(source, queryOptions), (source, series) -> {
+        });
+    }
+
+    @Nonnull
+    private <T> Flowable<T> read(@Nonnull final ResponseBody body,
+                                 @Nonnull final Function<BufferedSource, Supplier<T>> supplierFactory,
+                                 @Nonnull final BiConsumer<BufferedSource, T> onChunk) {
+
+        //
+        // The next chunk is parsed only on the demand of subscriber => the unread response
+        // stays in the socket and the TCP flow control slow down the server
+        //
+        return Flowable.generate(
+                () -> supplierFactory.apply(body.source()),
+                (chunkSupplier, emitter) -> {
+
+                    try {
+                        T chunk = chunkSupplier.get();
+                        if (chunk != null) {
+
+                            emitter.onNext(chunk);
+                            onChunk.accept(body.source(), chunk);
+                        } else {
+                            // chunk is null => exhausted source
+                            emitter.onComplete();
+                        }
+                    } catch (InfluxDBException e) {
+
+                        emitter.onError(e);
+                    } catch (Exception e) {
+
+                        //
+                        // Socket close by remote server or end of data
+                        //
+                        if (isEOFException(e)) {
+                            emitter.onComplete();
+                        } else {
+                            emitter.onError(new InfluxDBException(e));
+                        }
+                    }
+                },
+                chunkSupplier -> body.close());
+    }
+
+    private boolean isEOFException(@Nullable final Throwable e) {
+
+        if (e == null) {
+            return false;
+        } else if (e instanceof EOFException || (e.getMessage() != null && e.getMessage().contains("Socket closed"))) {
+            return true;
+        } else {
+            return isEOFException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+/**
+ * Append the rows of series into the primitive columns of {@link ColumnarSeries}.
+ * <p>
+ * The type of column is resolved by the first value. The {@link ColumnarSeries.Type#LONG} column is promoted
+ * to {@link ColumnarSeries.Type#DOUBLE} by the first floating value and the column with the conflicting values
+ * is promoted to {@link ColumnarSeries.Type#STRING}.
+ *
+ * @since 1.0.0
+ */
+final class ColumnarSeriesBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final List<String> columnNames;
+    private final int capacity;
+
+    private ColumnBuilder[] columns;
+    private int size;
+
+    /**
+     * @param name     the name of series
+     * @param tags     the tags of series
+     * @param columns  the names of columns
+     * @param capacity the expected count of rows, {@code 0} if unknown
+     */
+    ColumnarSeriesBuilder(@Nullable final String name,
+                          @Nullable final Map<String, String> tags,
+                          @Nullable final List<String> columns,
+                          final int capacity) {
+
+        this.name = name;
+        this.tags = tags;
+        this.columnNames = columns != null ? columns : new ArrayList<>();
+        this.capacity = capacity > 0 ? capacity : DEFAULT_CAPACITY;
+
+        reset();
+    }
+
+    /**
+     * @return the count of appended rows
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param column the index of column
+     * @return the builder of column values
+     */
+    @Nonnull
+    ColumnBuilder column(final int column) {
+        return columns[column];
+    }
+
+    /**
+     * @return the count of columns
+     */
+    int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Finish the row appended by {@link #column(int)}. The columns without the value are filled by {@code null}.
+     */
+    void endRow() {
+
+        size++;
+        for (ColumnBuilder column : columns) {
+            while (column.size < size) {
+                column.addNull();
+            }
+        }
+    }
+
+    /**
+     * Build the series and start the new one with the same name, tags and columns.
+     *
+     * @return the series with the appended rows
+     */
+    @Nonnull
+    ColumnarSeries build() {
+
+        List<ColumnarSeries.Column> built = new ArrayList<>(columns.length);
+        for (ColumnBuilder column : columns) {
+            built.add(column.build());
+        }
+
+        ColumnarSeries series = new ColumnarSeries(name, tags, built, size);
+
+        reset();
+
+        return series;
+    }
+
+    private void reset() {
+
+        columns = new ColumnBuilder[columnNames.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnBuilder(columnNames.get(i), capacity);
+        }
+        size = 0;
+    }
+
+    /**
+     * Append the values of one column.
+     */
+    static final class ColumnBuilder {
+
+        private final String name;
+        private final int capacity;
+
+        private ColumnarSeries.Type type;
+        private int size;
+        private BitSet nulls;
+
+        private long[] longs;
+        private double[] doubles;
+        private boolean[] booleans;
+        private int[] codes;
+        private Map<String, Integer> dictionary;
+        private List<String> dictionaryValues;
+
+        private ColumnBuilder(@Nullable final String name, final int capacity) {
+            this.name = name;
+            this.capacity = capacity;
+        }
+
+        void addNull() {
+
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(size);
+            if (type != null) {
+                ensureCapacity();
+            }
+            size++;
+        }
+
+        void addLong(final long value) {
+
+            if (type == null) {
+                type = ColumnarSeries.Type.LONG;
+            }
+
+            switch (type) {
+                case LONG:
+                    ensureCapacity();
+                    longs[size++] = value;
+                    break;
+                case DOUBLE:
+                    ensureCapacity();
+                    doubles[size++] = value;
+                    break;
+                default:
+                    addString(String.valueOf(value));
+            }
+        }
+
+        void addDouble(final double value) {
+
+            if (type == null) {
+                type = ColumnarSeries.Type.DOUBLE;
+            } else if (type == ColumnarSeries.Type.LONG) {
+                promoteToDouble();
+            }
+
+            if (type == ColumnarSeries.Type.DOUBLE) {
+                ensureCapacity();
+                doubles[size++] = value;
+            } else {
+                addString(String.valueOf(value));
+            }
+        }
+
+        void addBoolean(final boolean value) {
+
+            if (type == null) {
+                type = ColumnarSeries.Type.BOOLEAN;
+            }
+
+            if (type == ColumnarSeries.Type.BOOLEAN) {
+                ensureCapacity();
+                booleans[size++] = value;
+            } else {
+                addString(String.valueOf(value));
+            }
+        }
+
+        void addString(@Nonnull final String value) {
+
+            if (type == null) {
+                type = ColumnarSeries.Type.STRING;
+            } else if (type != ColumnarSeries.Type.STRING) {
+                promoteToString();
+            }
+
+            ensureCapacity();
+
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionaryValues.size();
+                dictionary.put(value, code);
+                dictionaryValues.add(value);
+            }
+            codes[size++] = code;
+        }
+
+        void addValue(@Nullable final Object value) {
+
+            if (value == null) {
+                addNull();
+            } else if (value instanceof Double || value instanceof Float) {
+                addDouble(((Number) value).doubleValue());
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                    || value instanceof Byte || value instanceof BigInteger) {
+                addLong(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                addBoolean((Boolean) value);
+            } else {
+                addString(String.valueOf(value));
+            }
+        }
+
+        @Nonnull
+        private ColumnarSeries.Column build() {
+
+            if (type == null) {
+                // all values are null
+                type = ColumnarSeries.Type.STRING;
+                ensureCapacity();
+            }
+
+            switch (type) {
+                case LONG:
+                    return ColumnarSeries.Column.ofLongs(name, longs, size, nulls);
+                case DOUBLE:
+                    return ColumnarSeries.Column.ofDoubles(name, doubles, size, nulls);
+                case BOOLEAN:
+                    return ColumnarSeries.Column.ofBooleans(name, booleans, size, nulls);
+                default:
+                    return ColumnarSeries.Column
+                            .ofStrings(name, codes, dictionaryValues.toArray(new String[0]), size, nulls);
+            }
+        }
+
+        private void ensureCapacity() {
+
+            int length = Math.max(capacity, size + 1);
+            switch (type) {
+                case LONG:
+                    if (longs == null) {
+                        longs = new long[length];
+                    } else if (longs.length <= size) {
+                        longs = Arrays.copyOf(longs, longs.length * 2);
+                    }
+                    break;
+                case DOUBLE:
+                    if (doubles == null) {
+                        doubles = new double[length];
+                    } else if (doubles.length <= size) {
+                        doubles = Arrays.copyOf(doubles, doubles.length * 2);
+                    }
+                    break;
+                case BOOLEAN:
+                    if (booleans == null) {
+                        booleans = new boolean[length];
+                    } else if (booleans.length <= size) {
+                        booleans = Arrays.copyOf(booleans, booleans.length * 2);
+                    }
+                    break;
+                default:
+                    if (codes == null) {
+                        codes = new int[length];
+                        dictionary = new HashMap<>();
+                        dictionaryValues = new ArrayList<>();
+                    } else if (codes.length <= size) {
+                        codes = Arrays.copyOf(codes, codes.length * 2);
+                    }
+            }
+        }
+
+        private void promoteToDouble() {
+
+            doubles = new double[Math.max(capacity, longs.length)];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = longs[i];
+            }
+            longs = null;
+            type = ColumnarSeries.Type.DOUBLE;
+        }
+
+        private void promoteToString() {
+
+            ColumnarSeries.Column previous = build();
+
+            type = ColumnarSeries.Type.STRING;
+            longs = null;
+            doubles = null;
+            booleans = null;
+            int previousSize = size;
+            size = 0;
+            ensureCapacity();
+
+            for (int i = 0; i < previousSize; i++) {
+                String value = previous.getString(i);
+                if (value == null) {
+                    size++;
+                } else {
+                    addString(value);
+                }
+            }
+        }
+    }
+}
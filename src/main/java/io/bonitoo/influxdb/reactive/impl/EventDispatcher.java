@@ -0,0 +1,212 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.events.AbstractInfluxEvent;
+import io.bonitoo.influxdb.reactive.options.ListenerOptions;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+/**
+ * Publish the {@link AbstractInfluxEvent}s to the listeners. The dispatcher tracks the listeners per event type,
+ * so the events that are only traced can be lazily created just when someone listen them.
+ * <p>
+ * The events are published concurrently from the batching, HTTP, retry and query threads, so the publishing is
+ * serialized. The asynchronous listeners have their own bounded queue and scheduler, so the slow listener doesn't
+ * stall the publishing thread.
+ *
+ * @since 1.0.0
+ */
+final class EventDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(EventDispatcher.class.getName());
+
+    private static final ConcurrentMap<Class<?>, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    private final Subject<Object> eventPublisher = PublishSubject.create().toSerialized();
+    private final ConcurrentMap<Class<?>, AtomicInteger> listeners = new ConcurrentHashMap<>();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Listen the events of {@code eventType}.
+     *
+     * @param eventType type of event to listen
+     * @param <T>       type of event to listen
+     * @return lister for {@code eventType} events
+     */
+    @Nonnull
+    <T extends AbstractInfluxEvent> Observable<T> listen(@Nonnull final Class<T> eventType) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+
+        AtomicInteger counter = listeners.computeIfAbsent(eventType, type -> new AtomicInteger());
+
+        return eventPublisher
+                .ofType(eventType)
+                .doOnSubscribe(disposable -> counter.incrementAndGet())
+                .doFinally(counter::decrementAndGet);
+    }
+
+    /**
+     * Asynchronously listen the events of {@code eventType}. The events are queued to the bounded buffer
+     * and the listener is notified on the {@link ListenerOptions#getScheduler()}. The next event is taken
+     * from the buffer only after the listener handled the previous one, so at most
+     * {@link ListenerOptions#getBufferSize()} events wait besides the event that is being delivered.
+     *
+     * @param eventType type of event to listen
+     * @param options   the configuration of the listener
+     * @param <T>       type of event to listen
+     * @return lister for {@code eventType} events
+     */
+    @Nonnull
+    <T extends AbstractInfluxEvent> Flowable<T> listen(@Nonnull final Class<T> eventType,
+                                                       @Nonnull final ListenerOptions options) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+        Objects.requireNonNull(options, "ListenerOptions are required");
+
+        return Flowable.defer(() -> {
+
+            LongAdder dropped = new LongAdder();
+
+            return listen(eventType)
+                    .toFlowable(BackpressureStrategy.MISSING)
+                    .onBackpressureBuffer(options.getBufferSize(), () -> {
+
+                        if (dropped.sum() == 0) {
+                            LOG.log(Level.WARNING, "The listener of {0} is too slow, the events are dropped. "
+                                    + "Try increase ListenerOptions.bufferSize.", eventType.getName());
+                        }
+
+                        dropped.increment();
+                        droppedEvents.increment();
+
+                    }, options.getOverflowStrategy())
+                    // request one by one => the buffer is the only queue of listener
+                    .observeOn(options.getScheduler(), false, 1)
+                    .doFinally(() -> {
+                        if (dropped.sum() > 0) {
+                            Object[] params = {dropped.sum(), eventType.getName()};
+                            LOG.log(Level.WARNING, "Dropped {0} events of {1} due to slow listener.", params);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * @return the count of events which was dropped due to slow asynchronous listeners
+     */
+    long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * @param eventType type of event
+     * @return {@link Boolean#TRUE} if there is a listener that receive the {@code eventType} events
+     */
+    boolean hasListeners(@Nonnull final Class<? extends AbstractInfluxEvent> eventType) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+
+        for (Map.Entry<Class<?>, AtomicInteger> entry : listeners.entrySet()) {
+            if (entry.getValue().get() > 0 && entry.getKey().isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param eventType type of event
+     * @return {@link Boolean#TRUE} if the {@code eventType} events are received by a listener or logged
+     */
+    boolean isPublished(@Nonnull final Class<? extends AbstractInfluxEvent> eventType) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+
+        return hasListeners(eventType) || isTraced(eventType);
+    }
+
+    /**
+     * Log and publish the event.
+     *
+     * @param event the event to publish
+     */
+    <T extends AbstractInfluxEvent> void publish(@Nonnull final T event) {
+
+        Objects.requireNonNull(event, "Event is required");
+
+        event.logEvent();
+        eventPublisher.onNext(event);
+    }
+
+    /**
+     * Lazily publish the event that is logged only on the {@link Level#FINEST} level. The event is created only if
+     * there is a listener for the {@code eventType} or the trace logging is enabled.
+     *
+     * @param eventType     type of event
+     * @param eventSupplier the event factory
+     */
+    <T extends AbstractInfluxEvent> void publish(@Nonnull final Class<T> eventType,
+                                                 @Nonnull final Supplier<T> eventSupplier) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+        Objects.requireNonNull(eventSupplier, "Event supplier is required");
+
+        if (!isPublished(eventType)) {
+            return;
+        }
+
+        publish(eventSupplier.get());
+    }
+
+    /**
+     * Complete all listeners.
+     */
+    void close() {
+        eventPublisher.onComplete();
+    }
+
+    private boolean isTraced(@Nonnull final Class<?> eventType) {
+
+        return LOGGERS
+                .computeIfAbsent(eventType, type -> Logger.getLogger(type.getName()))
+                .isLoggable(Level.FINEST);
+    }
+}
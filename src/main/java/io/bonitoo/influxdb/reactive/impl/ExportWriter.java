@@ -0,0 +1,359 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.bulk.ExportSummary;
+import io.bonitoo.influxdb.reactive.options.ExportOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+
+/**
+ * Write the {@link ColumnarSeries} into the {@link Sink} as Line Protocol or CSV.
+ * <p>
+ * The rows are formatted directly from the primitive columns into the segments of {@link BufferedSink} which are
+ * flushed into the target as soon as they are full, so the memory is bounded by the size of one series.
+ * The escaped measurement with tags, the keys of fields and the dictionary of string columns are encoded once
+ * per series. The target is flushed but not closed by {@link #close()}.
+ *
+ * @since 1.0.0
+ */
+final class ExportWriter implements Closeable {
+
+    private static final ByteString TRUE = ByteString.encodeUtf8("true");
+    private static final ByteString FALSE = ByteString.encodeUtf8("false");
+
+    private final ExportOptions.Format format;
+    private final CountingSink target;
+    private final BufferedSink sink;
+
+    private long series;
+    private long rows;
+    private List<String> header;
+
+    ExportWriter(@Nonnull final Sink sink, @Nonnull final ExportOptions options) {
+
+        Objects.requireNonNull(sink, "Sink is required");
+        Objects.requireNonNull(options, "ExportOptions are required");
+
+        this.format = options.getFormat();
+        this.target = new CountingSink(sink);
+        this.sink = Okio.buffer(options.isGzip() ? new GzipSink(target) : target);
+    }
+
+    /**
+     * @param columnarSeries the series to write
+     * @throws IOException if the rows can not be written into the target
+     */
+    void write(@Nonnull final ColumnarSeries columnarSeries) throws IOException {
+
+        Objects.requireNonNull(columnarSeries, "ColumnarSeries is required");
+
+        if (format == ExportOptions.Format.LINE_PROTOCOL) {
+            writeLineProtocol(columnarSeries);
+        } else {
+            writeCSV(columnarSeries);
+        }
+
+        series++;
+    }
+
+    /**
+     * Finish the compression and flush the output into the target.
+     *
+     * @return the summary of export
+     * @throws IOException if the output can not be flushed
+     */
+    @Nonnull
+    ExportSummary finish() throws IOException {
+
+        close();
+
+        return new ExportSummary(series, rows, target.bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        sink.close();
+    }
+
+    private void writeLineProtocol(@Nonnull final ColumnarSeries columnarSeries) throws IOException {
+
+        String name = columnarSeries.getName();
+        if (name == null || name.isEmpty()) {
+            throw new IllegalStateException("The series without the name can not be exported to Line Protocol: "
+                    + columnarSeries);
+        }
+
+        //
+        // measurement,tag=value
+        //
+        StringBuilder measurement = new StringBuilder();
+        escape(name, measurement, false);
+        for (Map.Entry<String, String> tag : new TreeMap<>(columnarSeries.getTags()).entrySet()) {
+            // the empty tag is a missing tag of GROUP BY *
+            if (tag.getValue() != null && !tag.getValue().isEmpty()) {
+                measurement.append(',');
+                escape(tag.getKey(), measurement, true);
+                measurement.append('=');
+                escape(tag.getValue(), measurement, true);
+            }
+        }
+        ByteString prefix = ByteString.encodeUtf8(measurement.toString());
+
+        //
+        // field keys
+        //
+        ColumnarSeries.Column time = null;
+        List<ColumnarSeries.Column> fieldColumns = new ArrayList<>();
+        for (ColumnarSeries.Column column : columnarSeries.getColumns()) {
+            if (ColumnarSeries.TIME_COLUMN.equals(column.getName()) && column.getType() == ColumnarSeries.Type.LONG) {
+                time = column;
+            } else if (column.getName() != null) {
+                fieldColumns.add(column);
+            }
+        }
+
+        ColumnarSeries.Column[] fields = fieldColumns.toArray(new ColumnarSeries.Column[0]);
+        ByteString[] keys = new ByteString[fields.length];
+        ByteString[][] strings = new ByteString[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            StringBuilder key = new StringBuilder();
+            escape(fields[i].getName(), key, true);
+            keys[i] = ByteString.encodeUtf8(key.append('=').toString());
+            if (fields[i].getType() == ColumnarSeries.Type.STRING) {
+                strings[i] = encodeDictionary(fields[i].getDictionary(), true);
+            }
+        }
+
+        for (int row = 0; row < columnarSeries.size(); row++) {
+
+            boolean first = true;
+            for (int i = 0; i < fields.length; i++) {
+
+                ColumnarSeries.Column field = fields[i];
+                if (field.isNull(row) || field.getType() == ColumnarSeries.Type.DOUBLE
+                        && (Double.isNaN(field.getDoubles()[row]) || Double.isInfinite(field.getDoubles()[row]))) {
+                    continue;
+                }
+
+                if (first) {
+                    sink.write(prefix).writeByte(' ');
+                    first = false;
+                } else {
+                    sink.writeByte(',');
+                }
+
+                sink.write(keys[i]);
+                switch (field.getType()) {
+                    case LONG:
+                        sink.writeDecimalLong(field.getLongs()[row]).writeByte('i');
+                        break;
+                    case DOUBLE:
+                        sink.writeUtf8(Double.toString(field.getDoubles()[row]));
+                        break;
+                    case BOOLEAN:
+                        sink.write(field.getBooleans()[row] ? TRUE : FALSE);
+                        break;
+                    default:
+                        sink.write(strings[i][field.getCodes()[row]]);
+                }
+            }
+
+            // the row without fields is not valid Line Protocol
+            if (first) {
+                continue;
+            }
+
+            if (time != null && !time.isNull(row)) {
+                sink.writeByte(' ').writeDecimalLong(time.getLongs()[row]);
+            }
+            sink.writeByte('\n');
+            rows++;
+        }
+    }
+
+    private void writeCSV(@Nonnull final ColumnarSeries columnarSeries) throws IOException {
+
+        Map<String, String> tags = new TreeMap<>(columnarSeries.getTags());
+        List<ColumnarSeries.Column> columns = columnarSeries.getColumns();
+
+        //
+        // the header is written for the first series and for every change of tags or columns
+        //
+        List<String> names = new ArrayList<>(tags.keySet());
+        names.add(null);
+        for (ColumnarSeries.Column column : columns) {
+            names.add(column.getName());
+        }
+        if (!names.equals(header)) {
+            sink.writeUtf8("name");
+            for (String name : names) {
+                if (name != null) {
+                    sink.writeByte(',');
+                    sink.writeUtf8(escapeCSV(name));
+                }
+            }
+            sink.writeByte('\n');
+            header = names;
+        }
+
+        //
+        // name,tags
+        //
+        Buffer prefix = new Buffer();
+        if (columnarSeries.getName() != null) {
+            prefix.writeUtf8(escapeCSV(columnarSeries.getName()));
+        }
+        for (String value : tags.values()) {
+            prefix.writeByte(',');
+            if (value != null) {
+                prefix.writeUtf8(escapeCSV(value));
+            }
+        }
+        ByteString prefixBytes = prefix.readByteString();
+
+        ByteString[][] strings = new ByteString[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getType() == ColumnarSeries.Type.STRING) {
+                strings[i] = encodeDictionary(columns.get(i).getDictionary(), false);
+            }
+        }
+
+        for (int row = 0; row < columnarSeries.size(); row++) {
+
+            sink.write(prefixBytes);
+            for (int i = 0; i < columns.size(); i++) {
+
+                sink.writeByte(',');
+
+                ColumnarSeries.Column column = columns.get(i);
+                if (column.isNull(row)) {
+                    continue;
+                }
+
+                switch (column.getType()) {
+                    case LONG:
+                        sink.writeDecimalLong(column.getLongs()[row]);
+                        break;
+                    case DOUBLE:
+                        sink.writeUtf8(Double.toString(column.getDoubles()[row]));
+                        break;
+                    case BOOLEAN:
+                        sink.write(column.getBooleans()[row] ? TRUE : FALSE);
+                        break;
+                    default:
+                        sink.write(strings[i][column.getCodes()[row]]);
+                }
+            }
+            sink.writeByte('\n');
+            rows++;
+        }
+    }
+
+    @Nonnull
+    private ByteString[] encodeDictionary(@Nonnull final String[] dictionary, final boolean lineProtocol) {
+
+        ByteString[] encoded = new ByteString[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            String value = dictionary[i];
+            if (value == null) {
+                continue;
+            }
+            if (lineProtocol) {
+                encoded[i] = ByteString.encodeUtf8("\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+            } else {
+                encoded[i] = ByteString.encodeUtf8(escapeCSV(value));
+            }
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Escape the measurement ({@code equals = false}), the tag key or value and the field key of Line Protocol.
+     */
+    private static void escape(@Nonnull final String value,
+                               @Nonnull final StringBuilder builder,
+                               final boolean equals) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char next = value.charAt(i);
+            if (next == ',' || next == ' ' || equals && next == '=') {
+                builder.append('\\');
+            }
+            builder.append(next);
+        }
+    }
+
+    @Nonnull
+    private static String escapeCSV(@Nonnull final String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char next = value.charAt(i);
+            if (next == ',' || next == '"' || next == '\n' || next == '\r') {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Count the written bytes and keep the target open after the close.
+     */
+    private static final class CountingSink extends ForwardingSink {
+
+        private long bytes;
+
+        private CountingSink(@Nonnull final Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(@Nonnull final Buffer source, final long byteCount) throws IOException {
+            super.write(source, byteCount);
+            bytes += byteCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.squareup.moshi.JsonReader;
+import org.influxdb.InfluxDBMapperException;
+
+/**
+ * Set the value of column to the field of measurement. The conversion of value is resolved by the type of field
+ * once - with the same semantic as the {@link org.influxdb.impl.InfluxDBResultMapper}.
+ * <p>
+ * The JSON and MessagePack values are read directly from the {@link JsonReader} and {@link MessagePackReader}
+ * without the boxed intermediate values if the type of value corresponds to the type of field.
+ *
+ * @since 1.0.0
+ */
+abstract class FieldSetter {
+
+    private static final int FRACTION_MAX_WIDTH = 9;
+
+    private static final DateTimeFormatter ISO8601_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, FRACTION_MAX_WIDTH, true)
+            .appendPattern("X")
+            .toFormatter();
+
+    final Field field;
+
+    private FieldSetter(@Nonnull final Field field) {
+
+        Objects.requireNonNull(field, "Field is required");
+
+        this.field = field;
+        this.field.setAccessible(true);
+    }
+
+    /**
+     * @param field the field of measurement
+     * @return the setter resolved by the type of field
+     */
+    @Nonnull
+    static FieldSetter of(@Nonnull final Field field) {
+
+        Objects.requireNonNull(field, "Field is required");
+
+        Class<?> type = field.getType();
+
+        if (String.class.isAssignableFrom(type)) {
+            return new StringSetter(field);
+        }
+        if (Instant.class.isAssignableFrom(type)) {
+            return new InstantSetter(field);
+        }
+        if (double.class.isAssignableFrom(type) || Double.class.isAssignableFrom(type)) {
+            return new DoubleSetter(field, type.isPrimitive());
+        }
+        if (long.class.isAssignableFrom(type) || Long.class.isAssignableFrom(type)) {
+            return new LongSetter(field, type.isPrimitive());
+        }
+        if (int.class.isAssignableFrom(type) || Integer.class.isAssignableFrom(type)) {
+            return new IntegerSetter(field, type.isPrimitive());
+        }
+        if (boolean.class.isAssignableFrom(type) || Boolean.class.isAssignableFrom(type)) {
+            return new BooleanSetter(field, type.isPrimitive());
+        }
+
+        return new UnsupportedSetter(field);
+    }
+
+    /**
+     * Set the value to the field of measurement, the {@code null} value is ignored.
+     *
+     * @param target    the measurement
+     * @param value     the value of column
+     * @param precision the precision of time values
+     */
+    final void set(@Nonnull final Object target, @Nullable final Object value, @Nonnull final TimeUnit precision) {
+
+        if (value == null) {
+            return;
+        }
+
+        try {
+            setValue(target, value, precision);
+        } catch (ClassCastException e) {
+            String message = "Class '%s' field '%s' was defined with a different field type and caused "
+                    + "a ClassCastException. The correct type is '%s' (current field value: '%s').";
+            throw new InfluxDBMapperException(String.format(message,
+                    target.getClass().getName(), field.getName(), value.getClass().getName(), value));
+        } catch (IllegalAccessException e) {
+            throw new InfluxDBMapperException(e);
+        }
+    }
+
+    /**
+     * Read the value of column from the {@code reader} and set it to the field of measurement.
+     *
+     * @param target    the measurement
+     * @param reader    the reader positioned to the value of column
+     * @param precision the precision of time values
+     * @throws IOException if the value can not be read
+     */
+    void read(@Nonnull final Object target,
+              @Nonnull final JsonReader reader,
+              @Nonnull final TimeUnit precision) throws IOException {
+
+        set(target, reader.readJsonValue(), precision);
+    }
+
+    /**
+     * Read the value of column from the MessagePack {@code reader} and set it to the field of measurement.
+     *
+     * @param target    the measurement
+     * @param reader    the reader positioned to the value of column
+     * @param precision the precision of time values
+     * @throws IOException if the value can not be read
+     */
+    void read(@Nonnull final Object target,
+              @Nonnull final MessagePackReader reader,
+              @Nonnull final TimeUnit precision) throws IOException {
+
+        set(target, reader.nextValue(), precision);
+    }
+
+    /**
+     * @return {@code true} if the next MessagePack value is integer or float
+     */
+    boolean nextNumber(@Nonnull final MessagePackReader reader) throws IOException {
+
+        MessagePackReader.ValueType type = reader.peek();
+
+        return type == MessagePackReader.ValueType.INTEGER || type == MessagePackReader.ValueType.FLOAT;
+    }
+
+    abstract void setValue(@Nonnull Object target,
+                           @Nonnull Object value,
+                           @Nonnull TimeUnit precision) throws IllegalAccessException;
+
+    /**
+     * @return {@code true} if the next JSON token is {@code token}
+     */
+    boolean next(@Nonnull final JsonReader reader, @Nonnull final JsonReader.Token token) throws IOException {
+        return reader.peek() == token;
+    }
+
+    private static final class StringSetter extends FieldSetter {
+
+        private StringSetter(@Nonnull final Field field) {
+            super(field);
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (next(reader, JsonReader.Token.STRING)) {
+                try {
+                    field.set(target, reader.nextString());
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (reader.peek() == MessagePackReader.ValueType.STRING) {
+                try {
+                    field.set(target, reader.nextString());
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+            field.set(target, String.valueOf(value));
+        }
+    }
+
+    private static final class InstantSetter extends FieldSetter {
+
+        private InstantSetter(@Nonnull final Field field) {
+            super(field);
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            JsonReader.Token token = reader.peek();
+            try {
+                if (token == JsonReader.Token.STRING) {
+                    field.set(target, Instant.from(ISO8601_FORMATTER.parse(reader.nextString())));
+                } else if (token == JsonReader.Token.NUMBER) {
+                    field.set(target, Instant.ofEpochMilli(precision.toMillis((long) reader.nextDouble())));
+                } else {
+                    super.read(target, reader, precision);
+                }
+            } catch (IllegalAccessException e) {
+                throw new InfluxDBMapperException(e);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            try {
+                if (reader.peekTime()) {
+                    field.set(target, Instant.ofEpochSecond(0, reader.nextTime()));
+                } else if (reader.peek() == MessagePackReader.ValueType.INTEGER) {
+                    field.set(target, Instant.ofEpochMilli(precision.toMillis(reader.nextLong())));
+                } else {
+                    super.read(target, reader, precision);
+                }
+            } catch (IllegalAccessException e) {
+                throw new InfluxDBMapperException(e);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+
+            Instant instant;
+            if (value instanceof String) {
+                instant = Instant.from(ISO8601_FORMATTER.parse(String.valueOf(value)));
+            } else if (value instanceof Long) {
+                instant = Instant.ofEpochMilli(precision.toMillis((Long) value));
+            } else if (value instanceof Double) {
+                instant = Instant.ofEpochMilli(precision.toMillis(((Double) value).longValue()));
+            } else if (value instanceof Integer) {
+                instant = Instant.ofEpochMilli(precision.toMillis(((Integer) value).longValue()));
+            } else {
+                throw new InfluxDBMapperException("Unsupported type " + value.getClass() + " for field "
+                        + field.getName());
+            }
+
+            field.set(target, instant);
+        }
+    }
+
+    private static final class DoubleSetter extends FieldSetter {
+
+        private final boolean primitive;
+
+        private DoubleSetter(@Nonnull final Field field, final boolean primitive) {
+            super(field);
+            this.primitive = primitive;
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (next(reader, JsonReader.Token.NUMBER)) {
+                try {
+                    if (primitive) {
+                        field.setDouble(target, reader.nextDouble());
+                    } else {
+                        field.set(target, reader.nextDouble());
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (nextNumber(reader)) {
+                try {
+                    if (primitive) {
+                        field.setDouble(target, reader.nextDouble());
+                    } else {
+                        field.set(target, reader.nextDouble());
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+
+            if (primitive) {
+                field.setDouble(target, (Double) value);
+            } else {
+                field.set(target, (Double) value);
+            }
+        }
+    }
+
+    private static final class LongSetter extends FieldSetter {
+
+        private final boolean primitive;
+
+        private LongSetter(@Nonnull final Field field, final boolean primitive) {
+            super(field);
+            this.primitive = primitive;
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (next(reader, JsonReader.Token.NUMBER)) {
+                try {
+                    long value = (long) reader.nextDouble();
+                    if (primitive) {
+                        field.setLong(target, value);
+                    } else {
+                        field.set(target, value);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            MessagePackReader.ValueType type = reader.peek();
+            if (nextNumber(reader)) {
+                try {
+                    long value = type == MessagePackReader.ValueType.INTEGER
+                            ? reader.nextLong() : (long) reader.nextDouble();
+                    if (primitive) {
+                        field.setLong(target, value);
+                    } else {
+                        field.set(target, value);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+
+            long longValue = ((Double) value).longValue();
+            if (primitive) {
+                field.setLong(target, longValue);
+            } else {
+                field.set(target, longValue);
+            }
+        }
+    }
+
+    private static final class IntegerSetter extends FieldSetter {
+
+        private final boolean primitive;
+
+        private IntegerSetter(@Nonnull final Field field, final boolean primitive) {
+            super(field);
+            this.primitive = primitive;
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (next(reader, JsonReader.Token.NUMBER)) {
+                try {
+                    int value = (int) reader.nextDouble();
+                    if (primitive) {
+                        field.setInt(target, value);
+                    } else {
+                        field.set(target, value);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            MessagePackReader.ValueType type = reader.peek();
+            if (nextNumber(reader)) {
+                try {
+                    int value = type == MessagePackReader.ValueType.INTEGER
+                            ? (int) reader.nextLong() : (int) reader.nextDouble();
+                    if (primitive) {
+                        field.setInt(target, value);
+                    } else {
+                        field.set(target, value);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+
+            int intValue = ((Double) value).intValue();
+            if (primitive) {
+                field.setInt(target, intValue);
+            } else {
+                field.set(target, intValue);
+            }
+        }
+    }
+
+    private static final class BooleanSetter extends FieldSetter {
+
+        private final boolean primitive;
+
+        private BooleanSetter(@Nonnull final Field field, final boolean primitive) {
+            super(field);
+            this.primitive = primitive;
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final JsonReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (next(reader, JsonReader.Token.BOOLEAN)) {
+                try {
+                    if (primitive) {
+                        field.setBoolean(target, reader.nextBoolean());
+                    } else {
+                        field.set(target, reader.nextBoolean());
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void read(@Nonnull final Object target,
+                  @Nonnull final MessagePackReader reader,
+                  @Nonnull final TimeUnit precision) throws IOException {
+
+            if (reader.peek() == MessagePackReader.ValueType.BOOLEAN) {
+                try {
+                    if (primitive) {
+                        field.setBoolean(target, reader.nextBoolean());
+                    } else {
+                        field.set(target, reader.nextBoolean());
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new InfluxDBMapperException(e);
+                }
+            } else {
+                super.read(target, reader, precision);
+            }
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) throws IllegalAccessException {
+
+            boolean booleanValue = Boolean.valueOf(String.valueOf(value));
+            if (primitive) {
+                field.setBoolean(target, booleanValue);
+            } else {
+                field.set(target, booleanValue);
+            }
+        }
+    }
+
+    private static final class UnsupportedSetter extends FieldSetter {
+
+        private UnsupportedSetter(@Nonnull final Field field) {
+            super(field);
+        }
+
+        @Override
+        void setValue(@Nonnull final Object target,
+                      @Nonnull final Object value,
+                      @Nonnull final TimeUnit precision) {
+
+            String message = "Class '%s' field '%s' is from an unsupported type '%s'.";
+            throw new InfluxDBMapperException(String.format(message,
+                    target.getClass().getName(), field.getName(), field.getType()));
+        }
+    }
+}
@@ -22,15 +22,28 @@
  */
 package io.bonitoo.influxdb.reactive.impl;
 
-import java.io.EOFException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,22 +52,32 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+import io.bonitoo.influxdb.reactive.bulk.CopyProgress;
+import io.bonitoo.influxdb.reactive.bulk.ExportSummary;
+import io.bonitoo.influxdb.reactive.bulk.ImportProgress;
 import io.bonitoo.influxdb.reactive.events.AbstractInfluxEvent;
-import io.bonitoo.influxdb.reactive.events.AbstractWriteEvent;
 import io.bonitoo.influxdb.reactive.events.BackpressureEvent;
+import io.bonitoo.influxdb.reactive.events.BufferWatermarkEvent;
 import io.bonitoo.influxdb.reactive.events.QueryParsedResponseEvent;
 import io.bonitoo.influxdb.reactive.events.UnhandledErrorEvent;
 import io.bonitoo.influxdb.reactive.events.WriteErrorEvent;
 import io.bonitoo.influxdb.reactive.events.WritePartialEvent;
 import io.bonitoo.influxdb.reactive.events.WriteSuccessEvent;
+import io.bonitoo.influxdb.reactive.events.WriteSummaryEvent;
 import io.bonitoo.influxdb.reactive.events.WriteUDPEvent;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
 import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.ExportOptions;
+import io.bonitoo.influxdb.reactive.options.ImportOptions;
 import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+import io.bonitoo.influxdb.reactive.options.ListenerOptions;
 import io.bonitoo.influxdb.reactive.options.QueryOptions;
 import io.bonitoo.influxdb.reactive.options.WriteOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+import io.bonitoo.influxdb.reactive.tracing.WriteSpan;
+import io.bonitoo.influxdb.reactive.tracing.WriteStage;
+import io.bonitoo.influxdb.reactive.tracing.WriteTracer;
 
-import com.squareup.moshi.JsonAdapter;
-import com.squareup.moshi.Moshi;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
@@ -62,17 +85,23 @@ import io.reactivex.FlowableTransformer;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Scheduler;
+import io.reactivex.Single;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.flowables.ConnectableFlowable;
 import io.reactivex.functions.Action;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
+import io.reactivex.processors.FlowableProcessor;
 import io.reactivex.processors.PublishProcessor;
 import io.reactivex.schedulers.Schedulers;
-import io.reactivex.subjects.PublishSubject;
 import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
-import okio.BufferedSource;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBException;
 import org.influxdb.dto.BoundParameterQuery;
@@ -81,10 +110,9 @@ import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.influxdb.impl.InfluxDBImpl;
-import org.influxdb.impl.InfluxDBResultMapper;
 import org.influxdb.impl.TimeUtil;
-import org.influxdb.msgpack.MessagePackTraverser;
 import org.reactivestreams.Publisher;
+import retrofit2.Call;
 import retrofit2.HttpException;
 import retrofit2.Response;
 import retrofit2.Retrofit;
@@ -97,9 +125,23 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
     private static final Logger LOG = Logger.getLogger(InfluxDBReactiveImpl.class.getName());
 
-    private final PublishProcessor<AbstractData> processor;
-    private final PublishSubject<Object> eventPublisher;
+    /**
+     * The maximum number of retries of the copied batch.
+     */
+    private static final int COPY_MAX_RETRIES = 3;
+
+    /**
+     * The size of copied batch - the consecutive series are written by one request.
+     */
+    private static final int COPY_BATCH_BYTES = 1024 * 1024;
+
+    private final FlowableProcessor<AbstractData> processor;
+    private final EventDispatcher eventDispatcher;
+    private final MetricsCollector metrics;
+    private final BufferWatermarks watermarks;
     private final Disposable writeConsumer;
+    @Nullable
+    private final Disposable metricsReporter;
 
     private final InfluxDBOptions options;
     private final BatchOptionsReactive batchOptions;
@@ -110,8 +152,16 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
     private final InfluxDBImpl delegate;
     private final InfluxDBServiceReactive influxDBService;
-    private final InfluxDBResultMapper resultMapper;
-    private final ChunkProcessor chunkProcessor;
+    private final MeasurementMapper measurementMapper;
+    private final ChunkReader chunkReader;
+    @Nullable
+    private final QueryCache queryCache;
+    @Nullable
+    private final QueryCoalescer queryCoalescer;
+
+    @Nullable
+    private final WriteTracer writeTracer;
+    private final Scheduler retryScheduler;
 
     public InfluxDBReactiveImpl(@Nonnull final InfluxDBOptions options) {
         this(options, BatchOptionsReactive.DEFAULTS);
@@ -134,11 +184,24 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
                 .addCallAdapterFactory(RxJava2CallAdapterFactory.create());
 
+        this.writeTracer = options.getWriteTracer();
+        this.retryScheduler = retryScheduler;
+
+        //
+        // The copy of client keeps the caller's builder and listeners untouched
+        //
+        OkHttpClient.Builder okHttpClient = options.getOkHttpClient();
+        if (writeTracer != null) {
+            OkHttpClient client = okHttpClient.build();
+            okHttpClient = client.newBuilder()
+                    .eventListenerFactory(new BatchTrace.ConnectionListenerFactory(client.eventListenerFactory()));
+        }
+
         delegate = new InfluxDBImpl(
                 options.getUrl(),
                 options.getUsername(),
                 options.getPassword(),
-                options.getOkHttpClient(),
+                okHttpClient,
                 retrofitBuilder,
                 options.getResponseFormat());
 
@@ -150,6 +213,7 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
             throw new IllegalStateException(e);
         }
 
+        ChunkProcessor chunkProcessor;
         switch (options.getResponseFormat()) {
             case MSGPACK:
                 chunkProcessor = new MessagePackChunkProcessor();
@@ -160,6 +224,8 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
                 chunkProcessor = new JSONChunkProcessor();
                 break;
         }
+        chunkReader = new ChunkReader(chunkProcessor, (source, queryResult) -> publish(
+                QueryParsedResponseEvent.class, () -> new QueryParsedResponseEvent(source, queryResult)));
 
         //
         // Options
@@ -178,18 +244,49 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         }
         this.defaultQueryOptions = QueryOptions.builder().build();
 
-        this.resultMapper = new InfluxDBResultMapper();
+        this.measurementMapper = new MeasurementMapper();
+
+        this.eventDispatcher = new EventDispatcher();
+        this.metrics = new MetricsCollector(batchOptions, eventDispatcher::getDroppedEvents);
+        if (options.isJmxEnabled()) {
+            this.metrics.registerMBean();
+        }
+        if (options.getQueryCache() != null) {
+            this.queryCache = new QueryCache(options.getQueryCache(), metrics);
+        } else {
+            this.queryCache = null;
+        }
+        if (options.isQueryCoalescingEnabled()) {
+            this.queryCoalescer = new QueryCoalescer(Flowable.bufferSize());
+        } else {
+            this.queryCoalescer = null;
+        }
+
+        this.watermarks = new BufferWatermarks(batchOptions, (watermark, occupancy) -> publish(
+                new BufferWatermarkEvent(watermark, occupancy, batchOptions.getBufferLimit(),
+                        metrics.getPointsDropped())));
 
-        this.eventPublisher = PublishSubject.create();
-        this.processor = PublishProcessor.create();
+        // the points are emitted concurrently from the producers threads
+        this.processor = PublishProcessor.<AbstractData>create().toSerialized();
         this.writeConsumer = this.processor
                 //
                 // Backpressure
                 //
                 .onBackpressureBuffer(
                         batchOptions.getBufferLimit(),
-                        () -> publish(new BackpressureEvent()),
+                        () -> {
+                            metrics.pointDropped();
+                            watermarks.pointOut();
+                            publish(BackpressureEvent.class, BackpressureEvent::new);
+                        },
                         batchOptions.getBackpressureStrategy())
+                .doOnNext(dataPoint -> {
+                    metrics.pointDequeued();
+                    watermarks.pointOut();
+                    if (writeTracer != null) {
+                        dataPoint.dequeuedNanos = System.nanoTime();
+                    }
+                })
                 .observeOn(processorScheduler)
                 //
                 // Batching
@@ -199,12 +296,23 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
                         batchScheduler,
                         batchOptions.getBatchSize(),
                         true)
+                .map(window -> new BatchWindow(window, writeTracer != null && batchOptions.getJitterInterval() > 0))
                 //
                 // Jitter interval
                 //
                 .compose(jitter(jitterScheduler))
                 .doOnError(throwable -> publish(new UnhandledErrorEvent(throwable)))
                 .subscribe(new WritePointsConsumer(retryScheduler));
+
+        //
+        // Self-monitoring
+        //
+        if (options.getMonitoring() != null) {
+            this.metricsReporter = new MetricsReporter(options.getMonitoring(), options, influxDBService, metrics)
+                    .start();
+        } else {
+            this.metricsReporter = null;
+        }
     }
 
     @Override
@@ -397,6 +505,65 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         return emitting;
     }
 
+    @Nonnull
+    @Override
+    public Flowable<ImportProgress> importFile(@Nonnull final Path file) {
+
+        Objects.requireNonNull(file, "File is required");
+        Objects.requireNonNull(defaultWriteOptions, "Default WriteOptions are not defined. "
+                + "Use import method with custom WriteOptions - #importFile(file, options).");
+
+        return importFile(file, defaultWriteOptions);
+    }
+
+    @Nonnull
+    @Override
+    public Flowable<ImportProgress> importFile(@Nonnull final Path file, @Nonnull final WriteOptions options) {
+
+        Objects.requireNonNull(file, "File is required");
+        Objects.requireNonNull(options, "WriteOptions are required");
+
+        return importFile(file, options, ImportOptions.DEFAULTS);
+    }
+
+    @Nonnull
+    @Override
+    public Flowable<ImportProgress> importFile(@Nonnull final Path file,
+                                               @Nonnull final WriteOptions options,
+                                               @Nonnull final ImportOptions importOptions) {
+
+        Objects.requireNonNull(file, "File is required");
+        Objects.requireNonNull(options, "WriteOptions are required");
+        Objects.requireNonNull(importOptions, "ImportOptions are required");
+
+        if (options.isUdpEnable()) {
+            throw new IllegalArgumentException("The import of file is not supported over UDP");
+        }
+
+        return Flowable.using(() -> FileChannel.open(file, StandardOpenOption.READ), channel -> {
+
+            int window = Math.max(LineProtocolSlicer.DEFAULT_WINDOW, importOptions.getBatchBytes());
+            LineProtocolSlicer slicer = new LineProtocolSlicer(channel, importOptions.getBatchBytes(), window);
+            AtomicLong processed = new AtomicLong();
+
+            return Flowable
+                    .<LineProtocolSlicer.Slice>generate(emitter -> {
+                        LineProtocolSlicer.Slice slice = slicer.next();
+                        if (slice != null) {
+                            emitter.onNext(slice);
+                        } else {
+                            emitter.onComplete();
+                        }
+                    })
+                    .flatMap(slice -> importSlice(slice, options, importOptions.getMaxRetries())
+                            .map(error -> new ImportProgress(slice.offset(), slice.length(), slice.lines(),
+                                    error.orElse(null), processed.addAndGet(slice.length()), slicer.size()))
+                            .toFlowable()
+                            .subscribeOn(Schedulers.io()), importOptions.getConcurrency());
+
+        }, FileChannel::close);
+    }
+
     @Override
     public <M> Flowable<M> query(@Nonnull final Query query, @Nonnull final Class<M> measurementType) {
 
@@ -436,10 +603,25 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         Objects.requireNonNull(measurementType, "Measurement type is required");
         Objects.requireNonNull(queryOptions, "QueryOptions is required");
 
-        return query(query, queryOptions)
-                .filter(queryResult -> queryResult.getResults() != null)
-                .map(queryResult -> resultMapper.toPOJO(queryResult, measurementType, queryOptions.getPrecision()))
-                .concatMap(Flowable::fromIterable);
+        return Flowable.fromPublisher(query).concatMap((Function<Query, Publisher<M>>) it -> {
+
+            //
+            // The parsed QueryResults are required by listeners or pagination => map from QueryResult
+            //
+            if (eventDispatcher.isPublished(QueryParsedResponseEvent.class) || queryOptions.getPagination() != null) {
+
+                return query(it, queryOptions, QueryResult.class, true, body -> chunkReader.read(body, queryOptions))
+                        .filter(queryResult -> queryResult.getResults() != null)
+                        .map(queryResult -> measurementMapper
+                                .toPOJO(queryResult, measurementType, queryOptions.getPrecision()))
+                        .concatMap(Flowable::fromIterable);
+            }
+
+            MeasurementPlan<M> plan = measurementMapper.plan(measurementType);
+
+            return query(it, queryOptions, measurementType, true, body -> chunkReader.read(body, plan, queryOptions))
+                    .concatMap(Flowable::fromIterable);
+        });
     }
 
     @Override
@@ -474,35 +656,335 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         Objects.requireNonNull(queryStream, "Query publisher is required");
         Objects.requireNonNull(queryOptions, "QueryOptions is required");
 
-        return Flowable.fromPublisher(queryStream).concatMap((Function<Query, Publisher<QueryResult>>) query -> {
+        return Flowable.fromPublisher(queryStream).concatMap((Function<Query, Publisher<QueryResult>>) query ->
+                query(query, queryOptions, QueryResult.class, true, body -> chunkReader.read(body, queryOptions)));
+    }
+
+    @Override
+    public Flowable<ColumnarSeries> queryColumnar(@Nonnull final Query query) {
+
+        Objects.requireNonNull(query, "Query is required");
+
+        return queryColumnar(Flowable.just(query));
+    }
+
+    @Override
+    public Flowable<ColumnarSeries> queryColumnar(@Nonnull final Query query,
+                                                  @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return queryColumnar(Flowable.just(query), queryOptions);
+    }
+
+    @Override
+    public Flowable<ColumnarSeries> queryColumnar(@Nonnull final Publisher<Query> queryStream) {
+
+        Objects.requireNonNull(queryStream, "Query publisher is required");
+
+        return queryColumnar(queryStream, defaultQueryOptions);
+    }
+
+    @Override
+    public Flowable<ColumnarSeries> queryColumnar(@Nonnull final Publisher<Query> queryStream,
+                                                  @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(queryStream, "Query publisher is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return Flowable.fromPublisher(queryStream).concatMap((Function<Query, Publisher<ColumnarSeries>>) query ->
+                query(query, queryOptions, ColumnarSeries.class, true,
+                        body -> chunkReader.readColumnar(body, queryOptions)));
+    }
+
+    @Override
+    public Flowable<QueryResult> tail(@Nonnull final Query query, @Nonnull final Duration interval) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(interval, "Interval is required");
+
+        return tail(query, interval, QueryOptions.builder().precision(TimeUnit.MILLISECONDS).build());
+    }
+
+    @Override
+    public Flowable<QueryResult> tail(@Nonnull final Query query,
+                                      @Nonnull final Duration interval,
+                                      @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(interval, "Interval is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return tail(query, interval, interval.multipliedBy(QueryTail.DEFAULT_LOOK_BACK), queryOptions);
+    }
+
+    @Override
+    public Flowable<QueryResult> tail(@Nonnull final Query query,
+                                      @Nonnull final Duration interval,
+                                      @Nonnull final Duration lookBack,
+                                      @Nonnull final QueryOptions queryOptions) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(interval, "Interval is required");
+        Objects.requireNonNull(lookBack, "Look-back is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+
+        return Flowable
+                .defer(() -> {
+                    checkExactTimestamps(queryOptions, "The tailed query");
+
+                    return new QueryTail(query.getCommand(), interval, lookBack, queryOptions.getPrecision(),
+                            Schedulers.computation(),
+                            command -> query(query, Query.encode(command), queryOptions, QueryResult.class, false,
+                                    body -> chunkReader.read(body, queryOptions)))
+                            .results();
+                });
+    }
+
+    @Nonnull
+    @Override
+    public Single<ExportSummary> export(@Nonnull final Query query,
+                                        @Nonnull final QueryOptions queryOptions,
+                                        @Nonnull final ExportOptions exportOptions,
+                                        @Nonnull final WritableByteChannel target) {
+
+        Objects.requireNonNull(target, "WritableByteChannel is required");
+
+        return export(query, queryOptions, exportOptions, Channels.newOutputStream(target));
+    }
+
+    @Nonnull
+    @Override
+    public Single<ExportSummary> export(@Nonnull final Query query,
+                                        @Nonnull final QueryOptions queryOptions,
+                                        @Nonnull final ExportOptions exportOptions,
+                                        @Nonnull final OutputStream target) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+        Objects.requireNonNull(exportOptions, "ExportOptions are required");
+        Objects.requireNonNull(target, "OutputStream is required");
+
+        //
+        // The series are written on the thread which reads the response => the next chunk is read
+        // after the previous one is written
+        //
+        return Single.using(() -> new ExportWriter(Okio.sink(target), exportOptions),
+                writer -> query(query, queryOptions, ColumnarSeries.class, false,
+                        body -> chunkReader.readColumnar(body, queryOptions))
+                        .doOnNext(writer::write)
+                        .ignoreElements()
+                        .toSingle(writer::finish),
+                ExportWriter::close);
+    }
+
+    @Nonnull
+    @Override
+    public Flowable<CopyProgress> copy(@Nonnull final Query query,
+                                       @Nonnull final QueryOptions queryOptions,
+                                       @Nonnull final InfluxDBReactive target,
+                                       @Nonnull final WriteOptions writeOptions) {
+
+        Objects.requireNonNull(query, "Query is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+        Objects.requireNonNull(target, "Target InfluxDBReactive is required");
+        Objects.requireNonNull(writeOptions, "WriteOptions are required");
+
+        if (!(target instanceof InfluxDBReactiveImpl)) {
+            throw new IllegalArgumentException("The target has to be created by the InfluxDBReactiveFactory");
+        }
+        if (writeOptions.isUdpEnable()) {
+            throw new IllegalArgumentException("The copy is not supported over UDP");
+        }
+        if (writeOptions.getPrecision() != queryOptions.getPrecision()) {
+            throw new IllegalArgumentException("Expecting the same precision of query and write: "
+                    + queryOptions.getPrecision() + " - " + writeOptions.getPrecision());
+        }
+        // the JSON numbers are not typed => the integer fields would be copied as floats
+        if (options.getResponseFormat() != InfluxDB.ResponseFormat.MSGPACK) {
+            throw new IllegalArgumentException("The copy requires the MSGPACK response format of the source: "
+                    + options.getResponseFormat());
+        }
+
+        InfluxDBReactiveImpl writer = (InfluxDBReactiveImpl) target;
+
+        return Flowable.defer(() -> {
+
+            AtomicLong copiedRows = new AtomicLong();
+            AtomicLong copiedBytes = new AtomicLong();
+
+            // the count of copied rows and bytes of the query
+            Function<String, Single<long[]>> copySlice = rawQuery -> Single.defer(() -> {
+
+                CopyBatch batch = new CopyBatch();
+
+                return query(query, rawQuery, queryOptions, ColumnarSeries.class, false,
+                        body -> chunkReader.readColumnar(body, queryOptions))
+                        // the next series is requested after the full batch is written
+                        .concatMap(series -> batch.add(series)
+                                ? writer.writeBatch(batch, writeOptions).toFlowable()
+                                : Flowable.<ExportSummary>empty(), 1)
+                        .concatWith(Flowable.defer(() -> writer.writeBatch(batch, writeOptions).toFlowable()))
+                        .collect(() -> new long[2], (copied, summary) -> {
+                            copied[0] += summary.getRows();
+                            copied[1] += summary.getBytes();
+                        });
+            });
+
+            if (queryOptions.getTimeRangeStart() == null) {
+                return copySlice.apply(query.getCommandWithUrlEncoded())
+                        .map(copied -> new CopyProgress(null, copied[0], copied[1], copied[0], copied[1]))
+                        .toFlowable();
+            }
 
             //
-            // Parameters
+            // The time slices are copied one by one => the end of copied slice is the checkpoint
             //
-            String username = this.options.getUsername();
-            String password = this.options.getPassword();
-            String database = query.getDatabase();
+            return Flowable
+                    .fromIterable(TimeSlices.slices(query.getCommand(), queryOptions, null))
+                    .concatMap(slice -> copySlice.apply(Query.encode(slice.command()))
+                            .map(copied -> new CopyProgress(slice.end(), copied[0], copied[1],
+                                    copiedRows.addAndGet(copied[0]), copiedBytes.addAndGet(copied[1])))
+                            .toFlowable());
+        });
+    }
 
-            String precision = TimeUtil.toTimePrecision(queryOptions.getPrecision());
+    @Nonnull
+    private <T> Flowable<T> query(@Nonnull final Query query,
+                                  @Nonnull final QueryOptions queryOptions,
+                                  @Nonnull final Class<?> resultType,
+                                  final boolean cacheable,
+                                  @Nonnull final Function<ResponseBody, Publisher<T>> reader) {
 
-            int chunkSize = queryOptions.getChunkSize();
-            String rawQuery = query.getCommandWithUrlEncoded();
+        //
+        // The opt-in rounding of now() => the sliding windows are the same query within the rounding interval
+        //
+        Duration timeRounding = queryOptions.getTimeRounding();
+        String rounded = TimeSlices.roundNow(query.getCommand(), timeRounding, Instant.now());
 
-            String params = "";
-            if (query instanceof BoundParameterQuery) {
-                params = ((BoundParameterQuery) query).getParameterJsonWithUrlEncoded();
+        //
+        // The pages are read one by one, the next page is read while the current is consumed
+        //
+        if (queryOptions.getPagination() != null) {
+            if (queryOptions.getPagination() == QueryOptions.Pagination.TIME && resultType != ColumnarSeries.class) {
+                checkExactTimestamps(queryOptions, "The query paginated by time");
             }
-            return influxDBService
-                    .query(username, password, database, precision, chunkSize, rawQuery, params)
-                    .flatMap(
-                            // success response
-                            this::chunkReader,
-                            // error response
-                            throwable -> Observable.error(buildExceptionForThrowable(throwable)),
-                            // end of response
-                            Observable::empty)
-                    .toFlowable(BackpressureStrategy.BUFFER);
-        });
+            return new QueryPager<T>(rounded, queryOptions,
+                    command -> query(query, Query.encode(command), queryOptions, resultType, false, reader))
+                    .results();
+        }
+
+        if (queryOptions.getTimeRangeStart() == null) {
+            String rawQuery = timeRounding != null ? Query.encode(rounded) : query.getCommandWithUrlEncoded();
+            return query(query, rawQuery, queryOptions, resultType, cacheable, reader);
+        }
+
+        //
+        // The time slices are executed concurrently and emitted in the time order
+        //
+        List<String> slices = TimeSlices.commands(rounded, queryOptions, timeRounding);
+
+        return Flowable
+                .fromIterable(slices)
+                .concatMapEager(slice -> query(query, Query.encode(slice), queryOptions, resultType, cacheable, reader)
+                        .subscribeOn(Schedulers.io()), queryOptions.getParallelism(), Flowable.bufferSize());
+    }
+
+    @Nonnull
+    private <T> Flowable<T> query(@Nonnull final Query query,
+                                  @Nonnull final String rawQuery,
+                                  @Nonnull final QueryOptions queryOptions,
+                                  @Nonnull final Class<?> resultType,
+                                  final boolean cacheable,
+                                  @Nonnull final Function<ResponseBody, Publisher<T>> reader) {
+
+        //
+        // Parameters
+        //
+        String username = this.options.getUsername();
+        String password = this.options.getPassword();
+        String database = query.getDatabase();
+
+        String precision = TimeUtil.toTimePrecision(queryOptions.getPrecision());
+
+        int chunkSize = queryOptions.getChunkSize();
+
+        String params = query instanceof BoundParameterQuery
+                ? ((BoundParameterQuery) query).getParameterJsonWithUrlEncoded() : "";
+        QueryKey key = new QueryKey(username, database, rawQuery, precision, chunkSize, params);
+
+        //
+        // The disposal cancels the call immediately => the blocked read of the next chunk is interrupted
+        // and the connection is released without waiting to the end of response
+        //
+        Flowable<T> results = Flowable.using(
+                () -> influxDBService.query(username, password, database, precision, chunkSize, rawQuery, params),
+                call -> {
+
+                    Flowable<ResponseBody> response = execute(call);
+                    // the tailed, paginated, copied and exported queries always read the actual data
+                    if (queryCache != null && cacheable) {
+                        return queryCache.cached(key, response, reader);
+                    }
+
+                    // success response => the chunks are read on demand
+                    return response.concatMap(reader);
+                },
+                Call::cancel);
+        if (queryCoalescer != null) {
+            // the concurrent subscribers of the same query and decoding share the results
+            results = queryCoalescer.coalesce(Arrays.asList(key, resultType, queryOptions.getRowBatchSize()), results);
+        }
+
+        return results;
+    }
+
+    /**
+     * The numbers of JSON response are parsed as {@code double} => the nanosecond timestamps are rounded.
+     */
+    private void checkExactTimestamps(@Nonnull final QueryOptions queryOptions, @Nonnull final String query) {
+
+        if (options.getResponseFormat() == InfluxDB.ResponseFormat.JSON
+                && queryOptions.getPrecision() == TimeUnit.NANOSECONDS) {
+            throw new IllegalArgumentException(query + " requires the exact epoch timestamps, "
+                    + "use the MICROSECONDS or coarser precision of the JSON response");
+        }
+    }
+
+    @Nonnull
+    private Flowable<ResponseBody> execute(@Nonnull final Call<ResponseBody> call) {
+
+        return Flowable.create(emitter -> {
+
+            long start = System.nanoTime();
+
+            Response<ResponseBody> response;
+            try {
+                response = call.execute();
+            } catch (Exception e) {
+                // the error of the cancelled call is not delivered
+                emitter.tryOnError(buildExceptionForThrowable(e));
+                return;
+            }
+
+            metrics.queryTimeToFirstByte(System.nanoTime() - start);
+
+            // error response
+            if (!response.isSuccessful()) {
+                emitter.tryOnError(buildExceptionForThrowable(new HttpException(response)));
+                return;
+            }
+
+            if (emitter.isCancelled()) {
+                response.body().close();
+                return;
+            }
+
+            emitter.onNext(response.body());
+            emitter.onComplete();
+
+        }, BackpressureStrategy.MISSING);
     }
 
     @Override
@@ -511,7 +993,24 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
         Objects.requireNonNull(eventType, "EventType is required");
 
-        return eventPublisher.ofType(eventType);
+        return eventDispatcher.listen(eventType);
+    }
+
+    @Nonnull
+    @Override
+    public <T extends AbstractInfluxEvent> Flowable<T> listenEvents(@Nonnull final Class<T> eventType,
+                                                                    @Nonnull final ListenerOptions options) {
+
+        Objects.requireNonNull(eventType, "EventType is required");
+        Objects.requireNonNull(options, "ListenerOptions are required");
+
+        return eventDispatcher.listen(eventType, options);
+    }
+
+    @Nonnull
+    @Override
+    public ClientMetrics metrics() {
+        return metrics.snapshot();
     }
 
     @Override
@@ -583,9 +1082,13 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         LOG.log(Level.INFO, "Flushing any cached metrics before shutdown.");
 
         try {
+            if (metricsReporter != null) {
+                metricsReporter.dispose();
+            }
             processor.onComplete();
-            eventPublisher.onComplete();
+            eventDispatcher.close();
         } finally {
+            metrics.unregisterMBean();
             delegate.close();
         }
 
@@ -597,16 +1100,146 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         return writeConsumer.isDisposed();
     }
 
+    /**
+     * Write the slice of line protocol file.
+     *
+     * @param slice      the slice of file
+     * @param options    the configuration of the write
+     * @param maxRetries the maximum number of retries
+     * @return the cause of rejection or empty if the slice was written
+     */
+    @Nonnull
+    private Single<Optional<InfluxDBException>> importSlice(@Nonnull final LineProtocolSlicer.Slice slice,
+                                                            @Nonnull final WriteOptions options,
+                                                            final int maxRetries) {
+
+        MediaType mediaType = this.options.getMediaType();
+        RequestBody body = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return mediaType;
+            }
+
+            @Override
+            public long contentLength() {
+                return slice.length();
+            }
+
+            @Override
+            public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+                ByteBuffer bytes = slice.bytes();
+                while (bytes.hasRemaining()) {
+                    sink.write(bytes);
+                }
+            }
+        };
+
+        return writeLineProtocol(body, (int) slice.lines(), options, maxRetries)
+                .toSingleDefault(Optional.<InfluxDBException>empty())
+                .onErrorReturn(throwable -> Optional.of((InfluxDBException) throwable));
+    }
+
+    /**
+     * Write the body of line protocol directly - without the batching.
+     *
+     * @param body       the line protocol
+     * @param lines      the count of lines in the body
+     * @param options    the configuration of the write
+     * @param maxRetries the maximum number of retries of the retry worth errors
+     * @return the {@link Completable} which fails by the {@link InfluxDBException} if the body is not written
+     */
+    @Nonnull
+    private Completable writeLineProtocol(@Nonnull final RequestBody body,
+                                          final int lines,
+                                          @Nonnull final WriteOptions options,
+                                          final int maxRetries) {
+
+        String precision = TimeUtil.toTimePrecision(options.getPrecision());
+        String consistencyLevel = options.getConsistencyLevel().value();
+
+        AtomicInteger retries = new AtomicInteger();
+
+        return Completable
+                .defer(() -> {
+                    metrics.batch();
+                    long start = System.nanoTime();
+                    return influxDBService
+                            .writePoints(this.options.getUsername(), this.options.getPassword(),
+                                    options.getDatabase(), options.getRetentionPolicy(), precision, consistencyLevel,
+                                    body)
+                            .doOnEvent(throwable -> metrics.writeLatency(System.nanoTime() - start));
+                })
+                //
+                // Retry strategy
+                //
+                .retryWhen(errors -> errors.flatMap(throwable -> {
+
+                    InfluxDBException exception = buildExceptionForThrowable(throwable);
+                    if (exception.isRetryWorth() && retries.incrementAndGet() <= maxRetries) {
+
+                        metrics.retry();
+
+                        return Flowable.timer(batchOptions.getRetryInterval() + jitterDelay(),
+                                TimeUnit.MILLISECONDS, retryScheduler);
+                    }
+
+                    return Flowable.error(exception);
+                }))
+                .onErrorResumeNext(throwable -> Completable.error(throwable instanceof InfluxDBException
+                        ? throwable : buildExceptionForThrowable(throwable)))
+                .doOnComplete(() -> {
+
+                    long length = body.contentLength();
+                    metrics.written(lines, length);
+
+                    publish(WriteSummaryEvent.class, () -> new WriteSummaryEvent(options, lines, length));
+                });
+    }
+
+    /**
+     * Write the batch of copied series and start the next batch.
+     *
+     * @param batch   the batch to write
+     * @param options the configuration of the write
+     * @return the count of written rows and bytes
+     */
+    @Nonnull
+    private Single<ExportSummary> writeBatch(@Nonnull final CopyBatch batch,
+                                             @Nonnull final WriteOptions options) {
+
+        return Single.defer(() -> {
+
+            ExportSummary summary = new ExportSummary(batch.series, batch.rows, batch.lineProtocol.size());
+            RequestBody body = RequestBody.create(this.options.getMediaType(), batch.lineProtocol.readByteString());
+            batch.series = 0;
+            batch.rows = 0;
+
+            if (summary.getRows() == 0) {
+                return Single.just(summary);
+            }
+
+            return writeLineProtocol(body, (int) summary.getRows(), options, COPY_MAX_RETRIES)
+                    .toSingleDefault(summary);
+        });
+    }
+
     private <DP extends AbstractData> void writeDataPoints(@Nonnull final Publisher<DP> pointStream) {
 
         Objects.requireNonNull(pointStream, "Point stream is required");
 
         Flowable.fromPublisher(pointStream)
-                .subscribe(processor::onNext, throwable -> publish(new UnhandledErrorEvent(throwable)));
+                .subscribe(dataPoint -> {
+                    metrics.pointIn();
+                    watermarks.pointIn();
+                    if (writeTracer != null) {
+                        dataPoint.enqueuedNanos = System.nanoTime();
+                    }
+                    processor.onNext(dataPoint);
+                }, throwable -> publish(new UnhandledErrorEvent(throwable)));
     }
 
     @Nonnull
-    private <T extends AbstractData> FlowableTransformer<Flowable<T>, Flowable<T>> jitter(
+    private <T> FlowableTransformer<T, T> jitter(
             @Nonnull final Scheduler scheduler) {
 
         Objects.requireNonNull(scheduler, "Jitter scheduler is required");
@@ -623,7 +1256,7 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
             //
             // Add jitter => dynamic delay
             //
-            return source.delay((Function<Flowable<T>, Flowable<Long>>) pointFlowable -> {
+            return source.delay((Function<T, Flowable<Long>>) window -> {
 
                 int delay = jitterDelay();
 
@@ -634,7 +1267,66 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         };
     }
 
-    private final class WritePointsConsumer implements Consumer<Flowable<AbstractData>> {
+    /**
+     * The Line Protocol of the consecutive copied series - the tags of series are written as tags
+     * and the columns as fields.
+     */
+    private static final class CopyBatch {
+
+        private final Buffer lineProtocol = new Buffer();
+        private long series;
+        private long rows;
+
+        /**
+         * @param columnarSeries the series to append
+         * @return {@code true} if the batch is full
+         */
+        private boolean add(@Nonnull final ColumnarSeries columnarSeries) throws IOException {
+
+            Buffer lines = new Buffer();
+
+            ExportWriter exportWriter = new ExportWriter(lines, ExportOptions.DEFAULTS);
+            exportWriter.write(columnarSeries);
+            ExportSummary summary = exportWriter.finish();
+
+            // the segments of buffer are moved without copy
+            lineProtocol.writeAll(lines);
+            series += summary.getSeries();
+            rows += summary.getRows();
+
+            return lineProtocol.size() >= COPY_BATCH_BYTES;
+        }
+    }
+
+    /**
+     * The window of data points emitted by the batching.
+     */
+    private static final class BatchWindow {
+
+        private final Flowable<AbstractData> points;
+        private volatile long closedNanos;
+
+        /**
+         * @param window     the data points of window
+         * @param traceClose record the closing of window that is subscribed after the jitter delay
+         */
+        private BatchWindow(@Nonnull final Flowable<AbstractData> window, final boolean traceClose) {
+
+            if (traceClose) {
+                // the window is collected ahead of the delayed subscription => the time of closing is known
+                ConnectableFlowable<AbstractData> collected = window
+                        .doOnComplete(() -> closedNanos = System.nanoTime())
+                        .replay();
+                collected.connect();
+
+                this.points = collected;
+            } else {
+                this.points = window;
+            }
+        }
+    }
+
+    private final class WritePointsConsumer implements Consumer<BatchWindow> {
 
         private final Scheduler retryScheduler;
 
@@ -646,9 +1338,9 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         }
 
         @Override
-        public void accept(final Flowable<AbstractData> flowablePoints) {
+        public void accept(final BatchWindow window) {
 
-            flowablePoints
+            window.points
                     //
                     // Group by key - same database, same retention policy...
                     //
@@ -661,39 +1353,25 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
                                 .toList()
                                 .filter(dataPoints -> !dataPoints.isEmpty())
                                 .subscribe(
-                                        dataPoints -> writeDataPoints(writeOptions, dataPoints),
+                                        dataPoints -> writeDataPoints(writeOptions, dataPoints, BatchTrace
+                                                .start(writeTracer, dataPoints, window.closedNanos)),
                                         throwable -> publish(new UnhandledErrorEvent(throwable)));
                     }, throwable -> publish(new UnhandledErrorEvent(throwable)));
 
         }
 
         private void writeDataPoints(@Nonnull final WriteOptions writeOptions,
-                                     @Nonnull final List<AbstractData> dataPoints) {
+                                     @Nonnull final List<AbstractData> dataPoints,
+                                     @Nonnull final BatchTrace trace) {
 
             Objects.requireNonNull(writeOptions, "WriteOptions are required");
             Objects.requireNonNull(dataPoints, "DatePoints are required");
+            Objects.requireNonNull(trace, "BatchTrace is required");
 
             //
             // Data which are not parsable to InfluxDB Line Protocol
             //
-            List<AbstractData> notParsable = new ArrayList<>();
-
-            //
-            // Success action
-            //
-            Action success = () -> {
-                List<?> points = toDataPoints(dataPoints, notParsable);
-
-                AbstractWriteEvent event;
-                if (writeOptions.isUdpEnable()) {
-                    event = new WriteUDPEvent(points, writeOptions);
-                } else {
-
-                    event = new WriteSuccessEvent(points, writeOptions);
-                }
-
-                publish(event);
-            };
+            Set<AbstractData> notParsable = Collections.newSetFromMap(new IdentityHashMap<>());
 
             //
             // Fail action
@@ -711,27 +1389,14 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
             //
             // Data => InfluxDB Line Protocol
             //
+            long serializationStart = System.nanoTime();
+            WriteSpan serializationSpan = trace.start(WriteStage.SERIALIZATION);
 
-            String body = dataPoints.stream()
-                    .map(data -> {
-                        try {
-                            return data.lineProtocol();
-                        } catch (Exception e) {
-                            //
-                            // Data are not parsable to InfluxDB Line Protocol
-                            //
-                            notParsable.add(data);
-
-                            String errorMessage = String
-                                    .format("Can not calculate InfluxDB Line Protocol for '%s'", data.getData());
+            String body = BatchSerializer.serialize(dataPoints, notParsable,
+                    exception -> publish(new UnhandledErrorEvent(exception)));
 
-                            publish(new UnhandledErrorEvent(new InfluxDBException(errorMessage, e)));
-
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.joining("\n"));
+            metrics.serializationTime(System.nanoTime() - serializationStart);
+            trace.end(serializationSpan);
 
             if (body.isEmpty()) {
 
@@ -747,6 +1412,27 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
             //
             RequestBody requestBody = RequestBody.create(options.getMediaType(), body);
 
+            //
+            // Success action => the events are created only if someone listen them
+            //
+            Action success = () -> {
+
+                int pointsCount = dataPoints.size() - notParsable.size();
+                long bytes = requestBody.contentLength();
+
+                metrics.written(pointsCount, bytes);
+
+                if (writeOptions.isUdpEnable()) {
+                    publish(WriteUDPEvent.class,
+                            () -> new WriteUDPEvent(toDataPoints(dataPoints, notParsable), writeOptions));
+                } else {
+                    publish(WriteSuccessEvent.class,
+                            () -> new WriteSuccessEvent(toDataPoints(dataPoints, notParsable), writeOptions));
+                }
+
+                publish(WriteSummaryEvent.class, () -> new WriteSummaryEvent(writeOptions, pointsCount, bytes));
+            };
+
             //
             // Parameters
             //
@@ -758,28 +1444,51 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
             String precision = TimeUtil.toTimePrecision(writeOptions.getPrecision());
             String consistencyLevel = writeOptions.getConsistencyLevel().value();
 
+            metrics.batch();
+
             Completable completable;
             if (writeOptions.isUdpEnable()) {
 
-                completable = Completable.fromAction(
-                        () -> delegate.write(writeOptions.getUdpPort(), body));
+                completable = measureLatency(Completable.fromAction(
+                        () -> delegate.write(writeOptions.getUdpPort(), body)), trace);
 
             } else {
 
                 Callable<List<Object>> points = () -> toDataPoints(dataPoints, notParsable);
 
-                completable = influxDBService.writePoints(
+                completable = measureLatency(influxDBService.writePoints(
                         username, password, database,
                         retentionPolicy, precision, consistencyLevel,
-                        requestBody)
+                        requestBody), trace)
                         //
                         // Retry strategy
                         //
-                        .retryWhen(retryHandler(retryScheduler, writeOptions, points));
+                        .retryWhen(retryHandler(retryScheduler, writeOptions, points, trace));
             }
 
             completable.subscribe(success, fail);
         }
+
+        /**
+         * Record the latency of every write attempt.
+         *
+         * @param write the write request
+         * @param trace the trace of the batch
+         * @return measured write request
+         */
+        @Nonnull
+        private Completable measureLatency(@Nonnull final Completable write, @Nonnull final BatchTrace trace) {
+
+            return Completable.defer(() -> {
+
+                long start = System.nanoTime();
+                WriteSpan span = trace.startAttempt();
+
+                return trace.bind(write)
+                        .doOnEvent(throwable -> metrics.writeLatency(System.nanoTime() - start))
+                        .doFinally(() -> trace.endAttempt(span));
+            });
+        }
     }
 
     /**
@@ -789,12 +1498,14 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
      * @param retryScheduler for scheduling retry write
      * @param writeOptions   options for write to InfluxDB
      * @param points         to write to InfluxDB
+     * @param trace          the trace of the batch
      * @return the retry handler
      */
     @Nonnull
     private Function<Flowable<Throwable>, Publisher<?>> retryHandler(@Nonnull final Scheduler retryScheduler,
                                                                      @Nonnull final WriteOptions writeOptions,
-                                                                     @Nonnull final Callable<List<Object>> points) {
+                                                                     @Nonnull final Callable<List<Object>> points,
+                                                                     @Nonnull final BatchTrace trace) {
 
         Objects.requireNonNull(points, "Points are required");
         Objects.requireNonNull(writeOptions, "WriteOptions are required");
@@ -826,7 +1537,13 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
                     int retryInterval = batchOptions.getRetryInterval() + jitterDelay();
 
-                    return Flowable.just("notify").delay(retryInterval, TimeUnit.MILLISECONDS, retryScheduler);
+                    metrics.retry();
+
+                    WriteSpan span = trace.start(WriteStage.RETRY);
+
+                    return Flowable.just("notify")
+                            .delay(retryInterval, TimeUnit.MILLISECONDS, retryScheduler)
+                            .doOnNext(notify -> trace.end(span));
                 }
             }
 
@@ -839,11 +1556,17 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
     @Nonnull
     private List<Object> toDataPoints(@Nonnull final List<AbstractData> points,
-                                      @Nonnull final List<AbstractData> notParsable) {
+                                      @Nonnull final Set<AbstractData> notParsable) {
 
         Objects.requireNonNull(points, "Points are required");
         Objects.requireNonNull(notParsable, "Not parsable points are required");
 
+        if (notParsable.isEmpty()) {
+            return points.stream()
+                    .map(AbstractData::getData)
+                    .collect(Collectors.toList());
+        }
+
         return points.stream()
                 .filter(dataPoint -> !notParsable.contains(dataPoint))
                 .map(AbstractData::getData)
@@ -855,63 +1578,17 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
         return (int) (Math.random() * batchOptions.getJitterInterval());
     }
 
-    @Nonnull
-    private Observable<QueryResult> chunkReader(@Nonnull final ResponseBody body) {
-
-        Objects.requireNonNull(body, "ResponseBody is required");
-
-        return Observable.create(subscriber -> {
-
-            boolean isCompleted = false;
-            try {
-                BufferedSource source = body.source();
-
-                Supplier<QueryResult> queryResultSupplier = chunkProcessor.chunkSupplier(source);
-
-                //
-                // Subscriber is not disposed && source has data => parse
-                //
-                while (!subscriber.isDisposed()) {
-
-
-                    QueryResult queryResult = queryResultSupplier.get();
-                    if (queryResult != null) {
-
-                        subscriber.onNext(queryResult);
-                        publish(new QueryParsedResponseEvent(source, queryResult));
-                    } else {
-                        // query result is null => exhausted source
-                        break;
-                    }
-                }
-            } catch (Exception e) {
-
-                //
-                // Socket close by remote server or end of data
-                //
-                if (isEOFException(e)) {
-                    isCompleted = true;
-                    subscriber.onComplete();
-                } else {
-                    throw new InfluxDBException(e);
-                }
-            }
+    private <T extends AbstractInfluxEvent> void publish(@Nonnull final T event) {
 
-            //if response end we get here
-            if (!isCompleted) {
-                subscriber.onComplete();
-            }
+        Objects.requireNonNull(event, "Event is required");
 
-            body.close();
-        });
+        eventDispatcher.publish(event);
     }
 
-    private <T extends AbstractInfluxEvent> void publish(@Nonnull final T event) {
-
-        Objects.requireNonNull(event, "Event is required");
+    private <T extends AbstractInfluxEvent> void publish(@Nonnull final Class<T> eventType,
+                                                         @Nonnull final Supplier<T> eventSupplier) {
 
-        event.logEvent();
-        eventPublisher.onNext(event);
+        eventDispatcher.publish(eventType, eventSupplier);
     }
 
     private class SubscribeHandler implements Consumer<Disposable> {
@@ -951,77 +1628,4 @@ public class InfluxDBReactiveImpl implements InfluxDBReactive {
 
         return new InfluxDBException(throwable);
     }
-
-    private boolean isEOFException(@Nullable final Throwable e) {
-
-        if (e == null) {
-            return false;
-        } else if (e.getMessage().contains("Socket closed") || e instanceof EOFException) {
-            return true;
-        } else {
-            return isEOFException(e.getCause());
-        }
-    }
-
-    private interface ChunkProcessor {
-
-        /**
-         * The supplier that supply chunk results. After the {@code source}
-         * is exhausted the {@code Supplier<QueryResult>} return null.
-         *
-         * @param source of the {@link ResponseBody}
-         * @return supplier of chunks
-         */
-        @Nonnull
-        Supplier<QueryResult> chunkSupplier(@Nonnull final BufferedSource source);
-    }
-
-    private final class MessagePackChunkProcessor implements ChunkProcessor {
-
-        @Nonnull
-        @Override
-        public Supplier<QueryResult> chunkSupplier(@Nonnull final BufferedSource source) {
-            return new Supplier<QueryResult>() {
-
-                private Iterator<QueryResult> iterator = null;
-
-                @Override
-                public QueryResult get() {
-                    if (iterator == null) {
-                        iterator = new MessagePackTraverser().traverse(source.inputStream()).iterator();
-                    }
-
-                    if (iterator.hasNext()) {
-                        return iterator.next();
-                    }
-
-                    return null;
-                }
-            };
-        }
-    }
-
-    private final class JSONChunkProcessor implements ChunkProcessor {
-
-        private final JsonAdapter<QueryResult> adapter;
-
-        private JSONChunkProcessor() {
-            this.adapter = new Moshi.Builder().build().adapter(QueryResult.class);
-        }
-
-        @Nonnull
-        @Override
-        public Supplier<QueryResult> chunkSupplier(@Nonnull final BufferedSource source) {
-
-            return () -> {
-                try {
-                    return adapter.fromJson(source);
-                } catch (IOException e) {
-
-                    LOG.log(java.util.logging.Level.FINER, "There are no more bytes in this source: " + source, e);
-                    return null;
-                }
-            };
-        }
-    }
 }
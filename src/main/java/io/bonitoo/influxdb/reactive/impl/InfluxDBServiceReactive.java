@@ -26,9 +26,9 @@ import javax.annotation.Nonnull;
 
 import io.reactivex.Completable;
 import io.reactivex.Maybe;
-import io.reactivex.Observable;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import retrofit2.Call;
 import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
@@ -63,16 +63,20 @@ interface InfluxDBServiceReactive {
                             @Query(CONSISTENCY) String consistency,
                             @Body RequestBody points);
 
+    /**
+     * The query is the {@link Call}, so the disposal of the subscriber is able to cancel the response
+     * even if the body is being read.
+     */
     @Streaming
     @GET("/query?chunked=true")
     @Nonnull
-    Observable<ResponseBody> query(@Query(U) String username,
-                                   @Query(P) String password,
-                                   @Query(DB) String db,
-                                   @Query(EPOCH) String epoch,
-                                   @Query(CHUNK_SIZE) int chunkSize,
-                                   @Query(value = Q, encoded = true) String query,
-                                   @Query(value = PARAMS, encoded = true) String params);
+    Call<ResponseBody> query(@Query(U) String username,
+                             @Query(P) String password,
+                             @Query(DB) String db,
+                             @Query(EPOCH) String epoch,
+                             @Query(CHUNK_SIZE) int chunkSize,
+                             @Query(value = Q, encoded = true) String query,
+                             @Query(value = PARAMS, encoded = true) String params);
 
     @GET("/ping")
     Maybe<Response<ResponseBody>> ping();
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import okio.BufferedSource;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Parse the JSON chunks by Moshi.
+ * <p>
+ * If the {@link QueryOptions#getRowBatchSize()} is set the chunks are parsed incrementally
+ * by {@link JSONRowBatchParser}. The measurements are mapped directly from the chunks by {@link JSONMeasurementParser}
+ * and the columns are parsed directly by {@link JSONColumnarParser}.
+ *
+ * @since 1.0.0
+ */
+final class JSONChunkProcessor implements ChunkProcessor {
+
+    private static final Logger LOG = Logger.getLogger(JSONChunkProcessor.class.getName());
+
+    private final JsonAdapter<QueryResult> adapter;
+
+    JSONChunkProcessor() {
+        this.adapter = new Moshi.Builder().build().adapter(QueryResult.class);
+    }
+
+    @Nonnull
+    @Override
+    public Supplier<QueryResult> chunkSupplier(@Nonnull final BufferedSource source,
+                                               @Nonnull final QueryOptions queryOptions) {
+
+        if (queryOptions.getRowBatchSize() > 0) {
+            return new JSONRowBatchParser(source, queryOptions.getRowBatchSize());
+        }
+
+        return () -> {
+            try {
+                return adapter.fromJson(source);
+            } catch (IOException e) {
+
+                LOG.log(Level.FINER, "There are no more bytes in this source: " + source, e);
+                return null;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public <M> Supplier<List<M>> measurementSupplier(@Nonnull final BufferedSource source,
+                                                     @Nonnull final MeasurementPlan<M> plan,
+                                                     @Nonnull final QueryOptions queryOptions) {
+
+        return new JSONMeasurementParser<>(source, plan, queryOptions.getPrecision(), queryOptions.getRowBatchSize());
+    }
+
+    @Nonnull
+    @Override
+    public Supplier<ColumnarSeries> columnarSupplier(@Nonnull final BufferedSource source,
+                                                     @Nonnull final QueryOptions queryOptions) {
+
+        return new JSONColumnarParser(source, queryOptions.getRowBatchSize());
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.BufferedSource;
+import org.influxdb.InfluxDBException;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Incremental parser of the JSON chunks which appends the values directly into the primitive columns
+ * of {@link ColumnarSeries} without the boxed rows.
+ * <p>
+ * The series is supplied by {@code rowBatchSize} rows or whole if the {@code rowBatchSize} is {@code 0}.
+ * The series without values is supplied without rows. The errors of chunks are reported
+ * by {@link InfluxDBException}.
+ *
+ * @since 1.0.0
+ */
+final class JSONColumnarParser extends AbstractJSONChunkParser implements Supplier<ColumnarSeries> {
+
+    private final int rowBatchSize;
+
+    // the state of current document
+    private String documentError;
+
+    // the state of current series
+    private String name;
+    private Map<String, String> tags;
+    private List<String> columns;
+    private int timeColumn;
+    private ColumnarSeriesBuilder builder;
+    private boolean seriesSupplied;
+
+    JSONColumnarParser(@Nonnull final BufferedSource source, final int rowBatchSize) {
+
+        super(source);
+
+        Preconditions.checkNotNegativeNumber(rowBatchSize, "rowBatchSize");
+
+        this.rowBatchSize = rowBatchSize;
+    }
+
+    @Override
+    @Nullable
+    public ColumnarSeries get() {
+        try {
+            return next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    private ColumnarSeries next() throws IOException {
+
+        while (true) {
+
+            if (reader == null && !beginDocument()) {
+                return null;
+            }
+
+            switch (position) {
+
+                case DOCUMENT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(DOCUMENT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                position = Position.RESULTS;
+                                break;
+                            case 1:
+                                documentError = nextNullableString();
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        endDocument();
+                        if (documentError != null) {
+                            throw new InfluxDBException(documentError);
+                        }
+                    }
+                    break;
+
+                case RESULTS:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        position = Position.RESULT;
+                    } else {
+                        reader.endArray();
+                        position = Position.DOCUMENT;
+                    }
+                    break;
+
+                case RESULT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(RESULT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                position = Position.SERIES_LIST;
+                                break;
+                            case 1:
+                                String resultError = nextNullableString();
+                                if (resultError != null) {
+                                    throw new InfluxDBException(resultError);
+                                }
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.RESULTS;
+                    }
+                    break;
+
+                case SERIES_LIST:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        name = null;
+                        tags = null;
+                        columns = null;
+                        builder = null;
+                        seriesSupplied = false;
+                        position = Position.SERIES;
+                    } else {
+                        reader.endArray();
+                        position = Position.RESULT;
+                    }
+                    break;
+
+                case SERIES:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(SERIES_NAMES)) {
+                            case SERIES_NAME:
+                                name = nextNullableString();
+                                break;
+                            case SERIES_TAGS:
+                                tags = nextTags();
+                                break;
+                            case SERIES_COLUMNS:
+                                columns = nextColumns();
+                                break;
+                            case SERIES_VALUES:
+                                reader.beginArray();
+                                builder();
+                                position = Position.VALUES;
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.SERIES_LIST;
+                        if (!seriesSupplied) {
+                            return supply();
+                        }
+                    }
+                    break;
+
+                case VALUES:
+                    if (reader.hasNext()) {
+                        nextRow();
+                        if (rowBatchSize > 0 && builder.size() >= rowBatchSize) {
+                            return supply();
+                        }
+                    } else {
+                        reader.endArray();
+                        position = Position.SERIES;
+                        if (builder.size() > 0) {
+                            return supply();
+                        }
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unexpected position: " + position);
+            }
+        }
+    }
+
+    @Override
+    boolean beginDocument() throws IOException {
+
+        if (!super.beginDocument()) {
+            return false;
+        }
+
+        documentError = null;
+
+        return true;
+    }
+
+    private void nextRow() throws IOException {
+
+        reader.beginArray();
+        for (int i = 0; reader.hasNext(); i++) {
+
+            if (i >= builder.columnCount()) {
+                reader.skipValue();
+                continue;
+            }
+
+            ColumnarSeriesBuilder.ColumnBuilder column = builder.column(i);
+            switch (reader.peek()) {
+                case NULL:
+                    reader.nextNull();
+                    column.addNull();
+                    break;
+                case NUMBER:
+                    if (i == timeColumn) {
+                        column.addLong(reader.nextLong());
+                    } else {
+                        column.addDouble(reader.nextDouble());
+                    }
+                    break;
+                case STRING:
+                    column.addString(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    column.addBoolean(reader.nextBoolean());
+                    break;
+                default:
+                    column.addValue(reader.readJsonValue());
+            }
+        }
+        reader.endArray();
+
+        builder.endRow();
+    }
+
+    @Nonnull
+    private ColumnarSeriesBuilder builder() {
+
+        if (builder == null) {
+            timeColumn = columns != null ? columns.indexOf(ColumnarSeries.TIME_COLUMN) : -1;
+            builder = new ColumnarSeriesBuilder(name, tags, columns, rowBatchSize);
+        }
+
+        return builder;
+    }
+
+    @Nonnull
+    private ColumnarSeries supply() {
+
+        seriesSupplied = true;
+
+        return builder().build();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.BufferedSource;
+import org.influxdb.InfluxDBMapperException;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Incremental parser of the JSON chunks which maps the rows directly into the measurements
+ * without the intermediate {@link org.influxdb.dto.QueryResult}.
+ * <p>
+ * The rows of series which are not mapped to the measurement are skipped without parsing. The measurements
+ * are supplied by {@code rowBatchSize} or per chunk if the {@code rowBatchSize} is {@code 0}.
+ * The errors are reported by {@link InfluxDBMapperException} as by the
+ * {@link org.influxdb.impl.InfluxDBResultMapper}.
+ *
+ * @param <M> the type of measurement
+ * @since 1.0.0
+ */
+final class JSONMeasurementParser<M> extends AbstractJSONChunkParser implements Supplier<List<M>> {
+
+    private final MeasurementPlan<M> plan;
+    private final TimeUnit precision;
+    private final int rowBatchSize;
+
+    private List<M> measurements = new ArrayList<>();
+
+    // the state of current document
+    private String documentError;
+    private boolean resultsPresent;
+
+    // the state of current series
+    private String name;
+    private Map<String, String> tags;
+    private List<String> columns;
+    private MeasurementPlan<M>.SeriesMapper mapper;
+
+    JSONMeasurementParser(@Nonnull final BufferedSource source,
+                          @Nonnull final MeasurementPlan<M> plan,
+                          @Nonnull final TimeUnit precision,
+                          final int rowBatchSize) {
+
+        super(source);
+
+        Objects.requireNonNull(plan, "MeasurementPlan is required");
+        Objects.requireNonNull(precision, "TimeUnit precision is required");
+        Preconditions.checkNotNegativeNumber(rowBatchSize, "rowBatchSize");
+
+        this.plan = plan;
+        this.precision = precision;
+        this.rowBatchSize = rowBatchSize;
+    }
+
+    @Override
+    @Nullable
+    public List<M> get() {
+        try {
+            return next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    private List<M> next() throws IOException {
+
+        while (true) {
+
+            if (reader == null && !beginDocument()) {
+                return null;
+            }
+
+            switch (position) {
+
+                case DOCUMENT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(DOCUMENT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                resultsPresent = true;
+                                position = Position.RESULTS;
+                                break;
+                            case 1:
+                                documentError = nextNullableString();
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        endDocument();
+                        // the chunk without results is skipped as by the QueryResult mapping
+                        if (resultsPresent && documentError != null) {
+                            throw new InfluxDBMapperException("InfluxDB returned an error: " + documentError);
+                        }
+                        if (!measurements.isEmpty()) {
+                            return supply();
+                        }
+                    }
+                    break;
+
+                case RESULTS:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        position = Position.RESULT;
+                    } else {
+                        reader.endArray();
+                        position = Position.DOCUMENT;
+                    }
+                    break;
+
+                case RESULT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(RESULT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                position = Position.SERIES_LIST;
+                                break;
+                            case 1:
+                                String resultError = nextNullableString();
+                                if (resultError != null) {
+                                    throw new InfluxDBMapperException("InfluxDB returned an error with Series: "
+                                            + resultError);
+                                }
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.RESULTS;
+                    }
+                    break;
+
+                case SERIES_LIST:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        name = null;
+                        tags = null;
+                        columns = null;
+                        position = Position.SERIES;
+                    } else {
+                        reader.endArray();
+                        position = Position.RESULT;
+                    }
+                    break;
+
+                case SERIES:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(SERIES_NAMES)) {
+                            case SERIES_NAME:
+                                name = nextNullableString();
+                                break;
+                            case SERIES_TAGS:
+                                tags = nextTags();
+                                break;
+                            case SERIES_COLUMNS:
+                                columns = nextColumns();
+                                break;
+                            case SERIES_VALUES:
+                                mapper = plan.matches(name) ? plan.series(columns, tags, precision) : null;
+                                if (mapper == null) {
+                                    reader.skipValue();
+                                } else {
+                                    reader.beginArray();
+                                    position = Position.VALUES;
+                                }
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.SERIES_LIST;
+                    }
+                    break;
+
+                case VALUES:
+                    if (reader.hasNext()) {
+                        measurements.add(mapper.read(reader));
+                        if (rowBatchSize > 0 && measurements.size() >= rowBatchSize) {
+                            return supply();
+                        }
+                    } else {
+                        reader.endArray();
+                        mapper = null;
+                        position = Position.SERIES;
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unexpected position: " + position);
+            }
+        }
+    }
+
+    @Override
+    boolean beginDocument() throws IOException {
+
+        if (!super.beginDocument()) {
+            return false;
+        }
+
+        documentError = null;
+        resultsPresent = false;
+
+        return true;
+    }
+
+    @Nonnull
+    private List<M> supply() {
+
+        List<M> supplied = measurements;
+        measurements = new ArrayList<>();
+
+        return supplied;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.BufferedSource;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Incremental parser of the JSON chunks which emits the rows of series as soon as they are parsed.
+ * <p>
+ * Every supplied {@link QueryResult} contains one result with one series with at most {@code rowBatchSize} rows.
+ * The results and series without rows and the errors are supplied in the same shape as by Moshi.
+ * The rows have to follow the {@code name}, {@code tags} and {@code columns} of series -
+ * in the order as the InfluxDB writes them.
+ *
+ * @since 1.0.0
+ */
+final class JSONRowBatchParser extends AbstractJSONChunkParser implements Supplier<QueryResult> {
+
+    private final int rowBatchSize;
+
+    // the state of current document
+    private String documentError;
+    private boolean resultsPresent;
+    private boolean documentSupplied;
+
+    // the state of current result
+    private String resultError;
+    private boolean seriesPresent;
+    private boolean resultSupplied;
+
+    // the state of current series
+    private String name;
+    private Map<String, String> tags;
+    private List<String> columns;
+    private List<List<Object>> rows;
+    private boolean seriesSupplied;
+
+    JSONRowBatchParser(@Nonnull final BufferedSource source, final int rowBatchSize) {
+
+        super(source);
+
+        Preconditions.checkPositiveNumber(rowBatchSize, "rowBatchSize");
+
+        this.rowBatchSize = rowBatchSize;
+    }
+
+    @Override
+    @Nullable
+    public QueryResult get() {
+        try {
+            return next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    private QueryResult next() throws IOException {
+
+        while (true) {
+
+            if (reader == null && !beginDocument()) {
+                return null;
+            }
+
+            switch (position) {
+
+                case DOCUMENT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(DOCUMENT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                resultsPresent = true;
+                                position = Position.RESULTS;
+                                break;
+                            case 1:
+                                documentError = reader.nextString();
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        endDocument();
+                        if (!documentSupplied || documentError != null) {
+                            QueryResult queryResult = new QueryResult();
+                            queryResult.setError(documentError);
+                            queryResult.setResults(resultsPresent && !documentSupplied ? new ArrayList<>() : null);
+                            return queryResult;
+                        }
+                    }
+                    break;
+
+                case RESULTS:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        resultError = null;
+                        seriesPresent = false;
+                        resultSupplied = false;
+                        position = Position.RESULT;
+                    } else {
+                        reader.endArray();
+                        position = Position.DOCUMENT;
+                    }
+                    break;
+
+                case RESULT:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(RESULT_NAMES)) {
+                            case 0:
+                                reader.beginArray();
+                                seriesPresent = true;
+                                position = Position.SERIES_LIST;
+                                break;
+                            case 1:
+                                resultError = reader.nextString();
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.RESULTS;
+                        if (!resultSupplied || resultError != null) {
+                            return result(seriesPresent && !resultSupplied ? new ArrayList<>() : null);
+                        }
+                    }
+                    break;
+
+                case SERIES_LIST:
+                    if (reader.hasNext()) {
+                        reader.beginObject();
+                        name = null;
+                        tags = null;
+                        columns = null;
+                        rows = null;
+                        seriesSupplied = false;
+                        position = Position.SERIES;
+                    } else {
+                        reader.endArray();
+                        position = Position.RESULT;
+                    }
+                    break;
+
+                case SERIES:
+                    if (reader.hasNext()) {
+                        switch (reader.selectName(SERIES_NAMES)) {
+                            case SERIES_NAME:
+                                name = nextNullableString();
+                                break;
+                            case SERIES_TAGS:
+                                tags = nextTags();
+                                break;
+                            case SERIES_COLUMNS:
+                                columns = nextColumns();
+                                break;
+                            case SERIES_VALUES:
+                                reader.beginArray();
+                                rows = new ArrayList<>();
+                                position = Position.VALUES;
+                                break;
+                            default:
+                                skipField();
+                        }
+                    } else {
+                        reader.endObject();
+                        position = Position.SERIES_LIST;
+                        if (!seriesSupplied) {
+                            return series(null);
+                        }
+                    }
+                    break;
+
+                case VALUES:
+                    if (reader.hasNext()) {
+                        rows.add(nextRow());
+                        if (rows.size() >= rowBatchSize) {
+                            return series(rows);
+                        }
+                    } else {
+                        reader.endArray();
+                        position = Position.SERIES;
+                        if (!rows.isEmpty() || !seriesSupplied) {
+                            return series(rows);
+                        }
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unexpected position: " + position);
+            }
+        }
+    }
+
+    @Override
+    boolean beginDocument() throws IOException {
+
+        if (!super.beginDocument()) {
+            return false;
+        }
+
+        documentError = null;
+        resultsPresent = false;
+        documentSupplied = false;
+
+        return true;
+    }
+
+    @Nonnull
+    private QueryResult series(@Nullable final List<List<Object>> values) {
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(name);
+        series.setTags(tags);
+        series.setColumns(columns);
+        series.setValues(values);
+
+        List<QueryResult.Series> seriesList = new ArrayList<>(1);
+        seriesList.add(series);
+
+        seriesSupplied = true;
+        rows = new ArrayList<>();
+
+        return result(seriesList);
+    }
+
+    @Nonnull
+    private QueryResult result(@Nullable final List<QueryResult.Series> series) {
+
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(series);
+        result.setError(resultError);
+
+        List<QueryResult.Result> results = new ArrayList<>(1);
+        results.add(result);
+
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(results);
+
+        resultSupplied = true;
+        documentSupplied = true;
+
+        return queryResult;
+    }
+
+    @Nonnull
+    private List<Object> nextRow() throws IOException {
+
+        List<Object> row = new ArrayList<>(columns != null ? columns.size() : 0);
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            row.add(reader.readJsonValue());
+        }
+        reader.endArray();
+
+        return row;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Slice the line protocol file into the batches on the line boundaries without decoding the lines.
+ * <p>
+ * The file is memory-mapped by the windows of {@code window} bytes - the batches are the views of mapped buffer,
+ * so the bytes are copied only once into the request body. The batch is at most {@code batchBytes} long
+ * except the line which is longer than the {@code batchBytes}.
+ *
+ * @since 1.0.0
+ */
+final class LineProtocolSlicer {
+
+    static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final int batchBytes;
+    private final int window;
+    private final long size;
+
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    private long position;
+
+    /**
+     * @param channel    the channel of line protocol file
+     * @param batchBytes the maximum size of batch in bytes
+     * @param window     the size of mapped window in bytes, at least {@code batchBytes}
+     * @throws IOException if the size of file can not be read
+     */
+    LineProtocolSlicer(@Nonnull final FileChannel channel, final int batchBytes, final int window)
+            throws IOException {
+
+        Objects.requireNonNull(channel, "FileChannel is required");
+        Preconditions.checkPositiveNumber(batchBytes, "batchBytes");
+        if (window < batchBytes) {
+            throw new IllegalArgumentException("Expecting the window: " + window
+                    + " at least the batchBytes: " + batchBytes);
+        }
+
+        this.channel = channel;
+        this.batchBytes = batchBytes;
+        this.window = window;
+        this.size = channel.size();
+    }
+
+    /**
+     * @return the size of file in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * @return the next batch or {@code null} if the whole file is sliced
+     * @throws IOException if the file can not be mapped
+     */
+    @Nullable
+    Slice next() throws IOException {
+
+        if (position >= size) {
+            return null;
+        }
+
+        long end;
+        if (size - position <= batchBytes) {
+            map(size - position);
+            end = size;
+        } else {
+            map(batchBytes);
+            end = lastLineEnd(position + batchBytes);
+            if (end == -1) {
+                end = nextLineEnd(position + batchBytes);
+            }
+        }
+
+        int start = (int) (position - mappedStart);
+        int length = (int) (end - position);
+
+        ByteBuffer bytes = mapped.duplicate();
+        bytes.limit(start + length).position(start);
+
+        // the lines are counted once by slicing, the slice is written and reported by the count
+        Slice slice = new Slice(position, bytes.slice(), countLines(start, length));
+        position = end;
+
+        return slice;
+    }
+
+    /**
+     * @return the count of lines without the empty lines and the comments
+     */
+    private long countLines(final int start, final int length) {
+
+        long lines = 0;
+        boolean lineStart = true;
+        for (int i = start; i < start + length; i++) {
+            byte next = mapped.get(i);
+            if (lineStart && next != '\n' && next != '\r' && next != '#') {
+                lines++;
+            }
+            lineStart = next == '\n';
+        }
+
+        return lines;
+    }
+
+    /**
+     * @return the end of last line that ends before the {@code limit} or {@code -1} if there is no such line
+     */
+    private long lastLineEnd(final long limit) {
+
+        for (long i = limit - 1; i >= position; i--) {
+            if (mapped.get((int) (i - mappedStart)) == '\n') {
+                return i + 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the end of line that continues after the {@code from}, the end of file if there is no new line
+     */
+    private long nextLineEnd(final long from) throws IOException {
+
+        long i = from;
+        while (i < size) {
+
+            if (i >= mappedStart + mapped.limit()) {
+                long length = Math.min((i - position) * 2, size - position);
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("The line at: " + position + " is longer than " + Integer.MAX_VALUE);
+                }
+                map(length);
+            }
+
+            if (mapped.get((int) (i - mappedStart)) == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+
+        return size;
+    }
+
+    /**
+     * Map the window which contains at least {@code length} bytes from the current position.
+     */
+    private void map(final long length) throws IOException {
+
+        if (mapped != null && position >= mappedStart && position + length <= mappedStart + mapped.limit()) {
+            return;
+        }
+
+        long mappedLength = Math.min(Math.max(length, window), size - position);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, mappedLength);
+        mappedStart = position;
+    }
+
+    /**
+     * The batch of lines.
+     */
+    static final class Slice {
+
+        private final long offset;
+        private final ByteBuffer bytes;
+        private final long lines;
+
+        private Slice(final long offset, @Nonnull final ByteBuffer bytes, final long lines) {
+            this.offset = offset;
+            this.bytes = bytes;
+            this.lines = lines;
+        }
+
+        /**
+         * @return the position of the batch in the file
+         */
+        long offset() {
+            return offset;
+        }
+
+        /**
+         * @return the size of the batch in bytes
+         */
+        int length() {
+            return bytes.limit();
+        }
+
+        /**
+         * @return the read-only view of the batch bytes
+         */
+        @Nonnull
+        ByteBuffer bytes() {
+            return bytes.duplicate();
+        }
+
+        /**
+         * @return the count of lines without the empty lines and the comments
+         */
+        long lines() {
+            return lines;
+        }
+    }
+}
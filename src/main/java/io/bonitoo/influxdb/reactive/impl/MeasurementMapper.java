@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import org.influxdb.InfluxDBMapperException;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Map the {@link QueryResult} into the measurements by the cached {@link MeasurementPlan}s.
+ * <p>
+ * The mapping has the same semantic as the {@link org.influxdb.impl.InfluxDBResultMapper} without
+ * the lookup of annotations and fields for every row.
+ *
+ * @since 1.0.0
+ */
+final class MeasurementMapper {
+
+    private final ConcurrentMap<Class<?>, MeasurementPlan<?>> plans = new ConcurrentHashMap<>();
+
+    /**
+     * @param measurementType the type of measurement
+     * @param <M>             the type of measurement
+     * @return the cached mapping plan
+     * @throws IllegalArgumentException if the {@code measurementType} is not annotated by
+     *                                  {@link org.influxdb.annotation.Measurement}
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <M> MeasurementPlan<M> plan(@Nonnull final Class<M> measurementType) {
+
+        Objects.requireNonNull(measurementType, "Measurement type is required");
+
+        return (MeasurementPlan<M>) plans.computeIfAbsent(measurementType, MeasurementPlan::new);
+    }
+
+    /**
+     * @param queryResult     the result of query
+     * @param measurementType the type of measurement
+     * @param precision       the precision of time values
+     * @param <M>             the type of measurement
+     * @return the measurements mapped from the series with the measurement name
+     */
+    @Nonnull
+    <M> List<M> toPOJO(@Nonnull final QueryResult queryResult,
+                       @Nonnull final Class<M> measurementType,
+                       @Nonnull final TimeUnit precision) {
+
+        Objects.requireNonNull(queryResult, "QueryResult is required");
+        Objects.requireNonNull(precision, "TimeUnit precision is required");
+
+        MeasurementPlan<M> plan = plan(measurementType);
+
+        if (queryResult.getError() != null) {
+            throw new InfluxDBMapperException("InfluxDB returned an error: " + queryResult.getError());
+        }
+
+        List<M> measurements = new ArrayList<>();
+
+        for (QueryResult.Result result : queryResult.getResults()) {
+            if (result != null && result.getError() != null) {
+                throw new InfluxDBMapperException("InfluxDB returned an error with Series: " + result.getError());
+            }
+        }
+
+        for (QueryResult.Result result : queryResult.getResults()) {
+            if (result == null || result.getSeries() == null) {
+                continue;
+            }
+            for (QueryResult.Series series : result.getSeries()) {
+                if (!plan.matches(series.getName()) || series.getValues() == null) {
+                    continue;
+                }
+
+                MeasurementPlan<M>.SeriesMapper mapper = plan.series(series.getColumns(), series.getTags(), precision);
+                if (mapper == null) {
+                    continue;
+                }
+
+                for (List<Object> row : series.getValues()) {
+                    measurements.add(mapper.map(row));
+                }
+            }
+        }
+
+        return measurements;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.squareup.moshi.JsonReader;
+import org.influxdb.InfluxDBMapperException;
+import org.influxdb.annotation.Column;
+import org.influxdb.annotation.Measurement;
+
+/**
+ * The mapping plan of the measurement class. The {@link Column} fields are resolved into {@link FieldSetter}s
+ * once per class and the columns of series are resolved into the setters by the column index once per distinct
+ * columns.
+ *
+ * @param <M> the type of measurement
+ * @since 1.0.0
+ */
+final class MeasurementPlan<M> {
+
+    /**
+     * The maximum count of cached distinct columns.
+     */
+    private static final int MAX_COLUMNS_PLANS = 256;
+
+    private final Class<M> measurementType;
+    private final Constructor<M> constructor;
+    private final String measurementName;
+    private final Map<String, FieldSetter> setters;
+    private final ConcurrentMap<List<String>, FieldSetter[]> columnsPlans = new ConcurrentHashMap<>();
+
+    MeasurementPlan(@Nonnull final Class<M> measurementType) {
+
+        Objects.requireNonNull(measurementType, "Measurement type is required");
+
+        Measurement measurement = measurementType.getAnnotation(Measurement.class);
+        if (measurement == null) {
+            throw new IllegalArgumentException("Class " + measurementType.getName()
+                    + " is not annotated with @" + Measurement.class.getSimpleName());
+        }
+
+        Map<String, FieldSetter> setters = new HashMap<>();
+        for (Field field : measurementType.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                setters.put(column.name(), FieldSetter.of(field));
+            }
+        }
+
+        Constructor<M> constructor;
+        try {
+            constructor = measurementType.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            // reported by the mapping
+            constructor = null;
+        }
+
+        this.measurementType = measurementType;
+        this.constructor = constructor;
+        this.measurementName = measurement.name();
+        this.setters = Collections.unmodifiableMap(setters);
+    }
+
+    /**
+     * @param name the name of series
+     * @return {@code true} if the series is mapped to this measurement
+     */
+    boolean matches(@Nullable final String name) {
+        return measurementName.equals(name);
+    }
+
+    /**
+     * Create the mapper of the series rows.
+     *
+     * @param columns   the columns of series
+     * @param tags      the tags of series
+     * @param precision the precision of time values
+     * @return the mapper of rows or {@code null} if there is no mapped column
+     */
+    @Nullable
+    SeriesMapper series(@Nullable final List<String> columns,
+                        @Nullable final Map<String, String> tags,
+                        @Nonnull final TimeUnit precision) {
+
+        Objects.requireNonNull(precision, "TimeUnit precision is required");
+
+        if (columns == null) {
+            return null;
+        }
+
+        FieldSetter[] columnSetters = columnsPlans.get(columns);
+        if (columnSetters == null) {
+            columnSetters = new FieldSetter[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                columnSetters[i] = setters.get(columns.get(i));
+            }
+            if (columnsPlans.size() < MAX_COLUMNS_PLANS) {
+                columnsPlans.putIfAbsent(new ArrayList<>(columns), columnSetters);
+            }
+        }
+
+        boolean mapped = false;
+        for (FieldSetter setter : columnSetters) {
+            mapped |= setter != null;
+        }
+        if (!mapped) {
+            return null;
+        }
+
+        List<FieldSetter> tagSetters = new ArrayList<>();
+        List<String> tagValues = new ArrayList<>();
+        if (tags != null) {
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                FieldSetter setter = setters.get(tag.getKey());
+                if (setter != null) {
+                    tagSetters.add(setter);
+                    tagValues.add(tag.getValue());
+                }
+            }
+        }
+
+        return new SeriesMapper(columnSetters, tagSetters, tagValues, precision);
+    }
+
+    /**
+     * Map the rows of one series into the measurements.
+     */
+    final class SeriesMapper {
+
+        private final FieldSetter[] columnSetters;
+        private final List<FieldSetter> tagSetters;
+        private final List<String> tagValues;
+        private final TimeUnit precision;
+
+        private SeriesMapper(@Nonnull final FieldSetter[] columnSetters,
+                             @Nonnull final List<FieldSetter> tagSetters,
+                             @Nonnull final List<String> tagValues,
+                             @Nonnull final TimeUnit precision) {
+            this.columnSetters = columnSetters;
+            this.tagSetters = tagSetters;
+            this.tagValues = tagValues;
+            this.precision = precision;
+        }
+
+        /**
+         * @param row the values of row
+         * @return the measurement
+         */
+        @Nonnull
+        M map(@Nonnull final List<Object> row) {
+
+            M measurement = newMeasurement();
+
+            for (int i = 0; i < row.size() && i < columnSetters.length; i++) {
+                FieldSetter setter = columnSetters[i];
+                if (setter != null) {
+                    setter.set(measurement, row.get(i), precision);
+                }
+            }
+
+            return setTags(measurement);
+        }
+
+        /**
+         * @param reader the reader positioned to the row array
+         * @return the measurement
+         * @throws IOException if the row can not be read
+         */
+        @Nonnull
+        M read(@Nonnull final JsonReader reader) throws IOException {
+
+            M measurement = newMeasurement();
+
+            reader.beginArray();
+            for (int i = 0; reader.hasNext(); i++) {
+                FieldSetter setter = i < columnSetters.length ? columnSetters[i] : null;
+                if (setter != null) {
+                    setter.read(measurement, reader, precision);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+
+            return setTags(measurement);
+        }
+
+        /**
+         * @param reader the reader positioned after the header of row array
+         * @param size   the count of values in the row
+         * @return the measurement
+         * @throws IOException if the row can not be read
+         */
+        @Nonnull
+        M read(@Nonnull final MessagePackReader reader, final int size) throws IOException {
+
+            M measurement = newMeasurement();
+
+            for (int i = 0; i < size; i++) {
+                FieldSetter setter = i < columnSetters.length ? columnSetters[i] : null;
+                if (setter != null) {
+                    setter.read(measurement, reader, precision);
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            return setTags(measurement);
+        }
+
+        @Nonnull
+        private M setTags(@Nonnull final M measurement) {
+
+            for (int i = 0; i < tagSetters.size(); i++) {
+                tagSetters.get(i).set(measurement, tagValues.get(i), precision);
+            }
+
+            return measurement;
+        }
+
+        @Nonnull
+        private M newMeasurement() {
+
+            if (constructor == null) {
+                throw new InfluxDBMapperException("Class " + measurementType.getName()
+                        + " doesn't have the no-arguments constructor");
+            }
+
+            try {
+                return constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw new InfluxDBMapperException(e.getCause());
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new InfluxDBMapperException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.BufferedSource;
+import org.influxdb.InfluxDBException;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Parser of the MessagePack chunks which appends the values directly into the primitive columns
+ * of {@link ColumnarSeries} without the boxed rows.
+ * <p>
+ * The integers and the times are appended as {@code long}, the floats as {@code double}. The series is supplied
+ * by {@code rowBatchSize} rows or whole if the {@code rowBatchSize} is {@code 0}. The series without values
+ * is supplied without rows. The errors of chunks are reported by {@link InfluxDBException}.
+ *
+ * @since 1.0.0
+ */
+final class MessagePackColumnarParser extends AbstractMessagePackChunkParser<ColumnarSeries> {
+
+    private final int rowBatchSize;
+
+    private ColumnarSeriesBuilder builder;
+    private boolean seriesSupplied;
+
+    MessagePackColumnarParser(@Nonnull final BufferedSource source, final int rowBatchSize) {
+
+        super(source);
+
+        Preconditions.checkNotNegativeNumber(rowBatchSize, "rowBatchSize");
+
+        this.rowBatchSize = rowBatchSize;
+    }
+
+    @Override
+    boolean beginValues(@Nullable final String name,
+                        @Nullable final Map<String, String> tags,
+                        @Nullable final List<String> columns) {
+
+        builder = new ColumnarSeriesBuilder(name, tags, columns, rowBatchSize);
+
+        return true;
+    }
+
+    @Override
+    void nextRow(final int size) throws IOException {
+
+        for (int i = 0; i < size; i++) {
+
+            if (i >= builder.columnCount()) {
+                reader.skipValue();
+                continue;
+            }
+
+            ColumnarSeriesBuilder.ColumnBuilder column = builder.column(i);
+            switch (reader.peek()) {
+                case NIL:
+                    reader.nextNil();
+                    column.addNull();
+                    break;
+                case INTEGER:
+                    column.addLong(reader.nextLong());
+                    break;
+                case FLOAT:
+                    column.addDouble(reader.nextDouble());
+                    break;
+                case STRING:
+                    column.addString(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    column.addBoolean(reader.nextBoolean());
+                    break;
+                case EXTENSION:
+                    if (reader.peekTime()) {
+                        column.addLong(reader.nextTime());
+                    } else {
+                        column.addValue(reader.nextValue());
+                    }
+                    break;
+                default:
+                    column.addValue(reader.nextValue());
+            }
+        }
+
+        builder.endRow();
+
+        if (rowBatchSize > 0 && builder.size() >= rowBatchSize) {
+            supplySeries();
+        }
+    }
+
+    @Override
+    void endSeries(@Nullable final String name,
+                   @Nullable final Map<String, String> tags,
+                   @Nullable final List<String> columns,
+                   final boolean valuesPresent) {
+
+        if (builder == null) {
+            builder = new ColumnarSeriesBuilder(name, tags, columns, rowBatchSize);
+        }
+
+        if (builder.size() > 0 || !seriesSupplied) {
+            supplySeries();
+        }
+
+        builder = null;
+        seriesSupplied = false;
+    }
+
+    @Override
+    void endResult(@Nullable final String error, final boolean seriesPresent) {
+
+        if (error != null) {
+            throw new InfluxDBException(error);
+        }
+    }
+
+    @Override
+    void endDocument(@Nullable final String error, final boolean resultsPresent) {
+
+        if (error != null) {
+            throw new InfluxDBException(error);
+        }
+    }
+
+    private void supplySeries() {
+
+        seriesSupplied = true;
+        supply(builder.build());
+    }
+}
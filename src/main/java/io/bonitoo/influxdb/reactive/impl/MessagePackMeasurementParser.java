@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.BufferedSource;
+import org.influxdb.InfluxDBMapperException;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * Parser of the MessagePack chunks which maps the rows directly into the measurements
+ * without the intermediate {@link org.influxdb.dto.QueryResult}.
+ * <p>
+ * The rows of series which are not mapped to the measurement are skipped without decoding. The measurements
+ * are supplied by {@code rowBatchSize} or per chunk if the {@code rowBatchSize} is {@code 0}.
+ * The errors are reported by {@link InfluxDBMapperException} as by the
+ * {@link org.influxdb.impl.InfluxDBResultMapper}.
+ *
+ * @param <M> the type of measurement
+ * @since 1.0.0
+ */
+final class MessagePackMeasurementParser<M> extends AbstractMessagePackChunkParser<List<M>> {
+
+    private final MeasurementPlan<M> plan;
+    private final TimeUnit precision;
+    private final int rowBatchSize;
+
+    private List<M> measurements = new ArrayList<>();
+    private MeasurementPlan<M>.SeriesMapper mapper;
+
+    MessagePackMeasurementParser(@Nonnull final BufferedSource source,
+                                 @Nonnull final MeasurementPlan<M> plan,
+                                 @Nonnull final TimeUnit precision,
+                                 final int rowBatchSize) {
+
+        super(source);
+
+        Objects.requireNonNull(plan, "MeasurementPlan is required");
+        Objects.requireNonNull(precision, "TimeUnit precision is required");
+        Preconditions.checkNotNegativeNumber(rowBatchSize, "rowBatchSize");
+
+        this.plan = plan;
+        this.precision = precision;
+        this.rowBatchSize = rowBatchSize;
+    }
+
+    @Override
+    boolean beginValues(@Nullable final String name,
+                        @Nullable final Map<String, String> tags,
+                        @Nullable final List<String> columns) {
+
+        mapper = plan.matches(name) ? plan.series(columns, tags, precision) : null;
+
+        return mapper != null;
+    }
+
+    @Override
+    void nextRow(final int size) throws IOException {
+
+        measurements.add(mapper.read(reader, size));
+        if (rowBatchSize > 0 && measurements.size() >= rowBatchSize) {
+            supplyMeasurements();
+        }
+    }
+
+    @Override
+    void endSeries(@Nullable final String name,
+                   @Nullable final Map<String, String> tags,
+                   @Nullable final List<String> columns,
+                   final boolean valuesPresent) {
+        mapper = null;
+    }
+
+    @Override
+    void endResult(@Nullable final String error, final boolean seriesPresent) {
+
+        if (error != null) {
+            throw new InfluxDBMapperException("InfluxDB returned an error with Series: " + error);
+        }
+    }
+
+    @Override
+    void endDocument(@Nullable final String error, final boolean resultsPresent) {
+
+        // the chunk without results is skipped as by the QueryResult mapping
+        if (resultsPresent && error != null) {
+            throw new InfluxDBMapperException("InfluxDB returned an error: " + error);
+        }
+
+        supplyMeasurements();
+    }
+
+    private void supplyMeasurements() {
+
+        if (!measurements.isEmpty()) {
+            supply(measurements);
+            measurements = new ArrayList<>();
+        }
+    }
+}
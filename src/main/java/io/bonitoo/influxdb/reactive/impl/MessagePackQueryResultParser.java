@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.BufferedSource;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Parser of the MessagePack chunks which supplies every chunk as one {@link QueryResult}.
+ * <p>
+ * The values of rows are boxed as by the {@link org.influxdb.msgpack.MessagePackTraverser}, the errors
+ * of chunks and results are supplied in the same shape as by Moshi.
+ *
+ * @since 1.0.0
+ */
+final class MessagePackQueryResultParser extends AbstractMessagePackChunkParser<QueryResult> {
+
+    private List<QueryResult.Result> results = new ArrayList<>();
+    private List<QueryResult.Series> series = new ArrayList<>();
+    private List<List<Object>> rows = new ArrayList<>();
+
+    MessagePackQueryResultParser(@Nonnull final BufferedSource source) {
+        super(source);
+    }
+
+    @Override
+    boolean beginValues(@Nullable final String name,
+                        @Nullable final Map<String, String> tags,
+                        @Nullable final List<String> columns) {
+        return true;
+    }
+
+    @Override
+    void nextRow(final int size) throws IOException {
+
+        List<Object> row = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            row.add(reader.nextValue());
+        }
+
+        rows.add(row);
+    }
+
+    @Override
+    void endSeries(@Nullable final String name,
+                   @Nullable final Map<String, String> tags,
+                   @Nullable final List<String> columns,
+                   final boolean valuesPresent) {
+
+        QueryResult.Series value = new QueryResult.Series();
+        value.setName(name);
+        value.setTags(tags);
+        value.setColumns(columns);
+        value.setValues(valuesPresent ? rows : null);
+
+        series.add(value);
+        rows = new ArrayList<>();
+    }
+
+    @Override
+    void endResult(@Nullable final String error, final boolean seriesPresent) {
+
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(seriesPresent ? series : null);
+        result.setError(error);
+
+        results.add(result);
+        series = new ArrayList<>();
+    }
+
+    @Override
+    void endDocument(@Nullable final String error, final boolean resultsPresent) {
+
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(resultsPresent ? results : null);
+        queryResult.setError(error);
+
+        supply(queryResult);
+        results = new ArrayList<>();
+    }
+}
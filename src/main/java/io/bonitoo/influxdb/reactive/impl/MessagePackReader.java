@@ -0,0 +1,698 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ProtocolException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Options;
+
+/**
+ * Read the MessagePack values directly from the segments of {@link BufferedSource} without the intermediate
+ * {@link java.io.InputStream} and the copy into the unpacker buffer.
+ * <p>
+ * The typed values are read into primitives, the {@link #nextValue()} boxes the values
+ * as the {@link org.influxdb.msgpack.MessagePackTraverser}: {@code uint64} to {@link BigInteger},
+ * {@code int64} and {@code uint32} to {@link Long}, other integers to {@link Integer}
+ * and the InfluxDB time extension to the {@link Long} nanoseconds.
+ *
+ * @since 1.0.0
+ */
+final class MessagePackReader {
+
+    /**
+     * The type of extension used by the InfluxDB for the time values - 8 bytes of seconds and 4 bytes of nanos.
+     */
+    static final byte TIME_EXTENSION = 5;
+
+    private static final int TIME_EXTENSION_LENGTH = 12;
+    private static final int FIXSTR_MAX_LENGTH = 31;
+
+    private static final int NIL = 0xc0;
+    private static final int FALSE = 0xc2;
+    private static final int TRUE = 0xc3;
+    private static final int BIN8 = 0xc4;
+    private static final int BIN16 = 0xc5;
+    private static final int BIN32 = 0xc6;
+    private static final int EXT8 = 0xc7;
+    private static final int EXT16 = 0xc8;
+    private static final int EXT32 = 0xc9;
+    private static final int FLOAT32 = 0xca;
+    private static final int FLOAT64 = 0xcb;
+    private static final int UINT8 = 0xcc;
+    private static final int UINT16 = 0xcd;
+    private static final int UINT32 = 0xce;
+    private static final int UINT64 = 0xcf;
+    private static final int INT8 = 0xd0;
+    private static final int INT16 = 0xd1;
+    private static final int INT32 = 0xd2;
+    private static final int INT64 = 0xd3;
+    private static final int FIXEXT1 = 0xd4;
+    private static final int FIXEXT2 = 0xd5;
+    private static final int FIXEXT4 = 0xd6;
+    private static final int FIXEXT8 = 0xd7;
+    private static final int FIXEXT16 = 0xd8;
+    private static final int STR8 = 0xd9;
+    private static final int STR16 = 0xda;
+    private static final int STR32 = 0xdb;
+    private static final int ARRAY16 = 0xdc;
+    private static final int ARRAY32 = 0xdd;
+    private static final int MAP16 = 0xde;
+    private static final int MAP32 = 0xdf;
+
+    private static final int POSITIVE_FIXINT_MAX = 0x7f;
+    private static final int FIXMAP_MAX = 0x8f;
+    private static final int FIXARRAY_MAX = 0x9f;
+    private static final int FIXSTR_MAX = 0xbf;
+    private static final int NEGATIVE_FIXINT_MIN = 0xe0;
+
+    private static final int FIXMAP_PREFIX = 0x80;
+    private static final int FIXARRAY_PREFIX = 0x90;
+    private static final int FIXSTR_PREFIX = 0xa0;
+    private static final int FIX_LENGTH_MASK = 0x0f;
+    private static final int FIXSTR_LENGTH_MASK = 0x1f;
+    private static final int BYTE_MASK = 0xff;
+    private static final int SHORT_MASK = 0xffff;
+    private static final long INT_MASK = 0xffffffffL;
+
+    private static final int FIXEXT1_LENGTH = 1;
+    private static final int FIXEXT2_LENGTH = 2;
+    private static final int FIXEXT4_LENGTH = 4;
+    private static final int FIXEXT8_LENGTH = 8;
+    private static final int FIXEXT16_LENGTH = 16;
+    private static final int EXT8_TYPE_OFFSET = 2;
+    private static final int EXT16_TYPE_OFFSET = 3;
+    private static final int EXT32_TYPE_OFFSET = 5;
+
+    enum ValueType {
+        NIL,
+        BOOLEAN,
+        INTEGER,
+        FLOAT,
+        STRING,
+        BINARY,
+        ARRAY,
+        MAP,
+        EXTENSION
+    }
+
+    private final BufferedSource source;
+    private final Buffer buffer;
+
+    MessagePackReader(@Nonnull final BufferedSource source) {
+
+        Objects.requireNonNull(source, "BufferedSource is required");
+
+        this.source = source;
+        this.buffer = source.buffer();
+    }
+
+    /**
+     * Encode the map keys for the {@link #selectKey(Options)}.
+     *
+     * @param keys the keys shorter than 32 bytes
+     * @return the options of the keys encoded as the MessagePack {@code fixstr}
+     */
+    @Nonnull
+    static Options keys(@Nonnull final String... keys) {
+
+        ByteString[] encoded = new ByteString[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ByteString key = ByteString.encodeUtf8(keys[i]);
+            if (key.size() > FIXSTR_MAX_LENGTH) {
+                throw new IllegalArgumentException("The key is too long for fixstr: " + keys[i]);
+            }
+            encoded[i] = new Buffer().writeByte(FIXSTR_PREFIX | key.size()).write(key).readByteString();
+        }
+
+        return Options.of(encoded);
+    }
+
+    /**
+     * @return {@code true} if there are no more values in the source
+     * @throws IOException if the source can not be read
+     */
+    boolean exhausted() throws IOException {
+        return source.exhausted();
+    }
+
+    /**
+     * @return the type of next value without consuming it
+     * @throws IOException if the source can not be read
+     */
+    @Nonnull
+    ValueType peek() throws IOException {
+
+        int format = peekFormat();
+
+        if (format <= POSITIVE_FIXINT_MAX || format >= NEGATIVE_FIXINT_MIN) {
+            return ValueType.INTEGER;
+        }
+        if (format <= FIXMAP_MAX) {
+            return ValueType.MAP;
+        }
+        if (format <= FIXARRAY_MAX) {
+            return ValueType.ARRAY;
+        }
+        if (format <= FIXSTR_MAX) {
+            return ValueType.STRING;
+        }
+
+        switch (format) {
+            case NIL:
+                return ValueType.NIL;
+            case FALSE:
+            case TRUE:
+                return ValueType.BOOLEAN;
+            case BIN8:
+            case BIN16:
+            case BIN32:
+                return ValueType.BINARY;
+            case EXT8:
+            case EXT16:
+            case EXT32:
+            case FIXEXT1:
+            case FIXEXT2:
+            case FIXEXT4:
+            case FIXEXT8:
+            case FIXEXT16:
+                return ValueType.EXTENSION;
+            case FLOAT32:
+            case FLOAT64:
+                return ValueType.FLOAT;
+            case UINT8:
+            case UINT16:
+            case UINT32:
+            case UINT64:
+            case INT8:
+            case INT16:
+            case INT32:
+            case INT64:
+                return ValueType.INTEGER;
+            case STR8:
+            case STR16:
+            case STR32:
+                return ValueType.STRING;
+            case ARRAY16:
+            case ARRAY32:
+                return ValueType.ARRAY;
+            case MAP16:
+            case MAP32:
+                return ValueType.MAP;
+            default:
+                throw new ProtocolException("Unsupported MessagePack format: 0x" + Integer.toHexString(format));
+        }
+    }
+
+    /**
+     * @return {@code true} if the next value is the InfluxDB time extension
+     * @throws IOException if the source can not be read
+     */
+    boolean peekTime() throws IOException {
+
+        int typeOffset;
+        switch (peekFormat()) {
+            case FIXEXT1:
+            case FIXEXT2:
+            case FIXEXT4:
+            case FIXEXT8:
+            case FIXEXT16:
+                typeOffset = 1;
+                break;
+            case EXT8:
+                typeOffset = EXT8_TYPE_OFFSET;
+                break;
+            case EXT16:
+                typeOffset = EXT16_TYPE_OFFSET;
+                break;
+            case EXT32:
+                typeOffset = EXT32_TYPE_OFFSET;
+                break;
+            default:
+                return false;
+        }
+
+        source.require(typeOffset + 1);
+
+        return buffer.getByte(typeOffset) == TIME_EXTENSION;
+    }
+
+    /**
+     * Select the key of map without decoding it.
+     *
+     * @param keys the expected keys created by {@link #keys(String...)}
+     * @return the index of selected key or {@code -1} if the key is not expected - the key is skipped
+     * @throws IOException if the source can not be read
+     */
+    int selectKey(@Nonnull final Options keys) throws IOException {
+
+        int selected = source.select(keys);
+        if (selected == -1) {
+            skipValue();
+        }
+
+        return selected;
+    }
+
+    void nextNil() throws IOException {
+        expect(NIL);
+    }
+
+    boolean nextBoolean() throws IOException {
+
+        int format = readFormat();
+        if (format == TRUE) {
+            return true;
+        }
+        if (format == FALSE) {
+            return false;
+        }
+
+        throw unexpected(format, ValueType.BOOLEAN);
+    }
+
+    /**
+     * Read the integer or the time extension. The {@code uint64} greater than {@link Long#MAX_VALUE} is
+     * overflowed as by {@link BigInteger#longValue()}.
+     *
+     * @return the integer value or the time in nanoseconds
+     * @throws IOException if the source can not be read or the value is not integer
+     */
+    long nextLong() throws IOException {
+
+        int format = peekFormat();
+        if (format <= POSITIVE_FIXINT_MAX || format >= NEGATIVE_FIXINT_MIN) {
+            return source.readByte();
+        }
+
+        switch (format) {
+            case UINT8:
+                source.skip(1);
+                return source.readByte() & BYTE_MASK;
+            case UINT16:
+                source.skip(1);
+                return source.readShort() & SHORT_MASK;
+            case UINT32:
+                source.skip(1);
+                return source.readInt() & INT_MASK;
+            case UINT64:
+            case INT64:
+                source.skip(1);
+                return source.readLong();
+            case INT8:
+                source.skip(1);
+                return source.readByte();
+            case INT16:
+                source.skip(1);
+                return source.readShort();
+            case INT32:
+                source.skip(1);
+                return source.readInt();
+            default:
+                if (peekTime()) {
+                    return nextTime();
+                }
+                throw unexpected(readFormat(), ValueType.INTEGER);
+        }
+    }
+
+    /**
+     * Read the float or the integer.
+     *
+     * @return the value
+     * @throws IOException if the source can not be read or the value is not number
+     */
+    double nextDouble() throws IOException {
+
+        switch (peekFormat()) {
+            case FLOAT32:
+                source.skip(1);
+                return Float.intBitsToFloat(source.readInt());
+            case FLOAT64:
+                source.skip(1);
+                return Double.longBitsToDouble(source.readLong());
+            case UINT64:
+                return nextBigInteger().doubleValue();
+            default:
+                return nextLong();
+        }
+    }
+
+    /**
+     * @return the time in nanoseconds
+     * @throws IOException if the source can not be read or the value is not the time extension
+     */
+    long nextTime() throws IOException {
+
+        int length = nextExtensionHeader();
+        byte type = source.readByte();
+        if (type != TIME_EXTENSION || length != TIME_EXTENSION_LENGTH) {
+            throw new ProtocolException("Expected the time extension but was the extension: " + type
+                    + " with length: " + length);
+        }
+
+        long seconds = source.readLong();
+        int nanos = source.readInt();
+
+        return TimeUnit.SECONDS.toNanos(seconds) + nanos;
+    }
+
+    @Nonnull
+    String nextString() throws IOException {
+
+        int format = readFormat();
+
+        long length;
+        if (format >= FIXSTR_PREFIX && format <= FIXSTR_MAX) {
+            length = format & FIXSTR_LENGTH_MASK;
+        } else if (format == STR8) {
+            length = source.readByte() & BYTE_MASK;
+        } else if (format == STR16) {
+            length = source.readShort() & SHORT_MASK;
+        } else if (format == STR32) {
+            length = source.readInt() & INT_MASK;
+        } else {
+            throw unexpected(format, ValueType.STRING);
+        }
+
+        return source.readUtf8(length);
+    }
+
+    @Nullable
+    String nextNullableString() throws IOException {
+
+        if (peekFormat() == NIL) {
+            source.skip(1);
+            return null;
+        }
+
+        return nextString();
+    }
+
+    /**
+     * @return the count of values in the array
+     * @throws IOException if the source can not be read or the value is not array
+     */
+    int nextArrayHeader() throws IOException {
+
+        int format = readFormat();
+        if (format >= FIXARRAY_PREFIX && format <= FIXARRAY_MAX) {
+            return format & FIX_LENGTH_MASK;
+        }
+        if (format == ARRAY16) {
+            return source.readShort() & SHORT_MASK;
+        }
+        if (format == ARRAY32) {
+            return checkLength(source.readInt());
+        }
+
+        throw unexpected(format, ValueType.ARRAY);
+    }
+
+    /**
+     * @return the count of entries in the map
+     * @throws IOException if the source can not be read or the value is not map
+     */
+    int nextMapHeader() throws IOException {
+
+        int format = readFormat();
+        if (format >= FIXMAP_PREFIX && format <= FIXMAP_MAX) {
+            return format & FIX_LENGTH_MASK;
+        }
+        if (format == MAP16) {
+            return source.readShort() & SHORT_MASK;
+        }
+        if (format == MAP32) {
+            return checkLength(source.readInt());
+        }
+
+        throw unexpected(format, ValueType.MAP);
+    }
+
+    /**
+     * Read the value boxed as by the {@link org.influxdb.msgpack.MessagePackTraverser}.
+     * The binary values and the unknown extensions are skipped as {@code null}.
+     *
+     * @return the boxed value
+     * @throws IOException if the source can not be read
+     */
+    @Nullable
+    Object nextValue() throws IOException {
+
+        switch (peek()) {
+            case NIL:
+                nextNil();
+                return null;
+            case BOOLEAN:
+                return nextBoolean();
+            case INTEGER:
+                switch (peekFormat()) {
+                    case UINT64:
+                        return nextBigInteger();
+                    case INT64:
+                    case UINT32:
+                        return nextLong();
+                    default:
+                        return (int) nextLong();
+                }
+            case FLOAT:
+                return nextDouble();
+            case STRING:
+                return nextString();
+            case ARRAY:
+                int size = nextArrayHeader();
+                List<Object> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(nextValue());
+                }
+                return values;
+            case MAP:
+                int entries = nextMapHeader();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    map.put(nextValue(), nextValue());
+                }
+                return map;
+            case EXTENSION:
+                if (peekTime()) {
+                    return nextTime();
+                }
+                skipValue();
+                return null;
+            default:
+                skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * Skip the next value including the nested values of arrays and maps.
+     *
+     * @throws IOException if the source can not be read
+     */
+    void skipValue() throws IOException {
+
+        long remaining = 1;
+        while (remaining > 0) {
+
+            remaining--;
+
+            int format = readFormat();
+            if (format <= POSITIVE_FIXINT_MAX || format >= NEGATIVE_FIXINT_MIN) {
+                continue;
+            }
+            if (format <= FIXMAP_MAX) {
+                remaining += 2L * (format & FIX_LENGTH_MASK);
+                continue;
+            }
+            if (format <= FIXARRAY_MAX) {
+                remaining += format & FIX_LENGTH_MASK;
+                continue;
+            }
+            if (format <= FIXSTR_MAX) {
+                source.skip(format & FIXSTR_LENGTH_MASK);
+                continue;
+            }
+
+            switch (format) {
+                case NIL:
+                case FALSE:
+                case TRUE:
+                    break;
+                case INT8:
+                case UINT8:
+                    source.skip(Byte.BYTES);
+                    break;
+                case INT16:
+                case UINT16:
+                    source.skip(Short.BYTES);
+                    break;
+                case INT32:
+                case UINT32:
+                case FLOAT32:
+                    source.skip(Integer.BYTES);
+                    break;
+                case INT64:
+                case UINT64:
+                case FLOAT64:
+                    source.skip(Long.BYTES);
+                    break;
+                case BIN8:
+                case STR8:
+                    source.skip(source.readByte() & BYTE_MASK);
+                    break;
+                case BIN16:
+                case STR16:
+                    source.skip(source.readShort() & SHORT_MASK);
+                    break;
+                case BIN32:
+                case STR32:
+                    source.skip(source.readInt() & INT_MASK);
+                    break;
+                case FIXEXT1:
+                    source.skip(1 + FIXEXT1_LENGTH);
+                    break;
+                case FIXEXT2:
+                    source.skip(1 + FIXEXT2_LENGTH);
+                    break;
+                case FIXEXT4:
+                    source.skip(1 + FIXEXT4_LENGTH);
+                    break;
+                case FIXEXT8:
+                    source.skip(1 + FIXEXT8_LENGTH);
+                    break;
+                case FIXEXT16:
+                    source.skip(1 + FIXEXT16_LENGTH);
+                    break;
+                case EXT8:
+                    source.skip(1 + (source.readByte() & BYTE_MASK));
+                    break;
+                case EXT16:
+                    source.skip(1 + (source.readShort() & SHORT_MASK));
+                    break;
+                case EXT32:
+                    source.skip(1 + (source.readInt() & INT_MASK));
+                    break;
+                case ARRAY16:
+                    remaining += source.readShort() & SHORT_MASK;
+                    break;
+                case ARRAY32:
+                    remaining += source.readInt() & INT_MASK;
+                    break;
+                case MAP16:
+                    remaining += 2L * (source.readShort() & SHORT_MASK);
+                    break;
+                case MAP32:
+                    remaining += 2L * (source.readInt() & INT_MASK);
+                    break;
+                default:
+                    throw new ProtocolException("Unsupported MessagePack format: 0x" + Integer.toHexString(format));
+            }
+        }
+    }
+
+    @Nonnull
+    private BigInteger nextBigInteger() throws IOException {
+
+        expect(UINT64);
+
+        long value = source.readLong();
+        if (value >= 0) {
+            return BigInteger.valueOf(value);
+        }
+
+        return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+    }
+
+    private int nextExtensionHeader() throws IOException {
+
+        int format = readFormat();
+        switch (format) {
+            case FIXEXT1:
+                return FIXEXT1_LENGTH;
+            case FIXEXT2:
+                return FIXEXT2_LENGTH;
+            case FIXEXT4:
+                return FIXEXT4_LENGTH;
+            case FIXEXT8:
+                return FIXEXT8_LENGTH;
+            case FIXEXT16:
+                return FIXEXT16_LENGTH;
+            case EXT8:
+                return source.readByte() & BYTE_MASK;
+            case EXT16:
+                return source.readShort() & SHORT_MASK;
+            case EXT32:
+                return checkLength(source.readInt());
+            default:
+                throw unexpected(format, ValueType.EXTENSION);
+        }
+    }
+
+    private int peekFormat() throws IOException {
+
+        source.require(1);
+
+        return buffer.getByte(0) & BYTE_MASK;
+    }
+
+    private int readFormat() throws IOException {
+        return source.readByte() & BYTE_MASK;
+    }
+
+    private void expect(final int expected) throws IOException {
+
+        int format = readFormat();
+        if (format != expected) {
+            throw new ProtocolException("Expected the MessagePack format: 0x" + Integer.toHexString(expected)
+                    + " but was: 0x" + Integer.toHexString(format));
+        }
+    }
+
+    private int checkLength(final int length) throws ProtocolException {
+
+        if (length < 0) {
+            throw new ProtocolException("Unsupported MessagePack length: " + (length & INT_MASK));
+        }
+
+        return length;
+    }
+
+    @Nonnull
+    private ProtocolException unexpected(final int format, @Nonnull final ValueType expected) {
+        return new ProtocolException("Expected " + expected + " but was the MessagePack format: 0x"
+                + Integer.toHexString(format));
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetricsMXBean;
+import io.bonitoo.influxdb.reactive.metrics.LatencySnapshot;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+
+/**
+ * The live metrics of the {@link InfluxDBReactiveImpl}. All counters are lock-free.
+ *
+ * @since 1.0.0
+ */
+@ThreadSafe
+final class MetricsCollector implements ClientMetricsMXBean {
+
+    private static final Logger LOG = Logger.getLogger(MetricsCollector.class.getName());
+
+    private static final AtomicInteger CLIENT_SEQUENCE = new AtomicInteger();
+
+    private final LongAdder pointsIn = new LongAdder();
+    private final LongAdder pointsDequeued = new LongAdder();
+    private final LongAdder pointsWritten = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder pointsDropped = new LongAdder();
+    private final LongAdder queryCacheHits = new LongAdder();
+    private final LongAdder queryCacheMisses = new LongAdder();
+
+    private final LatencyHistogram serializationTime = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    private final LatencyHistogram queryTimeToFirstByte = new LatencyHistogram();
+
+    private final int bufferLimit;
+    private final LongSupplier eventsDropped;
+
+    @Nullable
+    private ObjectName objectName;
+
+    MetricsCollector(@Nonnull final BatchOptionsReactive batchOptions, @Nonnull final LongSupplier eventsDropped) {
+
+        Objects.requireNonNull(batchOptions, "BatchOptionsReactive is required");
+        Objects.requireNonNull(eventsDropped, "EventsDropped supplier is required");
+
+        this.bufferLimit = batchOptions.getBufferLimit();
+        this.eventsDropped = eventsDropped;
+    }
+
+    void pointIn() {
+        pointsIn.increment();
+    }
+
+    void pointDequeued() {
+        pointsDequeued.increment();
+    }
+
+    void pointDropped() {
+        pointsDropped.increment();
+    }
+
+    void batch() {
+        batches.increment();
+    }
+
+    void retry() {
+        retries.increment();
+    }
+
+    void written(final int points, final long bytes) {
+        pointsWritten.add(points);
+        bytesSent.add(bytes);
+    }
+
+    void serializationTime(final long nanos) {
+        serializationTime.record(nanos);
+    }
+
+    void writeLatency(final long nanos) {
+        writeLatency.record(nanos);
+    }
+
+    void queryTimeToFirstByte(final long nanos) {
+        queryTimeToFirstByte.record(nanos);
+    }
+
+    void queryCacheHit() {
+        queryCacheHits.increment();
+    }
+
+    void queryCacheMiss() {
+        queryCacheMisses.increment();
+    }
+
+    @Nonnull
+    ClientMetrics snapshot() {
+        return new ClientMetrics(this);
+    }
+
+    /**
+     * Register the metrics as the MBean into platform {@link MBeanServer}.
+     */
+    void registerMBean() {
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            ObjectName name = new ObjectName("io.bonitoo.influxdb.reactive:type=ClientMetrics,name=client-"
+                    + CLIENT_SEQUENCE.incrementAndGet());
+
+            server.registerMBean(new StandardMBean(this, ClientMetricsMXBean.class, true), name);
+
+            objectName = name;
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "The client metrics can not be registered into MBeanServer", e);
+        }
+    }
+
+    /**
+     * Unregister the MBean from platform {@link MBeanServer}.
+     */
+    void unregisterMBean() {
+
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "The client metrics can not be unregistered from MBeanServer", e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    @Nullable
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public long getPointsIn() {
+        return pointsIn.sum();
+    }
+
+    @Override
+    public long getPointsWritten() {
+        return pointsWritten.sum();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getPointsDropped() {
+        return pointsDropped.sum();
+    }
+
+    @Override
+    public long getEventsDropped() {
+        return eventsDropped.getAsLong();
+    }
+
+    @Override
+    public long getBufferOccupancy() {
+
+        long dropped = pointsDropped.sum();
+        long dequeued = pointsDequeued.sum();
+
+        return Math.max(pointsIn.sum() - dequeued - dropped, 0);
+    }
+
+    @Override
+    public int getBufferLimit() {
+        return bufferLimit;
+    }
+
+    @Override
+    public LatencySnapshot getSerializationTime() {
+        return serializationTime.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getWriteLatency() {
+        return writeLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getQueryTimeToFirstByte() {
+        return queryTimeToFirstByte.snapshot();
+    }
+
+    @Override
+    public long getQueryCacheHits() {
+        return queryCacheHits.sum();
+    }
+
+    @Override
+    public long getQueryCacheMisses() {
+        return queryCacheMisses.sum();
+    }
+}
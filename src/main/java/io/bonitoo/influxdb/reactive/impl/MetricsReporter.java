@@ -0,0 +1,147 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.metrics.LatencySnapshot;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+import io.bonitoo.influxdb.reactive.options.MonitoringOptions;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import okhttp3.RequestBody;
+import org.influxdb.dto.Point;
+import org.influxdb.impl.TimeUtil;
+
+/**
+ * Periodically writes the client statistics into InfluxDB.
+ * <p>
+ * The reporter has its own lane beside the batching pipeline: the statistics don't pass through the buffer,
+ * are not retried and a report is skipped if the previous one is still in progress.
+ *
+ * @since 1.0.0
+ */
+final class MetricsReporter {
+
+    private static final Logger LOG = Logger.getLogger(MetricsReporter.class.getName());
+
+    private final MonitoringOptions monitoring;
+    private final InfluxDBOptions options;
+    private final InfluxDBServiceReactive influxDBService;
+    private final MetricsCollector metrics;
+
+    MetricsReporter(@Nonnull final MonitoringOptions monitoring,
+                    @Nonnull final InfluxDBOptions options,
+                    @Nonnull final InfluxDBServiceReactive influxDBService,
+                    @Nonnull final MetricsCollector metrics) {
+
+        Objects.requireNonNull(monitoring, "MonitoringOptions are required");
+        Objects.requireNonNull(options, "InfluxDBOptions are required");
+        Objects.requireNonNull(influxDBService, "InfluxDBServiceReactive is required");
+        Objects.requireNonNull(metrics, "MetricsCollector is required");
+
+        this.monitoring = monitoring;
+        this.options = options;
+        this.influxDBService = influxDBService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start periodical reporting.
+     *
+     * @return disposable to stop the reporting
+     */
+    @Nonnull
+    Disposable start() {
+
+        return Flowable
+                .interval(monitoring.getInterval(), monitoring.getInterval(), TimeUnit.MILLISECONDS,
+                        monitoring.getScheduler())
+                .onBackpressureDrop()
+                .flatMapCompletable(tick -> report(), false, 1)
+                .subscribe();
+    }
+
+    @Nonnull
+    private Completable report() {
+
+        long time = monitoring.getScheduler().now(TimeUnit.MILLISECONDS);
+        String lineProtocol = toPoint(metrics.snapshot(), time).lineProtocol(TimeUnit.MILLISECONDS);
+
+        RequestBody body = RequestBody.create(options.getMediaType(), lineProtocol);
+
+        return influxDBService
+                .writePoints(
+                        options.getUsername(), options.getPassword(),
+                        monitoring.getDatabase(), monitoring.getRetentionPolicy(),
+                        TimeUtil.toTimePrecision(TimeUnit.MILLISECONDS),
+                        options.getConsistencyLevel().value(),
+                        body)
+                .doOnError(throwable -> LOG.log(Level.FINE, "Client statistics are not reported", throwable))
+                .onErrorComplete();
+    }
+
+    @Nonnull
+    private Point toPoint(@Nonnull final ClientMetrics snapshot, final long time) {
+
+        Point.Builder point = Point.measurement(monitoring.getMeasurement())
+                .tag("client_id", monitoring.getClientId())
+                .addField("points_in", snapshot.getPointsIn())
+                .addField("points_written", snapshot.getPointsWritten())
+                .addField("points_dropped", snapshot.getPointsDropped())
+                .addField("bytes_sent", snapshot.getBytesSent())
+                .addField("batches", snapshot.getBatches())
+                .addField("retries", snapshot.getRetries())
+                .addField("events_dropped", snapshot.getEventsDropped())
+                .addField("buffer_occupancy", snapshot.getBufferOccupancy())
+                .addField("buffer_limit", snapshot.getBufferLimit())
+                .addField("query_cache_hits", snapshot.getQueryCacheHits())
+                .addField("query_cache_misses", snapshot.getQueryCacheMisses())
+                .time(time, TimeUnit.MILLISECONDS);
+
+        addLatency(point, "write_latency", snapshot.getWriteLatency());
+        addLatency(point, "serialization_time", snapshot.getSerializationTime());
+        addLatency(point, "query_ttfb", snapshot.getQueryTimeToFirstByte());
+
+        return point.build();
+    }
+
+    private void addLatency(@Nonnull final Point.Builder point,
+                            @Nonnull final String prefix,
+                            @Nonnull final LatencySnapshot latency) {
+
+        point
+                .addField(prefix + "_count", latency.getCount())
+                .addField(prefix + "_p50", latency.getP50())
+                .addField(prefix + "_p90", latency.getP90())
+                .addField(prefix + "_p99", latency.getP99())
+                .addField(prefix + "_max", latency.getMax());
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.bonitoo.influxdb.reactive.options.QueryCacheOptions;
+
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.influxdb.dto.QueryResult;
+import org.reactivestreams.Publisher;
+
+/**
+ * The byte-bounded LRU cache of the query responses.
+ * <p>
+ * The raw bytes of the response are cached, so the cached response is replayed through the same
+ * {@link ChunkReader} as the network response and serves the {@code QueryResult}, POJO and columnar queries.
+ * The response is stored only when it was read to the end without an error, the cancelled or failed responses
+ * and the responses with the error of query are not cached.
+ *
+ * @since 1.0.0
+ */
+@ThreadSafe
+final class QueryCache {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private final long maxBytes;
+    private final long ttl;
+    private final MetricsCollector metrics;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<QueryKey, Entry> entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private long totalBytes;
+
+    QueryCache(@Nonnull final QueryCacheOptions options, @Nonnull final MetricsCollector metrics) {
+        this(options, metrics, System::nanoTime);
+    }
+
+    /**
+     * @param options the size and time to live of the cache
+     * @param metrics the collector of hits and misses
+     * @param clock   the source of nanoTime
+     */
+    QueryCache(@Nonnull final QueryCacheOptions options,
+               @Nonnull final MetricsCollector metrics,
+               @Nonnull final LongSupplier clock) {
+
+        Objects.requireNonNull(options, "QueryCacheOptions are required");
+        Objects.requireNonNull(metrics, "MetricsCollector is required");
+        Objects.requireNonNull(clock, "Clock is required");
+
+        this.maxBytes = options.getMaxBytes();
+        this.ttl = options.getTtl().toNanos();
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    /**
+     * Read the cached response or subscribe to the {@code response} and cache it.
+     *
+     * @param key      the identity of the query
+     * @param response the network response
+     * @param reader   the reader of response
+     * @param <T>      the type of read chunks
+     * @return the chunks of cached or network response
+     */
+    @Nonnull
+    <T> Flowable<T> cached(@Nonnull final QueryKey key,
+                           @Nonnull final Flowable<ResponseBody> response,
+                           @Nonnull final Function<ResponseBody, Publisher<T>> reader) {
+
+        Objects.requireNonNull(key, "QueryKey is required");
+        Objects.requireNonNull(response, "Response is required");
+        Objects.requireNonNull(reader, "Reader is required");
+
+        return Flowable.defer(() -> {
+
+            Entry entry = get(key);
+            if (entry != null) {
+                metrics.queryCacheHit();
+
+                return Flowable.fromPublisher(reader.apply(ResponseBody.create(entry.contentType, entry.bytes)));
+            }
+
+            metrics.queryCacheMiss();
+
+            //
+            // The response is stored after it is successfully read => the errors of query are not cached
+            //
+            return response.concatMap(body -> {
+
+                CachingResponseBody caching = new CachingResponseBody(key, body);
+
+                return Flowable.fromPublisher(reader.apply(caching))
+                        .doOnNext(chunk -> {
+                            if (isFailed(chunk)) {
+                                caching.discard();
+                            }
+                        })
+                        .doOnComplete(caching::store);
+            });
+        });
+    }
+
+    /**
+     * @return the size of all cached responses in bytes
+     */
+    synchronized long size() {
+        return totalBytes;
+    }
+
+    @Nullable
+    private synchronized Entry get(@Nonnull final QueryKey key) {
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (clock.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            totalBytes -= entry.bytes.length;
+
+            return null;
+        }
+
+        return entry;
+    }
+
+    private synchronized void put(@Nonnull final QueryKey key,
+                                  @Nullable final MediaType contentType,
+                                  @Nonnull final byte[] bytes) {
+
+        Entry previous = entries.put(key, new Entry(contentType, bytes, clock.getAsLong() + ttl));
+        if (previous != null) {
+            totalBytes -= previous.bytes.length;
+        }
+        totalBytes += bytes.length;
+
+        // evict the least recently used
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().bytes.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The {@link QueryResult} reports the error of query in the chunk, other chunks are read by the error signal.
+     */
+    private static boolean isFailed(@Nonnull final Object chunk) {
+
+        if (!(chunk instanceof QueryResult)) {
+            return false;
+        }
+
+        QueryResult queryResult = (QueryResult) chunk;
+        if (queryResult.getError() != null) {
+            return true;
+        }
+
+        return queryResult.getResults() != null && queryResult.getResults().stream()
+                .anyMatch(result -> result != null && result.getError() != null);
+    }
+
+    private static final class Entry {
+
+        private final MediaType contentType;
+        private final byte[] bytes;
+        private final long expiresAt;
+
+        private Entry(@Nullable final MediaType contentType, @Nonnull final byte[] bytes, final long expiresAt) {
+            this.contentType = contentType;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Copy the bytes read from the network response and cache them when the response is read to the end.
+     */
+    private final class CachingResponseBody extends ResponseBody {
+
+        private final QueryKey key;
+        private final ResponseBody delegate;
+        private BufferedSource source;
+
+        // the bytes of response read to the end
+        private byte[] bytes;
+        private boolean discarded;
+
+        private CachingResponseBody(@Nonnull final QueryKey key, @Nonnull final ResponseBody delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new CachingSource(delegate.source()));
+            }
+            return source;
+        }
+
+        private void discard() {
+            discarded = true;
+        }
+
+        private void store() {
+            if (bytes != null && !discarded) {
+                put(key, contentType(), bytes);
+            }
+        }
+
+        private final class CachingSource extends ForwardingSource {
+
+            // null => the response is too large or already cached
+            private Buffer copy = new Buffer();
+
+            private CachingSource(@Nonnull final Source delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public long read(@Nonnull final Buffer sink, final long byteCount) throws IOException {
+
+                long read = super.read(sink, byteCount);
+                if (copy == null) {
+                    return read;
+                }
+
+                if (read == -1) {
+                    bytes = copy.readByteArray();
+                    copy = null;
+                } else if (copy.size() + read > maxBytes) {
+                    copy = null;
+                } else {
+                    sink.copyTo(copy, sink.size() - read, read);
+                }
+
+                return read;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import org.influxdb.impl.Preconditions;
+import org.reactivestreams.Publisher;
+
+/**
+ * Coalesce the concurrent subscriptions of the identical queries into one request.
+ * <p>
+ * The first subscriber starts the request, the next subscribers join the in-flight request and receive
+ * the already emitted items from the bounded replay buffer. When the replay buffer is full the request is not
+ * joinable anymore and the late subscriber starts the new request, so every subscriber always receives
+ * the complete results. The request is cancelled only when all subscribers are disposed.
+ *
+ * @since 1.0.0
+ */
+@ThreadSafe
+final class QueryCoalescer {
+
+    private final int replayLimit;
+    private final ConcurrentMap<Object, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param replayLimit the maximum number of items replayed to the joining subscribers
+     */
+    QueryCoalescer(final int replayLimit) {
+
+        Preconditions.checkPositiveNumber(replayLimit, "replayLimit");
+
+        this.replayLimit = replayLimit;
+    }
+
+    /**
+     * Share the {@code source} between the concurrent subscribers of the same {@code key}.
+     *
+     * @param key    the identity of the query and its decoding
+     * @param source the query results
+     * @param <T>    the type of results
+     * @return the shared query results
+     */
+    @Nonnull
+    <T> Flowable<T> coalesce(@Nonnull final Object key, @Nonnull final Flowable<T> source) {
+
+        Objects.requireNonNull(key, "Key is required");
+        Objects.requireNonNull(source, "Source is required");
+
+        return Flowable.defer(() -> {
+
+            @SuppressWarnings("unchecked")
+            InFlight<T> request = (InFlight<T>) inFlight.computeIfAbsent(key, it -> new InFlight<>(it, source));
+
+            boolean[] first = {true};
+
+            return request.shared
+                    .map(indexed -> {
+                        // the joined request already dropped the first items from the replay buffer
+                        if (first[0] && indexed.index != 0) {
+                            throw new NotJoinableException();
+                        }
+                        first[0] = false;
+
+                        return indexed.value;
+                    })
+                    // the request is not joinable anymore => create the new one
+                    .onErrorResumeNext((Function<Throwable, Publisher<T>>) throwable ->
+                            throwable instanceof NotJoinableException
+                                    ? coalesce(key, source) : Flowable.error(throwable));
+        });
+    }
+
+    /**
+     * @return the number of the joinable requests
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    private final class InFlight<T> {
+
+        private final Flowable<Indexed<T>> shared;
+
+        private InFlight(@Nonnull final Object key, @Nonnull final Flowable<T> source) {
+
+            this.shared = Flowable
+                    .defer(() -> {
+                        long[] index = {0};
+
+                        return source.map(value -> new Indexed<>(index[0]++, value));
+                    })
+                    .doOnNext(indexed -> {
+                        // the replay buffer is full => the next subscribers start the new request
+                        if (indexed.index + 1 >= replayLimit) {
+                            inFlight.remove(key, this);
+                        }
+                    })
+                    .doFinally(() -> inFlight.remove(key, this))
+                    .replay(replayLimit)
+                    .refCount();
+        }
+    }
+
+    private static final class Indexed<T> {
+
+        private final long index;
+        private final T value;
+
+        private Indexed(final long index, @Nonnull final T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    private static final class NotJoinableException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private NotJoinableException() {
+            super(null, null, false, false);
+        }
+    }
+}
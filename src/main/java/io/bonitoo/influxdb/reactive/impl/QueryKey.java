@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The identity of the query request: the user, database, command, epoch precision, chunk size and bound parameters.
+ *
+ * @since 1.0.0
+ */
+final class QueryKey {
+
+    private final String username;
+    private final String database;
+    private final String command;
+    private final String precision;
+    private final int chunkSize;
+    private final String params;
+
+    QueryKey(@Nullable final String username,
+             @Nullable final String database,
+             @Nonnull final String command,
+             @Nonnull final String precision,
+             final int chunkSize,
+             @Nonnull final String params) {
+
+        Objects.requireNonNull(command, "Query command is required");
+        Objects.requireNonNull(precision, "Precision is required");
+        Objects.requireNonNull(params, "Query parameters are required");
+
+        this.username = username;
+        this.database = database;
+        this.command = command;
+        this.precision = precision;
+        this.chunkSize = chunkSize;
+        this.params = params;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryKey key = (QueryKey) o;
+        return chunkSize == key.chunkSize
+                && Objects.equals(username, key.username)
+                && Objects.equals(database, key.database)
+                && command.equals(key.command)
+                && precision.equals(key.precision)
+                && params.equals(key.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, database, command, precision, chunkSize, params);
+    }
+}
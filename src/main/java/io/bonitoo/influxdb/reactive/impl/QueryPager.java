@@ -0,0 +1,335 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.flowables.ConnectableFlowable;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Split the query into the pages by the {@link QueryOptions#getPagination()} and emit the pages as one stream.
+ * <p>
+ * The next page is read as soon as the current page is read - while the current page is consumed,
+ * so at most two pages are buffered. The {@link QueryOptions.Pagination#TIME} continues by {@code time >= last}
+ * of the last timestamp and skips the already read rows of the last timestamp by the {@code OFFSET}, so the rows
+ * with the same timestamp are not lost. The {@link QueryOptions.Pagination#OFFSET} continues by the {@code OFFSET}
+ * of read rows. The pagination is finished by the first page which doesn't contain the full page of any series.
+ *
+ * @param <T> the type of results, {@link QueryResult} or {@link ColumnarSeries}
+ * @since 1.0.0
+ */
+final class QueryPager<T> {
+
+    /**
+     * The minimal timestamp of InfluxDB in nanoseconds.
+     */
+    static final long MIN_TIME = -9_223_372_036_854_775_806L;
+
+    private final String command;
+    private final QueryOptions.Pagination pagination;
+    private final int pageSize;
+    private final TimeUnit precision;
+    private final Instant start;
+    private final Instant end;
+    private final Function<String, Flowable<T>> executor;
+
+    /**
+     * @param command      the paginated query
+     * @param queryOptions the pagination, time range and precision of the query
+     * @param executor     execute the query command of page
+     */
+    QueryPager(@Nonnull final String command,
+               @Nonnull final QueryOptions queryOptions,
+               @Nonnull final Function<String, Flowable<T>> executor) {
+
+        Objects.requireNonNull(command, "Query command is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+        Objects.requireNonNull(queryOptions.getPagination(), "Pagination is required");
+        Objects.requireNonNull(executor, "Executor is required");
+
+        if (queryOptions.getPagination() == QueryOptions.Pagination.TIME
+                && !command.contains(QueryOptions.TIME_FILTER)) {
+            throw new IllegalArgumentException("The query paginated by time has to contain the "
+                    + QueryOptions.TIME_FILTER + " placeholder: " + command);
+        }
+
+        if (queryOptions.getPagination() == QueryOptions.Pagination.OFFSET
+                && command.contains(QueryOptions.TIME_FILTER) && queryOptions.getTimeRangeStart() == null) {
+            throw new IllegalArgumentException("The time range is required to replace the "
+                    + QueryOptions.TIME_FILTER + " placeholder: " + command);
+        }
+
+        this.command = command;
+        this.pagination = queryOptions.getPagination();
+        this.pageSize = queryOptions.getPageSize();
+        this.precision = queryOptions.getPrecision();
+        this.start = queryOptions.getTimeRangeStart();
+        this.end = queryOptions.getTimeRangeEnd();
+        this.executor = executor;
+    }
+
+    /**
+     * @return the results of all pages
+     */
+    @Nonnull
+    Flowable<T> results() {
+
+        return Flowable.defer(() -> {
+
+            Cursor cursor = new Cursor();
+            CompositeDisposable connections = new CompositeDisposable();
+
+            //
+            // The page is generated when the previous page is consumed => it is read after the current page
+            // while the current page is consumed
+            //
+            return Flowable
+                    .<Flowable<T>, Prefetch>generate(() -> null, (previous, emitter) -> {
+
+                        if (cursor.done) {
+                            emitter.onComplete();
+                            return previous;
+                        }
+
+                        Flowable<T> page = previous == null ? page(cursor) : previous.page.ignoreElements()
+                                .andThen(Flowable.defer(() -> cursor.done ? Flowable.<T>empty() : page(cursor)));
+
+                        ConnectableFlowable<T> replay = page.replay();
+                        Disposable connection = replay.connect();
+                        connections.add(connection);
+
+                        // the page before previous is consumed
+                        if (previous != null && previous.previousConnection != null) {
+                            connections.remove(previous.previousConnection);
+                        }
+
+                        emitter.onNext(replay);
+
+                        return new Prefetch(replay, connection, previous != null ? previous.connection : null);
+                    })
+                    .concatMap(page -> page, 1)
+                    .doFinally(connections::dispose);
+        });
+    }
+
+    @Nonnull
+    private Flowable<T> page(@Nonnull final Cursor cursor) {
+
+        Page page = new Page(cursor.last, cursor.ties);
+
+        return executor.apply(cursor.command())
+                .doOnNext(page::inspect)
+                .doOnComplete(() -> cursor.next(page));
+    }
+
+    private static long toNanos(@Nonnull final Instant instant) {
+        return Math.addExact(TimeUnit.SECONDS.toNanos(instant.getEpochSecond()), instant.getNano());
+    }
+
+    /**
+     * The read page and the connections of its read.
+     */
+    private final class Prefetch {
+
+        private final Flowable<T> page;
+        private final Disposable connection;
+        private final Disposable previousConnection;
+
+        private Prefetch(@Nonnull final Flowable<T> page,
+                         @Nonnull final Disposable connection,
+                         @Nullable final Disposable previousConnection) {
+            this.page = page;
+            this.connection = connection;
+            this.previousConnection = previousConnection;
+        }
+    }
+
+    /**
+     * The position of one subscription.
+     */
+    private final class Cursor {
+
+        private long offset;
+        private long last = start != null ? toNanos(start) : MIN_TIME;
+        private long ties;
+        private volatile boolean done;
+
+        @Nonnull
+        private String command() {
+
+            String limit = " LIMIT " + pageSize;
+
+            if (pagination == QueryOptions.Pagination.TIME) {
+
+                String timeFilter = "time >= " + last + (end != null ? " AND time < " + toNanos(end) : "");
+
+                return command.replace(QueryOptions.TIME_FILTER, timeFilter) + limit
+                        + (ties > 0 ? " OFFSET " + ties : "");
+            }
+
+            String pageCommand = command;
+            if (start != null) {
+                String timeFilter = "time >= " + toNanos(start) + " AND time < " + toNanos(end);
+                pageCommand = pageCommand.replace(QueryOptions.TIME_FILTER, timeFilter);
+            }
+
+            return pageCommand + limit + " OFFSET " + offset;
+        }
+
+        private void next(@Nonnull final Page page) {
+
+            int rows = page.rows.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+            if (pagination == QueryOptions.Pagination.TIME) {
+                if (page.rows.size() > 1) {
+                    throw new InfluxDBException("The query paginated by time has to return one series: "
+                            + page.rows.keySet());
+                }
+                last = page.last;
+                ties = page.ties;
+            } else {
+                offset += pageSize;
+            }
+
+            done = rows < pageSize;
+        }
+    }
+
+    /**
+     * The rows of series and the last timestamp of one page.
+     */
+    private final class Page {
+
+        private final Map<List<Object>, Integer> rows = new LinkedHashMap<>();
+        private long last;
+        private long ties;
+
+        private Page(final long last, final long ties) {
+            this.last = last;
+            this.ties = ties;
+        }
+
+        private void inspect(@Nonnull final Object result) {
+
+            if (result instanceof ColumnarSeries) {
+                inspect((ColumnarSeries) result);
+            } else if (result instanceof QueryResult) {
+                inspect((QueryResult) result);
+            } else {
+                throw new IllegalStateException("The pagination is not supported for: " + result);
+            }
+        }
+
+        private void inspect(@Nonnull final QueryResult queryResult) {
+
+            if (queryResult.getError() != null) {
+                throw new InfluxDBException(queryResult.getError());
+            }
+
+            if (queryResult.getResults() == null) {
+                return;
+            }
+
+            for (QueryResult.Result result : queryResult.getResults()) {
+
+                if (result.getError() != null) {
+                    throw new InfluxDBException(result.getError());
+                }
+
+                if (result.getSeries() == null) {
+                    continue;
+                }
+
+                for (QueryResult.Series series : result.getSeries()) {
+
+                    List<List<Object>> values = series.getValues();
+                    if (values == null) {
+                        continue;
+                    }
+
+                    series(series.getName(), series.getTags(), values.size());
+
+                    if (pagination == QueryOptions.Pagination.TIME) {
+                        int timeIndex = series.getColumns().indexOf(ColumnarSeries.TIME_COLUMN);
+                        for (List<Object> row : values) {
+                            Object time = timeIndex != -1 ? row.get(timeIndex) : null;
+                            time(TimeSlices.toEpochTime(time, "The query paginated by time"));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void inspect(@Nonnull final ColumnarSeries series) {
+
+            series(series.getName(), series.getTags(), series.size());
+
+            if (pagination == QueryOptions.Pagination.TIME) {
+                long[] times = series.getTimes();
+                if (times == null) {
+                    throw new InfluxDBException("The query paginated by time requires the epoch timestamps: "
+                            + series);
+                }
+                for (int i = 0; i < series.size(); i++) {
+                    time(times[i]);
+                }
+            }
+        }
+
+        private void series(@Nullable final String name,
+                            @Nullable final Map<String, String> tags,
+                            final int size) {
+
+            List<Object> key = Arrays.asList(name, tags);
+            rows.merge(key, size, Integer::sum);
+        }
+
+        private void time(final long time) {
+
+            long nanos = precision.toNanos(time);
+            if (nanos > last) {
+                last = nanos;
+                ties = 1;
+            } else if (nanos == last) {
+                ties++;
+            }
+        }
+    }
+}
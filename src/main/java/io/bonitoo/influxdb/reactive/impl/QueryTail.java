@@ -0,0 +1,281 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+
+/**
+ * Periodically re-issue the query with the {@code time > lastSeen} condition and emit only the new rows.
+ * <p>
+ * The last seen timestamp is tracked per series (name and tags). The query is bounded by the oldest last seen
+ * timestamp of series and the already seen rows are filtered out, so the late points of slower series are not lost.
+ * The series which didn't report within the look-back are not tracked anymore, so the idle series doesn't hold
+ * the query bound and the memory forever. If the poll doesn't return any new row than the next poll is delayed
+ * twice as long, at most {@link #MAX_BACKOFF} times the interval.
+ *
+ * @since 1.0.0
+ */
+final class QueryTail {
+
+    static final int MAX_BACKOFF = 8;
+
+    /**
+     * The default look-back in the intervals - twice the longest backoff.
+     */
+    static final int DEFAULT_LOOK_BACK = 2 * MAX_BACKOFF;
+
+    private final String command;
+    private final long interval;
+    private final long lookBack;
+    private final TimeUnit precision;
+    private final Scheduler scheduler;
+    private final Function<String, Flowable<QueryResult>> executor;
+
+    /**
+     * @param command   the query with the {@link QueryOptions#TIME_FILTER} placeholder
+     * @param interval  the time between two polls
+     * @param lookBack  the maximum age of the last seen timestamp of series which is still tracked
+     * @param precision the precision of the timestamps in the results
+     * @param scheduler the scheduler of polls
+     * @param executor  execute the query command
+     */
+    QueryTail(@Nonnull final String command,
+              @Nonnull final Duration interval,
+              @Nonnull final Duration lookBack,
+              @Nonnull final TimeUnit precision,
+              @Nonnull final Scheduler scheduler,
+              @Nonnull final Function<String, Flowable<QueryResult>> executor) {
+
+        Objects.requireNonNull(command, "Query command is required");
+        Objects.requireNonNull(interval, "Interval is required");
+        Objects.requireNonNull(lookBack, "Look-back is required");
+        Objects.requireNonNull(precision, "Precision is required");
+        Objects.requireNonNull(scheduler, "Scheduler is required");
+        Objects.requireNonNull(executor, "Executor is required");
+
+        if (!command.contains(QueryOptions.TIME_FILTER)) {
+            throw new IllegalArgumentException("The tailed query has to contain the "
+                    + QueryOptions.TIME_FILTER + " placeholder: " + command);
+        }
+
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Expecting a positive interval: " + interval);
+        }
+
+        if (lookBack.compareTo(interval) < 0) {
+            throw new IllegalArgumentException("Expecting the look-back at least the interval: " + lookBack);
+        }
+
+        this.command = command;
+        this.interval = interval.toNanos();
+        this.lookBack = lookBack.toNanos();
+        this.precision = precision;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the new rows of every poll, the rows older than the time of subscription are not emitted
+     */
+    @Nonnull
+    Flowable<QueryResult> results() {
+
+        return Flowable.defer(() -> {
+
+            Cursor cursor = new Cursor(now());
+
+            return Flowable
+                    .defer(() -> poll(cursor))
+                    .repeatWhen(polls -> polls
+                            .concatMap(poll -> Flowable.timer(cursor.nextDelay(), TimeUnit.NANOSECONDS, scheduler)));
+        });
+    }
+
+    @Nonnull
+    private Flowable<QueryResult> poll(@Nonnull final Cursor cursor) {
+
+        cursor.newRows = false;
+
+        // the series idle longer than the look-back are not tracked
+        cursor.prune(now() - precision.convert(lookBack, TimeUnit.NANOSECONDS));
+
+        String timeFilter = "time > " + precision.toNanos(cursor.oldest());
+
+        Map<List<Object>, Long> seen = new HashMap<>();
+
+        return executor.apply(command.replace(QueryOptions.TIME_FILTER, timeFilter))
+                .concatMap(queryResult -> {
+
+                    if (queryResult.getError() != null) {
+                        return Flowable.error(new InfluxDBException(queryResult.getError()));
+                    }
+
+                    QueryResult newRows = newRows(queryResult, cursor, seen);
+
+                    return newRows != null ? Flowable.just(newRows) : Flowable.<QueryResult>empty();
+                })
+                .doOnComplete(() -> cursor.seen.putAll(seen));
+    }
+
+    @Nullable
+    private QueryResult newRows(@Nonnull final QueryResult queryResult,
+                                @Nonnull final Cursor cursor,
+                                @Nonnull final Map<List<Object>, Long> seen) {
+
+        if (queryResult.getResults() == null) {
+            return null;
+        }
+
+        List<QueryResult.Result> results = new ArrayList<>();
+        for (QueryResult.Result result : queryResult.getResults()) {
+
+            if (result.getError() != null) {
+                throw new InfluxDBException(result.getError());
+            }
+
+            if (result.getSeries() == null) {
+                continue;
+            }
+
+            List<QueryResult.Series> series = new ArrayList<>();
+            for (QueryResult.Series it : result.getSeries()) {
+                QueryResult.Series newSeries = newRows(it, cursor, seen);
+                if (newSeries != null) {
+                    series.add(newSeries);
+                }
+            }
+
+            if (!series.isEmpty()) {
+                QueryResult.Result newResult = new QueryResult.Result();
+                newResult.setSeries(series);
+                results.add(newResult);
+            }
+        }
+
+        if (results.isEmpty()) {
+            return null;
+        }
+
+        cursor.newRows = true;
+
+        QueryResult newRows = new QueryResult();
+        newRows.setResults(results);
+
+        return newRows;
+    }
+
+    @Nullable
+    private QueryResult.Series newRows(@Nonnull final QueryResult.Series series,
+                                       @Nonnull final Cursor cursor,
+                                       @Nonnull final Map<List<Object>, Long> seen) {
+
+        int timeIndex = series.getColumns() != null ? series.getColumns().indexOf(ColumnarSeries.TIME_COLUMN) : -1;
+        if (timeIndex == -1 || series.getValues() == null) {
+            return null;
+        }
+
+        List<Object> key = Arrays.asList(series.getName(), series.getTags());
+        long lastSeen = cursor.seen.getOrDefault(key, cursor.start);
+        long newLastSeen = seen.getOrDefault(key, lastSeen);
+
+        List<List<Object>> values = new ArrayList<>();
+        for (List<Object> row : series.getValues()) {
+
+            long timestamp = TimeSlices.toEpochTime(row.get(timeIndex), "The tailed query");
+            if (timestamp > lastSeen) {
+                values.add(row);
+                newLastSeen = Math.max(newLastSeen, timestamp);
+            }
+        }
+
+        seen.put(key, newLastSeen);
+
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        QueryResult.Series newSeries = new QueryResult.Series();
+        newSeries.setName(series.getName());
+        newSeries.setTags(series.getTags());
+        newSeries.setColumns(series.getColumns());
+        newSeries.setValues(values);
+
+        return newSeries;
+    }
+
+    private long now() {
+        return precision.convert(scheduler.now(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The state of one subscription.
+     */
+    private final class Cursor {
+
+        private final long start;
+        private final Map<List<Object>, Long> seen = new HashMap<>();
+
+        private long bound;
+
+        private long delay = interval;
+        private boolean newRows;
+
+        private Cursor(final long start) {
+            this.start = start;
+            this.bound = start;
+        }
+
+        private void prune(final long lookBackStart) {
+            bound = Math.max(start, lookBackStart);
+            seen.values().removeIf(lastSeen -> lastSeen < bound);
+        }
+
+        private long oldest() {
+            return seen.values().stream().mapToLong(Long::longValue).min().orElse(bound);
+        }
+
+        private long nextDelay() {
+            delay = newRows ? interval : Math.min(delay * 2, interval * MAX_BACKOFF);
+
+            return delay;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+
+import org.influxdb.InfluxDBException;
+
+/**
+ * Split the query into the time slices by the {@link QueryOptions#getTimeRangeStart()},
+ * {@link QueryOptions#getTimeRangeEnd()} and {@link QueryOptions#getSliceDuration()}.
+ *
+ * @since 1.0.0
+ */
+final class TimeSlices {
+
+    /**
+     * The integers above 2^53 are not exactly represented by {@code double}.
+     */
+    private static final double MAX_EXACT_DOUBLE = 9_007_199_254_740_992D;
+
+    private static final Pattern NOW = Pattern.compile("now\\(\\s*\\)", Pattern.CASE_INSENSITIVE);
+
+    private TimeSlices() {
+    }
+
+    /**
+     * Replace the {@code now()} of query by the current time rounded down to the multiple of {@code timeRounding}.
+     *
+     * @param command      the query
+     * @param timeRounding the granularity to round the current time down, {@code null} to not round
+     * @param now          the current time
+     * @return the query with the rounded epoch time in place of {@code now()}
+     */
+    @Nonnull
+    static String roundNow(@Nonnull final String command,
+                           @Nullable final Duration timeRounding,
+                           @Nonnull final Instant now) {
+
+        Objects.requireNonNull(command, "Query command is required");
+        Objects.requireNonNull(now, "Current time is required");
+
+        if (timeRounding == null) {
+            return command;
+        }
+
+        long nanos = toNanos(now);
+        nanos -= Math.floorMod(nanos, timeRounding.toNanos());
+
+        return NOW.matcher(command).replaceAll(Long.toString(nanos));
+    }
+
+    /**
+     * @param command      the query with the {@link QueryOptions#TIME_FILTER} placeholder
+     * @param queryOptions the time range and slice configuration
+     * @param timeRounding the granularity to round the time range down, {@code null} to not round
+     * @return the queries of slices in the time order
+     * @throws IllegalArgumentException if the query doesn't contain the {@link QueryOptions#TIME_FILTER}
+     */
+    @Nonnull
+    static List<String> commands(@Nonnull final String command,
+                                 @Nonnull final QueryOptions queryOptions,
+                                 @Nullable final Duration timeRounding) {
+
+        List<String> commands = new ArrayList<>();
+        for (Slice slice : slices(command, queryOptions, timeRounding)) {
+            commands.add(slice.command);
+        }
+
+        return commands;
+    }
+
+    /**
+     * @param command      the query with the {@link QueryOptions#TIME_FILTER} placeholder
+     * @param queryOptions the time range and slice configuration
+     * @param timeRounding the granularity to round the time range down, {@code null} to not round
+     * @return the slices in the time order
+     * @throws IllegalArgumentException if the query doesn't contain the {@link QueryOptions#TIME_FILTER}
+     */
+    @Nonnull
+    static List<Slice> slices(@Nonnull final String command,
+                              @Nonnull final QueryOptions queryOptions,
+                              @Nullable final Duration timeRounding) {
+
+        Objects.requireNonNull(command, "Query command is required");
+        Objects.requireNonNull(queryOptions, "QueryOptions is required");
+        Objects.requireNonNull(queryOptions.getTimeRangeStart(), "Time range is required");
+
+        if (!command.contains(QueryOptions.TIME_FILTER)) {
+            throw new IllegalArgumentException("The time sliced query has to contain the "
+                    + QueryOptions.TIME_FILTER + " placeholder: " + command);
+        }
+
+        long start = toNanos(queryOptions.getTimeRangeStart());
+        long end = toNanos(queryOptions.getTimeRangeEnd());
+
+        if (timeRounding != null) {
+            long rounding = timeRounding.toNanos();
+            start -= Math.floorMod(start, rounding);
+            end -= Math.floorMod(end, rounding);
+            // the range shorter than rounding
+            if (end <= start) {
+                end = start + rounding;
+            }
+        }
+
+        long slice;
+        if (queryOptions.getSliceDuration() != null) {
+            slice = queryOptions.getSliceDuration().toNanos();
+        } else {
+            long range = end - start;
+            slice = range / queryOptions.getParallelism() + (range % queryOptions.getParallelism() == 0 ? 0 : 1);
+        }
+
+        List<Slice> slices = new ArrayList<>();
+        for (long sliceStart = start; sliceStart < end; sliceStart += slice) {
+
+            long sliceEnd = end - sliceStart > slice ? sliceStart + slice : end;
+
+            String timeFilter = "time >= " + sliceStart + " AND time < " + sliceEnd;
+
+            slices.add(new Slice(command.replace(QueryOptions.TIME_FILTER, timeFilter),
+                    toInstant(sliceStart), toInstant(sliceEnd)));
+        }
+
+        return slices;
+    }
+
+    /**
+     * The JSON numbers are parsed as {@code double} which represents the integers exactly only up to 2^53.
+     *
+     * @param time  the value of the time column
+     * @param query the description of query for the error message
+     * @return the exact epoch time
+     * @throws InfluxDBException if the time is not the epoch time or it could be rounded
+     */
+    static long toEpochTime(@Nullable final Object time, @Nonnull final String query) {
+
+        if (!(time instanceof Number)) {
+            throw new InfluxDBException(query + " requires the epoch timestamps: " + time);
+        }
+
+        if (time instanceof Double && Math.abs((Double) time) >= MAX_EXACT_DOUBLE) {
+            throw new InfluxDBException(query + " requires the exact epoch timestamps, use the MICROSECONDS "
+                    + "or coarser precision: " + time);
+        }
+
+        return ((Number) time).longValue();
+    }
+
+    private static long toNanos(@Nonnull final Instant instant) {
+        return Math.addExact(TimeUnit.SECONDS.toNanos(instant.getEpochSecond()), instant.getNano());
+    }
+
+    @Nonnull
+    private static Instant toInstant(final long nanos) {
+        return Instant.ofEpochSecond(0, nanos);
+    }
+
+    /**
+     * The query of one time slice.
+     */
+    static final class Slice {
+
+        private final String command;
+        private final Instant start;
+        private final Instant end;
+
+        private Slice(@Nonnull final String command, @Nonnull final Instant start, @Nonnull final Instant end) {
+            this.command = command;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return the query with the time condition of slice
+         */
+        @Nonnull
+        String command() {
+            return command;
+        }
+
+        /**
+         * @return the start of slice (inclusive)
+         */
+        @Nonnull
+        Instant start() {
+            return start;
+        }
+
+        /**
+         * @return the end of slice (exclusive)
+         */
+        @Nonnull
+        Instant end() {
+            return end;
+        }
+    }
+}
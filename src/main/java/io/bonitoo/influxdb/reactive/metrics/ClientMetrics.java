@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.metrics;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The immutable snapshot of the client metrics.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#metrics()
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ClientMetrics {
+
+    private final long pointsIn;
+    private final long pointsWritten;
+    private final long bytesSent;
+    private final long batches;
+    private final long retries;
+    private final long pointsDropped;
+    private final long eventsDropped;
+    private final long bufferOccupancy;
+    private final int bufferLimit;
+    private final LatencySnapshot serializationTime;
+    private final LatencySnapshot writeLatency;
+    private final LatencySnapshot queryTimeToFirstByte;
+    private final long queryCacheHits;
+    private final long queryCacheMisses;
+
+    /**
+     * Create the snapshot of the {@code metrics}.
+     *
+     * @param metrics the live metrics
+     */
+    public ClientMetrics(@Nonnull final ClientMetricsMXBean metrics) {
+
+        Objects.requireNonNull(metrics, "ClientMetricsMXBean is required");
+
+        pointsIn = metrics.getPointsIn();
+        pointsWritten = metrics.getPointsWritten();
+        bytesSent = metrics.getBytesSent();
+        batches = metrics.getBatches();
+        retries = metrics.getRetries();
+        pointsDropped = metrics.getPointsDropped();
+        eventsDropped = metrics.getEventsDropped();
+        bufferOccupancy = metrics.getBufferOccupancy();
+        bufferLimit = metrics.getBufferLimit();
+        serializationTime = metrics.getSerializationTime();
+        writeLatency = metrics.getWriteLatency();
+        queryTimeToFirstByte = metrics.getQueryTimeToFirstByte();
+        queryCacheHits = metrics.getQueryCacheHits();
+        queryCacheMisses = metrics.getQueryCacheMisses();
+    }
+
+    /**
+     * @return the number of data points that was passed to the client to write
+     */
+    public long getPointsIn() {
+        return pointsIn;
+    }
+
+    /**
+     * @return the number of data points that was successfully written
+     */
+    public long getPointsWritten() {
+        return pointsWritten;
+    }
+
+    /**
+     * @return the number of bytes that was successfully written
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return the number of batches that was sent to InfluxDB
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of retried writes
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the number of data points that was dropped by the backpressure
+     */
+    public long getPointsDropped() {
+        return pointsDropped;
+    }
+
+    /**
+     * @return the number of events that was dropped due to the slow asynchronous listeners
+     */
+    public long getEventsDropped() {
+        return eventsDropped;
+    }
+
+    /**
+     * @return the number of data points waiting in the backpressure buffer
+     */
+    public long getBufferOccupancy() {
+        return bufferOccupancy;
+    }
+
+    /**
+     * @return the capacity of the backpressure buffer
+     * @see io.bonitoo.influxdb.reactive.options.BatchOptionsReactive#getBufferLimit()
+     */
+    public int getBufferLimit() {
+        return bufferLimit;
+    }
+
+    /**
+     * @return the time to serialize the batch into InfluxDB Line Protocol
+     */
+    @Nonnull
+    public LatencySnapshot getSerializationTime() {
+        return serializationTime;
+    }
+
+    /**
+     * @return the latency of write requests (every attempt is recorded separately)
+     */
+    @Nonnull
+    public LatencySnapshot getWriteLatency() {
+        return writeLatency;
+    }
+
+    /**
+     * @return the time to the first byte of query responses
+     */
+    @Nonnull
+    public LatencySnapshot getQueryTimeToFirstByte() {
+        return queryTimeToFirstByte;
+    }
+
+    /**
+     * @return the number of queries that was served from the query cache
+     * @see io.bonitoo.influxdb.reactive.options.InfluxDBOptions#getQueryCache()
+     */
+    public long getQueryCacheHits() {
+        return queryCacheHits;
+    }
+
+    /**
+     * @return the number of queries that was not found in the query cache
+     */
+    public long getQueryCacheMisses() {
+        return queryCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientMetrics{"
+                + "pointsIn=" + pointsIn
+                + ", pointsWritten=" + pointsWritten
+                + ", bytesSent=" + bytesSent
+                + ", batches=" + batches
+                + ", retries=" + retries
+                + ", pointsDropped=" + pointsDropped
+                + ", eventsDropped=" + eventsDropped
+                + ", bufferOccupancy=" + bufferOccupancy
+                + ", bufferLimit=" + bufferLimit
+                + ", serializationTime=" + serializationTime
+                + ", writeLatency=" + writeLatency
+                + ", queryTimeToFirstByte=" + queryTimeToFirstByte
+                + ", queryCacheHits=" + queryCacheHits
+                + ", queryCacheMisses=" + queryCacheMisses
+                + '}';
+    }
+}
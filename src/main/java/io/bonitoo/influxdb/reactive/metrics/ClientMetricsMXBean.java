@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.metrics;
+
+/**
+ * The JMX view of the client metrics.
+ *
+ * @see ClientMetrics
+ * @since 1.0.0
+ */
+public interface ClientMetricsMXBean {
+
+    /**
+     * @return the number of data points that was passed to the client to write
+     */
+    long getPointsIn();
+
+    /**
+     * @return the number of data points that was successfully written
+     */
+    long getPointsWritten();
+
+    /**
+     * @return the number of bytes that was successfully written
+     */
+    long getBytesSent();
+
+    /**
+     * @return the number of batches that was sent to InfluxDB
+     */
+    long getBatches();
+
+    /**
+     * @return the number of retried writes
+     */
+    long getRetries();
+
+    /**
+     * @return the number of data points that was dropped by the backpressure
+     */
+    long getPointsDropped();
+
+    /**
+     * @return the number of events that was dropped due to the slow asynchronous listeners
+     */
+    long getEventsDropped();
+
+    /**
+     * @return the number of data points waiting in the backpressure buffer
+     */
+    long getBufferOccupancy();
+
+    /**
+     * @return the capacity of the backpressure buffer
+     */
+    int getBufferLimit();
+
+    /**
+     * @return the time to serialize the batch into InfluxDB Line Protocol
+     */
+    LatencySnapshot getSerializationTime();
+
+    /**
+     * @return the latency of write requests
+     */
+    LatencySnapshot getWriteLatency();
+
+    /**
+     * @return the time to the first byte of query responses
+     */
+    LatencySnapshot getQueryTimeToFirstByte();
+
+    /**
+     * @return the number of queries that was served from the query cache
+     */
+    long getQueryCacheHits();
+
+    /**
+     * @return the number of queries that was not found in the query cache
+     */
+    long getQueryCacheMisses();
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.metrics;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The immutable snapshot of a latency distribution. The values are recorded in {@link TimeUnit#NANOSECONDS}
+ * into the logarithmic buckets with the precision about 3% (inspired by the HdrHistogram).
+ *
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class LatencySnapshot {
+
+    private static final double PERCENTILE_50 = 50D;
+    private static final double PERCENTILE_90 = 90D;
+    private static final double PERCENTILE_99 = 99D;
+    private static final double PERCENTILE_999 = 99.9D;
+    private static final double HUNDRED = 100D;
+
+    /**
+     * Number of bits used for the linear sub-buckets of every power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    /**
+     * The number of buckets needed to cover all positive longs.
+     */
+    public static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 1 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKET_COUNT;
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    public LatencySnapshot(@Nonnull final long[] counts, final long sum, final long min, final long max) {
+
+        Objects.requireNonNull(counts, "Counts are required");
+
+        this.counts = Arrays.copyOf(counts, counts.length);
+        this.count = Arrays.stream(counts).sum();
+        this.sum = sum;
+        this.min = count == 0 ? 0 : min;
+        this.max = count == 0 ? 0 : max;
+    }
+
+    /**
+     * @param value the recorded value
+     * @return the index of bucket for {@code value}
+     */
+    public static int bucketIndex(final long value) {
+
+        if (value < LINEAR_LIMIT) {
+            return (int) Math.max(value, 0);
+        }
+
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+
+        return LINEAR_LIMIT + (highestBit - (SUB_BUCKET_BITS + 1)) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @param index the index of bucket
+     * @return the highest value that is recorded into bucket with {@code index}
+     */
+    static long highestValue(final int index) {
+
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+
+        int group = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = group + 1;
+
+        return ((long) (subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the minimal recorded value in nanoseconds
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return the maximal recorded value in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of recorded values in nanoseconds
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return the median in nanoseconds
+     */
+    public long getP50() {
+        return getValueAtPercentile(PERCENTILE_50);
+    }
+
+    /**
+     * @return the 90th percentile in nanoseconds
+     */
+    public long getP90() {
+        return getValueAtPercentile(PERCENTILE_90);
+    }
+
+    /**
+     * @return the 99th percentile in nanoseconds
+     */
+    public long getP99() {
+        return getValueAtPercentile(PERCENTILE_99);
+    }
+
+    /**
+     * @return the 99.9th percentile in nanoseconds
+     */
+    public long getP999() {
+        return getValueAtPercentile(PERCENTILE_999);
+    }
+
+    /**
+     * @param percentile the percentile in range 0 - 100
+     * @return the value in nanoseconds that is greater or equal to {@code percentile} of recorded values
+     */
+    public long getValueAtPercentile(final double percentile) {
+
+        if (count == 0) {
+            return 0;
+        }
+
+        if (percentile <= 0) {
+            return min;
+        }
+
+        long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, HUNDRED) / HUNDRED * count));
+
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            if (total >= countAtPercentile) {
+                return Math.max(Math.min(highestValue(i), max), min);
+            }
+        }
+
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{"
+                + "count=" + count
+                + ", min=" + min
+                + ", mean=" + getMean()
+                + ", p50=" + getP50()
+                + ", p99=" + getP99()
+                + ", max=" + max
+                + '}';
+    }
+}
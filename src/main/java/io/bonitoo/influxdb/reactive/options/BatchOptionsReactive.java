@@ -47,6 +47,11 @@ import static org.influxdb.BatchOptions.DEFAULT_JITTER_INTERVAL_DURATION;
 @ThreadSafe
 public final class BatchOptionsReactive {
 
+    private static final int DEFAULT_LOW_WATERMARK = 70;
+    private static final int DEFAULT_HIGH_WATERMARK = 90;
+    private static final int DEFAULT_RECOVERY_WATERMARK = 50;
+    private static final int HUNDRED_PERCENT = 100;
+
     /**
      * Default configuration with values that are consistent with Telegraf.
      */
@@ -64,6 +69,9 @@ public final class BatchOptionsReactive {
     private final int bufferLimit;
     private final Scheduler writeScheduler;
     private final BackpressureOverflowStrategy backpressureStrategy;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int recoveryWatermark;
 
     /**
      * @return the number of data point to collect in batch
@@ -130,6 +138,33 @@ public final class BatchOptionsReactive {
         return backpressureStrategy;
     }
 
+    /**
+     * @return the buffer occupancy (percent of {@link #getBufferLimit()}) which triggers the low watermark event
+     * @see BatchOptionsReactive.Builder#bufferWatermarks(int, int, int)
+     * @since 1.0.0
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * @return the buffer occupancy (percent of {@link #getBufferLimit()}) which triggers the high watermark event
+     * @see BatchOptionsReactive.Builder#bufferWatermarks(int, int, int)
+     * @since 1.0.0
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * @return the buffer occupancy (percent of {@link #getBufferLimit()}) which triggers the recovered event
+     * @see BatchOptionsReactive.Builder#bufferWatermarks(int, int, int)
+     * @since 1.0.0
+     */
+    public int getRecoveryWatermark() {
+        return recoveryWatermark;
+    }
+
     private BatchOptionsReactive(@Nonnull final Builder builder) {
 
         Objects.requireNonNull(builder, "BatchOptionsReactive.Builder is required");
@@ -141,6 +176,9 @@ public final class BatchOptionsReactive {
         bufferLimit = builder.bufferLimit;
         writeScheduler = builder.writeScheduler;
         backpressureStrategy = builder.backpressureStrategy;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
+        recoveryWatermark = builder.recoveryWatermark;
     }
 
     /**
@@ -181,6 +219,9 @@ public final class BatchOptionsReactive {
         private int bufferLimit = DEFAULT_BUFFER_LIMIT;
         private Scheduler writeScheduler = Schedulers.trampoline();
         private BackpressureOverflowStrategy backpressureStrategy = BackpressureOverflowStrategy.DROP_OLDEST;
+        private int lowWatermark = DEFAULT_LOW_WATERMARK;
+        private int highWatermark = DEFAULT_HIGH_WATERMARK;
+        private int recoveryWatermark = DEFAULT_RECOVERY_WATERMARK;
 
         /**
          * Set the number of data point to collect in batch.
@@ -290,6 +331,40 @@ public final class BatchOptionsReactive {
             return this;
         }
 
+        /**
+         * Set the watermarks of the buffer occupancy in percent of {@link #bufferLimit(int)}. When the occupancy
+         * reaches the low or high watermark or falls to the recovery watermark,
+         * the {@link io.bonitoo.influxdb.reactive.events.BufferWatermarkEvent} is published.
+         * Default values are 70%, 90% and 50%.
+         *
+         * @param lowWatermark      the low watermark
+         * @param highWatermark     the high watermark, greater or equal to {@code lowWatermark}
+         * @param recoveryWatermark the recovery watermark, less than {@code lowWatermark}
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder bufferWatermarks(final int lowWatermark,
+                                        final int highWatermark,
+                                        final int recoveryWatermark) {
+
+            Preconditions.checkNotNegativeNumber(recoveryWatermark, "recoveryWatermark");
+
+            if (recoveryWatermark >= lowWatermark || lowWatermark > highWatermark
+                    || highWatermark > HUNDRED_PERCENT) {
+
+                String message = String.format("Expecting 0 <= recoveryWatermark < lowWatermark <= highWatermark "
+                        + "<= 100, but was: %d, %d, %d", recoveryWatermark, lowWatermark, highWatermark);
+
+                throw new IllegalArgumentException(message);
+            }
+
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            this.recoveryWatermark = recoveryWatermark;
+            return this;
+        }
+
         /**
          * Build an instance of BatchOptionsReactive.
          *
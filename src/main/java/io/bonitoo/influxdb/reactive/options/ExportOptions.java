@@ -0,0 +1,154 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * ExportOptions are used to configure the bulk export of the query results.
+ * <p>
+ * The results are written in the {@link #getFormat()} and optionally compressed by gzip.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#export(org.influxdb.dto.Query, QueryOptions, ExportOptions,
+ * java.nio.channels.WritableByteChannel)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ExportOptions {
+
+    /**
+     * The format of the exported rows.
+     */
+    public enum Format {
+
+        /**
+         * The InfluxDB Line Protocol - the tags of series are written as tags and the columns as fields.
+         */
+        LINE_PROTOCOL,
+
+        /**
+         * The comma separated values with the header - the name of series, the tags of series and the columns.
+         */
+        CSV
+    }
+
+    /**
+     * Default configuration: format = Line Protocol, gzip = false.
+     */
+    public static final ExportOptions DEFAULTS = ExportOptions.builder().build();
+
+    private final Format format;
+    private final boolean gzip;
+
+    private ExportOptions(@Nonnull final Builder builder) {
+
+        Objects.requireNonNull(builder, "ExportOptions.Builder is required");
+
+        format = builder.format;
+        gzip = builder.gzip;
+    }
+
+    /**
+     * @return the format of the exported rows
+     * @see ExportOptions.Builder#format(Format)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return {@code true} if the output is compressed by gzip
+     * @see ExportOptions.Builder#gzip(boolean)
+     * @since 1.0.0
+     */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static ExportOptions.Builder builder() {
+        return new ExportOptions.Builder();
+    }
+
+    /**
+     * A builder for {@code ExportOptions}.
+     *
+     * @since 1.0.0
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private Format format = Format.LINE_PROTOCOL;
+        private boolean gzip = false;
+
+        /**
+         * Set the format of the exported rows. Default value is {@link Format#LINE_PROTOCOL}.
+         *
+         * @param format the format of the exported rows
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder format(@Nonnull final Format format) {
+
+            Objects.requireNonNull(format, "Format is required");
+
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Set whether the output is compressed by gzip. Default value is {@code false}.
+         *
+         * @param gzip {@code true} to compress the output by gzip
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder gzip(final boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * Build an instance of ExportOptions.
+         *
+         * @return {@code ExportOptions}
+         */
+        @Nonnull
+        public ExportOptions build() {
+            return new ExportOptions(this);
+        }
+    }
+}
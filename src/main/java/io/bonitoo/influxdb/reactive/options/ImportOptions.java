@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.influxdb.impl.Preconditions;
+
+/**
+ * ImportOptions are used to configure the bulk import of the line protocol files.
+ * <p>
+ * The file is sliced into the batches of at most {@link #getBatchBytes()} bytes on the line boundaries
+ * and the batches are written concurrently by {@link #getConcurrency()} requests.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#importFile(java.nio.file.Path, WriteOptions, ImportOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ImportOptions {
+
+    /**
+     * Default configuration: batchBytes = 1 MiB, concurrency = 4, maxRetries = 3.
+     */
+    public static final ImportOptions DEFAULTS = ImportOptions.builder().build();
+
+    private static final int DEFAULT_BATCH_BYTES = 1024 * 1024;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final int batchBytes;
+    private final int concurrency;
+    private final int maxRetries;
+
+    private ImportOptions(@Nonnull final Builder builder) {
+
+        Objects.requireNonNull(builder, "ImportOptions.Builder is required");
+
+        batchBytes = builder.batchBytes;
+        concurrency = builder.concurrency;
+        maxRetries = builder.maxRetries;
+    }
+
+    /**
+     * @return the maximum size of one batch in bytes
+     * @see ImportOptions.Builder#batchBytes(int)
+     * @since 1.0.0
+     */
+    public int getBatchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * @return the maximum number of concurrently written batches
+     * @see ImportOptions.Builder#concurrency(int)
+     * @since 1.0.0
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return the maximum number of retries of the failed batch
+     * @see ImportOptions.Builder#maxRetries(int)
+     * @since 1.0.0
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static ImportOptions.Builder builder() {
+        return new ImportOptions.Builder();
+    }
+
+    /**
+     * A builder for {@code ImportOptions}.
+     *
+     * @since 1.0.0
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private int batchBytes = DEFAULT_BATCH_BYTES;
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        /**
+         * Set the maximum size of one batch in bytes. Default value is 1 MiB.
+         * The line longer than the {@code batchBytes} is written as one batch.
+         *
+         * @param batchBytes the maximum size of one batch in bytes
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder batchBytes(final int batchBytes) {
+            Preconditions.checkPositiveNumber(batchBytes, "batchBytes");
+            this.batchBytes = batchBytes;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrently written batches. Default value is 4.
+         *
+         * @param concurrency the maximum number of concurrently written batches
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder concurrency(final int concurrency) {
+            Preconditions.checkPositiveNumber(concurrency, "concurrency");
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of retries of the batch which failed by the retry worth error.
+         * The retries are delayed by the {@link BatchOptionsReactive#getRetryInterval()}.
+         * The batch which is not written after the retries is reported as rejected. Default value is 3.
+         *
+         * @param maxRetries the maximum number of retries, {@code 0} to not retry
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder maxRetries(final int maxRetries) {
+            Preconditions.checkNotNegativeNumber(maxRetries, "maxRetries");
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Build an instance of ImportOptions.
+         *
+         * @return {@code ImportOptions}
+         */
+        @Nonnull
+        public ImportOptions build() {
+            return new ImportOptions(this);
+        }
+    }
+}
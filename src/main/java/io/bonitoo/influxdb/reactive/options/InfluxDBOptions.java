@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+import io.bonitoo.influxdb.reactive.tracing.WriteTracer;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -64,6 +65,12 @@ public final class InfluxDBOptions {
     private MediaType mediaType;
 
     private OkHttpClient.Builder okHttpClient;
+
+    private boolean jmxEnabled;
+    private MonitoringOptions monitoring;
+    private WriteTracer writeTracer;
+    private QueryCacheOptions queryCache;
+    private boolean queryCoalescingEnabled;
     //TODO listeners
 //    private List<InfluxDBEventListener> listeners;
 
@@ -87,6 +94,12 @@ public final class InfluxDBOptions {
         mediaType = builder.mediaType;
 
         okHttpClient = builder.okHttpClient;
+
+        jmxEnabled = builder.jmxEnabled;
+        monitoring = builder.monitoring;
+        writeTracer = builder.writeTracer;
+        queryCache = builder.queryCache;
+        queryCoalescingEnabled = builder.queryCoalescingEnabled;
 //        listeners =  Collections.unmodifiableList(builder.listeners);
     }
 
@@ -200,6 +213,59 @@ public final class InfluxDBOptions {
         return okHttpClient;
     }
 
+    /**
+     * Whether the client metrics are registered as the MBean into platform MBeanServer.
+     *
+     * @return {@link Boolean#TRUE} if the metrics are registered into JMX
+     * @since 1.0.0
+     */
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /**
+     * The configuration of the client self-monitoring.
+     *
+     * @return monitoring options or {@code null} if the self-monitoring is disabled
+     * @since 1.0.0
+     */
+    @Nullable
+    public MonitoringOptions getMonitoring() {
+        return monitoring;
+    }
+
+    /**
+     * The hook to trace the stages of the write pipeline.
+     *
+     * @return the tracer or {@code null} if the tracing is disabled
+     * @since 1.0.0
+     */
+    @Nullable
+    public WriteTracer getWriteTracer() {
+        return writeTracer;
+    }
+
+    /**
+     * The configuration of the query responses cache.
+     *
+     * @return query cache options or {@code null} if the query responses are not cached
+     * @since 1.0.0
+     */
+    @Nullable
+    public QueryCacheOptions getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Whether the concurrent identical queries share one request.
+     *
+     * @return {@link Boolean#TRUE} if the concurrent identical queries are coalesced
+     * @since 1.0.0
+     */
+    public boolean isQueryCoalescingEnabled() {
+        return queryCoalescingEnabled;
+    }
+
 //    /**
 //     * Returns list of listeners registered by this client.
 //     * @since 1.0.0
@@ -243,6 +309,12 @@ public final class InfluxDBOptions {
         private MediaType mediaType = MediaType.parse("text/plain; charset=utf-8");
 
         private OkHttpClient.Builder okHttpClient = new OkHttpClient.Builder();
+
+        private boolean jmxEnabled = false;
+        private MonitoringOptions monitoring;
+        private WriteTracer writeTracer;
+        private QueryCacheOptions queryCache;
+        private boolean queryCoalescingEnabled = false;
 //        private List<InfluxDBEventListener> listeners = new ArrayList<>();
 
         /**
@@ -396,6 +468,80 @@ public final class InfluxDBOptions {
             return this;
         }
 
+        /**
+         * Set whether the client metrics are registered as the MBean into platform MBeanServer.
+         * The MBean is unregistered by {@link InfluxDBReactive#close()}.
+         *
+         * @param jmxEnabled if {@link Boolean#TRUE} than register client metrics into JMX
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder jmxEnabled(final boolean jmxEnabled) {
+            this.jmxEnabled = jmxEnabled;
+            return this;
+        }
+
+        /**
+         * Enable the self-monitoring: the client periodically writes its own statistics into InfluxDB.
+         *
+         * @param monitoring the configuration of the self-monitoring. It may be null.
+         *                   If null than the self-monitoring is disabled.
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder monitoring(@Nullable final MonitoringOptions monitoring) {
+            this.monitoring = monitoring;
+            return this;
+        }
+
+        /**
+         * Set the hook to trace the stages of the write pipeline. The tracer of the {@code CONNECTION} stage
+         * is registered as the {@link okhttp3.EventListener.Factory}
+         * of the {@link #okHttpClient(OkHttpClient.Builder)}.
+         *
+         * @param writeTracer the hook to trace the write pipeline. It may be null.
+         *                    If null than the tracing is disabled.
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder writeTracer(@Nullable final WriteTracer writeTracer) {
+            this.writeTracer = writeTracer;
+            return this;
+        }
+
+        /**
+         * Enable the cache of the query responses. The identical queries are served from the cache
+         * until the time to live of the cached response expires.
+         *
+         * @param queryCache the configuration of the query cache. It may be null.
+         *                   If null than the query responses are not cached.
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder queryCache(@Nullable final QueryCacheOptions queryCache) {
+            this.queryCache = queryCache;
+            return this;
+        }
+
+        /**
+         * Set whether the concurrent identical queries share one request. The subscribers of the same query,
+         * database, precision, chunk size, bound parameters and result type receive the results of one request.
+         * The request is cancelled when all subscribers are disposed.
+         *
+         * @param queryCoalescingEnabled if {@link Boolean#TRUE} than coalesce the concurrent identical queries
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder queryCoalescingEnabled(final boolean queryCoalescingEnabled) {
+            this.queryCoalescingEnabled = queryCoalescingEnabled;
+            return this;
+        }
+
 //        /**
 //         * Adds custom listener to listen events from InfluxDB client.
 //         */
@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * ListenerOptions are used to configure the asynchronous listener of events.
+ * <p>
+ * Every asynchronous listener has its own bounded queue of events, so the slow listener doesn't block the writes.
+ *
+ * @see io.bonitoo.influxdb.reactive.InfluxDBReactive#listenEvents(Class, ListenerOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class ListenerOptions {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1_000;
+
+    /**
+     * Default configuration: bufferSize = 1_000, overflowStrategy = DROP_OLDEST, scheduler = Schedulers.io().
+     */
+    public static final ListenerOptions DEFAULTS = ListenerOptions.builder().build();
+
+    private final int bufferSize;
+    private final BackpressureOverflowStrategy overflowStrategy;
+    private final Scheduler scheduler;
+
+    private ListenerOptions(@Nonnull final Builder builder) {
+
+        Objects.requireNonNull(builder, "ListenerOptions.Builder is required");
+
+        bufferSize = builder.bufferSize;
+        overflowStrategy = builder.overflowStrategy;
+        scheduler = builder.scheduler;
+    }
+
+    /**
+     * @return the maximum number of events waiting for the listener
+     * @see ListenerOptions.Builder#bufferSize(int)
+     * @since 1.0.0
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the strategy to deal with overflow of listener queue
+     * @see ListenerOptions.Builder#overflowStrategy(BackpressureOverflowStrategy)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public BackpressureOverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * @return the scheduler on which the listener is notified
+     * @see ListenerOptions.Builder#scheduler(Scheduler)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static ListenerOptions.Builder builder() {
+        return new ListenerOptions.Builder();
+    }
+
+    /**
+     * A builder for {@code ListenerOptions}.
+     *
+     * @since 1.0.0
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private BackpressureOverflowStrategy overflowStrategy = BackpressureOverflowStrategy.DROP_OLDEST;
+        private Scheduler scheduler = Schedulers.io();
+
+        /**
+         * Set the maximum number of events waiting for the listener. The event that is being delivered
+         * to the listener isn't counted.
+         *
+         * @param bufferSize the maximum number of events waiting for the listener
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder bufferSize(final int bufferSize) {
+            Preconditions.checkPositiveNumber(bufferSize, "bufferSize");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Set the strategy to deal with overflow of listener queue.
+         *
+         * @param overflowStrategy the strategy to deal with overflow of listener queue.
+         *                         Default {@link BackpressureOverflowStrategy#DROP_OLDEST}.
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder overflowStrategy(@Nonnull final BackpressureOverflowStrategy overflowStrategy) {
+            Objects.requireNonNull(overflowStrategy, "Backpressure Overflow Strategy is required");
+            this.overflowStrategy = overflowStrategy;
+            return this;
+        }
+
+        /**
+         * Set the scheduler on which the listener is notified. Default value is {@link Schedulers#io()}.
+         *
+         * @param scheduler the scheduler on which the listener is notified
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder scheduler(@Nonnull final Scheduler scheduler) {
+            Objects.requireNonNull(scheduler, "Listener scheduler is required");
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Build an instance of ListenerOptions.
+         *
+         * @return {@code ListenerOptions}
+         */
+        @Nonnull
+        public ListenerOptions build() {
+
+            return new ListenerOptions(this);
+        }
+    }
+}
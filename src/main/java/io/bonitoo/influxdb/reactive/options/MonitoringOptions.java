@@ -0,0 +1,257 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.influxdb.impl.Preconditions;
+
+/**
+ * MonitoringOptions are used to configure the self-monitoring of the client.
+ * <p>
+ * The client periodically writes its own {@link io.bonitoo.influxdb.reactive.metrics.ClientMetrics}
+ * into the configured database and measurement. The statistics bypass the batching buffer,
+ * so they never displace the application points.
+ *
+ * @see InfluxDBOptions.Builder#monitoring(MonitoringOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class MonitoringOptions {
+
+    private static final int DEFAULT_INTERVAL = 10_000;
+    private static final String DEFAULT_MEASUREMENT = "influxdb_client";
+
+    private final String database;
+    private final String retentionPolicy;
+    private final String measurement;
+    private final String clientId;
+    private final int interval;
+    private final Scheduler scheduler;
+
+    private MonitoringOptions(@Nonnull final Builder builder) {
+
+        Objects.requireNonNull(builder, "MonitoringOptions.Builder is required");
+
+        database = builder.database;
+        retentionPolicy = builder.retentionPolicy;
+        measurement = builder.measurement;
+        clientId = builder.clientId;
+        interval = builder.interval;
+        scheduler = builder.scheduler;
+    }
+
+    /**
+     * @return the database to write the client statistics
+     * @see MonitoringOptions.Builder#database(String)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return the retention policy to write the client statistics
+     * @see MonitoringOptions.Builder#retentionPolicy(String)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public String getRetentionPolicy() {
+        return retentionPolicy;
+    }
+
+    /**
+     * @return the measurement of the client statistics
+     * @see MonitoringOptions.Builder#measurement(String)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public String getMeasurement() {
+        return measurement;
+    }
+
+    /**
+     * @return the value of the {@code client_id} tag
+     * @see MonitoringOptions.Builder#clientId(String)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the time in milliseconds between two reports
+     * @see MonitoringOptions.Builder#interval(int)
+     * @since 1.0.0
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the scheduler which is used to report the client statistics
+     * @see MonitoringOptions.Builder#scheduler(Scheduler)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static MonitoringOptions.Builder builder() {
+        return new MonitoringOptions.Builder();
+    }
+
+    /**
+     * A builder for {@code MonitoringOptions}.
+     *
+     * @since 1.0.0
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private String database;
+        private String retentionPolicy = InfluxDBReactive.DEFAULT_RETENTION_POLICY;
+        private String measurement = DEFAULT_MEASUREMENT;
+        private String clientId = ManagementFactory.getRuntimeMXBean().getName();
+        private int interval = DEFAULT_INTERVAL;
+        private Scheduler scheduler = Schedulers.io();
+
+        /**
+         * Set the database to write the client statistics. It must be defined.
+         *
+         * @param database the database to write the client statistics
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder database(@Nonnull final String database) {
+            Preconditions.checkNonEmptyString(database, "database");
+            this.database = database;
+            return this;
+        }
+
+        /**
+         * Set the retention policy to write the client statistics. Default value is "autogen".
+         *
+         * @param retentionPolicy the retention policy to write the client statistics
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder retentionPolicy(@Nonnull final String retentionPolicy) {
+            Preconditions.checkNonEmptyString(retentionPolicy, "retentionPolicy");
+            this.retentionPolicy = retentionPolicy;
+            return this;
+        }
+
+        /**
+         * Set the measurement of the client statistics. Default value is "influxdb_client".
+         *
+         * @param measurement the measurement of the client statistics
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder measurement(@Nonnull final String measurement) {
+            Preconditions.checkNonEmptyString(measurement, "measurement");
+            this.measurement = measurement;
+            return this;
+        }
+
+        /**
+         * Set the value of the {@code client_id} tag which identifies the application instance.
+         * Default value is the name of the running JVM ({@code pid@hostname}).
+         *
+         * @param clientId the identifier of the application instance
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder clientId(@Nonnull final String clientId) {
+            Preconditions.checkNonEmptyString(clientId, "clientId");
+            this.clientId = clientId;
+            return this;
+        }
+
+        /**
+         * Set the time in milliseconds between two reports. Default value is 10 seconds.
+         *
+         * @param interval the time in milliseconds between two reports
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder interval(final int interval) {
+            Preconditions.checkPositiveNumber(interval, "interval");
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Set the scheduler which is used to report the client statistics. Default value is {@link Schedulers#io()}.
+         *
+         * @param scheduler the scheduler which is used to report the client statistics
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder scheduler(@Nonnull final Scheduler scheduler) {
+            Objects.requireNonNull(scheduler, "Monitoring scheduler is required");
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Build an instance of MonitoringOptions.
+         *
+         * @return {@code MonitoringOptions}
+         */
+        @Nonnull
+        public MonitoringOptions build() {
+
+            if (database == null) {
+                throw new IllegalStateException("The database to write the client statistics has to be defined.");
+            }
+
+            return new MonitoringOptions(this);
+        }
+    }
+}
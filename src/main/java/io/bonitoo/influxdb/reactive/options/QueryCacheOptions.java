@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import java.time.Duration;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.influxdb.impl.Preconditions;
+
+/**
+ * QueryCacheOptions are used to configure the cache of the query responses.
+ * <p>
+ * The responses are cached by the query command, database, epoch precision, chunk size and bound parameters.
+ * The cached response is replayed to every subsequent identical query until its time to live expires.
+ * The least recently used responses are evicted when the cache exceeds its size in bytes.
+ * The sliding windows could share the cached response by {@link QueryOptions.Builder#timeRounding(Duration)}.
+ *
+ * @see InfluxDBOptions.Builder#queryCache(QueryCacheOptions)
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class QueryCacheOptions {
+
+    private static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+
+    private final long maxBytes;
+    private final Duration ttl;
+
+    private QueryCacheOptions(@Nonnull final Builder builder) {
+
+        Objects.requireNonNull(builder, "QueryCacheOptions.Builder is required");
+
+        maxBytes = builder.maxBytes;
+        ttl = builder.ttl;
+    }
+
+    /**
+     * @return the maximum size of all cached responses in bytes
+     * @see QueryCacheOptions.Builder#maxBytes(long)
+     * @since 1.0.0
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the time to live of the cached response
+     * @see QueryCacheOptions.Builder#ttl(Duration)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static QueryCacheOptions.Builder builder() {
+        return new QueryCacheOptions.Builder();
+    }
+
+    /**
+     * A builder for {@code QueryCacheOptions}.
+     *
+     * @since 1.0.0
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private long maxBytes = DEFAULT_MAX_BYTES;
+        private Duration ttl = DEFAULT_TTL;
+
+        /**
+         * Set the maximum size of all cached responses in bytes. Default value is 32 MiB.
+         * The response larger than the maximum size is not cached.
+         *
+         * @param maxBytes the maximum size of all cached responses in bytes
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder maxBytes(final long maxBytes) {
+            Preconditions.checkPositiveNumber(maxBytes, "maxBytes");
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Set the time to live of the cached response. Default value is 10 seconds.
+         *
+         * @param ttl the time to live of the cached response
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder ttl(@Nonnull final Duration ttl) {
+
+            Objects.requireNonNull(ttl, "TTL is required");
+            if (ttl.isZero() || ttl.isNegative()) {
+                throw new IllegalArgumentException("Expecting a positive TTL: " + ttl);
+            }
+
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Build an instance of QueryCacheOptions.
+         *
+         * @return {@code QueryCacheOptions}
+         */
+        @Nonnull
+        public QueryCacheOptions build() {
+            return new QueryCacheOptions(this);
+        }
+    }
+}
@@ -22,9 +22,12 @@
  */
 package io.bonitoo.influxdb.reactive.options;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -43,8 +46,43 @@ public final class QueryOptions {
 
     private static final int DEFAULT_CHUNK_SIZE = 10_000;
 
+    /**
+     * The placeholder of query which is replaced by the time condition of slice.
+     *
+     * @see QueryOptions.Builder#timeRange(Instant, Instant)
+     */
+    public static final String TIME_FILTER = "$timeFilter";
+
+    /**
+     * The strategy of the automatic pagination.
+     *
+     * @see QueryOptions.Builder#pagination(Pagination, int)
+     */
+    public enum Pagination {
+
+        /**
+         * The pages are bounded by the time cursor - the {@link #TIME_FILTER} placeholder is replaced by
+         * the {@code time >= last} condition of the last read timestamp. For the queries of one series
+         * ordered by the ascending time.
+         */
+        TIME,
+
+        /**
+         * The pages are read by the {@code LIMIT} and {@code OFFSET} - for every series of query.
+         */
+        OFFSET
+    }
+
     private final int chunkSize;
     private final TimeUnit precision;
+    private final int rowBatchSize;
+    private final Instant timeRangeStart;
+    private final Instant timeRangeEnd;
+    private final Duration sliceDuration;
+    private final int parallelism;
+    private final Pagination pagination;
+    private final int pageSize;
+    private final Duration timeRounding;
 
     /**
      * Default configuration: chunk_size = 10_000.
@@ -57,6 +95,14 @@ public final class QueryOptions {
 
         chunkSize = builder.chunkSize;
         precision = builder.precision;
+        rowBatchSize = builder.rowBatchSize;
+        timeRangeStart = builder.timeRangeStart;
+        timeRangeEnd = builder.timeRangeEnd;
+        sliceDuration = builder.sliceDuration;
+        parallelism = builder.parallelism;
+        pagination = builder.pagination;
+        pageSize = builder.pageSize;
+        timeRounding = builder.timeRounding;
     }
 
     /**
@@ -78,6 +124,84 @@ public final class QueryOptions {
         return precision;
     }
 
+    /**
+     * @return the maximum number of rows in one emitted {@link org.influxdb.dto.QueryResult},
+     * {@code 0} if the whole chunks are emitted
+     * @see QueryOptions.Builder#rowBatchSize(int)
+     * @since 1.0.0
+     */
+    public int getRowBatchSize() {
+        return rowBatchSize;
+    }
+
+    /**
+     * @return the start (inclusive) of time range or {@code null} if the query is not sliced by time
+     * @see QueryOptions.Builder#timeRange(Instant, Instant)
+     * @since 1.0.0
+     */
+    @Nullable
+    public Instant getTimeRangeStart() {
+        return timeRangeStart;
+    }
+
+    /**
+     * @return the end (exclusive) of time range or {@code null} if the query is not sliced by time
+     * @see QueryOptions.Builder#timeRange(Instant, Instant)
+     * @since 1.0.0
+     */
+    @Nullable
+    public Instant getTimeRangeEnd() {
+        return timeRangeEnd;
+    }
+
+    /**
+     * @return the duration of one time slice or {@code null} if the time range is split by {@link #getParallelism()}
+     * @see QueryOptions.Builder#sliceDuration(Duration)
+     * @since 1.0.0
+     */
+    @Nullable
+    public Duration getSliceDuration() {
+        return sliceDuration;
+    }
+
+    /**
+     * @return the maximum number of concurrently executed time slices
+     * @see QueryOptions.Builder#parallelism(int)
+     * @since 1.0.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return the strategy of the pagination or {@code null} if the query is not paginated
+     * @see QueryOptions.Builder#pagination(Pagination, int)
+     * @since 1.0.0
+     */
+    @Nullable
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    /**
+     * @return the maximum number of rows of series in one page, {@code 0} if the query is not paginated
+     * @see QueryOptions.Builder#pagination(Pagination, int)
+     * @since 1.0.0
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return the granularity to round the time of query down or {@code null} if the time is not rounded
+     * @see QueryOptions.Builder#timeRounding(Duration)
+     * @since 1.0.0
+     */
+    @Nullable
+    public Duration getTimeRounding() {
+        return timeRounding;
+    }
+
     /**
      * Creates a builder instance.
      *
@@ -99,6 +223,14 @@ public final class QueryOptions {
 
         private int chunkSize = DEFAULT_CHUNK_SIZE;
         private TimeUnit precision = InfluxDBReactive.DEFAULT_PRECISION;
+        private int rowBatchSize = 0;
+        private Instant timeRangeStart;
+        private Instant timeRangeEnd;
+        private Duration sliceDuration;
+        private int parallelism = 1;
+        private Pagination pagination;
+        private int pageSize = 0;
+        private Duration timeRounding;
 
         /**
          * Set the number of QueryResults to process in one chunk.
@@ -130,6 +262,148 @@ public final class QueryOptions {
             return this;
         }
 
+        /**
+         * Set the maximum number of rows in one emitted {@link org.influxdb.dto.QueryResult}.
+         * <p>
+         * If the {@code rowBatchSize} is greater than {@code 0} the JSON response is parsed incrementally
+         * and the rows are emitted as soon as {@code rowBatchSize} rows of series are parsed. Every emitted
+         * {@link org.influxdb.dto.QueryResult} contains one result with one series - the part of chunk.
+         * The whole chunk is no longer held in memory and the first rows are available before
+         * the chunk is parsed.
+         * <p>
+         * The default is {@code 0} - the whole chunk is parsed and emitted as one {@link org.influxdb.dto.QueryResult}.
+         * The MessagePack responses are always emitted by whole chunks.
+         *
+         * @param rowBatchSize the maximum number of rows in one emitted result, {@code 0} to emit the whole chunks
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder rowBatchSize(final int rowBatchSize) {
+            Preconditions.checkNotNegativeNumber(rowBatchSize, "rowBatchSize");
+            this.rowBatchSize = rowBatchSize;
+            return this;
+        }
+
+        /**
+         * Set the time range of query which is split into the time slices executed concurrently.
+         * <p>
+         * The query has to contain the {@link #TIME_FILTER} placeholder which is replaced by the time condition
+         * of slice: {@code time >= start AND time < end}. The slices are executed by {@link #parallelism(int)}
+         * concurrent requests and the results are emitted in the order of slices - the results of slice
+         * are buffered until the results of all previous slices are emitted.
+         *
+         * @param start the start of time range (inclusive)
+         * @param end   the end of time range (exclusive)
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder timeRange(@Nonnull final Instant start, @Nonnull final Instant end) {
+
+            Objects.requireNonNull(start, "Start of time range is required");
+            Objects.requireNonNull(end, "End of time range is required");
+            if (!start.isBefore(end)) {
+                throw new IllegalArgumentException("Expecting the start of time range before the end: "
+                        + start + " - " + end);
+            }
+
+            this.timeRangeStart = start;
+            this.timeRangeEnd = end;
+            return this;
+        }
+
+        /**
+         * Set the duration of one time slice. If it is not set then the time range is split
+         * into {@link #parallelism(int)} slices.
+         *
+         * @param sliceDuration the duration of one time slice
+         * @return {@code this}
+         * @see #timeRange(Instant, Instant)
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder sliceDuration(@Nonnull final Duration sliceDuration) {
+
+            Objects.requireNonNull(sliceDuration, "Slice duration is required");
+            if (sliceDuration.isZero() || sliceDuration.isNegative()) {
+                throw new IllegalArgumentException("Expecting a positive slice duration: " + sliceDuration);
+            }
+
+            this.sliceDuration = sliceDuration;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrently executed time slices. Default is {@code 1}.
+         *
+         * @param parallelism the maximum number of concurrently executed time slices
+         * @return {@code this}
+         * @see #timeRange(Instant, Instant)
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder parallelism(final int parallelism) {
+            Preconditions.checkPositiveNumber(parallelism, "parallelism");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Set the automatic pagination of the query. The query is split into the pages of at most
+         * {@code pageSize} rows of series which are read one by one and emitted as one stream. The next page
+         * is requested while the current one is consumed. The query is finished by the first page which is not full.
+         * <p>
+         * The {@code LIMIT} and {@code OFFSET} clauses are appended to the query, so the query must not contain
+         * them. The {@link Pagination#TIME} requires the {@link #TIME_FILTER} placeholder in the query, the time
+         * range of {@link #timeRange(Instant, Instant)} bounds the pages and is not split into the time slices.
+         * Every page is read as a whole, so the memory is bounded by the {@code pageSize}.
+         * <p>
+         * The JSON numbers are parsed as {@code double}, so the {@link Pagination#TIME} of the {@code QueryResult}
+         * and POJO queries requires the {@link TimeUnit#MICROSECONDS} or coarser precision of the JSON response.
+         *
+         * @param pagination the strategy of the pagination
+         * @param pageSize   the maximum number of rows of series in one page
+         * @return {@code this}
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder pagination(@Nonnull final Pagination pagination, final int pageSize) {
+
+            Objects.requireNonNull(pagination, "Pagination is required");
+            Preconditions.checkPositiveNumber(pageSize, "pageSize");
+
+            this.pagination = pagination;
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Round the time of query down to the multiple of {@code timeRounding}. The bounds of
+         * {@link #timeRange(Instant, Instant)} and the {@code now()} of the query are rounded, so the sliding
+         * windows as "the last hour" are resolved into the same query within the rounding interval and share
+         * the cached or coalesced response.
+         * <p>
+         * The rounding changes the results: the queried window is shifted back by up to {@code timeRounding},
+         * so the newest data are not returned and the older data before the start of window are returned.
+         * The time range of paginated query is not rounded. Default is not rounded.
+         *
+         * @param timeRounding the granularity to round the time of query. It may be null.
+         * @return {@code this}
+         * @see QueryCacheOptions
+         * @since 1.0.0
+         */
+        @Nonnull
+        public Builder timeRounding(@Nullable final Duration timeRounding) {
+
+            if (timeRounding != null && (timeRounding.isZero() || timeRounding.isNegative())) {
+                throw new IllegalArgumentException("Expecting a positive time rounding: " + timeRounding);
+            }
+
+            this.timeRounding = timeRounding;
+            return this;
+        }
+
         /**
          * Build an instance of QueryOptions.
          *
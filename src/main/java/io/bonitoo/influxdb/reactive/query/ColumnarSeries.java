@@ -0,0 +1,430 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.query;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The rows of one series stored by columns in the primitive arrays.
+ * <p>
+ * Every column has one of the {@link Type}s - the numbers are stored in {@code long[]} or {@code double[]},
+ * the booleans in {@code boolean[]} and the strings are dictionary-encoded into {@code int[]} codes
+ * of the distinct values. The missing values are reported by {@link Column#isNull(int)}.
+ * <p>
+ * The JSON response doesn't distinguish integers from floats - all JSON numbers are stored as {@link Type#DOUBLE}
+ * except the {@code time} column which is always stored as {@link Type#LONG} in the precision of query.
+ * The MessagePack response keeps the integers in {@link Type#LONG} columns.
+ * <p>
+ * The arrays are not copied - the series is owned by the subscriber.
+ *
+ * @since 1.0.0
+ */
+public final class ColumnarSeries {
+
+    /**
+     * The name of the time column.
+     */
+    public static final String TIME_COLUMN = "time";
+
+    /**
+     * The type of column values.
+     */
+    public enum Type {
+
+        /**
+         * The values are stored in {@code long[]}.
+         */
+        LONG,
+
+        /**
+         * The values are stored in {@code double[]}.
+         */
+        DOUBLE,
+
+        /**
+         * The values are stored in {@code boolean[]}.
+         */
+        BOOLEAN,
+
+        /**
+         * The values are stored as codes of dictionary in {@code int[]}.
+         */
+        STRING
+    }
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final List<Column> columns;
+    private final int size;
+
+    /**
+     * @param name    the name of series
+     * @param tags    the tags of series
+     * @param columns the columns of series
+     * @param size    the count of rows
+     */
+    public ColumnarSeries(@Nullable final String name,
+                          @Nullable final Map<String, String> tags,
+                          @Nonnull final List<Column> columns,
+                          final int size) {
+
+        Objects.requireNonNull(columns, "Columns are required");
+
+        this.name = name;
+        this.tags = tags != null ? Collections.unmodifiableMap(tags) : Collections.emptyMap();
+        this.columns = Collections.unmodifiableList(columns);
+        this.size = size;
+    }
+
+    /**
+     * @return the name of series
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the tags of series
+     */
+    @Nonnull
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return the columns in the order of query
+     */
+    @Nonnull
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param columnName the name of column
+     * @return the column or {@code null} if there is no column with the {@code columnName}
+     */
+    @Nullable
+    public Column getColumn(@Nonnull final String columnName) {
+
+        Objects.requireNonNull(columnName, "Column name is required");
+
+        for (Column column : columns) {
+            if (columnName.equals(column.getName())) {
+                return column;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the timestamps in the precision of query or {@code null} if there is no {@link Type#LONG} time column
+     */
+    @Nullable
+    public long[] getTimes() {
+
+        Column time = getColumn(TIME_COLUMN);
+        if (time == null || time.getType() != Type.LONG) {
+            return null;
+        }
+
+        return time.getLongs();
+    }
+
+    /**
+     * @return the count of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarSeries{"
+                + "name='" + name + '\''
+                + ", tags=" + tags
+                + ", columns=" + columns
+                + ", size=" + size
+                + '}';
+    }
+
+    /**
+     * The values of one column.
+     */
+    public static final class Column {
+
+        private final String name;
+        private final Type type;
+        private final int size;
+        private final BitSet nulls;
+
+        private final long[] longs;
+        private final double[] doubles;
+        private final boolean[] booleans;
+        private final int[] codes;
+        private final String[] dictionary;
+
+        private Column(@Nullable final String name,
+                       @Nonnull final Type type,
+                       final int size,
+                       @Nullable final BitSet nulls,
+                       @Nullable final long[] longs,
+                       @Nullable final double[] doubles,
+                       @Nullable final boolean[] booleans,
+                       @Nullable final int[] codes,
+                       @Nullable final String[] dictionary) {
+
+            this.name = name;
+            this.type = type;
+            this.size = size;
+            this.nulls = nulls != null ? nulls : new BitSet();
+            this.longs = longs;
+            this.doubles = doubles;
+            this.booleans = booleans;
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * @param name   the name of column
+         * @param values the values of column
+         * @param size   the count of values
+         * @param nulls  the indexes of missing values
+         * @return the {@link Type#LONG} column
+         */
+        @Nonnull
+        public static Column ofLongs(@Nullable final String name,
+                                     @Nonnull final long[] values,
+                                     final int size,
+                                     @Nullable final BitSet nulls) {
+
+            Objects.requireNonNull(values, "Values are required");
+
+            return new Column(name, Type.LONG, size, nulls, values, null, null, null, null);
+        }
+
+        /**
+         * @param name   the name of column
+         * @param values the values of column
+         * @param size   the count of values
+         * @param nulls  the indexes of missing values
+         * @return the {@link Type#DOUBLE} column
+         */
+        @Nonnull
+        public static Column ofDoubles(@Nullable final String name,
+                                       @Nonnull final double[] values,
+                                       final int size,
+                                       @Nullable final BitSet nulls) {
+
+            Objects.requireNonNull(values, "Values are required");
+
+            return new Column(name, Type.DOUBLE, size, nulls, null, values, null, null, null);
+        }
+
+        /**
+         * @param name   the name of column
+         * @param values the values of column
+         * @param size   the count of values
+         * @param nulls  the indexes of missing values
+         * @return the {@link Type#BOOLEAN} column
+         */
+        @Nonnull
+        public static Column ofBooleans(@Nullable final String name,
+                                        @Nonnull final boolean[] values,
+                                        final int size,
+                                        @Nullable final BitSet nulls) {
+
+            Objects.requireNonNull(values, "Values are required");
+
+            return new Column(name, Type.BOOLEAN, size, nulls, null, null, values, null, null);
+        }
+
+        /**
+         * @param name       the name of column
+         * @param codes      the indexes to the {@code dictionary}
+         * @param dictionary the distinct values of column
+         * @param size       the count of values
+         * @param nulls      the indexes of missing values
+         * @return the {@link Type#STRING} column
+         */
+        @Nonnull
+        public static Column ofStrings(@Nullable final String name,
+                                       @Nonnull final int[] codes,
+                                       @Nonnull final String[] dictionary,
+                                       final int size,
+                                       @Nullable final BitSet nulls) {
+
+            Objects.requireNonNull(codes, "Codes are required");
+            Objects.requireNonNull(dictionary, "Dictionary is required");
+
+            return new Column(name, Type.STRING, size, nulls, null, null, null, codes, dictionary);
+        }
+
+        /**
+         * @return the name of column
+         */
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the type of values
+         */
+        @Nonnull
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return the count of values, the arrays could be longer
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param row the index of row
+         * @return {@code true} if the value of {@code row} is missing
+         */
+        public boolean isNull(final int row) {
+            return nulls.get(row);
+        }
+
+        /**
+         * @return the values of {@link Type#LONG} column
+         * @throws IllegalStateException if the column has other type
+         */
+        @Nonnull
+        public long[] getLongs() {
+            checkType(Type.LONG);
+            return longs;
+        }
+
+        /**
+         * @return the values of {@link Type#DOUBLE} column
+         * @throws IllegalStateException if the column has other type
+         */
+        @Nonnull
+        public double[] getDoubles() {
+            checkType(Type.DOUBLE);
+            return doubles;
+        }
+
+        /**
+         * @return the values of {@link Type#BOOLEAN} column
+         * @throws IllegalStateException if the column has other type
+         */
+        @Nonnull
+        public boolean[] getBooleans() {
+            checkType(Type.BOOLEAN);
+            return booleans;
+        }
+
+        /**
+         * @return the codes of {@link Type#STRING} column - the indexes to the {@link #getDictionary()}
+         * @throws IllegalStateException if the column has other type
+         */
+        @Nonnull
+        public int[] getCodes() {
+            checkType(Type.STRING);
+            return codes;
+        }
+
+        /**
+         * @return the distinct values of {@link Type#STRING} column
+         * @throws IllegalStateException if the column has other type
+         */
+        @Nonnull
+        public String[] getDictionary() {
+            checkType(Type.STRING);
+            return dictionary;
+        }
+
+        /**
+         * @param row the index of row
+         * @return the value of {@code row} as {@code double}, {@link Double#NaN} for the missing value
+         * @throws IllegalStateException if the column is not numeric
+         */
+        public double getDouble(final int row) {
+
+            if (isNull(row)) {
+                return Double.NaN;
+            }
+
+            switch (type) {
+                case LONG:
+                    return longs[row];
+                case DOUBLE:
+                    return doubles[row];
+                default:
+                    throw new IllegalStateException("The column '" + name + "' is not numeric but: " + type);
+            }
+        }
+
+        /**
+         * @param row the index of row
+         * @return the value of {@code row} as {@link String} or {@code null} for the missing value
+         */
+        @Nullable
+        public String getString(final int row) {
+
+            if (isNull(row)) {
+                return null;
+            }
+
+            switch (type) {
+                case LONG:
+                    return String.valueOf(longs[row]);
+                case DOUBLE:
+                    return String.valueOf(doubles[row]);
+                case BOOLEAN:
+                    return String.valueOf(booleans[row]);
+                default:
+                    return dictionary[codes[row]];
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Column{"
+                    + "name='" + name + '\''
+                    + ", type=" + type
+                    + ", size=" + size
+                    + '}';
+        }
+
+        private void checkType(@Nonnull final Type expected) {
+            if (type != expected) {
+                throw new IllegalStateException("The column '" + name + "' is not " + expected + " but: " + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.tracing;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The time spent by the batch in one stage of the write pipeline.
+ * The timestamps are in nanoseconds from {@link System#nanoTime()}.
+ *
+ * @since 1.0.0
+ */
+@Immutable
+public final class WriteSpan {
+
+    private final long batchId;
+    private final WriteStage stage;
+    private final int pointsCount;
+    private final int attempt;
+    private final long startNanos;
+    private final long endNanos;
+
+    public WriteSpan(final long batchId,
+                     @Nonnull final WriteStage stage,
+                     final int pointsCount,
+                     final int attempt,
+                     final long startNanos,
+                     final long endNanos) {
+
+        Objects.requireNonNull(stage, "WriteStage is required");
+
+        this.batchId = batchId;
+        this.stage = stage;
+        this.pointsCount = pointsCount;
+        this.attempt = attempt;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+    }
+
+    /**
+     * @return the identifier of the batch, the spans of the same batch have the same identifier
+     */
+    public long getBatchId() {
+        return batchId;
+    }
+
+    /**
+     * @return the stage of the write pipeline
+     */
+    @Nonnull
+    public WriteStage getStage() {
+        return stage;
+    }
+
+    /**
+     * @return the number of data points in the batch
+     */
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    /**
+     * @return the number of the write attempt, starts at 1
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * @return the start of the stage
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return the end of the stage or {@code -1} if the stage is not ended yet
+     */
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    /**
+     * @return the time spent in the stage or {@code -1} if the stage is not ended yet
+     */
+    public long getDurationNanos() {
+        return endNanos < 0 ? -1 : endNanos - startNanos;
+    }
+
+    /**
+     * @param endNanos the end of the stage
+     * @return the ended span
+     */
+    @Nonnull
+    public WriteSpan end(final long endNanos) {
+        return new WriteSpan(batchId, stage, pointsCount, attempt, startNanos, endNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteSpan{"
+                + "batchId=" + batchId
+                + ", stage=" + stage
+                + ", pointsCount=" + pointsCount
+                + ", attempt=" + attempt
+                + ", durationNanos=" + getDurationNanos()
+                + '}';
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.tracing;
+
+/**
+ * The stages of the write pipeline.
+ *
+ * @since 1.0.0
+ */
+public enum WriteStage {
+
+    /**
+     * The oldest data point of the batch waits in the backpressure buffer.
+     */
+    QUEUE,
+
+    /**
+     * The batch is collecting data points - from the first data point leaving the buffer to closing the window.
+     */
+    WINDOW,
+
+    /**
+     * The batch is delayed by the jitter interval.
+     */
+    JITTER,
+
+    /**
+     * The data points are serialized into InfluxDB Line Protocol.
+     */
+    SERIALIZATION,
+
+    /**
+     * The HTTP client acquires a connection to InfluxDB. The stage is part of {@link #HTTP}.
+     */
+    CONNECTION,
+
+    /**
+     * The write request - from sending request to receive the response of InfluxDB.
+     */
+    HTTP,
+
+    /**
+     * The batch waits for the next attempt after unsuccessful write.
+     */
+    RETRY
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.tracing;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The hook to trace the stages of the write pipeline. Each batch is traced by the spans with the same
+ * {@link WriteSpan#getBatchId()}.
+ * <p>
+ * The callbacks are invoked synchronously from the batching, HTTP and retry threads, so the implementation
+ * has to be thread-safe and fast. The {@link WriteStage#QUEUE}, {@link WriteStage#WINDOW}
+ * and {@link WriteStage#JITTER} stages are reported when the batch is complete,
+ * so their {@link #onSpanStart(WriteSpan)} is immediately followed by {@link #onSpanEnd(WriteSpan)}.
+ *
+ * @see io.bonitoo.influxdb.reactive.options.InfluxDBOptions.Builder#writeTracer(WriteTracer)
+ * @since 1.0.0
+ */
+public interface WriteTracer {
+
+    /**
+     * The batch entered into the stage.
+     *
+     * @param span the started span, {@link WriteSpan#getEndNanos()} is {@code -1}
+     */
+    default void onSpanStart(@Nonnull final WriteSpan span) {
+    }
+
+    /**
+     * The batch left the stage.
+     *
+     * @param span the ended span
+     */
+    void onSpanEnd(@Nonnull WriteSpan span);
+}
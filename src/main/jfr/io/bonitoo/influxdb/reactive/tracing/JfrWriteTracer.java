@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.tracing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link WriteTracer} which records the stages of the write pipeline as the JDK Flight Recorder events
+ * {@code io.bonitoo.influxdb.reactive.WriteStage}. The events are recorded only if the recording is running
+ * and the event is enabled.
+ * <p>
+ * The tracer requires the JDK with the {@code jdk.jfr} API (8u262+ or 11+).
+ *
+ * @since 1.0.0
+ */
+@ThreadSafe
+public final class JfrWriteTracer implements WriteTracer {
+
+    @Override
+    public void onSpanEnd(@Nonnull final WriteSpan span) {
+
+        WriteStageEvent event = new WriteStageEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+
+        event.batchId = span.getBatchId();
+        event.stage = span.getStage().name();
+        event.pointsCount = span.getPointsCount();
+        event.attempt = span.getAttempt();
+        event.stageDuration = span.getDurationNanos();
+        event.commit();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+
+import io.reactivex.Flowable;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.assertj.core.api.Assertions;
+import org.influxdb.dto.Point;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * The allocation budget of the write hot path - the bytes allocated per written point.
+ * <p>
+ * The whole write path runs on the test thread (trampoline schedulers, synchronous HTTP call), so the bytes
+ * are counted by the allocation counter of the current thread. Raise a budget only together with the change
+ * which justifies it. The budgets are about 20% above the allocation measured on JDK 8.
+ *
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class InfluxDBReactiveAllocationTest extends AbstractInfluxDBReactiveTest {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int POINTS = 10 * BATCH_SIZE;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int ROUNDS = 3;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeEach
+    void prepare() {
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                "The allocation counter of thread is not supported by JVM.");
+
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(),
+                "The allocation counter of thread is not supported by JVM.");
+
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        setUp(BatchOptionsReactive.builder().batchSize(BATCH_SIZE).flushInterval(1_000_000).build());
+
+        influxDBServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(204);
+            }
+        });
+    }
+
+    @Test
+    void writeRecord() {
+
+        assertBudget(this::record, records -> records.forEach(influxDBReactive::writeRecord), 1_200);
+    }
+
+    @Test
+    void writeRecords() {
+
+        assertBudget(this::record, records -> influxDBReactive.writeRecords(Flowable.fromIterable(records)), 1_000);
+    }
+
+    @Test
+    void writePoint() {
+
+        assertBudget(this::point, points -> points.forEach(influxDBReactive::writePoint), 2_300);
+    }
+
+    @Test
+    void writePoints() {
+
+        assertBudget(this::point, points -> influxDBReactive.writePoints(Flowable.fromIterable(points)), 2_100);
+    }
+
+    @Test
+    void writeMeasurement() {
+
+        assertBudget(H2OFeetMeasurement::createMeasurement,
+                measurements -> measurements.forEach(influxDBReactive::writeMeasurement), 3_000);
+    }
+
+    @Test
+    void writeMeasurements() {
+
+        assertBudget(H2OFeetMeasurement::createMeasurement,
+                measurements -> influxDBReactive.writeMeasurements(Flowable.fromIterable(measurements)), 2_800);
+    }
+
+    @Nonnull
+    private String record(final int index) {
+        return "h2o_feet,location=coyote_creek water_level=" + index + ".0 " + index;
+    }
+
+    @Nonnull
+    private Point point(final int index) {
+        return Point.measurement("h2o_feet")
+                .tag("location", "coyote_creek")
+                .addField("water_level", index + 0.5D)
+                .addField("level description", "below 3 feet")
+                .time(index, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Write the {@link #POINTS} data points by {@code write} and check that the lowest allocation per point
+     * from {@link #ROUNDS} is in {@code budget}.
+     */
+    private <T> void assertBudget(@Nonnull final IntFunction<T> factory,
+                                  @Nonnull final Consumer<List<T>> write,
+                                  final long budget) {
+
+        long written = 0;
+        long perPoint = Long.MAX_VALUE;
+
+        for (int round = 0; round < WARM_UP_ROUNDS + ROUNDS; round++) {
+
+            List<T> dataPoints = new ArrayList<>(POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                dataPoints.add(factory.apply(i));
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long start = threadMXBean.getThreadAllocatedBytes(threadId);
+
+            write.accept(dataPoints);
+
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+            if (round >= WARM_UP_ROUNDS) {
+                perPoint = Math.min(perPoint, allocated / POINTS);
+            }
+
+            written += POINTS;
+            Assertions.assertThat(influxDBReactive.metrics().getPointsWritten()).isEqualTo(written);
+        }
+
+        Assertions.assertThat(perPoint)
+                .as("Allocated bytes per point, the budget is %d bytes", budget)
+                .isLessThanOrEqualTo(budget);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.bulk.CopyProgress;
+import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.options.WriteOptions;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class InfluxDBReactiveCopyTest extends AbstractInfluxDBReactiveTest {
+
+    private final WriteOptions writeOptions = WriteOptions.builder().database("target_database").build();
+
+    @BeforeEach
+    void setUp() {
+        super.setUp(BatchOptionsReactive.disabled().build(),
+                builder -> builder.responseFormat(InfluxDB.ResponseFormat.MSGPACK));
+    }
+
+    @Test
+    void copy() throws InterruptedException {
+
+        influxDBServer.setDispatcher(new CopyDispatcher(false));
+
+        Query query = new Query("select * from cpu group by *", "source_database");
+
+        influxDBReactive.copy(query, QueryOptions.DEFAULTS, influxDBReactive, writeOptions)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(1)
+                .assertValue(progress -> progress.getCheckpoint() == null
+                        && progress.getRows() == 2 && progress.getCopiedRows() == 2);
+
+        // the series are written by one batch
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(2);
+
+        RecordedRequest select = influxDBServer.takeRequest();
+        Assertions.assertThat(select.getRequestUrl().queryParameter("db")).isEqualTo("source_database");
+
+        RecordedRequest write = influxDBServer.takeRequest();
+        Assertions.assertThat(write.getRequestUrl().queryParameter("db")).isEqualTo("target_database");
+        Assertions.assertThat(write.getBody().readUtf8())
+                .isEqualTo("cpu,host=server01 idle=0.0,count=10i 0\ncpu,host=server02 idle=1.0,count=11i 1\n");
+    }
+
+    @Test
+    void checkpoints() {
+
+        influxDBServer.setDispatcher(new CopyDispatcher(false));
+
+        Query query = new Query("select * from cpu where $timeFilter group by *", "source_database");
+        QueryOptions queryOptions = QueryOptions.builder()
+                .timeRange(Instant.ofEpochSecond(1), Instant.ofEpochSecond(3))
+                .sliceDuration(Duration.ofSeconds(1))
+                .build();
+
+        List<CopyProgress> progress = influxDBReactive.copy(query, queryOptions, influxDBReactive, writeOptions)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(2)
+                .values();
+
+        Assertions.assertThat(progress.get(0).getCheckpoint()).isEqualTo(Instant.ofEpochSecond(2));
+        Assertions.assertThat(progress.get(0).getCopiedRows()).isEqualTo(2);
+        Assertions.assertThat(progress.get(1).getCheckpoint()).isEqualTo(Instant.ofEpochSecond(3));
+        Assertions.assertThat(progress.get(1).getCopiedRows()).isEqualTo(4);
+        Assertions.assertThat(progress.get(1).getCopiedBytes())
+                .isEqualTo(progress.get(0).getBytes() + progress.get(1).getBytes());
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void writeErrorTerminatesCopy() {
+
+        influxDBServer.setDispatcher(new CopyDispatcher(true));
+
+        Query query = new Query("select * from cpu where $timeFilter group by *", "source_database");
+        QueryOptions queryOptions = QueryOptions.builder()
+                .timeRange(Instant.ofEpochSecond(1), Instant.ofEpochSecond(3))
+                .sliceDuration(Duration.ofSeconds(1))
+                .build();
+
+        influxDBReactive.copy(query, queryOptions, influxDBReactive, writeOptions)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(1)
+                .assertValue(progress -> progress.getCheckpoint().equals(Instant.ofEpochSecond(2)))
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("partial write: field type conflict");
+    }
+
+    @Test
+    void precisionMismatch() {
+
+        QueryOptions queryOptions = QueryOptions.builder().precision(TimeUnit.SECONDS).build();
+
+        Assertions.assertThatThrownBy(() -> influxDBReactive
+                .copy(new Query("select * from cpu", "source_database"), queryOptions, influxDBReactive, writeOptions))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting the same precision of query and write: SECONDS - NANOSECONDS");
+    }
+
+    @Test
+    void jsonResponseFormat() {
+
+        InfluxDBReactive source = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .build());
+
+        try {
+            Assertions.assertThatThrownBy(() -> source
+                    .copy(new Query("select * from cpu", "source_database"), QueryOptions.DEFAULTS, source,
+                            writeOptions))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("The copy requires the MSGPACK response format of the source: JSON");
+        } finally {
+            source.close();
+        }
+    }
+
+    /**
+     * Respond the query of slice by two series and write by success, or error for the second slice.
+     */
+    private final class CopyDispatcher extends Dispatcher {
+
+        private final boolean failSecondSlice;
+        private int writes;
+
+        private CopyDispatcher(final boolean failSecondSlice) {
+            this.failSecondSlice = failSecondSlice;
+        }
+
+        @Override
+        @Nonnull
+        public synchronized MockResponse dispatch(@Nonnull final RecordedRequest request) {
+
+            if (request.getPath().startsWith("/write")) {
+                writes++;
+                if (failSecondSlice && writes == 2) {
+                    return createErrorResponse("partial write: field type conflict");
+                }
+                return new MockResponse().setResponseCode(204);
+            }
+
+            String command = request.getRequestUrl().queryParameter("q");
+            long start = command.contains("time >= ")
+                    ? Long.parseLong(command.replaceAll(".*time >= (\\d+) AND.*", "$1")) : 0;
+
+            MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+            try {
+                packer.packMapHeader(1).packString("results").packArrayHeader(1);
+                packer.packMapHeader(2).packString("statement_id").packInt(0).packString("series").packArrayHeader(2);
+                packSeries(packer, "server01", start, 0D, 10);
+                packSeries(packer, "server02", start + 1, 1D, 11);
+                packer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return new MockResponse().setBody(new Buffer().write(packer.toByteArray()));
+        }
+
+        private void packSeries(@Nonnull final MessageBufferPacker packer,
+                                @Nonnull final String host,
+                                final long time,
+                                final double idle,
+                                final int count) throws IOException {
+
+            packer.packMapHeader(4)
+                    .packString("name").packString("cpu")
+                    .packString("tags").packMapHeader(1).packString("host").packString(host)
+                    .packString("columns").packArrayHeader(3)
+                    .packString("time").packString("idle").packString("count")
+                    .packString("values").packArrayHeader(1)
+                    .packArrayHeader(3).packLong(time).packDouble(idle).packInt(count);
+        }
+    }
+}
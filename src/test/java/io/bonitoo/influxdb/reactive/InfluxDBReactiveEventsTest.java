@@ -29,6 +29,7 @@ import io.bonitoo.influxdb.reactive.events.QueryParsedResponseEvent;
 import io.bonitoo.influxdb.reactive.events.WriteErrorEvent;
 import io.bonitoo.influxdb.reactive.events.WritePartialEvent;
 import io.bonitoo.influxdb.reactive.events.WriteSuccessEvent;
+import io.bonitoo.influxdb.reactive.events.WriteSummaryEvent;
 import io.bonitoo.influxdb.reactive.events.WriteUDPEvent;
 import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
 import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
@@ -84,6 +85,31 @@ class InfluxDBReactiveEventsTest extends AbstractInfluxDBReactiveTest {
                 });
     }
 
+    @Test
+    void writeSummaryEvent() {
+
+        TestObserver<WriteSummaryEvent> listener = influxDBReactive
+                .listenEvents(WriteSummaryEvent.class)
+                .test();
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=2.927 1440046800");
+
+        listener
+                .assertValueCount(1)
+                .assertValue(event -> {
+
+                    Assertions.assertThat(event.getPointsCount()).isEqualTo(1);
+                    Assertions.assertThat(event.getBytes()).isEqualTo(59);
+
+                    WriteOptions expectedOptions = WriteOptions.builder().database("weather").build();
+                    Assertions.assertThat(event.getWriteOptions()).isEqualTo(expectedOptions);
+
+                    return true;
+                });
+    }
+
     @Test
     void writeErrorEvent() {
 
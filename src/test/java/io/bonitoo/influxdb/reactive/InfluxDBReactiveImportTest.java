@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.bonitoo.influxdb.reactive.bulk.ImportProgress;
+import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.ImportOptions;
+import io.bonitoo.influxdb.reactive.options.WriteOptions;
+
+import okhttp3.mockwebserver.MockResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class InfluxDBReactiveImportTest extends AbstractInfluxDBReactiveTest {
+
+    private static final String LINES = "cpu value=1 1\ncpu value=2 2\ncpu value=3 3\ncpu value=4 4\n";
+
+    private final WriteOptions writeOptions = WriteOptions.builder().database("telegraf").build();
+
+    private final ImportOptions importOptions = ImportOptions.builder().batchBytes(30).concurrency(1).build();
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        super.setUp(BatchOptionsReactive.disabled().build());
+
+        file = Files.createTempFile("import", ".txt");
+        Files.write(file, LINES.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void importFile() throws InterruptedException {
+
+        influxDBServer.enqueue(new MockResponse().setResponseCode(204));
+        influxDBServer.enqueue(new MockResponse().setResponseCode(204));
+
+        List<ImportProgress> progress = influxDBReactive
+                .importFile(file, writeOptions, importOptions)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertNoErrors()
+                .assertValueCount(2)
+                .values();
+
+        Assertions.assertThat(progress.get(0).getOffset()).isEqualTo(0);
+        Assertions.assertThat(progress.get(0).getLength()).isEqualTo(28);
+        Assertions.assertThat(progress.get(0).getLines()).isEqualTo(2);
+        Assertions.assertThat(progress.get(0).isRejected()).isFalse();
+        Assertions.assertThat(progress.get(1).getOffset()).isEqualTo(28);
+        Assertions.assertThat(progress.get(1).getProcessedBytes()).isEqualTo(LINES.length());
+        Assertions.assertThat(progress.get(1).getTotalBytes()).isEqualTo(LINES.length());
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(2);
+        Assertions.assertThat(influxDBServer.takeRequest().getBody().readUtf8())
+                .isEqualTo("cpu value=1 1\ncpu value=2 2\n");
+        Assertions.assertThat(influxDBServer.takeRequest().getBody().readUtf8())
+                .isEqualTo("cpu value=3 3\ncpu value=4 4\n");
+    }
+
+    @Test
+    void rejectedBatch() {
+
+        influxDBServer.enqueue(createErrorResponse("unable to parse 'cpu value=1 1'"));
+        influxDBServer.enqueue(new MockResponse().setResponseCode(204));
+
+        List<ImportProgress> progress = influxDBReactive
+                .importFile(file, writeOptions, importOptions)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertNoErrors()
+                .assertValueCount(2)
+                .values();
+
+        Assertions.assertThat(progress.get(0).isRejected()).isTrue();
+        Assertions.assertThat(progress.get(0).getError()).hasMessage("unable to parse 'cpu value=1 1'");
+        Assertions.assertThat(progress.get(1).isRejected()).isFalse();
+    }
+
+    @Test
+    void notExistingFile() {
+
+        influxDBReactive
+                .importFile(Paths.get("not-existing.txt"), writeOptions)
+                .test()
+                .assertError(IOException.class);
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    void udpIsNotSupported() {
+
+        WriteOptions options = WriteOptions.builder()
+                .database("telegraf")
+                .udp(true, 8089)
+                .build();
+
+        Assertions.assertThatThrownBy(() -> influxDBReactive.importFile(file, options))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The import of file is not supported over UDP");
+    }
+}
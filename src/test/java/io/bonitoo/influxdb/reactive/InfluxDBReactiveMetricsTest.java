@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+
+import io.reactivex.Flowable;
+import okhttp3.mockwebserver.MockResponse;
+import org.assertj.core.api.Assertions;
+import org.influxdb.dto.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class InfluxDBReactiveMetricsTest extends AbstractInfluxDBReactiveTest {
+
+    @Test
+    void writeMetrics() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(2).build());
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecords(Flowable.just(
+                "h2o_feet,location=coyote_creek water_level=1.0 1",
+                "h2o_feet,location=coyote_creek water_level=2.0 2"));
+
+        ClientMetrics metrics = influxDBReactive.metrics();
+
+        Assertions.assertThat(metrics.getPointsIn()).isEqualTo(2);
+        Assertions.assertThat(metrics.getPointsWritten()).isEqualTo(2);
+        Assertions.assertThat(metrics.getBytesSent()).isEqualTo(97);
+        Assertions.assertThat(metrics.getBatches()).isEqualTo(1);
+        Assertions.assertThat(metrics.getRetries()).isEqualTo(0);
+        Assertions.assertThat(metrics.getPointsDropped()).isEqualTo(0);
+        Assertions.assertThat(metrics.getBufferOccupancy()).isEqualTo(0);
+        Assertions.assertThat(metrics.getBufferLimit()).isEqualTo(10_000);
+
+        Assertions.assertThat(metrics.getSerializationTime().getCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getWriteLatency().getCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getWriteLatency().getMax()).isGreaterThan(0);
+        Assertions.assertThat(metrics.getQueryTimeToFirstByte().getCount()).isEqualTo(0);
+    }
+
+    @Test
+    void retryMetrics() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).build());
+
+        influxDBServer.enqueue(createErrorResponse("cache-max-memory-size exceeded 104/1400"));
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        advanceTimeBy(5, retryScheduler);
+
+        ClientMetrics metrics = influxDBReactive.metrics();
+
+        Assertions.assertThat(metrics.getBatches()).isEqualTo(1);
+        Assertions.assertThat(metrics.getRetries()).isEqualTo(1);
+        Assertions.assertThat(metrics.getPointsWritten()).isEqualTo(1);
+        Assertions.assertThat(metrics.getWriteLatency().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void queryMetrics() {
+
+        setUp(BatchOptionsReactive.DEFAULTS);
+
+        influxDBServer.enqueue(new MockResponse().setBody("{\"results\":[{\"statement_id\":0}]}"));
+
+        influxDBReactive.query(new Query("select * from h2o_feet", "reactive_database")).test().assertComplete();
+
+        Assertions.assertThat(influxDBReactive.metrics().getQueryTimeToFirstByte().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void jmx() throws Exception {
+
+        setUp(BatchOptionsReactive.DEFAULTS);
+
+        InfluxDBOptions options = InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .database("weather")
+                .jmxEnabled(true)
+                .build();
+
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(options);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names = server
+                .queryNames(new ObjectName("io.bonitoo.influxdb.reactive:type=ClientMetrics,*"), null);
+
+        Assertions.assertThat(names).hasSize(1);
+
+        ObjectName name = names.iterator().next();
+        Assertions.assertThat(server.getAttribute(name, "PointsIn")).isEqualTo(0L);
+        Assertions.assertThat(server.getAttribute(name, "BufferLimit")).isEqualTo(10_000);
+        Assertions.assertThat(((CompositeData) server.getAttribute(name, "WriteLatency")).get("count"))
+                .isEqualTo(0L);
+
+        client.close();
+
+        Assertions.assertThat(server.isRegistered(name)).isFalse();
+    }
+}
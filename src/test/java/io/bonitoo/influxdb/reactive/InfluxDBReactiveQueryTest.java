@@ -22,13 +22,34 @@
  */
 package io.bonitoo.influxdb.reactive;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
 
 import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
 import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.ExportOptions;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+import io.bonitoo.influxdb.reactive.options.QueryCacheOptions;
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
 
 import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.assertj.core.api.Assertions;
 import org.influxdb.InfluxDBException;
 import org.influxdb.dto.Query;
@@ -155,5 +176,559 @@ class InfluxDBReactiveQueryTest extends AbstractInfluxDBReactiveTest {
                 .assertError(InfluxDBException.class)
                 .assertErrorMessage("error parsing query: found EOF, expected FROM at line 1, char 9");
     }
-}
 
+    @Test
+    void rowBatches() {
+
+        Query query = new Query("select * from h2o_feet group by *", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"water_level\"],"
+                + "\"values\":[[1,1.0],[2,2.0],[3,3.0]],\"partial\":true}],\"partial\":true}]}\n"
+                + "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"water_level\"],"
+                + "\"values\":[[4,4.0]]},{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"santa_monica\"},\"columns\":[\"time\",\"water_level\"],"
+                + "\"values\":[[5,5.0],[6,6.0]]}]}]}\n";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Flowable<QueryResult> result = influxDBReactive.query(query, QueryOptions.builder().rowBatchSize(2).build());
+
+        result.test()
+                .assertValueCount(4)
+                .assertValueAt(0, queryResult -> {
+
+                    assertSeries(queryResult, "coyote_creek", 2, 1.0);
+                    return true;
+                })
+                .assertValueAt(1, queryResult -> {
+
+                    assertSeries(queryResult, "coyote_creek", 1, 3.0);
+                    return true;
+                })
+                .assertValueAt(2, queryResult -> {
+
+                    assertSeries(queryResult, "coyote_creek", 1, 4.0);
+                    return true;
+                })
+                .assertValueAt(3, queryResult -> {
+
+                    assertSeries(queryResult, "santa_monica", 2, 5.0);
+                    return true;
+                });
+    }
+
+    @Test
+    void rowBatchesToMeasurement() {
+
+        Query query = new Query("select * from h2o_feet group by *", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"level description\","
+                + "\"water_level\"],\"values\":[[\"1970-01-01T00:00:00.001Z\",\"below 3 feet\",2.927],"
+                + "[\"1970-01-01T00:00:00.002Z\",\"below 3 feet\",3.927]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Flowable<H2OFeetMeasurement> result = influxDBReactive
+                .query(query, H2OFeetMeasurement.class, QueryOptions.builder().rowBatchSize(1).build());
+
+        result.test()
+                .assertValueCount(2)
+                .assertValueAt(0, measurement -> measurement.getTime().equals(Instant.ofEpochMilli(1)))
+                .assertValueAt(1, measurement -> measurement.getLevel().equals(3.927d)
+                        && measurement.getLocation().equals("coyote_creek"));
+    }
+
+    @Test
+    void rowBatchesEmptyAndError() {
+
+        Query query = new Query("select * from not_exist", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0},{\"statement_id\":1,\"error\":\"not executed\"}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Flowable<QueryResult> result = influxDBReactive.query(query, QueryOptions.builder().rowBatchSize(10).build());
+
+        result.test()
+                .assertValueCount(2)
+                .assertValueAt(0, queryResult -> {
+
+                    Assertions.assertThat(queryResult.getError()).isNull();
+                    Assertions.assertThat(queryResult.getResults()).hasSize(1);
+                    Assertions.assertThat(queryResult.getResults().get(0).getError()).isNull();
+                    Assertions.assertThat(queryResult.getResults().get(0).getSeries()).isNull();
+
+                    return true;
+                })
+                .assertValueAt(1, queryResult -> {
+
+                    Assertions.assertThat(queryResult.getResults()).hasSize(1);
+                    Assertions.assertThat(queryResult.getResults().get(0).getError()).isEqualTo("not executed");
+
+                    return true;
+                });
+    }
+
+    @Test
+    void mapDirectlyWithoutParsedResponseListener() {
+
+        Query query = new Query("select * from h2o_feet group by *", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"level description\","
+                + "\"water_level\"],\"values\":[[\"1970-01-01T00:00:00.001Z\",\"below 3 feet\",2.927]]},"
+                + "{\"name\":\"h2o_quality\",\"columns\":[\"time\",\"index\"],\"values\":[[1,41]]}]}]}\n"
+                + "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"santa_monica\"},\"columns\":[\"time\",\"level description\","
+                + "\"water_level\"],\"values\":[[\"1970-01-01T00:00:00.002Z\",\"below 3 feet\",3.927]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        // the verifier listens the QueryParsedResponseEvent => the QueryResults are mapped
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .username("admin")
+                .password("password")
+                .build());
+
+        try {
+            client.query(query, H2OFeetMeasurement.class)
+                    .test()
+                    .assertValueCount(2)
+                    .assertValueAt(0, measurement -> measurement
+                            .equals(new H2OFeetMeasurement("coyote_creek", 2.927, "below 3 feet", 1L)))
+                    .assertValueAt(1, measurement -> measurement
+                            .equals(new H2OFeetMeasurement("santa_monica", 3.927, "below 3 feet", 2L)));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void queryColumnar() {
+
+        Query query = new Query("select * from h2o_feet group by *", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"level description\","
+                + "\"water_level\"],\"values\":[[1,\"below 3 feet\",2.927],[2,\"below 3 feet\",3.927]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Flowable<ColumnarSeries> result = influxDBReactive.queryColumnar(query);
+
+        result.test()
+                .assertValueCount(1)
+                .assertValue(series -> {
+
+                    Assertions.assertThat(series.getName()).isEqualTo("h2o_feet");
+                    Assertions.assertThat(series.getTags()).containsEntry("location", "coyote_creek");
+                    Assertions.assertThat(series.size()).isEqualTo(2);
+                    Assertions.assertThat(series.getTimes()[1]).isEqualTo(2L);
+                    Assertions.assertThat(series.getColumn("water_level").getDoubles()[1]).isEqualTo(3.927);
+                    Assertions.assertThat(series.getColumn("level description").getDictionary())
+                            .containsExactly("below 3 feet");
+
+                    return true;
+                });
+    }
+
+    @Test
+    void timeSlices() throws InterruptedException {
+
+        // the first slice is the slowest
+        influxDBServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+
+                String command = request.getRequestUrl().queryParameter("q");
+                long start = Long.parseLong(command.replaceAll(".*time >= (\\d+) AND.*", "$1"));
+                long index = (start - 1_000_000_000L) / 1_000_000_000L;
+
+                String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                        + "\"columns\":[\"time\",\"idle\"],\"values\":[[" + start + "," + index + "]]}]}]}";
+
+                return new MockResponse().setBody(body).setBodyDelay(300 - index * 100, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+        QueryOptions options = QueryOptions.builder()
+                .timeRange(Instant.ofEpochSecond(1), Instant.ofEpochSecond(4))
+                .sliceDuration(Duration.ofSeconds(1))
+                .parallelism(3)
+                .build();
+
+        influxDBReactive.queryColumnar(query, options)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(3)
+                .assertValueAt(0, series -> series.getTimes()[0] == 1_000_000_000L)
+                .assertValueAt(1, series -> series.getTimes()[0] == 2_000_000_000L)
+                .assertValueAt(2, series -> series.getTimes()[0] == 3_000_000_000L);
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(3);
+        Assertions.assertThat(influxDBServer.takeRequest().getRequestUrl().queryParameter("q"))
+                .matches("select \\* from cpu where time >= \\d+ AND time < \\d+");
+    }
+
+    @Test
+    void pagination() throws InterruptedException {
+
+        // 5 rows by 2 rows per page
+        influxDBServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+
+                String command = request.getRequestUrl().queryParameter("q");
+                int offset = Integer.parseInt(command.replaceAll(".* OFFSET (\\d+)", "$1"));
+
+                StringBuilder values = new StringBuilder();
+                for (int i = offset; i < Math.min(offset + 2, 5); i++) {
+                    values.append(values.length() > 0 ? "," : "").append("[").append(i).append(",").append(i)
+                            .append("]");
+                }
+
+                String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                        + "\"columns\":[\"time\",\"idle\"],\"values\":[" + values + "]}]}]}";
+
+                return new MockResponse().setBody(body);
+            }
+        });
+
+        Query query = new Query("select * from cpu", "reactive_database");
+        QueryOptions options = QueryOptions.builder()
+                .pagination(QueryOptions.Pagination.OFFSET, 2)
+                .build();
+
+        influxDBReactive.queryColumnar(query, options)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(3)
+                .assertValueAt(0, series -> series.size() == 2 && series.getTimes()[0] == 0L)
+                .assertValueAt(1, series -> series.size() == 2 && series.getTimes()[0] == 2L)
+                .assertValueAt(2, series -> series.size() == 1 && series.getTimes()[0] == 4L);
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(3);
+        Assertions.assertThat(influxDBServer.takeRequest().getRequestUrl().queryParameter("q"))
+                .isEqualTo("select * from cpu LIMIT 2 OFFSET 0");
+    }
+
+    @Test
+    void paginationByTimeRequiresExactTimestamps() {
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+        QueryOptions options = QueryOptions.builder()
+                .pagination(QueryOptions.Pagination.TIME, 2)
+                .build();
+
+        influxDBReactive.query(query, options)
+                .test()
+                .assertError(IllegalArgumentException.class)
+                .assertErrorMessage("The query paginated by time requires the exact epoch timestamps, "
+                        + "use the MICROSECONDS or coarser precision of the JSON response");
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    void exportToFile() throws IOException {
+
+        Query query = new Query("select * from h2o_feet group by *", "reactive_database");
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"h2o_feet\","
+                + "\"tags\":{\"location\":\"coyote_creek\"},\"columns\":[\"time\",\"level description\","
+                + "\"water_level\"],\"values\":[[1,\"below 3 feet\",2.927],[2,\"below 3 feet\",3.927]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Path file = Files.createTempFile("export", ".txt");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+
+            influxDBReactive.export(query, QueryOptions.DEFAULTS, ExportOptions.DEFAULTS, channel)
+                    .test()
+                    .assertValue(summary -> summary.getSeries() == 1 && summary.getRows() == 2);
+
+            Assertions.assertThat(channel.isOpen()).isTrue();
+            String prefix = "h2o_feet,location=coyote_creek level\\ description=\"below 3 feet\",";
+            Assertions.assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                    .isEqualTo(prefix + "water_level=2.927 1\n" + prefix + "water_level=3.927 2\n");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void exportError() {
+
+        influxDBServer.enqueue(createErrorResponse("database not found: not_exists"));
+
+        influxDBReactive
+                .export(new Query("select * from cpu", "not_exists"), QueryOptions.DEFAULTS,
+                        ExportOptions.DEFAULTS, new ByteArrayOutputStream())
+                .test()
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("database not found: not_exists");
+    }
+
+    @Test
+    void timeSlicesRequireTimeFilter() {
+
+        Query query = new Query("select * from cpu", "reactive_database");
+        QueryOptions options = QueryOptions.builder()
+                .timeRange(Instant.ofEpochSecond(1), Instant.ofEpochSecond(4))
+                .build();
+
+        influxDBReactive.query(query, options)
+                .test()
+                .assertError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void queryCache() {
+
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"time\",\"idle\"],\"values\":[[60000000000,95.5]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .queryCache(QueryCacheOptions.builder().build())
+                .build());
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+
+        try {
+            // the sliding window within the same minute
+            for (int second = 10; second < 40; second += 10) {
+
+                QueryOptions options = QueryOptions.builder()
+                        .timeRange(Instant.ofEpochSecond(60 + second), Instant.ofEpochSecond(120 + second))
+                        .timeRounding(Duration.ofMinutes(1))
+                        .build();
+
+                client.queryColumnar(query, options)
+                        .test()
+                        .awaitDone(10, TimeUnit.SECONDS)
+                        .assertValueCount(1)
+                        .assertValue(series -> series.getColumn("idle").getDouble(0) == 95.5);
+            }
+
+            // the different query
+            client.query(new Query("select * from cpu", "reactive_database"))
+                    .test()
+                    .assertValueCount(1);
+
+            Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(2);
+            Assertions.assertThat(client.metrics().getQueryCacheHits()).isEqualTo(2);
+            Assertions.assertThat(client.metrics().getQueryCacheMisses()).isEqualTo(2);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void queryCacheExactTimeRange() throws InterruptedException {
+
+        String body = "{\"results\":[{\"statement_id\":0}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .queryCache(QueryCacheOptions.builder().build())
+                .build());
+
+        QueryOptions options = QueryOptions.builder()
+                .timeRange(Instant.ofEpochSecond(70), Instant.ofEpochSecond(130))
+                .build();
+
+        try {
+            client.query(new Query("select * from cpu where $timeFilter", "reactive_database"), options)
+                    .test()
+                    .awaitDone(10, TimeUnit.SECONDS)
+                    .assertNoErrors();
+
+            // the time range without the opt-in rounding is queried exactly
+            Assertions.assertThat(influxDBServer.takeRequest().getRequestUrl().queryParameter("q"))
+                    .isEqualTo("select * from cpu where time >= 70000000000 AND time < 130000000000");
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void timeRoundingNow() throws InterruptedException {
+
+        String body = "{\"results\":[{\"statement_id\":0}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        QueryOptions options = QueryOptions.builder()
+                .timeRounding(Duration.ofMinutes(1))
+                .build();
+
+        influxDBReactive.query(new Query("select * from cpu where time > now() - 1h", "reactive_database"), options)
+                .test()
+                .assertNoErrors();
+
+        String command = influxDBServer.takeRequest().getRequestUrl().queryParameter("q");
+        Assertions.assertThat(command).matches("select \\* from cpu where time > \\d+ - 1h");
+
+        long now = Long.parseLong(command.replaceAll("\\D*(\\d+) - 1h", "$1"));
+        Assertions.assertThat(now % TimeUnit.MINUTES.toNanos(1)).isEqualTo(0);
+    }
+
+    @Test
+    void queryCoalescing() throws InterruptedException {
+
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"time\",\"idle\"],\"values\":[[1,95.5]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body).setBodyDelay(500, TimeUnit.MILLISECONDS));
+
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .queryCoalescingEnabled(true)
+                .build());
+
+        Query query = new Query("select * from cpu", "reactive_database");
+
+        try {
+            TestSubscriber<QueryResult> first = client.query(query).subscribeOn(Schedulers.io()).test();
+
+            // the request is in-flight
+            influxDBServer.takeRequest(10, TimeUnit.SECONDS);
+
+            TestSubscriber<QueryResult> second = client.query(query).subscribeOn(Schedulers.io()).test();
+
+            first.awaitDone(10, TimeUnit.SECONDS).assertValueCount(1).assertComplete();
+            second.awaitDone(10, TimeUnit.SECONDS).assertValueCount(1).assertComplete();
+
+            Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(1);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void tail() throws InterruptedException {
+
+        long future = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        String body = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"time\",\"idle\"],\"values\":[[" + future + ",95.5]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(body));
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+
+        influxDBReactive.tail(query, Duration.ofSeconds(1))
+                .take(1)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(1)
+                .assertValue(queryResult -> queryResult.getResults().get(0).getSeries().get(0)
+                        .getValues().get(0).get(1).equals(95.5));
+
+        RecordedRequest request = influxDBServer.takeRequest();
+        Assertions.assertThat(request.getRequestUrl().queryParameter("q"))
+                .matches("select \\* from cpu where time > \\d+");
+        Assertions.assertThat(request.getRequestUrl().queryParameter("epoch")).isEqualTo("ms");
+    }
+
+    @Test
+    void tailIsNotCached() {
+
+        long future = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        String series = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"time\",\"idle\"],\"values\":[[%d,%s]]}]}]}";
+
+        influxDBServer.enqueue(new MockResponse().setBody(String.format(series, future, "95.5")));
+        // the same poll "time > future" is issued twice
+        influxDBServer.enqueue(new MockResponse().setBody("{\"results\":[{\"statement_id\":0}]}"));
+        influxDBServer.enqueue(new MockResponse().setBody(String.format(series, future + 1, "96.5")));
+
+        InfluxDBReactive client = InfluxDBReactiveFactory.connect(InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .queryCache(QueryCacheOptions.builder().build())
+                .build());
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+
+        try {
+            client.tail(query, Duration.ofSeconds(1))
+                    .take(2)
+                    .test()
+                    .awaitDone(10, TimeUnit.SECONDS)
+                    .assertValueCount(2)
+                    .assertValueAt(1, queryResult -> queryResult.getResults().get(0).getSeries().get(0)
+                            .getValues().get(0).get(1).equals(96.5));
+
+            Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(3);
+            Assertions.assertThat(client.metrics().getQueryCacheMisses()).isEqualTo(0);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void tailRequiresExactTimestamps() {
+
+        Query query = new Query("select * from cpu where $timeFilter", "reactive_database");
+
+        influxDBReactive.tail(query, Duration.ofSeconds(1), QueryOptions.DEFAULTS)
+                .test()
+                .assertError(IllegalArgumentException.class)
+                .assertErrorMessage("The tailed query requires the exact epoch timestamps, "
+                        + "use the MICROSECONDS or coarser precision of the JSON response");
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    void disposeCancelsBlockedRead() throws Exception {
+
+        String chunk = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"time\",\"idle\"],\"values\":[[1,95.5]]}]}]}\n";
+
+        // the second chunk arrives after 4 seconds
+        influxDBServer.enqueue(new MockResponse()
+                .setChunkedBody(chunk + chunk, chunk.length())
+                .throttleBody(chunk.length() + 10, 4, TimeUnit.SECONDS));
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            TestSubscriber<QueryResult> subscriber = influxDBReactive
+                    .query(new Query("select * from cpu", "reactive_database"))
+                    .subscribeOn(Schedulers.from(reader))
+                    .test();
+
+            subscriber.awaitCount(1);
+            subscriber.dispose();
+
+            // the reader thread is released without waiting to the next chunk
+            reader.submit(() -> {
+            }).get(1, TimeUnit.SECONDS);
+
+            subscriber.assertValueCount(1);
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    private void assertSeries(@Nonnull final QueryResult queryResult,
+                              @Nonnull final String location,
+                              final int rows,
+                              final double firstValue) {
+
+        Assertions.assertThat(queryResult.getError()).isNull();
+        Assertions.assertThat(queryResult.getResults()).hasSize(1);
+        Assertions.assertThat(queryResult.getResults().get(0).getSeries()).hasSize(1);
+
+        QueryResult.Series series = queryResult.getResults().get(0).getSeries().get(0);
+        Assertions.assertThat(series.getName()).isEqualTo("h2o_feet");
+        Assertions.assertThat(series.getTags()).containsEntry("location", location);
+        Assertions.assertThat(series.getColumns()).containsExactly("time", "water_level");
+        Assertions.assertThat(series.getValues()).hasSize(rows);
+        Assertions.assertThat(series.getValues().get(0).get(1)).isEqualTo(firstValue);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import io.bonitoo.influxdb.reactive.impl.AbstractInfluxDBReactiveTest;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.tracing.WriteSpan;
+import io.bonitoo.influxdb.reactive.tracing.WriteStage;
+import io.bonitoo.influxdb.reactive.tracing.WriteTracer;
+
+import io.reactivex.Flowable;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class InfluxDBReactiveTracingTest extends AbstractInfluxDBReactiveTest {
+
+    private final List<WriteSpan> started = new CopyOnWriteArrayList<>();
+    private final List<WriteSpan> ended = new CopyOnWriteArrayList<>();
+
+    private final WriteTracer tracer = new WriteTracer() {
+        @Override
+        public void onSpanStart(final WriteSpan span) {
+            started.add(span);
+        }
+
+        @Override
+        public void onSpanEnd(final WriteSpan span) {
+            ended.add(span);
+        }
+    };
+
+    @Test
+    void stages() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(2).build(), builder -> builder.writeTracer(tracer));
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecords(Flowable.just(
+                "h2o_feet,location=coyote_creek water_level=1.0 1",
+                "h2o_feet,location=coyote_creek water_level=2.0 2"));
+
+        Assertions.assertThat(stages(ended)).containsExactly(
+                WriteStage.QUEUE, WriteStage.WINDOW, WriteStage.SERIALIZATION, WriteStage.CONNECTION, WriteStage.HTTP);
+        Assertions.assertThat(stages(started)).containsExactly(
+                WriteStage.QUEUE, WriteStage.WINDOW, WriteStage.SERIALIZATION, WriteStage.HTTP, WriteStage.CONNECTION);
+
+        Assertions.assertThat(ended).allSatisfy(span -> {
+            Assertions.assertThat(span.getBatchId()).isEqualTo(ended.get(0).getBatchId());
+            Assertions.assertThat(span.getPointsCount()).isEqualTo(2);
+            Assertions.assertThat(span.getDurationNanos()).isGreaterThanOrEqualTo(0);
+        });
+        Assertions.assertThat(started).allSatisfy(span -> Assertions.assertThat(span.getEndNanos()).isEqualTo(-1));
+    }
+
+    @Test
+    void retry() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).build(), builder -> builder.writeTracer(tracer));
+
+        influxDBServer.enqueue(createErrorResponse("cache-max-memory-size exceeded 104/1400"));
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        advanceTimeBy(5, retryScheduler);
+
+        List<WriteSpan> http = ended.stream()
+                .filter(span -> span.getStage() == WriteStage.HTTP)
+                .collect(Collectors.toList());
+
+        Assertions.assertThat(http).hasSize(2);
+        Assertions.assertThat(http.get(0).getAttempt()).isEqualTo(1);
+        Assertions.assertThat(http.get(1).getAttempt()).isEqualTo(2);
+
+        Assertions.assertThat(stages(ended)).containsOnlyOnce(WriteStage.RETRY);
+    }
+
+    @Test
+    void jitter() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).jitterInterval(1_000).build(),
+                builder -> builder.writeTracer(tracer));
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        Assertions.assertThat(ended).isEmpty();
+
+        advanceTimeBy(1, jitterScheduler);
+
+        Assertions.assertThat(stages(ended)).containsExactly(WriteStage.QUEUE, WriteStage.WINDOW, WriteStage.JITTER,
+                WriteStage.SERIALIZATION, WriteStage.CONNECTION, WriteStage.HTTP);
+
+        // the window ends by the start of jitter
+        WriteSpan window = ended.get(1);
+        WriteSpan jitter = ended.get(2);
+        Assertions.assertThat(window.getEndNanos()).isLessThanOrEqualTo(jitter.getStartNanos());
+    }
+
+    @Test
+    void callerEventListener() {
+
+        AtomicInteger calls = new AtomicInteger();
+        EventListener.Factory factory = call -> new EventListener() {
+            @Override
+            public void callEnd(final Call call) {
+                calls.incrementAndGet();
+            }
+        };
+        OkHttpClient.Builder okHttpClient = new OkHttpClient.Builder().eventListenerFactory(factory);
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).build(),
+                builder -> builder.okHttpClient(okHttpClient).writeTracer(tracer));
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        Assertions.assertThat(stages(ended)).contains(WriteStage.CONNECTION);
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+
+        // the caller's builder is not changed
+        Assertions.assertThat(okHttpClient.build().eventListenerFactory()).isSameAs(factory);
+    }
+
+    @Test
+    void connectionFailed() throws IOException {
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).build(), builder -> builder.writeTracer(tracer));
+
+        influxDBServer.shutdown();
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        Assertions.assertThat(stages(started)).contains(WriteStage.CONNECTION, WriteStage.HTTP);
+        Assertions.assertThat(stages(ended)).contains(WriteStage.CONNECTION, WriteStage.HTTP);
+    }
+
+    @Test
+    void disabled() {
+
+        setUp(BatchOptionsReactive.builder().batchSize(1).build());
+
+        influxDBServer.enqueue(new MockResponse());
+
+        influxDBReactive.writeRecord("h2o_feet,location=coyote_creek water_level=1.0 1");
+
+        Assertions.assertThat(started).isEmpty();
+        Assertions.assertThat(ended).isEmpty();
+    }
+
+    private List<WriteStage> stages(final List<WriteSpan> spans) {
+        return spans.stream().map(WriteSpan::getStage).collect(Collectors.toList());
+    }
+}
@@ -25,6 +25,7 @@ package io.bonitoo.influxdb.reactive.impl;
 import java.io.IOException;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -58,10 +59,24 @@ public abstract class AbstractInfluxDBReactiveTest {
         setUp(batchOptions, new TestScheduler(), new TestScheduler(), new TestScheduler());
     }
 
+    protected void setUp(@Nonnull final BatchOptionsReactive batchOptions,
+                         @Nonnull final Consumer<InfluxDBOptions.Builder> customizer) {
+        setUp(batchOptions, new TestScheduler(), new TestScheduler(), new TestScheduler(), customizer);
+    }
+
     protected void setUp(@Nonnull final BatchOptionsReactive batchOptions,
                          @Nonnull final Scheduler batchScheduler,
                          @Nonnull final Scheduler jitterScheduler,
                          @Nonnull final Scheduler retryScheduler) {
+        setUp(batchOptions, batchScheduler, jitterScheduler, retryScheduler, builder -> {
+        });
+    }
+
+    protected void setUp(@Nonnull final BatchOptionsReactive batchOptions,
+                         @Nonnull final Scheduler batchScheduler,
+                         @Nonnull final Scheduler jitterScheduler,
+                         @Nonnull final Scheduler retryScheduler,
+                         @Nonnull final Consumer<InfluxDBOptions.Builder> customizer) {
 
         Objects.requireNonNull(batchOptions, "BatchOptionsReactive is required");
 
@@ -72,12 +87,15 @@ public abstract class AbstractInfluxDBReactiveTest {
             throw new RuntimeException(e);
         }
 
-        InfluxDBOptions options = InfluxDBOptions.builder()
+        InfluxDBOptions.Builder builder = InfluxDBOptions.builder()
                 .url(influxDBServer.url("/").url().toString())
                 .username("admin")
                 .password("password")
-                .database("weather")
-                .build();
+                .database("weather");
+
+        customizer.accept(builder);
+
+        InfluxDBOptions options = builder.build();
 
         this.batchScheduler = batchScheduler;
         this.jitterScheduler = jitterScheduler;
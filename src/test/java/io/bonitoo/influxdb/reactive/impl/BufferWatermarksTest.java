@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.bonitoo.influxdb.reactive.events.BufferWatermarkEvent.Watermark;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class BufferWatermarksTest {
+
+    private final List<String> notifications = new ArrayList<>();
+
+    @Test
+    void stateChanges() {
+
+        BufferWatermarks watermarks = create(BatchOptionsReactive.builder().bufferLimit(10).build());
+
+        in(watermarks, 6);
+        Assertions.assertThat(notifications).isEmpty();
+
+        in(watermarks, 1);
+        Assertions.assertThat(notifications).containsExactly("LOW:7");
+
+        in(watermarks, 1);
+        Assertions.assertThat(notifications).containsExactly("LOW:7");
+
+        in(watermarks, 1);
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "HIGH:9");
+        Assertions.assertThat(watermarks.getState()).isEqualTo(Watermark.HIGH);
+
+        out(watermarks, 3);
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "HIGH:9");
+
+        out(watermarks, 1);
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "HIGH:9", "RECOVERED:5");
+        Assertions.assertThat(watermarks.getState()).isEqualTo(Watermark.RECOVERED);
+    }
+
+    @Test
+    void overflowDoesNotRepeatEvent() {
+
+        BufferWatermarks watermarks = create(BatchOptionsReactive.builder().bufferLimit(10).build());
+
+        in(watermarks, 10);
+
+        // overflow => point in and dropped
+        for (int i = 0; i < 1_000; i++) {
+            watermarks.pointIn();
+            watermarks.pointOut();
+        }
+
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "HIGH:9");
+    }
+
+    @Test
+    void skipLowWatermark() {
+
+        BufferWatermarks watermarks = create(BatchOptionsReactive.builder()
+                .bufferLimit(10)
+                .bufferWatermarks(80, 80, 0)
+                .build());
+
+        in(watermarks, 8);
+        out(watermarks, 8);
+
+        Assertions.assertThat(notifications).containsExactly("HIGH:8", "RECOVERED:0");
+    }
+
+    @Test
+    void recoveryAfterLowWatermark() {
+
+        BufferWatermarks watermarks = create(BatchOptionsReactive.builder().bufferLimit(10).build());
+
+        in(watermarks, 7);
+        out(watermarks, 2);
+        in(watermarks, 1);
+
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "RECOVERED:5");
+
+        in(watermarks, 1);
+
+        Assertions.assertThat(notifications).containsExactly("LOW:7", "RECOVERED:5", "LOW:7");
+    }
+
+    private BufferWatermarks create(final BatchOptionsReactive batchOptions) {
+        return new BufferWatermarks(batchOptions,
+                (watermark, occupancy) -> notifications.add(watermark + ":" + occupancy));
+    }
+
+    private void in(final BufferWatermarks watermarks, final int count) {
+        for (int i = 0; i < count; i++) {
+            watermarks.pointIn();
+        }
+    }
+
+    private void out(final BufferWatermarks watermarks, final int count) {
+        for (int i = 0; i < count; i++) {
+            watermarks.pointOut();
+        }
+    }
+}
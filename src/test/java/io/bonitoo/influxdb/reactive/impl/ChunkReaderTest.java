@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+
+import io.reactivex.subscribers.TestSubscriber;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class ChunkReaderTest {
+
+    private static final String CHUNK = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+            + "\"columns\":[\"time\",\"idle\"],\"values\":[[1,95.5]]}]}]}\n";
+
+    private AtomicInteger parsed;
+    private AtomicBoolean closed;
+    private ChunkReader chunkReader;
+
+    @BeforeEach
+    void setUp() {
+
+        parsed = new AtomicInteger();
+        closed = new AtomicBoolean();
+        chunkReader = new ChunkReader(new JSONChunkProcessor(), (source, queryResult) -> parsed.incrementAndGet());
+    }
+
+    @Test
+    void parseOnDemand() {
+
+        TestSubscriber<QueryResult> subscriber = chunkReader
+                .read(body(CHUNK + CHUNK + CHUNK), QueryOptions.builder().build())
+                .test(0);
+
+        subscriber.assertNoValues();
+        Assertions.assertThat(parsed.get()).isEqualTo(0);
+
+        subscriber.request(1);
+        subscriber.assertValueCount(1).assertNotComplete();
+        Assertions.assertThat(parsed.get()).isEqualTo(1);
+
+        subscriber.request(1);
+        subscriber.assertValueCount(2).assertNotComplete();
+        Assertions.assertThat(parsed.get()).isEqualTo(2);
+        Assertions.assertThat(closed.get()).isFalse();
+
+        subscriber.request(10);
+        subscriber.assertValueCount(3).assertComplete();
+        Assertions.assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    void closeOnCancel() {
+
+        TestSubscriber<QueryResult> subscriber = chunkReader
+                .read(body(CHUNK + CHUNK + CHUNK), QueryOptions.builder().build())
+                .test(1);
+
+        subscriber.assertValueCount(1);
+
+        subscriber.cancel();
+
+        Assertions.assertThat(parsed.get()).isEqualTo(1);
+        Assertions.assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    void error() {
+
+        chunkReader
+                .read(body(CHUNK + "{\"results\":[{\"statement_id\":0,\"series\":[{]}]}"),
+                        QueryOptions.builder().rowBatchSize(10).build())
+                .test()
+                .assertValueCount(1)
+                .assertError(InfluxDBException.class);
+
+        Assertions.assertThat(closed.get()).isTrue();
+    }
+
+    @Nonnull
+    private ResponseBody body(@Nonnull final String chunks) {
+
+        ForwardingSource source = new ForwardingSource(new Buffer().writeUtf8(chunks)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        return ResponseBody.create(MediaType.parse("application/json"), -1, Okio.buffer(source));
+    }
+}
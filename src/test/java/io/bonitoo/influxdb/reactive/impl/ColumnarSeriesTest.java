@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.Buffer;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class ColumnarSeriesTest {
+
+    private static final String CPU = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+            + "\"tags\":{\"host\":\"server01\"},\"columns\":[\"time\",\"idle\",\"region\",\"active\"],"
+            + "\"values\":[[1000,95.5,\"west\",true],[2000,null,\"east\",false],[3000,97,\"west\",null]]},"
+            + "{\"name\":\"cpu\",\"tags\":{\"host\":\"server02\"},\"columns\":[\"time\",\"idle\",\"region\",\"active\"],"
+            + "\"values\":[[1000,10,\"north\",true]]}]}]}";
+
+    @Test
+    void columns() {
+
+        List<ColumnarSeries> series = parse(CPU, 0);
+
+        Assertions.assertThat(series).hasSize(2);
+
+        ColumnarSeries server01 = series.get(0);
+        Assertions.assertThat(server01.getName()).isEqualTo("cpu");
+        Assertions.assertThat(server01.getTags()).containsEntry("host", "server01");
+        Assertions.assertThat(server01.size()).isEqualTo(3);
+        Assertions.assertThat(Arrays.copyOf(server01.getTimes(), 3)).containsExactly(1000L, 2000L, 3000L);
+
+        ColumnarSeries.Column idle = server01.getColumn("idle");
+        Assertions.assertThat(idle.getType()).isEqualTo(ColumnarSeries.Type.DOUBLE);
+        Assertions.assertThat(idle.getDoubles()[0]).isEqualTo(95.5);
+        Assertions.assertThat(idle.isNull(1)).isTrue();
+        Assertions.assertThat(idle.getDouble(1)).isNaN();
+        Assertions.assertThat(idle.getDouble(2)).isEqualTo(97D);
+
+        ColumnarSeries.Column region = server01.getColumn("region");
+        Assertions.assertThat(region.getType()).isEqualTo(ColumnarSeries.Type.STRING);
+        Assertions.assertThat(region.getDictionary()).containsExactly("west", "east");
+        Assertions.assertThat(Arrays.copyOf(region.getCodes(), 3)).containsExactly(0, 1, 0);
+        Assertions.assertThat(region.getString(2)).isEqualTo("west");
+
+        ColumnarSeries.Column active = server01.getColumn("active");
+        Assertions.assertThat(active.getType()).isEqualTo(ColumnarSeries.Type.BOOLEAN);
+        Assertions.assertThat(active.getBooleans()[0]).isTrue();
+        Assertions.assertThat(active.isNull(2)).isTrue();
+
+        Assertions.assertThatThrownBy(idle::getLongs).isInstanceOf(IllegalStateException.class);
+
+        Assertions.assertThat(series.get(1).getTags()).containsEntry("host", "server02");
+        Assertions.assertThat(series.get(1).getColumn("region").getString(0)).isEqualTo("north");
+    }
+
+    @Test
+    void rowBatches() {
+
+        List<ColumnarSeries> series = parse(CPU, 2);
+
+        Assertions.assertThat(series).extracting(ColumnarSeries::size).containsExactly(2, 1, 1);
+        Assertions.assertThat(series.get(1).getTimes()[0]).isEqualTo(3000L);
+        Assertions.assertThat(series.get(1).getColumn("region").getDictionary()).containsExactly("west");
+    }
+
+    @Test
+    void emptySeries() {
+
+        String document = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"databases\","
+                + "\"columns\":[\"name\"]}]}]}";
+
+        List<ColumnarSeries> series = parse(document, 0);
+
+        Assertions.assertThat(series).hasSize(1);
+        Assertions.assertThat(series.get(0).size()).isEqualTo(0);
+        Assertions.assertThat(series.get(0).getColumn("name")).isNotNull();
+    }
+
+    @Test
+    void error() {
+
+        String document = "{\"results\":[{\"statement_id\":0,\"error\":\"database not found: mydb\"}]}";
+
+        Assertions.assertThatThrownBy(() -> parse(document, 0))
+                .isInstanceOf(InfluxDBException.class)
+                .hasMessage("database not found: mydb");
+    }
+
+    @Test
+    void boxedValues() {
+
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList(1L, 10L, 10L),
+                Arrays.asList(2L, 20.5D, "high"),
+                Arrays.asList(3L, null, 30));
+
+        ColumnarSeriesBuilder builder = new ColumnarSeriesBuilder("cpu", null,
+                Arrays.asList("time", "count", "value"), 0);
+        for (List<Object> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                builder.column(i).addValue(row.get(i));
+            }
+            builder.endRow();
+        }
+
+        ColumnarSeries series = builder.build();
+
+        Assertions.assertThat(Arrays.copyOf(series.getTimes(), 3)).containsExactly(1L, 2L, 3L);
+
+        // long promoted to double
+        ColumnarSeries.Column count = series.getColumn("count");
+        Assertions.assertThat(count.getType()).isEqualTo(ColumnarSeries.Type.DOUBLE);
+        Assertions.assertThat(Arrays.copyOf(count.getDoubles(), 2)).containsExactly(10D, 20.5D);
+        Assertions.assertThat(count.isNull(2)).isTrue();
+
+        // conflicting values promoted to string
+        ColumnarSeries.Column value = series.getColumn("value");
+        Assertions.assertThat(value.getType()).isEqualTo(ColumnarSeries.Type.STRING);
+        Assertions.assertThat(value.getString(0)).isEqualTo("10");
+        Assertions.assertThat(value.getString(1)).isEqualTo("high");
+        Assertions.assertThat(value.getString(2)).isEqualTo("30");
+    }
+
+    @Nonnull
+    private List<ColumnarSeries> parse(@Nonnull final String document, final int rowBatchSize) {
+
+        QueryOptions queryOptions = QueryOptions.builder().rowBatchSize(rowBatchSize).build();
+
+        Supplier<ColumnarSeries> supplier = new JSONChunkProcessor()
+                .columnarSupplier(new Buffer().writeUtf8(document), queryOptions);
+
+        List<ColumnarSeries> series = new ArrayList<>();
+        for (ColumnarSeries next = supplier.get(); next != null; next = supplier.get()) {
+            series.add(next);
+        }
+
+        return series;
+    }
+}
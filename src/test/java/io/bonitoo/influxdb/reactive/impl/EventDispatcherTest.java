@@ -0,0 +1,241 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.bonitoo.influxdb.reactive.events.AbstractInfluxEvent;
+import io.bonitoo.influxdb.reactive.events.AbstractWriteEvent;
+import io.bonitoo.influxdb.reactive.events.BackpressureEvent;
+import io.bonitoo.influxdb.reactive.events.WriteSuccessEvent;
+import io.bonitoo.influxdb.reactive.options.ListenerOptions;
+import io.bonitoo.influxdb.reactive.options.WriteOptions;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class EventDispatcherTest {
+
+    private EventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EventDispatcher();
+    }
+
+    @Test
+    void withoutListeners() {
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isFalse();
+
+        dispatcher.publish(WriteSuccessEvent.class, () -> {
+            throw new AssertionError("The event shouldn't be created");
+        });
+    }
+
+    @Test
+    void listenerByType() {
+
+        TestObserver<WriteSuccessEvent> listener = dispatcher.listen(WriteSuccessEvent.class).test();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isTrue();
+        Assertions.assertThat(dispatcher.hasListeners(BackpressureEvent.class)).isFalse();
+
+        dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+
+        listener.assertValueCount(1);
+    }
+
+    @Test
+    void listenerBySuperType() {
+
+        TestObserver<AbstractWriteEvent> writes = dispatcher.listen(AbstractWriteEvent.class).test();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isTrue();
+        Assertions.assertThat(dispatcher.hasListeners(BackpressureEvent.class)).isFalse();
+
+        TestObserver<AbstractInfluxEvent> all = dispatcher.listen(AbstractInfluxEvent.class).test();
+
+        Assertions.assertThat(dispatcher.hasListeners(BackpressureEvent.class)).isTrue();
+
+        dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+
+        writes.assertValueCount(1);
+        all.assertValueCount(1);
+    }
+
+    @Test
+    void disposedListener() {
+
+        Disposable listener = dispatcher.listen(WriteSuccessEvent.class).subscribe();
+        Disposable listener2 = dispatcher.listen(WriteSuccessEvent.class).subscribe();
+
+        listener.dispose();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isTrue();
+
+        listener2.dispose();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isFalse();
+    }
+
+    @Test
+    void completedListener() {
+
+        dispatcher.listen(WriteSuccessEvent.class).subscribe();
+
+        dispatcher.close();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isFalse();
+    }
+
+    @Test
+    void asyncListener() {
+
+        TestScheduler scheduler = new TestScheduler();
+        ListenerOptions options = ListenerOptions.builder().scheduler(scheduler).build();
+
+        TestSubscriber<WriteSuccessEvent> listener = dispatcher.listen(WriteSuccessEvent.class, options).test();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isTrue();
+
+        dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+
+        // not yet delivered
+        listener.assertValueCount(0);
+
+        scheduler.triggerActions();
+
+        listener.assertValueCount(1);
+
+        listener.dispose();
+
+        Assertions.assertThat(dispatcher.hasListeners(WriteSuccessEvent.class)).isFalse();
+    }
+
+    @Test
+    void asyncListenerOverflow() {
+
+        TestScheduler scheduler = new TestScheduler();
+        ListenerOptions options = ListenerOptions.builder()
+                .bufferSize(10)
+                .overflowStrategy(BackpressureOverflowStrategy.DROP_LATEST)
+                .scheduler(scheduler)
+                .build();
+
+        TestSubscriber<WriteSuccessEvent> listener = dispatcher.listen(WriteSuccessEvent.class, options).test();
+
+        // delivered event (1) + listener queue (10)
+        for (int i = 0; i < 200; i++) {
+            dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+        }
+
+        scheduler.triggerActions();
+
+        listener.assertValueCount(11).assertNoErrors();
+        Assertions.assertThat(dispatcher.getDroppedEvents()).isEqualTo(189);
+    }
+
+    @Test
+    void asyncListenerBufferSize() {
+
+        TestScheduler scheduler = new TestScheduler();
+        ListenerOptions options = ListenerOptions.builder()
+                .bufferSize(3)
+                .overflowStrategy(BackpressureOverflowStrategy.DROP_LATEST)
+                .scheduler(scheduler)
+                .build();
+
+        TestSubscriber<WriteSuccessEvent> listener = dispatcher.listen(WriteSuccessEvent.class, options).test();
+
+        // the first event is being delivered, the next 3 wait in the buffer
+        for (int i = 0; i < 4; i++) {
+            dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+        }
+
+        Assertions.assertThat(dispatcher.getDroppedEvents()).isEqualTo(0);
+
+        dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+
+        Assertions.assertThat(dispatcher.getDroppedEvents()).isEqualTo(1);
+
+        scheduler.triggerActions();
+
+        listener.assertValueCount(4).assertNoErrors();
+
+        // the buffer is released
+        for (int i = 0; i < 4; i++) {
+            dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+        }
+
+        scheduler.triggerActions();
+
+        listener.assertValueCount(8).assertNoErrors();
+        Assertions.assertThat(dispatcher.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentPublish() throws InterruptedException {
+
+        int threads = 4;
+        int events = 10_000;
+
+        TestObserver<WriteSuccessEvent> listener = dispatcher.listen(WriteSuccessEvent.class).test();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < events; j++) {
+                    dispatcher.publish(WriteSuccessEvent.class, this::createEvent);
+                }
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        listener.assertValueCount(threads * events);
+    }
+
+    private WriteSuccessEvent createEvent() {
+        return new WriteSuccessEvent(new ArrayList<>(), WriteOptions.builder().database("db").build());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.bulk.ExportSummary;
+import io.bonitoo.influxdb.reactive.options.ExportOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.Okio;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class ExportWriterTest {
+
+    private static final ExportOptions CSV = ExportOptions.builder().format(ExportOptions.Format.CSV).build();
+
+    @Test
+    void lineProtocol() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ExportWriter writer = new ExportWriter(Okio.sink(output), ExportOptions.DEFAULTS);
+        writer.write(series());
+        ExportSummary summary = writer.finish();
+
+        String expected = "h2o\\ feet,location=coyote\\,creek,region=us\\=west "
+                + "level\\ description=\"below \\\"3\\\" feet\",water_level=2.927,count=1i,ok=true 1\n"
+                + "h2o\\ feet,location=coyote\\,creek,region=us\\=west count=2i 2\n";
+
+        Assertions.assertThat(output.toString("UTF-8")).isEqualTo(expected);
+        Assertions.assertThat(summary.getSeries()).isEqualTo(1);
+        Assertions.assertThat(summary.getRows()).isEqualTo(2);
+        Assertions.assertThat(summary.getBytes()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void lineProtocolWithoutFields() throws IOException {
+
+        BitSet nulls = new BitSet();
+        nulls.set(0);
+
+        ColumnarSeries series = new ColumnarSeries("cpu", Collections.singletonMap("host", ""), Arrays.asList(
+                ColumnarSeries.Column.ofLongs("time", new long[]{1, 2}, 2, null),
+                ColumnarSeries.Column.ofDoubles("idle", new double[]{0, Double.NaN}, 2, nulls)), 2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ExportWriter writer = new ExportWriter(Okio.sink(output), ExportOptions.DEFAULTS);
+        writer.write(series);
+
+        Assertions.assertThat(writer.finish().getRows()).isEqualTo(0);
+        Assertions.assertThat(output.size()).isEqualTo(0);
+    }
+
+    @Test
+    void lineProtocolWithoutName() {
+
+        ColumnarSeries series = new ColumnarSeries(null, null, Collections.emptyList(), 0);
+
+        ExportWriter writer = new ExportWriter(Okio.sink(new ByteArrayOutputStream()), ExportOptions.DEFAULTS);
+
+        Assertions.assertThatThrownBy(() -> writer.write(series))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("The series without the name can not be exported to Line Protocol");
+    }
+
+    @Test
+    void csv() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ExportWriter writer = new ExportWriter(Okio.sink(output), CSV);
+        writer.write(series());
+        writer.write(series());
+        writer.write(new ColumnarSeries("cpu", null, Collections.singletonList(
+                ColumnarSeries.Column.ofLongs("time", new long[]{3}, 1, null)), 1));
+        writer.finish();
+
+        String expected = "name,location,region,time,level description,water_level,count,ok\n"
+                + "h2o feet,\"coyote,creek\",us=west,1,\"below \"\"3\"\" feet\",2.927,1,true\n"
+                + "h2o feet,\"coyote,creek\",us=west,2,,,2,\n"
+                + "h2o feet,\"coyote,creek\",us=west,1,\"below \"\"3\"\" feet\",2.927,1,true\n"
+                + "h2o feet,\"coyote,creek\",us=west,2,,,2,\n"
+                + "name,time\n"
+                + "cpu,3\n";
+
+        Assertions.assertThat(output.toString("UTF-8")).isEqualTo(expected);
+    }
+
+    @Test
+    void gzip() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ExportWriter writer = new ExportWriter(Okio.sink(output), ExportOptions.builder().gzip(true).build());
+        writer.write(series());
+        ExportSummary summary = writer.finish();
+
+        Assertions.assertThat(summary.getBytes()).isEqualTo(output.size());
+
+        String unzipped = Okio
+                .buffer(Okio.source(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))))
+                .readUtf8();
+
+        Assertions.assertThat(unzipped).endsWith("count=2i 2\n");
+    }
+
+    @Nonnull
+    private ColumnarSeries series() {
+
+        Map<String, String> tags = new HashMap<>();
+        tags.put("region", "us=west");
+        tags.put("location", "coyote,creek");
+
+        BitSet nulls = new BitSet();
+        nulls.set(1);
+
+        return new ColumnarSeries("h2o feet", tags, Arrays.asList(
+                ColumnarSeries.Column.ofLongs("time", new long[]{1, 2}, 2, null),
+                ColumnarSeries.Column.ofStrings("level description", new int[]{0, 0},
+                        new String[]{"below \"3\" feet"}, 2, nulls),
+                ColumnarSeries.Column.ofDoubles("water_level", new double[]{2.927, 0}, 2, nulls),
+                ColumnarSeries.Column.ofLongs("count", new long[]{1, 2}, 2, null),
+                ColumnarSeries.Column.ofBooleans("ok", new boolean[]{true, false}, 2, nulls)), 2);
+    }
+}
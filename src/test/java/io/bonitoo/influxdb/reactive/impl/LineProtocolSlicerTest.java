@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class LineProtocolSlicerTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("line-protocol", ".txt");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void slicesOnLineBoundaries() throws IOException {
+
+        write("cpu value=1 1\ncpu value=2 2\ncpu value=3 3\n");
+
+        List<String> slices = slice(30, 30);
+
+        Assertions.assertThat(slices).containsExactly("cpu value=1 1\ncpu value=2 2\n", "cpu value=3 3\n");
+    }
+
+    @Test
+    void remapsWindows() throws IOException {
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("cpu value=").append(i).append(" ").append(i).append("\n");
+        }
+        write(content.toString());
+
+        List<String> slices = slice(40, 64);
+
+        Assertions.assertThat(String.join("", slices)).isEqualTo(content.toString());
+        Assertions.assertThat(slices).allSatisfy(slice -> {
+            Assertions.assertThat(slice.length()).isLessThanOrEqualTo(40);
+            Assertions.assertThat(slice).endsWith("\n");
+        });
+    }
+
+    @Test
+    void lineLongerThanBatch() throws IOException {
+
+        write("cpu value=1 1\ncpu,host=server01,region=us-west value=2 2\ncpu value=3 3");
+
+        List<String> slices = slice(16, 16);
+
+        Assertions.assertThat(slices).containsExactly(
+                "cpu value=1 1\n",
+                "cpu,host=server01,region=us-west value=2 2\n",
+                "cpu value=3 3");
+    }
+
+    @Test
+    void countLines() throws IOException {
+
+        write("# DML\ncpu value=1 1\n\ncpu value=2 2\r\ncpu value=3 3");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            LineProtocolSlicer slicer = new LineProtocolSlicer(channel, 1024, 1024);
+
+            LineProtocolSlicer.Slice slice = slicer.next();
+
+            Assertions.assertThat(slice).isNotNull();
+            Assertions.assertThat(slice.offset()).isEqualTo(0);
+            Assertions.assertThat(slice.length()).isEqualTo(slicer.size());
+            Assertions.assertThat(slice.lines()).isEqualTo(3);
+            Assertions.assertThat(slicer.next()).isNull();
+        }
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+
+        Assertions.assertThat(slice(16, 16)).isEmpty();
+    }
+
+    @Test
+    void windowAtLeastBatch() throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            Assertions.assertThatThrownBy(() -> new LineProtocolSlicer(channel, 32, 16))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Expecting the window: 16 at least the batchBytes: 32");
+        }
+    }
+
+    private void write(@Nonnull final String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nonnull
+    private List<String> slice(final int batchBytes, final int window) throws IOException {
+
+        List<String> slices = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            LineProtocolSlicer slicer = new LineProtocolSlicer(channel, batchBytes, window);
+
+            long offset = 0;
+            LineProtocolSlicer.Slice slice;
+            while ((slice = slicer.next()) != null) {
+
+                Assertions.assertThat(slice.offset()).isEqualTo(offset);
+                offset += slice.length();
+
+                ByteBuffer bytes = slice.bytes();
+                byte[] content = new byte[bytes.remaining()];
+                bytes.get(content);
+                slices.add(new String(content, StandardCharsets.UTF_8));
+            }
+        }
+
+        return slices;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+
+import com.squareup.moshi.Moshi;
+import okio.Buffer;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBMapperException;
+import org.influxdb.annotation.Column;
+import org.influxdb.annotation.Measurement;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.impl.InfluxDBResultMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class MeasurementMapperTest {
+
+    private static final String CPU_SERIES = "{\"name\":\"cpu\",\"tags\":{\"host\":\"server01\"},"
+            + "\"columns\":[\"time\",\"idle\",\"count\",\"total\",\"active\",\"region\",\"not_mapped\"],"
+            + "\"values\":["
+            + "[\"2018-08-10T10:15:30.123456789Z\",95.5,12,1500,true,\"west\",\"x\"],"
+            + "[1533896130000,96.5,13,1600,false,null,\"y\"],"
+            + "[\"2018-08-10T10:15:32Z\",null,null,null,null,\"east\",null]]}";
+
+    private static final String MEMORY_SERIES = "{\"name\":\"mem\",\"columns\":[\"time\",\"free\"],"
+            + "\"values\":[[\"2018-08-10T10:15:30Z\",1024]]}";
+
+    private MeasurementMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new MeasurementMapper();
+    }
+
+    @Test
+    void samePlan() {
+
+        Assertions.assertThat(mapper.plan(Cpu.class)).isSameAs(mapper.plan(Cpu.class));
+    }
+
+    @Test
+    void notAnnotated() {
+
+        Assertions.assertThatThrownBy(() -> mapper.plan(String.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Class java.lang.String is not annotated with @Measurement");
+    }
+
+    @Test
+    void toPOJOAsResultMapper() throws IOException {
+
+        QueryResult queryResult = parse(document(CPU_SERIES, MEMORY_SERIES));
+
+        List<Cpu> expected = new InfluxDBResultMapper().toPOJO(queryResult, Cpu.class, TimeUnit.MILLISECONDS);
+        List<Cpu> cpus = mapper.toPOJO(queryResult, Cpu.class, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(cpus).hasSize(3);
+        assertCpus(cpus, expected);
+
+        Assertions.assertThat(cpus.get(0).time).isEqualTo(Instant.parse("2018-08-10T10:15:30.123456789Z"));
+        Assertions.assertThat(cpus.get(1).time).isEqualTo(Instant.ofEpochMilli(1533896130000L));
+        Assertions.assertThat(cpus.get(0).host).isEqualTo("server01");
+        Assertions.assertThat(cpus.get(0).count).isEqualTo(12L);
+        Assertions.assertThat(cpus.get(0).total).isEqualTo(1500);
+        Assertions.assertThat(cpus.get(0).active).isTrue();
+        Assertions.assertThat(cpus.get(2).region).isEqualTo("east");
+    }
+
+    @Test
+    void parserAsResultMapper() throws IOException {
+
+        String document = document(CPU_SERIES, MEMORY_SERIES);
+
+        List<Cpu> expected = new InfluxDBResultMapper().toPOJO(parse(document), Cpu.class, TimeUnit.MILLISECONDS);
+
+        List<List<Cpu>> batches = parse(document + "\n" + document, 0);
+        Assertions.assertThat(batches).hasSize(2);
+        assertCpus(batches.get(0), expected);
+        assertCpus(batches.get(1), expected);
+
+        batches = parse(document, 2);
+        Assertions.assertThat(batches).hasSize(2);
+        Assertions.assertThat(batches.get(0)).hasSize(2);
+        Assertions.assertThat(batches.get(1)).hasSize(1);
+
+        List<Cpu> cpus = new ArrayList<>(batches.get(0));
+        cpus.addAll(batches.get(1));
+        assertCpus(cpus, expected);
+    }
+
+    @Test
+    void parserSkipsNotMapped() {
+
+        String document = "{\"results\":[{\"statement_id\":0},{\"statement_id\":1,\"series\":[" + MEMORY_SERIES
+                + "]},{\"statement_id\":2,\"series\":[{\"name\":\"cpu\",\"columns\":[\"not_mapped\"],"
+                + "\"values\":[[1],[2]]}]}]}";
+
+        Assertions.assertThat(parse(document, 0)).isEmpty();
+    }
+
+    @Test
+    void resultError() throws IOException {
+
+        String document = "{\"results\":[{\"statement_id\":0,\"error\":\"database not found: mydb\"}]}";
+
+        Assertions.assertThatThrownBy(() -> mapper.toPOJO(parse(document), Cpu.class, TimeUnit.MILLISECONDS))
+                .isInstanceOf(InfluxDBMapperException.class)
+                .hasMessage("InfluxDB returned an error with Series: database not found: mydb");
+
+        Assertions.assertThatThrownBy(() -> parse(document, 0))
+                .isInstanceOf(InfluxDBMapperException.class)
+                .hasMessage("InfluxDB returned an error with Series: database not found: mydb");
+    }
+
+    @Test
+    void differentType() throws IOException {
+
+        String document = "{\"results\":[{\"statement_id\":0,\"series\":[{\"name\":\"cpu\","
+                + "\"columns\":[\"idle\"],\"values\":[[\"high\"]]}]}]}";
+
+        String message = "Class 'io.bonitoo.influxdb.reactive.impl.MeasurementMapperTest$Cpu' field 'idle' was "
+                + "defined with a different field type and caused a ClassCastException. "
+                + "The correct type is 'java.lang.String' (current field value: 'high').";
+
+        Assertions.assertThatThrownBy(() -> mapper.toPOJO(parse(document), Cpu.class, TimeUnit.MILLISECONDS))
+                .isInstanceOf(InfluxDBMapperException.class)
+                .hasMessage(message);
+
+        Assertions.assertThatThrownBy(() -> parse(document, 0))
+                .isInstanceOf(InfluxDBMapperException.class)
+                .hasMessage(message);
+    }
+
+    @Test
+    void constructorError() throws IOException {
+
+        QueryResult queryResult = parse(document(CPU_SERIES));
+
+        Assertions.assertThatThrownBy(() -> mapper.toPOJO(queryResult, FailingCpu.class, TimeUnit.MILLISECONDS))
+                .isInstanceOf(InfluxDBMapperException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not constructable");
+    }
+
+    @Nonnull
+    private String document(@Nonnull final String... series) {
+        return "{\"results\":[{\"statement_id\":0,\"series\":[" + String.join(",", series) + "]}]}";
+    }
+
+    @Nonnull
+    private QueryResult parse(@Nonnull final String document) throws IOException {
+        return new Moshi.Builder().build().adapter(QueryResult.class).fromJson(document);
+    }
+
+    @Nonnull
+    private List<List<Cpu>> parse(@Nonnull final String document, final int rowBatchSize) {
+
+        QueryOptions queryOptions = QueryOptions.builder()
+                .precision(TimeUnit.MILLISECONDS)
+                .rowBatchSize(rowBatchSize)
+                .build();
+
+        Supplier<List<Cpu>> supplier = new JSONChunkProcessor()
+                .measurementSupplier(new Buffer().writeUtf8(document), mapper.plan(Cpu.class), queryOptions);
+
+        List<List<Cpu>> batches = new ArrayList<>();
+        for (List<Cpu> batch = supplier.get(); batch != null; batch = supplier.get()) {
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    private void assertCpus(@Nonnull final List<Cpu> cpus, @Nonnull final List<Cpu> expected) {
+
+        Assertions.assertThat(cpus).hasSameSizeAs(expected);
+        for (int i = 0; i < cpus.size(); i++) {
+            Assertions.assertThat(cpus.get(i)).isEqualToComparingFieldByField(expected.get(i));
+        }
+    }
+
+    @Measurement(name = "cpu")
+    public static class Cpu {
+
+        @Column(name = "time")
+        private Instant time;
+
+        @Column(name = "host", tag = true)
+        private String host;
+
+        @Column(name = "region", tag = true)
+        private String region;
+
+        @Column(name = "idle")
+        private double idle;
+
+        @Column(name = "count")
+        private Long count;
+
+        @Column(name = "total")
+        private int total;
+
+        @Column(name = "active")
+        private Boolean active;
+    }
+
+    @Measurement(name = "cpu")
+    public static class FailingCpu {
+
+        @Column(name = "idle")
+        private double idle;
+
+        public FailingCpu() {
+            throw new IllegalStateException("not constructable");
+        }
+    }
+}
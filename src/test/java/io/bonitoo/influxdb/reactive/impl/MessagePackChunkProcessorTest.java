@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import okio.Buffer;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.msgpack.MessagePackTraverser;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class MessagePackChunkProcessorTest {
+
+    private static final long SECONDS = 1533896130L;
+    private static final int NANOS = 123456789;
+    private static final long TIME = TimeUnit.SECONDS.toNanos(SECONDS) + NANOS;
+
+    @Test
+    void queryResultAsTraverser() throws IOException {
+
+        byte[] chunks = concat(cpuChunk(), memoryChunk());
+
+        List<QueryResult> parsed = new ArrayList<>();
+        Supplier<QueryResult> supplier = new MessagePackChunkProcessor()
+                .chunkSupplier(new Buffer().write(chunks), QueryOptions.DEFAULTS);
+        for (QueryResult result = supplier.get(); result != null; result = supplier.get()) {
+            parsed.add(result);
+        }
+
+        List<QueryResult> traversed = new ArrayList<>();
+        Iterator<QueryResult> iterator = new MessagePackTraverser()
+                .traverse(new Buffer().write(chunks).inputStream()).iterator();
+        while (iterator.hasNext()) {
+            traversed.add(iterator.next());
+        }
+
+        Assertions.assertThat(parsed).hasSize(2).hasSameSizeAs(traversed);
+        for (int i = 0; i < parsed.size(); i++) {
+            Assertions.assertThat(parsed.get(i).toString()).isEqualTo(traversed.get(i).toString());
+        }
+
+        List<Object> row = parsed.get(0).getResults().get(0).getSeries().get(0).getValues().get(0);
+        Assertions.assertThat(row).containsExactly(TIME, 95.5D, 12, 1500L, true, "west", null);
+        Assertions.assertThat(row.get(2)).isInstanceOf(Integer.class);
+
+        List<Object> large = parsed.get(1).getResults().get(0).getSeries().get(0).getValues().get(0);
+        Assertions.assertThat(large).containsExactly(TIME, new BigInteger("18446744073709551615"), 0.5D);
+    }
+
+    @Test
+    void error() {
+
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        try {
+            packer.packMapHeader(1).packString("results").packArrayHeader(1);
+            packer.packMapHeader(2).packString("statement_id").packInt(0)
+                    .packString("error").packString("database not found: telegraf");
+            packer.close();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+
+        Supplier<QueryResult> supplier = new MessagePackChunkProcessor()
+                .chunkSupplier(new Buffer().write(packer.toByteArray()), QueryOptions.DEFAULTS);
+
+        QueryResult queryResult = supplier.get();
+        Assertions.assertThat(queryResult).isNotNull();
+        Assertions.assertThat(queryResult.getResults()).hasSize(1);
+        Assertions.assertThat(queryResult.getResults().get(0).getError()).isEqualTo("database not found: telegraf");
+        Assertions.assertThat(queryResult.getResults().get(0).getSeries()).isNull();
+        Assertions.assertThat(supplier.get()).isNull();
+
+        Supplier<ColumnarSeries> columnar = new MessagePackChunkProcessor()
+                .columnarSupplier(new Buffer().write(packer.toByteArray()), QueryOptions.DEFAULTS);
+
+        Assertions.assertThatThrownBy(columnar::get)
+                .isInstanceOf(InfluxDBException.class)
+                .hasMessage("database not found: telegraf");
+    }
+
+    @Test
+    void measurements() throws IOException {
+
+        QueryOptions queryOptions = QueryOptions.builder()
+                .precision(TimeUnit.MILLISECONDS)
+                .rowBatchSize(1)
+                .build();
+
+        Supplier<List<MeasurementMapperTest.Cpu>> supplier = new MessagePackChunkProcessor().measurementSupplier(
+                new Buffer().write(concat(cpuChunk(), memoryChunk())),
+                new MeasurementMapper().plan(MeasurementMapperTest.Cpu.class),
+                queryOptions);
+
+        List<MeasurementMapperTest.Cpu> first = supplier.get();
+        Assertions.assertThat(first).hasSize(1);
+        Assertions.assertThat(first.get(0)).hasFieldOrPropertyWithValue("time", Instant.ofEpochSecond(SECONDS, NANOS))
+                .hasFieldOrPropertyWithValue("host", "server01")
+                .hasFieldOrPropertyWithValue("region", "west")
+                .hasFieldOrPropertyWithValue("idle", 95.5D)
+                .hasFieldOrPropertyWithValue("count", 12L)
+                .hasFieldOrPropertyWithValue("total", 1500)
+                .hasFieldOrPropertyWithValue("active", true);
+
+        List<MeasurementMapperTest.Cpu> second = supplier.get();
+        Assertions.assertThat(second).hasSize(1);
+        Assertions.assertThat(second.get(0)).hasFieldOrPropertyWithValue("time", Instant.ofEpochMilli(1533896131000L))
+                .hasFieldOrPropertyWithValue("idle", 96.0D)
+                .hasFieldOrPropertyWithValue("count", null)
+                .hasFieldOrPropertyWithValue("total", 1600)
+                .hasFieldOrPropertyWithValue("active", false);
+
+        // the mem series is skipped
+        Assertions.assertThat(supplier.get()).isNull();
+    }
+
+    @Test
+    void columnar() throws IOException {
+
+        QueryOptions queryOptions = QueryOptions.builder().rowBatchSize(1).build();
+
+        Supplier<ColumnarSeries> supplier = new MessagePackChunkProcessor()
+                .columnarSupplier(new Buffer().write(concat(cpuChunk(), memoryChunk())), queryOptions);
+
+        List<ColumnarSeries> series = new ArrayList<>();
+        for (ColumnarSeries value = supplier.get(); value != null; value = supplier.get()) {
+            series.add(value);
+        }
+
+        Assertions.assertThat(series).hasSize(3);
+
+        ColumnarSeries cpu = series.get(0);
+        Assertions.assertThat(cpu.getName()).isEqualTo("cpu");
+        Assertions.assertThat(cpu.getTags()).containsEntry("host", "server01");
+        Assertions.assertThat(cpu.size()).isEqualTo(1);
+        Assertions.assertThat(cpu.getTimes()).containsExactly(TIME);
+        Assertions.assertThat(cpu.getColumn("idle").getType()).isEqualTo(ColumnarSeries.Type.DOUBLE);
+        Assertions.assertThat(cpu.getColumn("count").getType()).isEqualTo(ColumnarSeries.Type.LONG);
+        Assertions.assertThat(cpu.getColumn("count").getLongs()).containsExactly(12L);
+        Assertions.assertThat(cpu.getColumn("active").getBooleans()).containsExactly(true);
+        Assertions.assertThat(cpu.getColumn("region").getString(0)).isEqualTo("west");
+        Assertions.assertThat(cpu.getColumn("not_mapped").isNull(0)).isTrue();
+
+        Assertions.assertThat(series.get(1).getTimes()).containsExactly(1533896131000L);
+        Assertions.assertThat(series.get(1).getColumn("count").isNull(0)).isTrue();
+
+        Assertions.assertThat(series.get(2).getName()).isEqualTo("mem");
+        Assertions.assertThat(series.get(2).getColumn("free").getLongs()).containsExactly(-1L);
+    }
+
+    @Nonnull
+    private byte[] cpuChunk() throws IOException {
+
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+
+        packer.packMapHeader(1).packString("results").packArrayHeader(1);
+        packer.packMapHeader(2).packString("statement_id").packInt(0).packString("series").packArrayHeader(1);
+        packer.packMapHeader(4)
+                .packString("name").packString("cpu")
+                .packString("tags").packMapHeader(1).packString("host").packString("server01")
+                .packString("columns").packArrayHeader(7)
+                .packString("time").packString("idle").packString("count").packString("total")
+                .packString("active").packString("region").packString("not_mapped")
+                .packString("values").packArrayHeader(2);
+
+        packer.packArrayHeader(7);
+        packTime(packer);
+        packer.packDouble(95.5).packInt(12);
+        packInt64(packer, 1500);
+        packer.packBoolean(true).packString("west").packBinaryHeader(2).writePayload(new byte[]{1, 2});
+
+        packer.packArrayHeader(7);
+        packer.packLong(1533896131000L).packFloat(96.0F).packNil().packInt(1600).packBoolean(false)
+                .packNil().packString("y");
+        packer.close();
+
+        return packer.toByteArray();
+    }
+
+    @Nonnull
+    private byte[] memoryChunk() throws IOException {
+
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+
+        packer.packMapHeader(1).packString("results").packArrayHeader(1);
+        packer.packMapHeader(2).packString("statement_id").packInt(0).packString("series").packArrayHeader(1);
+        packer.packMapHeader(3)
+                .packString("name").packString("mem")
+                .packString("columns").packArrayHeader(3).packString("time").packString("free").packString("ratio")
+                .packString("values").packArrayHeader(1);
+
+        packer.packArrayHeader(3);
+        packTime(packer);
+        packer.packBigInteger(new BigInteger("18446744073709551615")).packFloat(0.5F);
+        packer.close();
+
+        return packer.toByteArray();
+    }
+
+    private void packTime(@Nonnull final MessageBufferPacker packer) throws IOException {
+
+        packer.packExtensionTypeHeader(MessagePackReader.TIME_EXTENSION, 12);
+        packer.writePayload(ByteBuffer.allocate(12).putLong(SECONDS).putInt(NANOS).array());
+    }
+
+    private void packInt64(@Nonnull final MessageBufferPacker packer, final long value) throws IOException {
+
+        // the msgpack-core packs the small values into the smallest format
+        packer.writePayload(ByteBuffer.allocate(9).put((byte) 0xd3).putLong(value).array());
+    }
+
+    @Nonnull
+    private byte[] concat(@Nonnull final byte[] first, @Nonnull final byte[] second) {
+
+        return new Buffer().write(first).write(second).readByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import io.bonitoo.influxdb.reactive.metrics.ClientMetrics;
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class MetricsCollectorTest {
+
+    @Test
+    void bufferOccupancy() {
+
+        MetricsCollector collector = new MetricsCollector(BatchOptionsReactive.builder().bufferLimit(2).build(), () -> 5);
+
+        for (int i = 0; i < 10; i++) {
+            collector.pointIn();
+        }
+        for (int i = 0; i < 4; i++) {
+            collector.pointDequeued();
+        }
+        for (int i = 0; i < 5; i++) {
+            collector.pointDropped();
+        }
+
+        ClientMetrics metrics = collector.snapshot();
+
+        Assertions.assertThat(metrics.getPointsIn()).isEqualTo(10);
+        Assertions.assertThat(metrics.getPointsDropped()).isEqualTo(5);
+        Assertions.assertThat(metrics.getBufferOccupancy()).isEqualTo(1);
+        Assertions.assertThat(metrics.getBufferLimit()).isEqualTo(2);
+        Assertions.assertThat(metrics.getEventsDropped()).isEqualTo(5);
+    }
+
+    @Test
+    void bufferOccupancyIsNeverNegative() {
+
+        MetricsCollector collector = new MetricsCollector(BatchOptionsReactive.DEFAULTS, () -> 0);
+
+        // dequeue is recorded on other thread than point in
+        collector.pointDequeued();
+
+        Assertions.assertThat(collector.getBufferOccupancy()).isEqualTo(0);
+    }
+
+    @Test
+    void latency() {
+
+        MetricsCollector collector = new MetricsCollector(BatchOptionsReactive.DEFAULTS, () -> 0);
+
+        collector.writeLatency(TimeUnit.MILLISECONDS.toNanos(10));
+        collector.writeLatency(TimeUnit.MILLISECONDS.toNanos(20));
+
+        Assertions.assertThat(collector.getWriteLatency().getCount()).isEqualTo(2);
+        Assertions.assertThat(collector.getWriteLatency().getMin()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        Assertions.assertThat(collector.getWriteLatency().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        Assertions.assertThat(collector.getSerializationTime().getCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.bonitoo.influxdb.reactive.InfluxDBReactive;
+import io.bonitoo.influxdb.reactive.InfluxDBReactiveFactory;
+import io.bonitoo.influxdb.reactive.options.InfluxDBOptions;
+import io.bonitoo.influxdb.reactive.options.MonitoringOptions;
+
+import io.reactivex.schedulers.TestScheduler;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class MetricsReporterTest {
+
+    private MockWebServer influxDBServer;
+    private TestScheduler scheduler;
+    private InfluxDBReactive influxDBReactive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        influxDBServer = new MockWebServer();
+        influxDBServer.start();
+
+        scheduler = new TestScheduler();
+
+        MonitoringOptions monitoring = MonitoringOptions.builder()
+                .database("telemetry")
+                .clientId("app-1")
+                .interval(5_000)
+                .scheduler(scheduler)
+                .build();
+
+        InfluxDBOptions options = InfluxDBOptions.builder()
+                .url(influxDBServer.url("/").url().toString())
+                .database("weather")
+                .monitoring(monitoring)
+                .build();
+
+        influxDBReactive = InfluxDBReactiveFactory.connect(options);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        influxDBReactive.close();
+        influxDBServer.shutdown();
+    }
+
+    @Test
+    void reportPeriodically() throws InterruptedException {
+
+        influxDBServer.enqueue(new MockResponse());
+        influxDBServer.enqueue(new MockResponse());
+
+        scheduler.advanceTimeBy(4, TimeUnit.SECONDS);
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(0);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(1);
+
+        RecordedRequest request = influxDBServer.takeRequest();
+        Assertions.assertThat(request.getRequestUrl().queryParameter("db")).isEqualTo("telemetry");
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("ms");
+
+        String body = request.getBody().readUtf8();
+        Assertions.assertThat(body).startsWith("influxdb_client,client_id=app-1 ");
+        Assertions.assertThat(body).contains("buffer_limit=10000i", "points_dropped=0i", "write_latency_p99=0i");
+        Assertions.assertThat(body).endsWith(" 5000");
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failedReportDoesNotStopReporting() {
+
+        influxDBServer.enqueue(new MockResponse().setResponseCode(500).setBody("{\"error\":\"timeout\"}"));
+        influxDBServer.enqueue(new MockResponse());
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(influxDBServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void statisticsBypassBuffer() {
+
+        influxDBServer.enqueue(new MockResponse());
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(influxDBReactive.metrics().getPointsIn()).isEqualTo(0);
+        Assertions.assertThat(influxDBReactive.metrics().getBatches()).isEqualTo(0);
+    }
+}
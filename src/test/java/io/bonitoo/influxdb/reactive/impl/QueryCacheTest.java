@@ -0,0 +1,198 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+import io.bonitoo.influxdb.reactive.options.BatchOptionsReactive;
+import io.bonitoo.influxdb.reactive.options.QueryCacheOptions;
+
+import io.reactivex.Flowable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class QueryCacheTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private AtomicLong clock;
+    private AtomicInteger requests;
+    private MetricsCollector metrics;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        requests = new AtomicInteger();
+        metrics = new MetricsCollector(BatchOptionsReactive.DEFAULTS, () -> 0);
+    }
+
+    @Test
+    void replayCachedResponse() {
+
+        QueryCache cache = cache(QueryCacheOptions.builder().build());
+
+        Assertions.assertThat(read(cache, key("select * from cpu"), "cpu")).isEqualTo("cpu");
+        Assertions.assertThat(read(cache, key("select * from cpu"), "changed")).isEqualTo("cpu");
+        Assertions.assertThat(read(cache, key("select * from mem"), "mem")).isEqualTo("mem");
+
+        Assertions.assertThat(requests.get()).isEqualTo(2);
+        Assertions.assertThat(cache.size()).isEqualTo(6);
+        Assertions.assertThat(metrics.getQueryCacheHits()).isEqualTo(1);
+        Assertions.assertThat(metrics.getQueryCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void expireByTTL() {
+
+        QueryCache cache = cache(QueryCacheOptions.builder().ttl(Duration.ofSeconds(5)).build());
+
+        read(cache, key("select * from cpu"), "cpu");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        Assertions.assertThat(read(cache, key("select * from cpu"), "changed")).isEqualTo("cpu");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertThat(read(cache, key("select * from cpu"), "changed")).isEqualTo("changed");
+
+        Assertions.assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+
+        QueryCache cache = cache(QueryCacheOptions.builder().maxBytes(8).build());
+
+        read(cache, key("q1"), "1111");
+        read(cache, key("q2"), "2222");
+        // q1 is recently used
+        read(cache, key("q1"), "changed");
+        read(cache, key("q3"), "3333");
+
+        Assertions.assertThat(cache.size()).isEqualTo(8);
+        Assertions.assertThat(read(cache, key("q1"), "changed")).isEqualTo("1111");
+        Assertions.assertThat(read(cache, key("q3"), "changed")).isEqualTo("3333");
+        Assertions.assertThat(read(cache, key("q2"), "changed")).isEqualTo("changed");
+    }
+
+    @Test
+    void notCachedTooLargeOrUnfinished() {
+
+        QueryCache cache = cache(QueryCacheOptions.builder().maxBytes(4).build());
+
+        read(cache, key("large"), "12345");
+
+        // the response is not read to the end
+        cache.cached(key("unfinished"), response("1234"), body -> {
+            body.close();
+            return Flowable.just("");
+        })
+                .test()
+                .assertComplete();
+
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+        Assertions.assertThat(read(cache, key("large"), "changed")).isEqualTo("changed");
+    }
+
+    @Test
+    void notCachedQueryError() {
+
+        QueryCache cache = cache(QueryCacheOptions.builder().build());
+
+        // the error reported by the QueryResult
+        QueryResult queryResult = new QueryResult();
+        queryResult.setError("database not found: telegraf");
+
+        cache.cached(key("error"), response("{\"error\":\"database not found: telegraf\"}"), body -> {
+            body.string();
+            return Flowable.just(queryResult);
+        })
+                .test()
+                .assertValueCount(1);
+
+        // the error of result reported by the QueryResult
+        QueryResult.Result result = new QueryResult.Result();
+        result.setError("measurement not found");
+        QueryResult resultError = new QueryResult();
+        resultError.setResults(Collections.singletonList(result));
+
+        cache.cached(key("result"), response("{\"results\":[{\"error\":\"measurement not found\"}]}"), body -> {
+            body.string();
+            return Flowable.just(resultError);
+        })
+                .test()
+                .assertValueCount(1);
+
+        // the error signaled by the reader
+        cache.cached(key("signal"), response("{\"results\":[{\"error\":\"measurement not found\"}]}"), body -> {
+            body.string();
+            return Flowable.error(new InfluxDBException("measurement not found"));
+        })
+                .test()
+                .assertError(InfluxDBException.class);
+
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+        Assertions.assertThat(read(cache, key("error"), "changed")).isEqualTo("changed");
+    }
+
+    @Nonnull
+    private QueryCache cache(@Nonnull final QueryCacheOptions options) {
+        return new QueryCache(options, metrics, clock::get);
+    }
+
+    @Nonnull
+    private QueryKey key(@Nonnull final String command) {
+        return new QueryKey("admin", "telegraf", command, "n", 0, "");
+    }
+
+    @Nonnull
+    private Flowable<ResponseBody> response(@Nonnull final String body) {
+        return Flowable.fromCallable(() -> {
+            requests.incrementAndGet();
+            return ResponseBody.create(JSON, body);
+        });
+    }
+
+    @Nonnull
+    private String read(@Nonnull final QueryCache cache,
+                        @Nonnull final QueryKey key,
+                        @Nonnull final String body) {
+
+        return cache.cached(key, response(body), responseBody -> Flowable.just(responseBody.string())).blockingSingle();
+    }
+}
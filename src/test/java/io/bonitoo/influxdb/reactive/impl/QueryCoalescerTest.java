@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class QueryCoalescerTest {
+
+    private AtomicInteger requests;
+    private PublishProcessor<String> response;
+    private Flowable<String> source;
+
+    @BeforeEach
+    void setUp() {
+        requests = new AtomicInteger();
+        response = PublishProcessor.create();
+        source = Flowable.defer(() -> {
+            requests.incrementAndGet();
+            return response;
+        });
+    }
+
+    @Test
+    void shareInFlightRequest() {
+
+        QueryCoalescer coalescer = new QueryCoalescer(16);
+
+        TestSubscriber<String> first = coalescer.coalesce("cpu", source).test();
+        response.onNext("chunk1");
+
+        // the late subscriber receives the replayed chunk
+        TestSubscriber<String> second = coalescer.coalesce("cpu", source).test();
+        response.onNext("chunk2");
+        response.onComplete();
+
+        first.assertValues("chunk1", "chunk2").assertComplete();
+        second.assertValues("chunk1", "chunk2").assertComplete();
+
+        Assertions.assertThat(requests.get()).isEqualTo(1);
+        Assertions.assertThat(coalescer.size()).isEqualTo(0);
+    }
+
+    @Test
+    void differentKeys() {
+
+        QueryCoalescer coalescer = new QueryCoalescer(16);
+
+        coalescer.coalesce("cpu", source).test();
+        coalescer.coalesce("mem", source).test();
+
+        Assertions.assertThat(requests.get()).isEqualTo(2);
+        Assertions.assertThat(coalescer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void notJoinableWhenReplayIsFull() {
+
+        QueryCoalescer coalescer = new QueryCoalescer(2);
+
+        TestSubscriber<String> first = coalescer.coalesce("cpu", source).test();
+        response.onNext("chunk1");
+        response.onNext("chunk2");
+
+        TestSubscriber<String> second = coalescer.coalesce("cpu", source).test();
+        response.onNext("chunk3");
+
+        first.assertValues("chunk1", "chunk2", "chunk3");
+        // the new request
+        second.assertValues("chunk3");
+
+        Assertions.assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelWhenAllSubscribersDisposed() {
+
+        QueryCoalescer coalescer = new QueryCoalescer(16);
+
+        TestSubscriber<String> first = coalescer.coalesce("cpu", source).test();
+        TestSubscriber<String> second = coalescer.coalesce("cpu", source).test();
+
+        first.dispose();
+        Assertions.assertThat(response.hasSubscribers()).isTrue();
+
+        second.dispose();
+        Assertions.assertThat(response.hasSubscribers()).isFalse();
+        Assertions.assertThat(coalescer.size()).isEqualTo(0);
+    }
+}
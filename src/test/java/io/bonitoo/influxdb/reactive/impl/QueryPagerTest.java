@@ -0,0 +1,269 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.bonitoo.influxdb.reactive.options.QueryOptions;
+import io.bonitoo.influxdb.reactive.query.ColumnarSeries;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class QueryPagerTest {
+
+    private List<String> commands;
+    private Deque<QueryResult> responses;
+
+    @BeforeEach
+    void setUp() {
+        commands = new ArrayList<>();
+        responses = new ArrayDeque<>();
+    }
+
+    @Test
+    void timeCursor() {
+
+        responses.add(result(series("cpu", null, 1, 2, 2)));
+        responses.add(result(series("cpu", null, 2, 3)));
+
+        pager("select * from cpu where $timeFilter", QueryOptions.Pagination.TIME, null)
+                .results()
+                .test()
+                .assertValueCount(2)
+                .assertComplete();
+
+        // the rows of the last timestamp are skipped by the OFFSET
+        Assertions.assertThat(commands).containsExactly(
+                "select * from cpu where time >= -9223372036854775806 LIMIT 3",
+                "select * from cpu where time >= 2000000 LIMIT 3 OFFSET 2");
+    }
+
+    @Test
+    void timeCursorInRange() {
+
+        responses.add(result(series("cpu", null, 1000, 1001, 1002)));
+        responses.add(result(series("cpu", null, 1003, 1004, 1005)));
+
+        Instant start = Instant.ofEpochSecond(1);
+        Instant end = Instant.ofEpochSecond(2);
+
+        pager("select * from cpu where $timeFilter", QueryOptions.Pagination.TIME, start)
+                .results()
+                .test()
+                .assertValueCount(3)
+                .assertComplete();
+
+        Assertions.assertThat(commands).containsExactly(
+                "select * from cpu where time >= 1000000000 AND time < 2000000000 LIMIT 3",
+                "select * from cpu where time >= 1002000000 AND time < 2000000000 LIMIT 3 OFFSET 1",
+                "select * from cpu where time >= 1005000000 AND time < 2000000000 LIMIT 3 OFFSET 1");
+    }
+
+    @Test
+    void timeCursorOneSeries() {
+
+        responses.add(result(
+                series("cpu", Collections.singletonMap("host", "a"), 1),
+                series("cpu", Collections.singletonMap("host", "b"), 1)));
+
+        pager("select * from cpu where $timeFilter group by host", QueryOptions.Pagination.TIME, null)
+                .results()
+                .test()
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("The query paginated by time has to return one series: "
+                        + "[[cpu, {host=a}], [cpu, {host=b}]]");
+    }
+
+    @Test
+    void timeCursorNanoseconds() {
+
+        long time = 1_533_896_130_123_456_789L;
+
+        QueryOptions queryOptions = QueryOptions.builder()
+                .pagination(QueryOptions.Pagination.TIME, 2)
+                .build();
+
+        // the columnar times are exact
+        ColumnarSeries series = new ColumnarSeries("cpu", null, Collections.singletonList(
+                ColumnarSeries.Column.ofLongs("time", new long[]{time, time + 1}, 2, null)), 2);
+
+        Deque<ColumnarSeries> pages = new ArrayDeque<>(Collections.singletonList(series));
+        new QueryPager<ColumnarSeries>("select * from cpu where $timeFilter", queryOptions, pageCommand -> {
+            commands.add(pageCommand);
+            return pages.isEmpty() ? Flowable.empty() : Flowable.just(pages.poll());
+        })
+                .results()
+                .test()
+                .assertValueCount(1)
+                .assertComplete();
+
+        Assertions.assertThat(commands).endsWith("select * from cpu where time >= 1533896130123456790 LIMIT 2 OFFSET 1");
+
+        // the JSON numbers are rounded
+        responses.add(result(series("cpu", null, time, time + 1)));
+
+        new QueryPager<QueryResult>("select * from cpu where $timeFilter", queryOptions,
+                pageCommand -> Flowable.just(responses.poll()))
+                .results()
+                .test()
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("The query paginated by time requires the exact epoch timestamps, "
+                        + "use the MICROSECONDS or coarser precision: 1.53389613012345677E18");
+    }
+
+    @Test
+    void offset() {
+
+        responses.add(result(
+                series("cpu", Collections.singletonMap("host", "a"), 1, 2, 3),
+                series("cpu", Collections.singletonMap("host", "b"), 1)));
+        responses.add(result(series("cpu", Collections.singletonMap("host", "a"), 4)));
+
+        pager("select * from cpu group by host", QueryOptions.Pagination.OFFSET, null)
+                .results()
+                .test()
+                .assertValueCount(2)
+                .assertComplete();
+
+        Assertions.assertThat(commands).containsExactly(
+                "select * from cpu group by host LIMIT 3 OFFSET 0",
+                "select * from cpu group by host LIMIT 3 OFFSET 3");
+    }
+
+    @Test
+    void emptyPage() {
+
+        responses.add(result(series("cpu", null, 1, 2, 3)));
+
+        pager("select * from cpu", QueryOptions.Pagination.OFFSET, null)
+                .results()
+                .test()
+                .assertValueCount(2)
+                .assertComplete();
+
+        Assertions.assertThat(commands).hasSize(2);
+    }
+
+    @Test
+    void nextPageIsReadWhileConsumed() {
+
+        for (int i = 0; i < 10; i++) {
+            responses.add(result(series("cpu", null, 3 * i + 1, 3 * i + 2, 3 * i + 3)));
+        }
+
+        TestSubscriber<QueryResult> subscriber = pager("select * from cpu", QueryOptions.Pagination.OFFSET, null)
+                .results()
+                .test(1);
+
+        subscriber.assertValueCount(1);
+        Assertions.assertThat(commands).hasSize(2);
+
+        subscriber.cancel();
+    }
+
+    @Test
+    void placeholders() {
+
+        Assertions.assertThatThrownBy(() -> pager("select * from cpu", QueryOptions.Pagination.TIME, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The query paginated by time has to contain the $timeFilter placeholder: "
+                        + "select * from cpu");
+
+        Assertions.assertThatThrownBy(() -> pager("select * from cpu where $timeFilter",
+                QueryOptions.Pagination.OFFSET, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The time range is required to replace the $timeFilter placeholder: "
+                        + "select * from cpu where $timeFilter");
+    }
+
+    @Nonnull
+    private QueryPager<QueryResult> pager(@Nonnull final String command,
+                                          @Nonnull final QueryOptions.Pagination pagination,
+                                          @Nullable final Instant start) {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder()
+                .precision(TimeUnit.MILLISECONDS)
+                .pagination(pagination, 3);
+        if (start != null) {
+            queryOptions.timeRange(start, start.plusSeconds(1));
+        }
+
+        return new QueryPager<>(command, queryOptions.build(), pageCommand -> {
+            commands.add(pageCommand);
+            return responses.isEmpty() ? Flowable.just(new QueryResult()) : Flowable.just(responses.poll());
+        });
+    }
+
+    @Nonnull
+    private QueryResult result(@Nonnull final QueryResult.Series... series) {
+
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(Arrays.asList(series));
+
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(Collections.singletonList(result));
+
+        return queryResult;
+    }
+
+    @Nonnull
+    private QueryResult.Series series(@Nonnull final String name,
+                                      final Map<String, String> tags,
+                                      @Nonnull final long... times) {
+
+        List<List<Object>> values = new ArrayList<>();
+        for (long time : times) {
+            values.add(Arrays.asList((double) time, 1D));
+        }
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(name);
+        series.setTags(tags);
+        series.setColumns(Arrays.asList("time", "value"));
+        series.setValues(values);
+
+        return series;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.impl;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.influxdb.InfluxDBException;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class QueryTailTest {
+
+    private static final long START = 1_000_000;
+
+    private TestScheduler scheduler;
+    private List<String> commands;
+    private Deque<QueryResult> responses;
+    private QueryTail tail;
+
+    @BeforeEach
+    void setUp() {
+
+        scheduler = new TestScheduler();
+        scheduler.advanceTimeTo(START, TimeUnit.MILLISECONDS);
+
+        commands = new ArrayList<>();
+        responses = new ArrayDeque<>();
+
+        tail = new QueryTail("select * from cpu where $timeFilter", Duration.ofSeconds(1), Duration.ofSeconds(16),
+                TimeUnit.MILLISECONDS, scheduler, command -> {
+                    commands.add(command);
+                    return responses.isEmpty() ? Flowable.empty() : Flowable.just(responses.poll());
+                });
+    }
+
+    @Test
+    void emitOnlyNewRows() {
+
+        responses.add(result(series("cpu", null, START - 1000, START + 100, START + 200)));
+        responses.add(result(series("cpu", null, START + 200, START + 300)));
+
+        TestSubscriber<QueryResult> subscriber = tail.results().test();
+
+        subscriber.assertValueCount(1).assertValueAt(0, result -> times(result).equals(Arrays.asList(
+                (double) START + 100, (double) START + 200)));
+        Assertions.assertThat(commands).containsExactly("select * from cpu where time > 1000000000000");
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        subscriber.assertValueCount(2).assertValueAt(1, result -> times(result).equals(Collections.singletonList(
+                (double) START + 300)));
+        Assertions.assertThat(commands).hasSize(2).endsWith("select * from cpu where time > 1000200000000");
+
+        subscriber.assertNotComplete().assertNoErrors();
+        subscriber.dispose();
+    }
+
+    @Test
+    void trackSeriesSeparately() {
+
+        responses.add(result(
+                series("cpu", Collections.singletonMap("host", "a"), START + 100),
+                series("cpu", Collections.singletonMap("host", "b"), START + 500)));
+        responses.add(result(
+                series("cpu", Collections.singletonMap("host", "a"), START + 200, START + 300),
+                series("cpu", Collections.singletonMap("host", "b"), START + 500)));
+
+        TestSubscriber<QueryResult> subscriber = tail.results().test();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        // the late points of host=a are not filtered by the last seen point of host=b
+        subscriber.assertValueCount(2).assertValueAt(1, result -> times(result).equals(Arrays.asList(
+                (double) START + 200, (double) START + 300)));
+        Assertions.assertThat(commands).endsWith("select * from cpu where time > 1000100000000");
+
+        subscriber.dispose();
+    }
+
+    @Test
+    void pruneIdleSeries() {
+
+        responses.add(result(
+                series("cpu", Collections.singletonMap("host", "a"), START + 100),
+                series("cpu", Collections.singletonMap("host", "b"), START + 500)));
+
+        TestSubscriber<QueryResult> subscriber = tail.results().test();
+
+        // only host=b reports
+        for (int second = 1; second <= 20; second++) {
+            responses.add(result(series("cpu", Collections.singletonMap("host", "b"), START + second * 1000)));
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        }
+
+        // the idle host=a held the bound within the look-back
+        Assertions.assertThat(commands.get(16)).isEqualTo("select * from cpu where time > 1000100000000");
+
+        // the idle host=a is not tracked after the look-back => the bound is the last seen of host=b
+        Assertions.assertThat(commands).endsWith("select * from cpu where time > 1019000000000");
+
+        subscriber.assertValueCount(21).assertNoErrors();
+        subscriber.dispose();
+    }
+
+    @Test
+    void nanosecondsOfJSON() {
+
+        tail = new QueryTail("select * from cpu where $timeFilter", Duration.ofSeconds(1), Duration.ofSeconds(16),
+                TimeUnit.NANOSECONDS, scheduler, command -> Flowable.just(responses.poll()));
+
+        responses.add(result(series("cpu", null, 1_533_896_130_123_456_789L)));
+
+        tail.results()
+                .test()
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("The tailed query requires the exact epoch timestamps, "
+                        + "use the MICROSECONDS or coarser precision: 1.53389613012345677E18");
+    }
+
+    @Test
+    void backoffWithoutNewRows() {
+
+        TestSubscriber<QueryResult> subscriber = tail.results().test();
+        Assertions.assertThat(commands).hasSize(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assertions.assertThat(commands).hasSize(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assertions.assertThat(commands).hasSize(2);
+
+        // at most 8 times the interval
+        scheduler.advanceTimeBy(4 + 8, TimeUnit.SECONDS);
+        Assertions.assertThat(commands).hasSize(4);
+
+        responses.add(result(series("cpu", null, START + 100)));
+        scheduler.advanceTimeBy(8, TimeUnit.SECONDS);
+        subscriber.assertValueCount(1);
+
+        // new rows => the interval is restored
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assertions.assertThat(commands).hasSize(6);
+
+        subscriber.dispose();
+    }
+
+    @Test
+    void error() {
+
+        QueryResult error = new QueryResult();
+        error.setError("database not found: telegraf");
+        responses.add(error);
+
+        tail.results()
+                .test()
+                .assertError(InfluxDBException.class)
+                .assertErrorMessage("database not found: telegraf");
+    }
+
+    @Test
+    void requireTimeFilterAndInterval() {
+
+        Assertions.assertThatThrownBy(() -> new QueryTail("select * from cpu", Duration.ofSeconds(1),
+                Duration.ofSeconds(16), TimeUnit.MILLISECONDS, scheduler, command -> Flowable.empty()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The tailed query has to contain the $timeFilter placeholder: select * from cpu");
+
+        Assertions.assertThatThrownBy(() -> new QueryTail("select * from cpu where $timeFilter", Duration.ZERO,
+                Duration.ofSeconds(16), TimeUnit.MILLISECONDS, scheduler, command -> Flowable.empty()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive interval: PT0S");
+
+        Assertions.assertThatThrownBy(() -> new QueryTail("select * from cpu where $timeFilter",
+                Duration.ofSeconds(2), Duration.ofSeconds(1), TimeUnit.MILLISECONDS, scheduler,
+                command -> Flowable.empty()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting the look-back at least the interval: PT1S");
+    }
+
+    @Nonnull
+    private QueryResult result(@Nonnull final QueryResult.Series... series) {
+
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(Arrays.asList(series));
+
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(Collections.singletonList(result));
+
+        return queryResult;
+    }
+
+    @Nonnull
+    private QueryResult.Series series(@Nonnull final String name,
+                                      final Map<String, String> tags,
+                                      @Nonnull final long... times) {
+
+        List<List<Object>> values = new ArrayList<>();
+        for (long time : times) {
+            values.add(Arrays.asList((double) time, 1D));
+        }
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(name);
+        series.setTags(tags);
+        series.setColumns(Arrays.asList("time", "value"));
+        series.setValues(values);
+
+        return series;
+    }
+
+    @Nonnull
+    private List<Object> times(@Nonnull final QueryResult queryResult) {
+
+        List<Object> times = new ArrayList<>();
+        queryResult.getResults().forEach(result -> result.getSeries()
+                .forEach(series -> series.getValues().forEach(row -> times.add(row.get(0)))));
+
+        return times;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class LatencySnapshotTest {
+
+    @Test
+    void empty() {
+
+        LatencySnapshot snapshot = new LatencySnapshot(new long[LatencySnapshot.BUCKETS], 0, Long.MAX_VALUE, 0);
+
+        Assertions.assertThat(snapshot.getCount()).isEqualTo(0);
+        Assertions.assertThat(snapshot.getMin()).isEqualTo(0);
+        Assertions.assertThat(snapshot.getMax()).isEqualTo(0);
+        Assertions.assertThat(snapshot.getMean()).isEqualTo(0);
+        Assertions.assertThat(snapshot.getP99()).isEqualTo(0);
+    }
+
+    @Test
+    void bucketIndex() {
+
+        Assertions.assertThat(LatencySnapshot.bucketIndex(-5)).isEqualTo(0);
+        Assertions.assertThat(LatencySnapshot.bucketIndex(0)).isEqualTo(0);
+        Assertions.assertThat(LatencySnapshot.bucketIndex(63)).isEqualTo(63);
+        Assertions.assertThat(LatencySnapshot.bucketIndex(64)).isEqualTo(64);
+        Assertions.assertThat(LatencySnapshot.bucketIndex(65)).isEqualTo(64);
+        Assertions.assertThat(LatencySnapshot.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencySnapshot.BUCKETS - 1);
+    }
+
+    @Test
+    void precision() {
+
+        for (long value = 1; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+
+            long highest = LatencySnapshot.highestValue(LatencySnapshot.bucketIndex(value));
+
+            Assertions.assertThat(highest).isGreaterThanOrEqualTo(value);
+            Assertions.assertThat((double) (highest - value) / value).isLessThan(0.04);
+        }
+    }
+
+    @Test
+    void percentiles() {
+
+        long[] counts = new long[LatencySnapshot.BUCKETS];
+        long sum = 0;
+        for (long value = 1; value <= 1_000; value++) {
+            counts[LatencySnapshot.bucketIndex(value * 1_000)]++;
+            sum += value * 1_000;
+        }
+
+        LatencySnapshot snapshot = new LatencySnapshot(counts, sum, 1_000, 1_000_000);
+
+        Assertions.assertThat(snapshot.getCount()).isEqualTo(1_000);
+        Assertions.assertThat(snapshot.getMin()).isEqualTo(1_000);
+        Assertions.assertThat(snapshot.getMax()).isEqualTo(1_000_000);
+        Assertions.assertThat(snapshot.getMean()).isEqualTo(500_500);
+        Assertions.assertThat(snapshot.getP50()).isBetween(500_000L, 520_000L);
+        Assertions.assertThat(snapshot.getP99()).isBetween(990_000L, 1_000_000L);
+        Assertions.assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(1_000_000);
+        Assertions.assertThat(snapshot.getValueAtPercentile(0)).isEqualTo(1_000);
+    }
+}
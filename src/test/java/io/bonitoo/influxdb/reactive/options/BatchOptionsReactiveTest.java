@@ -42,5 +42,25 @@ class BatchOptionsReactiveTest {
         Assertions.assertThat(batchOptions.getBufferLimit()).isEqualTo(10000);
         Assertions.assertThat(batchOptions.getFlushInterval()).isEqualTo(1000);
         Assertions.assertThat(batchOptions.getJitterInterval()).isEqualTo(0);
+        Assertions.assertThat(batchOptions.getLowWatermark()).isEqualTo(70);
+        Assertions.assertThat(batchOptions.getHighWatermark()).isEqualTo(90);
+        Assertions.assertThat(batchOptions.getRecoveryWatermark()).isEqualTo(50);
+    }
+
+    @Test
+    void bufferWatermarksOrder() {
+
+        BatchOptionsReactive.Builder builder = BatchOptionsReactive.builder();
+
+        Assertions.assertThatThrownBy(() -> builder.bufferWatermarks(70, 60, 50))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting 0 <= recoveryWatermark < lowWatermark <= highWatermark <= 100, "
+                        + "but was: 50, 70, 60");
+
+        Assertions.assertThatThrownBy(() -> builder.bufferWatermarks(70, 90, 70))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Assertions.assertThatThrownBy(() -> builder.bufferWatermarks(70, 101, 50))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 }
\ No newline at end of file
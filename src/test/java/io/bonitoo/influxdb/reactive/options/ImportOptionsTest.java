@@ -0,0 +1,63 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class ImportOptionsTest {
+
+    @Test
+    void defaults() {
+
+        ImportOptions importOptions = ImportOptions.builder().build();
+
+        Assertions.assertThat(importOptions.getBatchBytes()).isEqualTo(1024 * 1024);
+        Assertions.assertThat(importOptions.getConcurrency()).isEqualTo(4);
+        Assertions.assertThat(importOptions.getMaxRetries()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidValues() {
+
+        ImportOptions.Builder importOptions = ImportOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> importOptions.batchBytes(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive number for batchBytes");
+
+        Assertions.assertThatThrownBy(() -> importOptions.concurrency(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive number for concurrency");
+
+        Assertions.assertThatThrownBy(() -> importOptions.maxRetries(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive or zero number for maxRetries");
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.options;
+
+import io.reactivex.schedulers.Schedulers;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class MonitoringOptionsTest {
+
+    @Test
+    void defaults() {
+
+        MonitoringOptions monitoring = MonitoringOptions.builder().database("telemetry").build();
+
+        Assertions.assertThat(monitoring.getDatabase()).isEqualTo("telemetry");
+        Assertions.assertThat(monitoring.getRetentionPolicy()).isEqualTo("autogen");
+        Assertions.assertThat(monitoring.getMeasurement()).isEqualTo("influxdb_client");
+        Assertions.assertThat(monitoring.getClientId()).isNotEmpty();
+        Assertions.assertThat(monitoring.getInterval()).isEqualTo(10_000);
+        Assertions.assertThat(monitoring.getScheduler()).isEqualTo(Schedulers.io());
+    }
+
+    @Test
+    void databaseRequired() {
+
+        MonitoringOptions.Builder monitoring = MonitoringOptions.builder();
+
+        Assertions.assertThatThrownBy(monitoring::build)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The database to write the client statistics has to be defined.");
+    }
+
+    @Test
+    void intervalPositive() {
+
+        MonitoringOptions.Builder monitoring = MonitoringOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> monitoring.interval(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive number for interval");
+    }
+}
@@ -22,6 +22,8 @@
  */
 package io.bonitoo.influxdb.reactive.options;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 import org.assertj.core.api.Assertions;
@@ -41,6 +43,14 @@ class QueryOptionsTest {
 
         Assertions.assertThat(queryOptions.getChunkSize()).isEqualTo(10_000);
         Assertions.assertThat(queryOptions.getPrecision()).isEqualTo(TimeUnit.NANOSECONDS);
+        Assertions.assertThat(queryOptions.getRowBatchSize()).isEqualTo(0);
+        Assertions.assertThat(queryOptions.getTimeRangeStart()).isNull();
+        Assertions.assertThat(queryOptions.getTimeRangeEnd()).isNull();
+        Assertions.assertThat(queryOptions.getSliceDuration()).isNull();
+        Assertions.assertThat(queryOptions.getParallelism()).isEqualTo(1);
+        Assertions.assertThat(queryOptions.getPagination()).isNull();
+        Assertions.assertThat(queryOptions.getPageSize()).isEqualTo(0);
+        Assertions.assertThat(queryOptions.getTimeRounding()).isNull();
     }
 
     @Test
@@ -52,4 +62,78 @@ class QueryOptionsTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Expecting a positive number for chunkSize");
     }
+
+    @Test
+    void rowBatchSizeNotNegative() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> queryOptions.rowBatchSize(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive or zero number for rowBatchSize");
+    }
+
+    @Test
+    void timeRangeStartBeforeEnd() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Instant now = Instant.parse("2018-08-10T10:15:30Z");
+
+        Assertions.assertThatThrownBy(() -> queryOptions.timeRange(now, now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting the start of time range before the end: "
+                        + "2018-08-10T10:15:30Z - 2018-08-10T10:15:30Z");
+    }
+
+    @Test
+    void sliceDurationPositive() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> queryOptions.sliceDuration(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive slice duration: PT0S");
+    }
+
+    @Test
+    void parallelismPositive() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> queryOptions.parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive number for parallelism");
+    }
+
+    @Test
+    void timeRoundingPositive() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> queryOptions.timeRounding(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive time rounding: PT-1S");
+    }
+
+    @Test
+    void pageSizePositive() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        Assertions.assertThatThrownBy(() -> queryOptions.pagination(QueryOptions.Pagination.OFFSET, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a positive number for pageSize");
+    }
+
+    @Test
+    void paginationRequired() {
+
+        QueryOptions.Builder queryOptions = QueryOptions.builder();
+
+        //noinspection ConstantConditions
+        Assertions.assertThatThrownBy(() -> queryOptions.pagination(null, 10))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Pagination is required");
+    }
 }
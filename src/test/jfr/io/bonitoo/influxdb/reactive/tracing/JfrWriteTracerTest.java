@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ * Copyright © 2018
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.bonitoo.influxdb.reactive.tracing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+/**
+ * @since 1.0.0
+ */
+@RunWith(JUnitPlatform.class)
+class JfrWriteTracerTest {
+
+    @Test
+    void recordEvent() throws IOException {
+
+        Path dump = Files.createTempFile("write-tracer", ".jfr");
+
+        try (Recording recording = new Recording()) {
+
+            recording.enable("io.bonitoo.influxdb.reactive.WriteStage");
+            recording.start();
+
+            new JfrWriteTracer().onSpanEnd(new WriteSpan(5, WriteStage.HTTP, 100, 2, 1_000, 4_000));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+
+        Assertions.assertThat(events).hasSize(1);
+
+        RecordedEvent event = events.get(0);
+        Assertions.assertThat(event.getLong("batchId")).isEqualTo(5);
+        Assertions.assertThat(event.getString("stage")).isEqualTo("HTTP");
+        Assertions.assertThat(event.getInt("pointsCount")).isEqualTo(100);
+        Assertions.assertThat(event.getInt("attempt")).isEqualTo(2);
+        Assertions.assertThat(event.getLong("stageDuration")).isEqualTo(3_000);
+    }
+
+    @Test
+    void disabled() {
+
+        // without recording
+        new JfrWriteTracer().onSpanEnd(new WriteSpan(5, WriteStage.HTTP, 100, 1, 1_000, 4_000));
+    }
+}